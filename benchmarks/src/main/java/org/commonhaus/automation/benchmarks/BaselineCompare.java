@@ -0,0 +1,133 @@
+package org.commonhaus.automation.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compare JMH results (written with {@code -rf json}) with the recorded baseline.
+ * <p>
+ * Usage: {@code BaselineCompare <results.json> [baseline.json] [--threshold=0.10] [--update]}
+ * <p>
+ * A benchmark has regressed if its score is worse than the baseline by more than the
+ * threshold (a fraction of the baseline score) and by more than the combined error of
+ * both measurements. Lower is better for time-based modes; higher is better for throughput.
+ * The process exits with status 1 if any benchmark regressed.
+ * <p>
+ * With {@code --update}, the results replace the baseline.
+ */
+public class BaselineCompare {
+    static final ObjectMapper mapper = new ObjectMapper();
+
+    public static void main(String[] args) throws IOException {
+        Path results = null;
+        Path baseline = Path.of("benchmarks", "baseline.json");
+        double threshold = 0.10;
+        boolean update = false;
+
+        int positional = 0;
+        for (String arg : args) {
+            if (arg.startsWith("--threshold=")) {
+                threshold = Double.parseDouble(arg.substring("--threshold=".length()));
+            } else if (arg.equals("--update")) {
+                update = true;
+            } else if (positional++ == 0) {
+                results = Path.of(arg);
+            } else {
+                baseline = Path.of(arg);
+            }
+        }
+        if (results == null) {
+            System.err.println("Usage: BaselineCompare <results.json> [baseline.json] [--threshold=0.10] [--update]");
+            System.exit(2);
+        }
+
+        Map<String, Score> current = read(results);
+        Map<String, Score> previous = Files.exists(baseline) ? read(baseline) : Map.of();
+
+        int regressions = 0;
+        System.out.printf("%-100s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (var entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = previous.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-100s %14s %14s %9s%n", entry.getKey(), "-", now, "new");
+                continue;
+            }
+            double change = (now.score - before.score) / before.score;
+            boolean regressed = isRegression(before, now, threshold);
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-100s %14s %14s %+8.1f%%%s%n", entry.getKey(), before, now, change * 100,
+                    regressed ? " REGRESSION" : "");
+        }
+        for (var key : previous.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-100s %14s %14s %9s%n", key, previous.get(key), "-", "missing");
+            }
+        }
+
+        if (update) {
+            Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.printf("Updated baseline %s%n", baseline);
+        } else if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold * 100);
+            System.exit(1);
+        }
+    }
+
+    static boolean isRegression(Score before, Score now, double threshold) {
+        if (!before.unit.equals(now.unit) || before.score == 0) {
+            return false;
+        }
+        double delta = before.higherIsBetter
+                ? before.score - now.score
+                : now.score - before.score;
+        return delta > before.score * threshold
+                && delta > before.error + now.error;
+    }
+
+    /**
+     * @return scores by benchmark name and parameters
+     */
+    static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode result : mapper.readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            if (params.isObject()) {
+                key.append(':');
+                params.properties().forEach(p -> key.append(p.getKey()).append('=')
+                        .append(p.getValue().asText()).append(','));
+                key.setLength(key.length() - 1);
+            }
+            JsonNode metric = result.path("primaryMetric");
+            scores.put(key.toString(), new Score(
+                    metric.path("score").asDouble(),
+                    error(metric.path("scoreError")),
+                    metric.path("scoreUnit").asText(),
+                    "thrpt".equals(result.path("mode").asText())));
+        }
+        return scores;
+    }
+
+    /** JMH reports "NaN" when the error can't be computed (single iteration) */
+    static double error(JsonNode node) {
+        double error = node.asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    record Score(double score, double error, String unit, boolean higherIsBetter) {
+        @Override
+        public String toString() {
+            return "%.3f %s".formatted(score, unit);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.commonhaus.automation.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+
+/**
+ * Sample payloads (from {@code src/main/resources/payloads}) used by benchmarks.
+ */
+public class Payloads {
+    private Payloads() {
+    }
+
+    /**
+     * @param name file name within the payloads directory
+     * @return payload content
+     */
+    public static String read(String name) {
+        try (InputStream in = Payloads.class.getResourceAsStream("/payloads/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown payload " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param name file name within the payloads directory
+     * @return parsed payload
+     */
+    public static JsonObject json(String name) {
+        try (JsonReader reader = Json.createReader(new StringReader(read(name)))) {
+            return reader.readObject();
+        }
+    }
+}
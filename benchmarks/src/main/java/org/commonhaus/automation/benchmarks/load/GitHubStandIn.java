@@ -0,0 +1,557 @@
+package org.commonhaus.automation.benchmarks.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.commonhaus.automation.ContextService;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the GitHub REST and GraphQL APIs, for load tests.
+ * <p>
+ * Point an app at it with {@code quarkus.github-app.instance-endpoint=http://localhost:<port>}.
+ * <p>
+ * Installations, repositories and canned responses are read from a YAML file
+ * (see {@code benchmarks/load/standin.yml}). Canned responses are matched in order:
+ * REST responses by method and path (a regular expression), GraphQL responses
+ * by a fragment of the query (whitespace is ignored). Built-in responses cover
+ * app authentication, installation discovery, repositories and (from the content
+ * directory) repository contents. Anything else gets a 404 (REST)
+ * or an error response (GraphQL).
+ * <p>
+ * Every response waits for the configured latency (plus random jitter) and carries
+ * rate limit headers. With {@code --enforce-rate-limit}, requests are rejected once
+ * the limit for the current window is used up.
+ * <p>
+ * Calls are counted by endpoint: {@code GET /_standin/stats} returns the counts,
+ * {@code POST /_standin/reset} clears them.
+ * <p>
+ * Usage: {@code GitHubStandIn [--config=benchmarks/load/standin.yml] [--port=8089]
+ * [--latency=50] [--jitter=20] [--rate-limit=5000] [--rate-limit-window=3600] [--enforce-rate-limit]}
+ * <p>
+ * Latency and jitter are in milliseconds; the rate limit window is in seconds.
+ */
+public class GitHubStandIn {
+    static final ObjectMapper mapper = new ObjectMapper();
+    static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    static final Pattern ACCESS_TOKENS = Pattern.compile("/app/installations/(\\d+)/access_tokens");
+    static final Pattern INSTALLATION = Pattern.compile("/app/installations/(\\d+)");
+    static final Pattern OWNER_INSTALLATION = Pattern.compile("/(?:orgs|users)/([^/]+)/installation");
+    static final Pattern REPO_INSTALLATION = Pattern.compile("/repos/([^/]+/[^/]+)/installation");
+    static final Pattern REPO_CONTENTS = Pattern.compile("/repos/([^/]+/[^/]+)/contents/(.+)");
+    static final Pattern REPO = Pattern.compile("/repos/([^/]+/[^/]+)");
+    static final Pattern ORG = Pattern.compile("/orgs/([^/]+)");
+    static final Pattern NUMBER = Pattern.compile("/\\d+(?=/|$)");
+    static final String TOKEN_PREFIX = "ghs_standin_";
+
+    /** Stand-in configuration (YAML) */
+    public record Config(List<Installation> installations, String content, List<Canned> responses) {
+        public Config {
+            installations = installations == null ? List.of() : installations;
+            responses = responses == null ? List.of() : responses;
+        }
+    }
+
+    public record Installation(long id, String account, List<String> repositories) {
+        public Installation {
+            repositories = repositories == null ? List.of() : repositories;
+        }
+    }
+
+    /**
+     * Canned response. Either {@code graphql} (query fragment) or {@code path} (and
+     * optional {@code method}) must be set. The body is read from {@code file}
+     * (relative to the config file), or taken from {@code body}.
+     * GraphQL bodies that do not contain {@code data} or {@code errors}
+     * are wrapped in a {@code data} object.
+     */
+    public record Canned(String name, String method, String path, String graphql,
+            Integer status, String file, String body) {
+    }
+
+    record Rule(String name, String method, Pattern path, String graphql, int status, String body) {
+        boolean matchesRest(String method, String path) {
+            return this.path != null
+                    && (this.method == null || this.method.equalsIgnoreCase(method))
+                    && this.path.matcher(path).matches();
+        }
+
+        boolean matchesGraphql(String query) {
+            return graphql != null && query.contains(graphql);
+        }
+    }
+
+    record Response(int status, String body) {
+    }
+
+    final Config config;
+    final List<Rule> rules;
+    final Path contentDir;
+    final long latencyMs;
+    final long jitterMs;
+    final long rateLimit;
+    final long rateLimitWindowMs;
+    final boolean enforceRateLimit;
+
+    final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+    final AtomicLong windowStart = new AtomicLong(System.currentTimeMillis());
+    final AtomicLong windowUsed = new AtomicLong();
+    final LongAdder rateLimited = new LongAdder();
+
+    HttpServer server;
+    String baseUrl;
+
+    GitHubStandIn(Path configFile, long latencyMs, long jitterMs,
+            long rateLimit, long rateLimitWindowSeconds, boolean enforceRateLimit) throws IOException {
+        this.config = ContextService.yamlMapper.readValue(configFile.toFile(), Config.class);
+        Path base = configFile.toAbsolutePath().getParent();
+        this.contentDir = config.content() == null ? null : base.resolve(config.content());
+        this.rules = new ArrayList<>();
+        for (Canned canned : config.responses()) {
+            String body = canned.file() == null
+                    ? canned.body()
+                    : Files.readString(base.resolve(canned.file()));
+            if (canned.graphql() != null) {
+                body = graphqlBody(body);
+            }
+            rules.add(new Rule(
+                    canned.name() == null ? Optional.ofNullable(canned.file()).orElse(canned.path()) : canned.name(),
+                    canned.method(),
+                    canned.path() == null ? null : Pattern.compile(canned.path()),
+                    canned.graphql() == null ? null : normalize(canned.graphql()),
+                    canned.status() == null ? 200 : canned.status(),
+                    body == null ? "" : body));
+        }
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.rateLimit = rateLimit;
+        this.rateLimitWindowMs = rateLimitWindowSeconds * 1000;
+        this.enforceRateLimit = enforceRateLimit;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path configFile = Path.of("benchmarks", "load", "standin.yml");
+        int port = 8089;
+        long latency = 0;
+        long jitter = 0;
+        long rateLimit = 5000;
+        long window = 3600;
+        boolean enforce = false;
+        for (String arg : args) {
+            if (arg.startsWith("--config=")) {
+                configFile = Path.of(value(arg));
+            } else if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(value(arg));
+            } else if (arg.startsWith("--latency=")) {
+                latency = Long.parseLong(value(arg));
+            } else if (arg.startsWith("--jitter=")) {
+                jitter = Long.parseLong(value(arg));
+            } else if (arg.startsWith("--rate-limit=")) {
+                rateLimit = Long.parseLong(value(arg));
+            } else if (arg.startsWith("--rate-limit-window=")) {
+                window = Long.parseLong(value(arg));
+            } else if (arg.equals("--enforce-rate-limit")) {
+                enforce = true;
+            } else {
+                System.err.println("Unknown argument: " + arg);
+                System.exit(2);
+            }
+        }
+        GitHubStandIn standIn = new GitHubStandIn(configFile, latency, jitter, rateLimit, window, enforce);
+        standIn.start(port);
+        System.out.printf("GitHub stand-in listening on %s (%d installations, %d canned responses)%n",
+                standIn.baseUrl, standIn.config.installations().size(), standIn.rules.size());
+    }
+
+    static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        // Latency is simulated by sleeping: use enough threads to keep requests concurrent
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    void stop() {
+        server.stop(0);
+    }
+
+    void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            if (path.length() > 1 && path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            if (path.startsWith("/_standin/")) {
+                send(exchange, admin(method, path), false);
+                return;
+            }
+
+            long used = useRateLimit();
+            if (enforceRateLimit && used > rateLimit) {
+                rateLimited.increment();
+                count(method + " (rate limited)");
+                send(exchange, new Response(403,
+                        "{\"message\":\"API rate limit exceeded (stand-in)\"}"), true);
+                return;
+            }
+
+            byte[] requestBody;
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBody = in.readAllBytes();
+            }
+            Response response = "/graphql".equals(path)
+                    ? graphql(exchange, requestBody)
+                    : rest(exchange, method, path);
+            delay();
+            send(exchange, response, true);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    Response graphql(HttpExchange exchange, byte[] requestBody) throws IOException {
+        JsonNode request = mapper.readTree(requestBody);
+        String query = normalize(request.path("query").asText());
+        for (Rule rule : rules) {
+            if (rule.matchesGraphql(query)) {
+                count("GraphQL " + rule.name());
+                return new Response(rule.status(), rule.body());
+            }
+        }
+        count("GraphQL (unmatched)");
+        ObjectNode error = mapper.createObjectNode();
+        error.putArray("errors").addObject()
+                .put("type", "NOT_FOUND")
+                .put("message", "No canned response for query: " + query);
+        return new Response(200, error.toString());
+    }
+
+    Response rest(HttpExchange exchange, String method, String path) {
+        for (Rule rule : rules) {
+            if (rule.matchesRest(method, path)) {
+                count(method + " " + rule.name());
+                return new Response(rule.status(), rule.body());
+            }
+        }
+        String endpoint = method + " " + NUMBER.matcher(path).replaceAll("/{n}");
+        count(endpoint);
+        JsonNode body = builtIn(exchange, method, path);
+        if (body == null) {
+            count(endpoint + " (404)");
+            return new Response(404, "{\"message\":\"Not Found\"}");
+        }
+        return new Response("POST".equals(method) ? 201 : 200, body.toString());
+    }
+
+    /**
+     * @return built-in response, or null if there isn't one
+     */
+    JsonNode builtIn(HttpExchange exchange, String method, String path) {
+        Matcher m;
+        if ("POST".equals(method)) {
+            if ((m = ACCESS_TOKENS.matcher(path)).matches()) {
+                Installation installation = installation(Long.parseLong(m.group(1)));
+                if (installation == null) {
+                    return null;
+                }
+                ObjectNode token = mapper.createObjectNode()
+                        .put("token", TOKEN_PREFIX + installation.id())
+                        .put("expires_at", Instant.now().plusSeconds(3600).toString());
+                token.putObject("permissions");
+                return token;
+            }
+            return null;
+        }
+        if ("/".equals(path)) {
+            return mapper.createObjectNode().put("current_user_url", baseUrl + "/user");
+        }
+        if ("/rate_limit".equals(path)) {
+            ObjectNode limits = rateLimitNode();
+            ObjectNode body = mapper.createObjectNode();
+            body.putObject("resources").set("core", limits);
+            ((ObjectNode) body.get("resources")).set("graphql", limits);
+            body.set("rate", limits);
+            return body;
+        }
+        if ("/app".equals(path)) {
+            ObjectNode app = mapper.createObjectNode()
+                    .put("id", 1)
+                    .put("slug", "github-stand-in")
+                    .put("name", "GitHub stand-in");
+            app.putObject("owner").put("login", "stand-in").put("id", 1);
+            return app;
+        }
+        if ("/app/installations".equals(path)) {
+            ArrayNode list = mapper.createArrayNode();
+            config.installations().forEach(i -> list.add(installationNode(i)));
+            return list;
+        }
+        if ("/installation/repositories".equals(path)) {
+            Installation installation = installation(exchange);
+            List<String> repositories = installation == null ? List.of() : installation.repositories();
+            ObjectNode body = mapper.createObjectNode().put("total_count", repositories.size());
+            ArrayNode list = body.putArray("repositories");
+            repositories.forEach(r -> list.add(repositoryNode(r)));
+            return body;
+        }
+        if ((m = INSTALLATION.matcher(path)).matches()) {
+            Installation installation = installation(Long.parseLong(m.group(1)));
+            return installation == null ? null : installationNode(installation);
+        }
+        if ((m = OWNER_INSTALLATION.matcher(path)).matches()) {
+            String owner = m.group(1);
+            return config.installations().stream()
+                    .filter(i -> i.account().equalsIgnoreCase(owner))
+                    .findFirst().map(this::installationNode).orElse(null);
+        }
+        if ((m = REPO_INSTALLATION.matcher(path)).matches()) {
+            Installation installation = installation(m.group(1));
+            return installation == null ? null : installationNode(installation);
+        }
+        if ((m = REPO_CONTENTS.matcher(path)).matches()) {
+            return contentNode(m.group(1), m.group(2));
+        }
+        if ((m = REPO.matcher(path)).matches()) {
+            return installation(m.group(1)) == null ? null : repositoryNode(m.group(1));
+        }
+        if ((m = ORG.matcher(path)).matches()) {
+            return mapper.createObjectNode()
+                    .put("login", m.group(1))
+                    .put("id", Math.abs(m.group(1).hashCode()))
+                    .put("type", "Organization")
+                    .put("url", baseUrl + "/orgs/" + m.group(1));
+        }
+        return null;
+    }
+
+    Response admin(String method, String path) {
+        if ("POST".equals(method) && "/_standin/reset".equals(path)) {
+            calls.clear();
+            rateLimited.reset();
+            windowUsed.set(0);
+            windowStart.set(System.currentTimeMillis());
+            return new Response(204, "");
+        }
+        if ("GET".equals(method) && "/_standin/stats".equals(path)) {
+            ObjectNode stats = mapper.createObjectNode();
+            ObjectNode byEndpoint = stats.putObject("calls");
+            long total = 0;
+            for (var entry : new TreeMap<>(calls).entrySet()) {
+                long count = entry.getValue().sum();
+                byEndpoint.put(entry.getKey(), count);
+                if (!entry.getKey().endsWith("(404)")) {
+                    total += count;
+                }
+            }
+            stats.put("total", total);
+            stats.put("rateLimited", rateLimited.sum());
+            return new Response(200, stats.toString());
+        }
+        return new Response(404, "{\"message\":\"Not Found\"}");
+    }
+
+    Installation installation(long id) {
+        return config.installations().stream()
+                .filter(i -> i.id() == id)
+                .findFirst().orElse(null);
+    }
+
+    Installation installation(String repository) {
+        return config.installations().stream()
+                .filter(i -> i.repositories().stream().anyMatch(repository::equalsIgnoreCase))
+                .findFirst().orElse(null);
+    }
+
+    /** Installation for the access token used by the request (if any) */
+    Installation installation(HttpExchange exchange) {
+        String auth = exchange.getRequestHeaders().getFirst("Authorization");
+        int i = auth == null ? -1 : auth.indexOf(TOKEN_PREFIX);
+        if (i < 0) {
+            return null;
+        }
+        try {
+            return installation(Long.parseLong(auth.substring(i + TOKEN_PREFIX.length()).trim()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    ObjectNode installationNode(Installation installation) {
+        ObjectNode node = mapper.createObjectNode()
+                .put("id", installation.id())
+                .put("app_id", 1)
+                .put("app_slug", "github-stand-in")
+                .put("target_type", "Organization")
+                .put("repository_selection", "selected")
+                .put("access_tokens_url", baseUrl + "/app/installations/" + installation.id() + "/access_tokens")
+                .put("repositories_url", baseUrl + "/installation/repositories");
+        node.set("account", accountNode(installation.account()));
+        node.putObject("permissions");
+        node.putArray("events");
+        return node;
+    }
+
+    ObjectNode repositoryNode(String fullName) {
+        String[] parts = fullName.split("/", 2);
+        ObjectNode node = mapper.createObjectNode()
+                .put("id", Math.abs(fullName.hashCode()))
+                .put("node_id", "R_standin_" + Math.abs(fullName.hashCode()))
+                .put("name", parts[1])
+                .put("full_name", fullName)
+                .put("private", false)
+                .put("archived", false)
+                .put("default_branch", "main")
+                .put("url", baseUrl + "/repos/" + fullName)
+                .put("html_url", "https://github.com/" + fullName);
+        node.set("owner", accountNode(parts[0]));
+        return node;
+    }
+
+    ObjectNode accountNode(String login) {
+        return mapper.createObjectNode()
+                .put("login", login)
+                .put("id", Math.abs(login.hashCode()))
+                .put("type", "Organization")
+                .put("url", baseUrl + "/users/" + login);
+    }
+
+    /**
+     * @return file contents from {@code <content>/<owner>/<repo>/<path>}, or null
+     */
+    ObjectNode contentNode(String repository, String filePath) {
+        if (contentDir == null) {
+            return null;
+        }
+        Path file = contentDir.resolve(repository).resolve(filePath).normalize();
+        if (!file.startsWith(contentDir) || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            byte[] content = Files.readAllBytes(file);
+            String url = baseUrl + "/repos/" + repository + "/contents/" + filePath;
+            return mapper.createObjectNode()
+                    .put("type", "file")
+                    .put("encoding", "base64")
+                    .put("name", file.getFileName().toString())
+                    .put("path", filePath)
+                    .put("sha", Integer.toHexString(new String(content, StandardCharsets.UTF_8).hashCode()))
+                    .put("size", content.length)
+                    .put("url", url)
+                    .put("git_url", url)
+                    .put("html_url", "https://github.com/" + repository + "/blob/main/" + filePath)
+                    .put("download_url", url)
+                    .put("content", Base64.getMimeEncoder().encodeToString(content));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    ObjectNode rateLimitNode() {
+        long used = windowUsed.get();
+        return mapper.createObjectNode()
+                .put("limit", rateLimit)
+                .put("used", used)
+                .put("remaining", Math.max(0, rateLimit - used))
+                .put("reset", resetEpochSeconds());
+    }
+
+    /**
+     * Count a request against the rate limit, starting a new window if the current one has passed.
+     *
+     * @return requests made in the current window (including this one)
+     */
+    long useRateLimit() {
+        long now = System.currentTimeMillis();
+        long start = windowStart.get();
+        if (now - start >= rateLimitWindowMs && windowStart.compareAndSet(start, now)) {
+            windowUsed.set(0);
+        }
+        return windowUsed.incrementAndGet();
+    }
+
+    long resetEpochSeconds() {
+        return (windowStart.get() + rateLimitWindowMs) / 1000;
+    }
+
+    void count(String endpoint) {
+        calls.computeIfAbsent(endpoint, k -> new LongAdder()).increment();
+    }
+
+    void delay() {
+        long sleep = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (sleep > 0) {
+            try {
+                Thread.sleep(sleep);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    void send(HttpExchange exchange, Response response, boolean rateLimitHeaders) throws IOException {
+        var headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", "application/json; charset=utf-8");
+        if (rateLimitHeaders) {
+            long used = Math.min(windowUsed.get(), rateLimit);
+            headers.set("X-RateLimit-Limit", Long.toString(rateLimit));
+            headers.set("X-RateLimit-Remaining", Long.toString(rateLimit - used));
+            headers.set("X-RateLimit-Used", Long.toString(used));
+            headers.set("X-RateLimit-Reset", Long.toString(resetEpochSeconds()));
+            headers.set("X-RateLimit-Resource", "core");
+        }
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        if (body.length == 0) {
+            exchange.sendResponseHeaders(response.status(), -1);
+        } else {
+            exchange.sendResponseHeaders(response.status(), body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    static String graphqlBody(String body) throws IOException {
+        if (body == null) {
+            return null;
+        }
+        JsonNode node = mapper.readTree(body);
+        if (node.has("data") || node.has("errors")) {
+            return body;
+        }
+        ObjectNode wrapped = mapper.createObjectNode();
+        wrapped.set("data", node);
+        return wrapped.toString();
+    }
+
+    static String normalize(String text) {
+        return WHITESPACE.matcher(text).replaceAll("");
+    }
+}
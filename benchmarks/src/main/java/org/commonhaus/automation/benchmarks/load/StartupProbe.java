@@ -0,0 +1,191 @@
+package org.commonhaus.automation.benchmarks.load;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts an app (JVM or native executable), and reports how long it takes to
+ * start and to complete bootstrap discovery, and how much memory it uses.
+ * <p>
+ * The app is run with the command after {@code --}; its output is read to find
+ * Quarkus' {@code started in} line and the {@code Bootstrap discovery complete} line.
+ * Resident memory (RSS) is read from {@code /proc/<pid>/status} (Linux only):
+ * once bootstrap discovery is complete, after {@code --settle} seconds, and at peak.
+ * Run it against the {@link GitHubStandIn} so discovery has installations and
+ * repositories to find.
+ * <p>
+ * Usage: {@code StartupProbe [options] -- <command> [args...]}
+ * <ul>
+ * <li>{@code --label=jvm}: name of the run, in the report</li>
+ * <li>{@code --runs=3}: number of times to start the app (the median is reported)</li>
+ * <li>{@code --settle=30}: how long to leave the app running after bootstrap (seconds)</li>
+ * <li>{@code --timeout=300}: how long to wait for bootstrap discovery (seconds)</li>
+ * <li>{@code --log}: copy the app output to stdout</li>
+ * </ul>
+ */
+public class StartupProbe {
+    static final Pattern STARTED = Pattern.compile("started in ([0-9.]+)s");
+    static final Pattern BOOTSTRAP = Pattern.compile("Bootstrap discovery complete: (\\d+) installations");
+
+    record Run(long startedMs, long bootstrapMs, int installations,
+            long bootstrapRssKb, long settledRssKb, long peakRssKb) {
+    }
+
+    String label = "app";
+    int runs = 3;
+    long settleSeconds = 30;
+    long timeoutSeconds = 300;
+    boolean log;
+    List<String> command = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        StartupProbe probe = new StartupProbe();
+        int i = 0;
+        for (; i < args.length && !args[i].equals("--"); i++) {
+            String arg = args[i];
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--label=")) {
+                probe.label = value;
+            } else if (arg.startsWith("--runs=")) {
+                probe.runs = Integer.parseInt(value);
+            } else if (arg.startsWith("--settle=")) {
+                probe.settleSeconds = Long.parseLong(value);
+            } else if (arg.startsWith("--timeout=")) {
+                probe.timeoutSeconds = Long.parseLong(value);
+            } else if (arg.equals("--log")) {
+                probe.log = true;
+            } else {
+                System.err.println("Unknown argument: " + arg);
+                System.exit(2);
+            }
+        }
+        for (i++; i < args.length; i++) {
+            probe.command.add(args[i]);
+        }
+        if (probe.command.isEmpty() || probe.runs < 1) {
+            System.err.println("Usage: StartupProbe [--label=jvm] [--runs=3] [--settle=30] [--timeout=300] [--log] "
+                    + "-- <command> [args...]");
+            System.exit(2);
+        }
+
+        List<Run> results = new ArrayList<>();
+        for (int run = 1; run <= probe.runs; run++) {
+            Run result = probe.run();
+            System.out.printf("%s run %d: started %dms, bootstrap %dms (%d installations), "
+                    + "RSS %d MB (bootstrap) %d MB (settled) %d MB (peak)%n",
+                    probe.label, run, result.startedMs(), result.bootstrapMs(), result.installations(),
+                    result.bootstrapRssKb() / 1024, result.settledRssKb() / 1024, result.peakRssKb() / 1024);
+            results.add(result);
+        }
+        probe.report(results);
+    }
+
+    Run run() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .start();
+        long[] started = { -1 };
+        long[] bootstrap = { -1 };
+        int[] installations = { 0 };
+        Thread reader = new Thread(() -> {
+            try (BufferedReader output = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    if (log) {
+                        System.out.println(line);
+                    }
+                    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    Matcher m = STARTED.matcher(line);
+                    if (started[0] < 0 && m.find()) {
+                        synchronized (started) {
+                            started[0] = elapsed;
+                        }
+                    }
+                    m = BOOTSTRAP.matcher(line);
+                    if (bootstrap[0] < 0 && m.find()) {
+                        synchronized (started) {
+                            installations[0] = Integer.parseInt(m.group(1));
+                            bootstrap[0] = elapsed;
+                            started.notifyAll();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // process ended
+            }
+            synchronized (started) {
+                started.notifyAll();
+            }
+        }, "startup-probe-output");
+        reader.setDaemon(true);
+        reader.start();
+
+        try {
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+            synchronized (started) {
+                while (bootstrap[0] < 0 && process.isAlive() && System.currentTimeMillis() < deadline) {
+                    started.wait(Math.max(1, deadline - System.currentTimeMillis()));
+                }
+            }
+            if (bootstrap[0] < 0) {
+                throw new IllegalStateException("Bootstrap discovery did not complete: "
+                        + (process.isAlive() ? "timed out" : "exit " + process.exitValue()));
+            }
+            long bootstrapRss = rssKb(process.pid(), "VmRSS");
+            Thread.sleep(TimeUnit.SECONDS.toMillis(settleSeconds));
+            return new Run(started[0], bootstrap[0], installations[0],
+                    bootstrapRss, rssKb(process.pid(), "VmRSS"), rssKb(process.pid(), "VmHWM"));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    void report(List<Run> results) {
+        System.out.printf("%n%s (median of %d): started %dms, bootstrap %dms, "
+                + "RSS %d MB (bootstrap) %d MB (settled) %d MB (peak)%n",
+                label, results.size(),
+                median(results.stream().mapToLong(Run::startedMs).toArray()),
+                median(results.stream().mapToLong(Run::bootstrapMs).toArray()),
+                median(results.stream().mapToLong(Run::bootstrapRssKb).toArray()) / 1024,
+                median(results.stream().mapToLong(Run::settledRssKb).toArray()) / 1024,
+                median(results.stream().mapToLong(Run::peakRssKb).toArray()) / 1024);
+    }
+
+    static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * @param field VmRSS (current) or VmHWM (peak)
+     * @return resident memory in kB, or -1 if it can not be read
+     */
+    static long rssKb(long pid, String field) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith(field + ":")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not Linux, or the process has ended
+        }
+        return -1;
+    }
+}
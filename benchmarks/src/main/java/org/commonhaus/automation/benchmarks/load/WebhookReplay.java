@@ -0,0 +1,475 @@
+package org.commonhaus.automation.benchmarks.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Replays recorded webhook deliveries into one or more running apps at a fixed rate,
+ * and reports throughput, queue backlog, latency and GitHub API calls per event.
+ * <p>
+ * Deliveries are read from a directory: each file holds one payload, and is named
+ * {@code <event>.<name>.json} (e.g. {@code push.filePush.json}). Deliveries are signed
+ * with the webhook secret ({@code X-Hub-Signature-256}), as GitHub would.
+ * <p>
+ * While sending, the app's {@code /queueStats} route is polled to follow the
+ * webhook ingest and periodic update queues. Once sending stops, the replay waits
+ * for both queues to drain. API calls are read from the {@link GitHubStandIn}.
+ * <p>
+ * Usage: {@code WebhookReplay --app=http://localhost:8080 [--app=...] --secret=... [options]}
+ * <ul>
+ * <li>{@code --deliveries=benchmarks/load/deliveries}: directory of recorded payloads</li>
+ * <li>{@code --mix=push=5,discussion=1}: relative weight by event (default: 1 per file); events
+ * that are not listed are not sent</li>
+ * <li>{@code --rate=10}: deliveries per second</li>
+ * <li>{@code --duration=60} (seconds) or {@code --count=N}: when to stop sending</li>
+ * <li>{@code --burst=N --burst-every=30}: also send N deliveries at once every 30 seconds</li>
+ * <li>{@code --standin=http://localhost:8089}: stand-in to read (and reset) API call counts from</li>
+ * <li>{@code --poll=500}: queue stats poll interval (milliseconds)</li>
+ * <li>{@code --drain-timeout=300}: how long to wait for queues to drain (seconds)</li>
+ * <li>{@code --seed=1}: seed for the event mix</li>
+ * </ul>
+ */
+public class WebhookReplay {
+    static final ObjectMapper mapper = new ObjectMapper();
+
+    record Delivery(String event, String name, byte[] payload, String signature) {
+    }
+
+    record Sample(long time, int ingestDepth, long ingestOldestMs, int updateDepth, long updateOldestMs,
+            int outboxDepth) {
+    }
+
+    record Counters(long ingestAccepted, long ingestCompleted, long ingestWaitMs, long ingestMaxWaitMs,
+            long updatesCompleted, long updatesFailed, long updatesWaitMs, long updatesMaxWaitMs) {
+
+        static Counters from(JsonNode stats) {
+            // the app omits empty (zero) values
+            JsonNode ingest = stats.path("ingest");
+            JsonNode updates = stats.path("updates");
+            return new Counters(
+                    ingest.path("accepted").asLong(0),
+                    ingest.path("completed").asLong(0),
+                    ingest.path("totalWaitMs").asLong(0),
+                    ingest.path("maxWaitMs").asLong(0),
+                    updates.path("completed").asLong(0),
+                    updates.path("failed").asLong(0),
+                    updates.path("totalWaitMs").asLong(0),
+                    updates.path("maxWaitMs").asLong(0));
+        }
+    }
+
+    /** An app receiving deliveries */
+    class Target {
+        final String url;
+        final URI webhook;
+        final URI queueStats;
+        final AtomicLong sent = new AtomicLong();
+        final AtomicLong accepted = new AtomicLong();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        final List<Sample> samples = new ArrayList<>();
+        final Map<String, AtomicLong> byEvent = new LinkedHashMap<>();
+        Counters before;
+        Counters after;
+        long drainedAt;
+
+        Target(String url) {
+            this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+            this.webhook = URI.create(this.url + webhookPath);
+            this.queueStats = URI.create(this.url + "/queueStats");
+        }
+
+        CompletableFuture<Void> send(Delivery delivery) {
+            sent.incrementAndGet();
+            byEvent.computeIfAbsent(delivery.event(), k -> new AtomicLong()).incrementAndGet();
+            HttpRequest request = HttpRequest.newBuilder(webhook)
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .header("User-Agent", "GitHub-Hookshot/webhook-replay")
+                    .header("X-GitHub-Event", delivery.event())
+                    .header("X-GitHub-Delivery", UUID.randomUUID().toString())
+                    .header("X-Hub-Signature-256", delivery.signature())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(delivery.payload()))
+                    .build();
+            long start = System.nanoTime();
+            return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        if (error != null) {
+                            failed.incrementAndGet();
+                        } else if (response.statusCode() / 100 == 2) {
+                            accepted.incrementAndGet();
+                            latencies.add(System.nanoTime() - start);
+                        } else {
+                            rejected.incrementAndGet();
+                        }
+                        return null;
+                    });
+        }
+
+        JsonNode poll() {
+            try {
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder(queueStats)
+                        .timeout(Duration.ofSeconds(10)).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    return null;
+                }
+                JsonNode stats = mapper.readTree(response.body());
+                synchronized (samples) {
+                    samples.add(new Sample(System.currentTimeMillis(),
+                            stats.path("ingest").path("depth").asInt(0),
+                            stats.path("ingest").path("oldestAgeMs").asLong(0),
+                            stats.path("updates").path("depth").asInt(0),
+                            stats.path("updates").path("oldestAgeMs").asLong(0),
+                            stats.path("outbox").path("depth").asInt(0)));
+                }
+                return stats;
+            } catch (IOException e) {
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        boolean drained(JsonNode stats) {
+            if (stats == null) {
+                return false;
+            }
+            JsonNode ingest = stats.path("ingest");
+            JsonNode updates = stats.path("updates");
+            return ingest.path("depth").asInt(0) == 0
+                    && ingest.path("completed").asLong(0) >= ingest.path("accepted").asLong(0)
+                    && updates.path("depth").asInt(0) == 0;
+        }
+    }
+
+    final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    String webhookPath = "/";
+    String secret;
+    Path deliveries = Path.of("benchmarks", "load", "deliveries");
+    Map<String, Integer> mix;
+    double rate = 10;
+    long durationSeconds = 60;
+    long count = -1;
+    int burst = 0;
+    long burstEverySeconds = 30;
+    URI standIn;
+    long pollMs = 500;
+    long drainTimeoutSeconds = 300;
+    long seed = 1;
+    final List<Target> targets = new ArrayList<>();
+
+    public static void main(String[] args) throws Exception {
+        WebhookReplay replay = new WebhookReplay();
+        List<String> apps = new ArrayList<>();
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--app=")) {
+                apps.add(value);
+            } else if (arg.startsWith("--path=")) {
+                replay.webhookPath = value;
+            } else if (arg.startsWith("--secret=")) {
+                replay.secret = value;
+            } else if (arg.startsWith("--deliveries=")) {
+                replay.deliveries = Path.of(value);
+            } else if (arg.startsWith("--mix=")) {
+                replay.mix = parseMix(value);
+            } else if (arg.startsWith("--rate=")) {
+                replay.rate = Double.parseDouble(value);
+            } else if (arg.startsWith("--duration=")) {
+                replay.durationSeconds = Long.parseLong(value);
+            } else if (arg.startsWith("--count=")) {
+                replay.count = Long.parseLong(value);
+            } else if (arg.startsWith("--burst=")) {
+                replay.burst = Integer.parseInt(value);
+            } else if (arg.startsWith("--burst-every=")) {
+                replay.burstEverySeconds = Long.parseLong(value);
+            } else if (arg.startsWith("--standin=")) {
+                replay.standIn = URI.create(value.endsWith("/") ? value : value + "/");
+            } else if (arg.startsWith("--poll=")) {
+                replay.pollMs = Long.parseLong(value);
+            } else if (arg.startsWith("--drain-timeout=")) {
+                replay.drainTimeoutSeconds = Long.parseLong(value);
+            } else if (arg.startsWith("--seed=")) {
+                replay.seed = Long.parseLong(value);
+            } else {
+                System.err.println("Unknown argument: " + arg);
+                System.exit(2);
+            }
+        }
+        if (apps.isEmpty() || replay.secret == null || replay.rate <= 0) {
+            System.err.println("Usage: WebhookReplay --app=<url> [--app=<url>] --secret=<webhook secret> "
+                    + "[--deliveries=dir] [--mix=event=weight,...] [--rate=10] [--duration=60|--count=N] "
+                    + "[--burst=N --burst-every=30] [--standin=<url>] [--poll=500] [--drain-timeout=300]");
+            System.exit(2);
+        }
+        apps.forEach(a -> replay.targets.add(replay.new Target(a)));
+        replay.run();
+    }
+
+    void run() throws Exception {
+        List<Delivery> loaded = load();
+        List<Delivery> weighted = weighted(loaded);
+        if (weighted.isEmpty()) {
+            System.err.println("No deliveries to send from " + deliveries);
+            System.exit(2);
+        }
+        System.out.printf("Replaying %d recorded deliveries (%s) to %d app(s) at %.1f/s%n",
+                loaded.size(), summary(weighted), targets.size(), rate);
+
+        JsonNode apiBefore = standInStats(true);
+        for (Target target : targets) {
+            JsonNode stats = target.poll();
+            if (stats == null) {
+                System.err.println("Unable to read " + target.queueStats);
+                System.exit(1);
+            }
+            target.before = Counters.from(stats);
+        }
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+        scheduler.scheduleAtFixedRate(() -> targets.forEach(Target::poll), pollMs, pollMs, TimeUnit.MILLISECONDS);
+
+        // Send at a fixed rate (plus optional bursts) until the duration or count is reached
+        Random random = new Random(seed);
+        AtomicLong next = new AtomicLong();
+        long limit = count > 0 ? count : Long.MAX_VALUE;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        CountDownLatch done = new CountDownLatch(1);
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        Runnable sendOne = () -> {
+            if (next.get() >= limit || (count <= 0 && System.nanoTime() >= deadline)) {
+                done.countDown();
+                return;
+            }
+            next.incrementAndGet();
+            Delivery delivery = weighted.get(random.nextInt(weighted.size()));
+            for (Target target : targets) {
+                CompletableFuture<Void> future = target.send(delivery);
+                synchronized (inFlight) {
+                    inFlight.add(future);
+                }
+            }
+        };
+        long start = System.currentTimeMillis();
+        var sender = Executors.newSingleThreadScheduledExecutor();
+        sender.scheduleAtFixedRate(sendOne, 0, (long) (1_000_000_000 / rate), TimeUnit.NANOSECONDS);
+        if (burst > 0) {
+            sender.scheduleAtFixedRate(() -> {
+                for (int i = 0; i < burst; i++) {
+                    sendOne.run();
+                }
+            }, burstEverySeconds, burstEverySeconds, TimeUnit.SECONDS);
+        }
+        done.await();
+        sender.shutdown();
+        sender.awaitTermination(10, TimeUnit.SECONDS);
+        synchronized (inFlight) {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        }
+        long sendEnd = System.currentTimeMillis();
+
+        // Wait for the queues to drain
+        long drainDeadline = sendEnd + TimeUnit.SECONDS.toMillis(drainTimeoutSeconds);
+        for (Target target : targets) {
+            JsonNode stats = target.poll();
+            while (!target.drained(stats) && System.currentTimeMillis() < drainDeadline) {
+                Thread.sleep(pollMs);
+                stats = target.poll();
+            }
+            target.drainedAt = target.drained(stats) ? System.currentTimeMillis() : -1;
+            target.after = stats == null ? target.before : Counters.from(stats);
+        }
+        scheduler.shutdownNow();
+        JsonNode apiAfter = standInStats(false);
+
+        report(start, sendEnd, apiBefore, apiAfter);
+    }
+
+    void report(long start, long sendEnd, JsonNode apiBefore, JsonNode apiAfter) {
+        double sendSeconds = (sendEnd - start) / 1000.0;
+        long totalAccepted = 0;
+        for (Target target : targets) {
+            long[] latencies = target.latencies.stream().mapToLong(l -> l / 1_000_000).sorted().toArray();
+            totalAccepted += target.accepted.get();
+            Counters before = target.before;
+            Counters after = target.after;
+            long ingestDone = after.ingestCompleted() - before.ingestCompleted();
+            long updatesDone = after.updatesCompleted() - before.updatesCompleted();
+
+            System.out.printf("%n== %s%n", target.url);
+            System.out.printf("Deliveries    sent %d, accepted %d, rejected %d, failed %d in %.1fs (%.1f/s accepted)%n",
+                    target.sent.get(), target.accepted.get(), target.rejected.get(), target.failed.get(),
+                    sendSeconds, target.accepted.get() / sendSeconds);
+            System.out.printf("              by event: %s%n", target.byEvent);
+            System.out.printf("Delivery RTT  p50 %d ms, p95 %d ms, p99 %d ms, max %d ms%n",
+                    percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99),
+                    latencies.length == 0 ? 0 : latencies[latencies.length - 1]);
+
+            int maxIngest = 0, maxUpdates = 0, maxOutbox = 0;
+            long maxIngestAge = 0, maxUpdateAge = 0;
+            synchronized (target.samples) {
+                for (Sample s : target.samples) {
+                    maxIngest = Math.max(maxIngest, s.ingestDepth());
+                    maxIngestAge = Math.max(maxIngestAge, s.ingestOldestMs());
+                    maxUpdates = Math.max(maxUpdates, s.updateDepth());
+                    maxUpdateAge = Math.max(maxUpdateAge, s.updateOldestMs());
+                    maxOutbox = Math.max(maxOutbox, s.outboxDepth());
+                }
+            }
+            System.out.printf("Backlog       ingest max %d (oldest %d ms), updates max %d (oldest %d ms), outbox max %d%n",
+                    maxIngest, maxIngestAge, maxUpdates, maxUpdateAge, maxOutbox);
+
+            long ingestWait = mean(after.ingestWaitMs() - before.ingestWaitMs(), ingestDone);
+            long updatesWait = mean(after.updatesWaitMs() - before.updatesWaitMs(), updatesDone);
+            System.out.printf("Processing    ingest tasks %d (mean wait %d ms, max %d ms), "
+                    + "update tasks %d (failed %d, mean wait %d ms, max %d ms)%n",
+                    ingestDone, ingestWait, after.ingestMaxWaitMs(),
+                    updatesDone, after.updatesFailed() - before.updatesFailed(), updatesWait, after.updatesMaxWaitMs());
+
+            // Per-event latency isn't observable from outside the app: estimate it
+            // from the delivery round trip and the mean time spent in each queue.
+            long rttMean = latencies.length == 0 ? 0 : (long) Arrays.stream(latencies).average().orElse(0);
+            if (target.drainedAt < 0) {
+                System.out.printf("End-to-end    queues did not drain within %ds%n", drainTimeoutSeconds);
+            } else {
+                System.out.printf("End-to-end    ~%d ms mean (RTT + queue waits); last delivery done after %d ms%n",
+                        rttMean + ingestWait + updatesWait, target.drainedAt - sendEnd);
+                System.out.printf("Throughput    %.1f events/s processed%n",
+                        target.accepted.get() * 1000.0 / Math.max(1, target.drainedAt - start));
+            }
+        }
+
+        if (apiBefore != null && apiAfter != null) {
+            long calls = apiAfter.path("total").asLong() - apiBefore.path("total").asLong();
+            System.out.printf("%n== GitHub stand-in%n");
+            System.out.printf("API calls     %d (%.2f per accepted delivery), rate limited %d%n",
+                    calls, totalAccepted == 0 ? 0 : (double) calls / totalAccepted,
+                    apiAfter.path("rateLimited").asLong() - apiBefore.path("rateLimited").asLong());
+            apiAfter.path("calls").properties().forEach(e -> {
+                long n = e.getValue().asLong() - apiBefore.path("calls").path(e.getKey()).asLong(0);
+                if (n > 0) {
+                    System.out.printf("  %8d  %s%n", n, e.getKey());
+                }
+            });
+        }
+    }
+
+    List<Delivery> load() throws IOException, GeneralSecurityException {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        List<Delivery> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(deliveries)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".json")).sorted().toList()) {
+                String fileName = file.getFileName().toString();
+                int dot = fileName.indexOf('.');
+                byte[] payload = Files.readAllBytes(file);
+                String signature = "sha256=" + HexFormat.of().formatHex(mac.doFinal(payload));
+                loaded.add(new Delivery(fileName.substring(0, dot),
+                        fileName.substring(dot + 1, fileName.length() - ".json".length()),
+                        payload, signature));
+            }
+        }
+        return loaded;
+    }
+
+    /** Repeat deliveries according to the weight of their event */
+    List<Delivery> weighted(List<Delivery> loaded) {
+        List<Delivery> weighted = new ArrayList<>();
+        for (Delivery delivery : loaded) {
+            int weight = mix == null ? 1 : mix.getOrDefault(delivery.event(), 0);
+            for (int i = 0; i < weight; i++) {
+                weighted.add(delivery);
+            }
+        }
+        return weighted;
+    }
+
+    static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=", 2);
+            mix.put(parts[0].trim(), parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1);
+        }
+        return mix;
+    }
+
+    static String summary(List<Delivery> weighted) {
+        Map<String, Integer> byEvent = new LinkedHashMap<>();
+        weighted.forEach(d -> byEvent.merge(d.event(), 1, Integer::sum));
+        return byEvent.toString();
+    }
+
+    /**
+     * @param reset true to reset the counters (if possible)
+     * @return stand-in call counts, or null if there is no stand-in
+     */
+    JsonNode standInStats(boolean reset) {
+        if (standIn == null) {
+            return null;
+        }
+        try {
+            if (reset) {
+                client.send(HttpRequest.newBuilder(standIn.resolve("_standin/reset"))
+                        .POST(HttpRequest.BodyPublishers.noBody()).build(),
+                        HttpResponse.BodyHandlers.discarding());
+            }
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(standIn.resolve("_standin/stats"))
+                    .GET().build(), HttpResponse.BodyHandlers.ofString());
+            return mapper.readTree(response.body());
+        } catch (IOException e) {
+            System.err.println("Unable to read stand-in stats: " + e);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    static long mean(long total, long count) {
+        return count <= 0 ? 0 : total / count;
+    }
+}
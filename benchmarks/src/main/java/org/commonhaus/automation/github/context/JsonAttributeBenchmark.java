@@ -0,0 +1,81 @@
+package org.commonhaus.automation.github.context;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonObject;
+
+import org.commonhaus.automation.benchmarks.Payloads;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Field extraction from webhook payloads ({@code JsonAttributeAccessor}),
+ * and construction of data objects from a payload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonAttributeBenchmark {
+    String raw;
+    JsonObject payload;
+    JsonObject discussion;
+
+    @Setup
+    public void setup() {
+        raw = Payloads.read("discussionCreated.json");
+        payload = Payloads.json("discussionCreated.json");
+        discussion = JsonAttribute.discussion.jsonObjectFrom(payload);
+    }
+
+    @Benchmark
+    public void stringFields(Blackhole bh) {
+        bh.consume(JsonAttribute.title.stringFrom(discussion));
+        bh.consume(JsonAttribute.body.stringFrom(discussion));
+        bh.consume(JsonAttribute.node_id.stringFrom(discussion));
+        // alternate name (html_url) present
+        bh.consume(JsonAttribute.url.stringFrom(discussion));
+    }
+
+    @Benchmark
+    public void typedFields(Blackhole bh) {
+        bh.consume(JsonAttribute.number.integerFrom(discussion));
+        bh.consume(JsonAttribute.id.longFrom(discussion));
+        bh.consume(JsonAttribute.closed.booleanFromOrFalse(discussion));
+        // missing attribute: looks up both closed_at and closedAt
+        bh.consume(JsonAttribute.closedAt.stringFrom(discussion));
+    }
+
+    @Benchmark
+    public Instant instantField() {
+        return JsonAttribute.createdAt.instantFrom(discussion);
+    }
+
+    @Benchmark
+    public JsonObject extractNested() {
+        return JsonAttribute.category.extractObjectFrom(payload, JsonAttribute.discussion);
+    }
+
+    @Benchmark
+    public DataDiscussion unpackDiscussion() {
+        return JsonAttribute.discussion.discussionFrom(payload);
+    }
+
+    @Benchmark
+    public DataCommonItem parseAndUnpack() {
+        // A new delivery: parse the raw payload, then read the item
+        return new WebhookPayload(raw).commonItem(JsonAttribute.discussion);
+    }
+}
@@ -0,0 +1,60 @@
+package org.commonhaus.automation.github.context;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.commonhaus.automation.github.context.GitHubTeamService.MembershipChanges;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Membership change computation for team and collaborator sync
+ * ({@code GitHubTeamService.computeMemberChanges}).
+ * <p>
+ * The expected list differs from the current list by 10%: 5% of current members are
+ * removed and an equal number of new members are added.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TeamChangesBenchmark {
+
+    @Param({ "50", "1000", "10000" })
+    int members;
+
+    Set<String> current;
+    Set<String> expected;
+    Set<String> ignore;
+
+    @Setup
+    public void setup() {
+        int churn = Math.max(1, members / 20);
+        current = new HashSet<>();
+        expected = new HashSet<>();
+        for (int i = 0; i < members; i++) {
+            current.add("user" + i);
+        }
+        for (int i = churn; i < members + churn; i++) {
+            expected.add("user" + i);
+        }
+        ignore = Set.of("user0", "bot[bot]", "admin");
+    }
+
+    @Benchmark
+    public MembershipChanges computeChanges() {
+        return GitHubTeamService.computeMemberChanges(false, "org/team", current, expected, ignore);
+    }
+}
@@ -0,0 +1,159 @@
+package org.commonhaus.automation.github.watchers;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObjectBuilder;
+
+import org.commonhaus.automation.github.watchers.FileWatcher.FilePushEvent;
+import org.commonhaus.automation.github.watchers.FileWatcher.FileUpdateType;
+import org.commonhaus.automation.github.watchers.FileWatcher.WatchedFiles;
+import org.commonhaus.automation.queue.PeriodicUpdateQueue;
+import org.kohsuke.github.GHEventPayload;
+import org.kohsuke.github.GHEventPayload.Push.PushCommit;
+import org.kohsuke.github.GitHub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Matching of watched files against large push events ({@code FileWatcher.WatchedFiles}).
+ * <p>
+ * Each commit touches {@code filesPerCommit} paths spread over a set of directories;
+ * a few of the watched paths (and one watched pattern) appear in the push.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilePushBenchmark {
+    static final String REPO = "commonhaus/automation-test";
+
+    @Param({ "1", "20", "100" })
+    int commits;
+
+    @Param({ "10", "200" })
+    int filesPerCommit;
+
+    @Param({ "5", "100" })
+    int watched;
+
+    List<PushCommit> pushCommits;
+    FilePushEvent pushEvent;
+    WatchedFiles watchedFiles;
+    CountingQueue queue;
+
+    @Setup
+    public void setup() throws IOException {
+        String payload = pushPayload(commits, filesPerCommit);
+        GHEventPayload.Push push = GitHub.offline().parseEventPayload(new StringReader(payload),
+                GHEventPayload.Push.class);
+        pushCommits = push.getCommits();
+        pushEvent = new FilePushEvent(push, 1L, push.getRepository(), push.getSender(), null);
+
+        watchedFiles = new WatchedFiles(REPO, 1L);
+        for (int i = 0; i < watched; i++) {
+            // every 10th watched file is also changed by the push
+            String path = i % 10 == 0
+                    ? "dir" + (i % 7) + "/file" + i + ".md"
+                    : "watched/config" + i + ".yaml";
+            watchedFiles.add(path, new TaskCallback<>("group" + i, update -> {
+            }));
+        }
+        watchedFiles.add("dir3/*", new TaskCallback<>("pattern", update -> {
+        }));
+        queue = new CountingQueue();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetQueue() {
+        queue.queued = 0;
+    }
+
+    @Benchmark
+    public Map<String, FileUpdateType> changedPaths() {
+        return WatchedFiles.changedPaths(pushCommits);
+    }
+
+    @Benchmark
+    public int handlePush() {
+        watchedFiles.handlePush(pushEvent, queue);
+        return queue.queued;
+    }
+
+    static String pushPayload(int commits, int filesPerCommit) {
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        JsonArrayBuilder commitArray = Json.createArrayBuilder();
+        for (int c = 0; c < commits; c++) {
+            JsonArrayBuilder added = Json.createArrayBuilder();
+            JsonArrayBuilder modified = Json.createArrayBuilder();
+            JsonArrayBuilder removed = Json.createArrayBuilder();
+            for (int f = 0; f < filesPerCommit; f++) {
+                // overlapping paths across commits, so later commits win
+                int n = (c * filesPerCommit / 2) + f;
+                String path = "dir" + (n % 7) + "/file" + n + ".md";
+                switch (f % 5) {
+                    case 0 -> added.add(path);
+                    case 1 -> removed.add(path);
+                    default -> modified.add(path);
+                }
+            }
+            commitArray.add(Json.createObjectBuilder()
+                    .add("id", "%040x".formatted(c))
+                    .add("distinct", true)
+                    .add("message", "Commit " + c)
+                    .add("timestamp", start.plusSeconds(c).toString())
+                    .add("added", added)
+                    .add("removed", removed)
+                    .add("modified", modified));
+        }
+        JsonObjectBuilder payload = Json.createObjectBuilder()
+                .add("ref", "refs/heads/main")
+                .add("before", "0".repeat(40))
+                .add("after", "%040x".formatted(commits))
+                .add("repository", Json.createObjectBuilder()
+                        .add("id", 742099370)
+                        .add("name", "automation-test")
+                        .add("full_name", REPO)
+                        .add("default_branch", "main")
+                        .add("owner", Json.createObjectBuilder()
+                                .add("login", "commonhaus")
+                                .add("id", 1)))
+                .add("sender", Json.createObjectBuilder()
+                        .add("login", "ebullient")
+                        .add("id", 808713))
+                .add("installation", Json.createObjectBuilder()
+                        .add("id", 1))
+                .add("commits", commitArray);
+        return payload.build().toString();
+    }
+
+    /**
+     * Counts queued updates, without running them.
+     */
+    static class CountingQueue extends PeriodicUpdateQueue {
+        int queued;
+
+        @Override
+        public void queue(String name, Runnable task) {
+            queued++;
+        }
+    }
+}
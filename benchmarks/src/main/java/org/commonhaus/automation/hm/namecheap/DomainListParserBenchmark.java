@@ -0,0 +1,74 @@
+package org.commonhaus.automation.hm.namecheap;
+
+import java.util.concurrent.TimeUnit;
+
+import org.commonhaus.automation.hm.namecheap.models.DomainListResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of the Namecheap {@code namecheap.domains.getList} response
+ * ({@link NamecheapResponseParser#parseDomainListResponse(String)}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DomainListParserBenchmark {
+
+    /** Namecheap returns at most 100 domains per page */
+    @Param({ "10", "100" })
+    int domains;
+
+    String response;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder("""
+                <?xml version="1.0" encoding="utf-8"?>
+                <ApiResponse Status="OK" xmlns="http://api.namecheap.com/xml.response">
+                  <Errors />
+                  <Warnings />
+                  <RequestedCommand>namecheap.domains.getList</RequestedCommand>
+                  <CommandResponse Type="namecheap.domains.getList">
+                    <DomainGetListResult>
+                """);
+        for (int i = 0; i < domains; i++) {
+            sb.append("""
+                          <Domain ID="%d" Name="project%d.org" User="commonhaus" Created="01/15/2024" \
+                    Expires="01/15/2027" IsExpired="false" IsLocked="%s" AutoRenew="true" WhoisGuard="ENABLED" \
+                    IsPremium="false" IsOurDNS="%s" />
+                    """.formatted(1000 + i, i, i % 2 == 0, i % 3 != 0));
+        }
+        sb.append("""
+                    </DomainGetListResult>
+                    <Paging>
+                      <TotalItems>%d</TotalItems>
+                      <CurrentPage>1</CurrentPage>
+                      <PageSize>100</PageSize>
+                    </Paging>
+                  </CommandResponse>
+                  <Server>PHX01APIEXT01</Server>
+                  <GMTTimeDifference>--5:00</GMTTimeDifference>
+                  <ExecutionTime>0.078</ExecutionTime>
+                </ApiResponse>
+                """.formatted(domains));
+        response = sb.toString();
+    }
+
+    @Benchmark
+    public DomainListResponse parseDomainList() {
+        return NamecheapResponseParser.parseDomainListResponse(response);
+    }
+}
@@ -0,0 +1,105 @@
+package org.commonhaus.automation.hr.rules;
+
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.commonhaus.automation.ContextService;
+import org.commonhaus.automation.benchmarks.Payloads;
+import org.commonhaus.automation.github.context.EventData;
+import org.commonhaus.automation.hr.EventQueryContext;
+import org.kohsuke.github.GHEventPayload;
+import org.kohsuke.github.GitHub;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.quarkiverse.githubapp.runtime.SimpleGitHubEvent;
+
+/**
+ * Evaluation of notice rules ({@link Rule#matches(EventQueryContext)}) against a
+ * discussion event, as done by {@code NoticeGitHubEvents} for every matching delivery.
+ * <p>
+ * Only the action, category and body matchers are used: the label, label change,
+ * member and paths matchers query GitHub.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RuleMatchBenchmark {
+    static final TypeReference<List<Rule>> RULES = new TypeReference<>() {
+    };
+
+    /** Rule set; each rule is a variation of one of the following */
+    static final String[] RULE_TEMPLATES = {
+            """
+                    action: [created, edited]
+                    category: [Announcements, "Consensus Building"]
+                    then: [announce%d]
+                    """,
+            """
+                    action: [created]
+                    category: [Ideas]
+                    body: "^(?!.*(?:non-bot reactions|vote::result)).*$"
+                    then: [notice%d]
+                    """,
+            """
+                    action: ["!deleted", "!transferred"]
+                    body: ".*things.*"
+                    then: [body%d]
+                    """,
+            """
+                    action: [labeled]
+                    then: [never%d]
+                    """,
+    };
+
+    @Param({ "4", "40" })
+    int ruleCount;
+
+    List<Rule> rules;
+    EventQueryContext qc;
+
+    @Setup
+    public void setup() throws Exception {
+        StringBuilder yaml = new StringBuilder();
+        for (int i = 0; i < ruleCount; i++) {
+            String rule = RULE_TEMPLATES[i % RULE_TEMPLATES.length].formatted(i);
+            yaml.append("- ").append(rule.replace("\n", "\n  ").stripTrailing()).append('\n');
+        }
+        rules = ContextService.yamlMapper.readValue(yaml.toString(), RULES);
+
+        String payload = Payloads.read("discussionCreated.json");
+        SimpleGitHubEvent event = new SimpleGitHubEvent(46053716L, "benchmark", null,
+                "commonhaus/automation-test", "discussion", "created", payload, null, false);
+        GHEventPayload.Discussion ghPayload = GitHub.offline().parseEventPayload(new StringReader(payload),
+                GHEventPayload.Discussion.class);
+        qc = new EventQueryContext(null, new EventData(event, ghPayload));
+    }
+
+    @Benchmark
+    public Set<String> findMatchingActions() {
+        Set<String> actions = new HashSet<>();
+        for (Rule rule : rules) {
+            if (rule.matches(qc)) {
+                actions.addAll(rule.then);
+            }
+        }
+        return actions;
+    }
+}
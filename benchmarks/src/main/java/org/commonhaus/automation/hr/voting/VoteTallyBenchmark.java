@@ -0,0 +1,147 @@
+package org.commonhaus.automation.hr.voting;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+import org.commonhaus.automation.github.context.DataActor;
+import org.commonhaus.automation.github.context.DataCommonComment;
+import org.commonhaus.automation.github.context.DataCommonItem;
+import org.commonhaus.automation.github.context.DataReaction;
+import org.commonhaus.automation.github.context.EventType;
+import org.commonhaus.automation.github.context.JsonAttribute;
+import org.commonhaus.automation.hr.config.VoteConfig.Threshold;
+import org.commonhaus.automation.hr.voting.VoteTally.CountingMethod;
+import org.kohsuke.github.ReactionContent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Vote counting ({@link VoteTally}) and rendering of the vote summary
+ * ({@link VoteTally#toMarkdown(boolean)}) for large groups.
+ * <p>
+ * Team members react in a mix of approve, ok and revise reactions (with some
+ * duplicates and ignored reactions); non-members react as well. Some of the
+ * members that did not vote have an alternate that did.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VoteTallyBenchmark {
+    static final Instant DATE = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Param({ "50", "500" })
+    int teamSize;
+
+    @Param({ "marthas", "manualComments" })
+    CountingMethod method;
+
+    VoteInformation info;
+    List<DataReaction> reactions;
+    List<DataCommonComment> comments;
+    VoteTally tally;
+
+    @Setup
+    public void setup() {
+        Set<DataActor> team = new HashSet<>();
+        Map<String, DataActor> alternates = new HashMap<>();
+        reactions = new ArrayList<>();
+        comments = new ArrayList<>();
+
+        for (int i = 1; i <= teamSize; i++) {
+            DataActor member = actor("user" + i);
+            team.add(member);
+            if (i % 11 == 0) {
+                // did not vote; the alternate did
+                DataActor alternate = actor("alt_" + i);
+                alternates.put(member.login, alternate);
+                vote(alternate, i);
+            } else {
+                vote(member, i);
+            }
+            if (i % 17 == 0) {
+                // duplicate reaction
+                reactions.add(new DataReaction(member, "thumbs_down", DATE));
+            }
+        }
+        for (int i = 1; i <= teamSize / 5; i++) {
+            vote(actor("extra" + i), i);
+        }
+
+        VoteEvent event = new VoteEvent(1L, "commonhaus/automation-test", EventType.discussion,
+                "D_kwDOLDuJqs4AXteZ", 1);
+        boolean marthas = method == CountingMethod.marthas;
+        info = new VoteInformation(event, item(), "commonhaus/test-quorum-default", team, alternates,
+                method, Threshold.twothirds,
+                marthas ? List.of(ReactionContent.PLUS_ONE) : List.of(),
+                marthas ? List.of(ReactionContent.EYES) : List.of(),
+                marthas ? List.of(ReactionContent.MINUS_ONE) : List.of());
+        tally = new VoteTally(info, reactions, comments, List.of());
+    }
+
+    @Benchmark
+    public VoteTally tally() {
+        return new VoteTally(info, reactions, comments, List.of());
+    }
+
+    @Benchmark
+    public String toMarkdown() {
+        return tally.toMarkdown(false);
+    }
+
+    void vote(DataActor user, int i) {
+        String content = i % 13 == 0 ? "rocket"
+                : i % 3 == 0 ? "thumbs_down"
+                        : i % 2 == 0 ? "thumbs_up" : "eyes";
+        reactions.add(new DataReaction(user, content, DATE));
+        comments.add(new DataCommonComment(Json.createObjectBuilder()
+                .add("author", user(user.login))
+                .add("body", "Vote: " + content)
+                .add("createdAt", DATE.toString())
+                .build()));
+    }
+
+    static DataActor actor(String login) {
+        return new DataActor(user(login));
+    }
+
+    static JsonObject user(String login) {
+        return Json.createObjectBuilder()
+                .add("login", login)
+                .add("url", "https://github.com/" + login)
+                .add("id", login)
+                .build();
+    }
+
+    static DataCommonItem item() {
+        return JsonAttribute.node.commonItemFrom(Json.createObjectBuilder()
+                .add("node", Json.createObjectBuilder()
+                        .add("number", 1)
+                        .add("id", "D_kwDOLDuJqs4AXteZ")
+                        .add("title", "Vote on a large change")
+                        .add("closed", false)
+                        .add("state", "open")
+                        .add("body", "Voting group @commonhaus/test-quorum-default\r\n<!--vote::marthas -->"))
+                .build());
+    }
+}
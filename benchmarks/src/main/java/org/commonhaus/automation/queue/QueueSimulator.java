@@ -0,0 +1,383 @@
+package org.commonhaus.automation.queue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.commonhaus.automation.queue.PeriodicUpdateQueue.QueueStats;
+
+/**
+ * Runs the {@link PeriodicUpdateQueue} in virtual time against synthetic workloads,
+ * to compare queue settings (period, retry delays) without waiting on the wall clock.
+ * <p>
+ * Workloads (combine with {@code --scenario=bootstrap,burst,outage}):
+ * <ul>
+ * <li>{@code bootstrap}: at startup, every repository queues a configuration read (CHANGE)
+ * and a reconciliation of its group (RECONCILE)</li>
+ * <li>{@code burst}: webhook events arrive evenly over a short window; each queues a CHANGE
+ * and a RECONCILE for a random group</li>
+ * <li>{@code outage}: GitHub is unavailable for a while; attempts fail after one API call,
+ * and failed reconciliations are retried with
+ * {@link PeriodicUpdateQueue#scheduleReconciliationRetry(String, java.util.function.Consumer, int)}</li>
+ * </ul>
+ * Each API call takes {@code --api-latency} (plus up to {@code --api-jitter}) of virtual time.
+ * <p>
+ * Latency is measured per event: from its arrival until a reconciliation of its group that
+ * started after the arrival completes. All times are reported in milliseconds of (simulated) real time.
+ * <p>
+ * The simulation runs on one thread: events that arrive while a task is running are queued when
+ * it finishes (their latency is still measured from the arrival time).
+ * <p>
+ * Options (durations as {@code 500ms}, {@code 2s}, {@code 5m}, {@code 1h}):
+ * {@code --period=2s --initial-delay=10s --retry-delays=5s,30s,2m,10m,30m --max-retries=5
+ * --api-latency=150ms --api-jitter=100ms --change-calls=3 --reconcile-calls=10
+ * --repos=100 --groups=20 --burst-at=5m --burst-events=300 --burst-over=1m
+ * --outage-at=20m --outage-for=10m --horizon=6h --seed=1}
+ */
+public class QueueSimulator {
+    static final Pattern DURATION = Pattern.compile("(\\d+)(ms|s|m|h)");
+
+    Duration period = Duration.ofSeconds(2);
+    Duration initialDelay = Duration.ofSeconds(10);
+    List<Duration> retryDelays = durations("5s,30s,2m,10m,30m");
+    int maxRetries = 5;
+    Duration apiLatency = Duration.ofMillis(150);
+    Duration apiJitter = Duration.ofMillis(100);
+    int changeCalls = 3;
+    int reconcileCalls = 10;
+    Set<String> scenarios = Set.of("bootstrap", "burst", "outage");
+    int repos = 100;
+    int groups = 20;
+    Duration burstAt = Duration.ofMinutes(5);
+    int burstEvents = 300;
+    Duration burstOver = Duration.ofMinutes(1);
+    Duration outageAt = Duration.ofMinutes(20);
+    Duration outageFor = Duration.ofMinutes(10);
+    Duration horizon = Duration.ofHours(6);
+    long seed = 1;
+
+    VirtualClock clock;
+    VirtualScheduler scheduler;
+    PeriodicUpdateQueue queue;
+    Random random;
+
+    /** Events waiting for a reconciliation, by group */
+    final Map<String, Deque<Arrival>> pending = new HashMap<>();
+    /** Latencies (ms) by event source */
+    final Map<String, List<Long>> latencies = new LinkedHashMap<>();
+    /** API calls, by minute of virtual time */
+    final Map<Long, Long> callsByMinute = new HashMap<>();
+    final Map<String, Long> calls = new LinkedHashMap<>();
+    long arrivalsRemaining;
+    long reconcilesQueued;
+    long reconcilesRun;
+    long failedAttempts;
+    long retriesRun;
+    long retriesExhausted;
+    int maxDepth;
+    long maxOldestMs;
+
+    record Arrival(long time, String source) {
+    }
+
+    public static void main(String[] args) {
+        QueueSimulator sim = new QueueSimulator();
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            String name = arg.substring(0, Math.max(0, arg.indexOf('=')));
+            switch (name) {
+                case "--period" -> sim.period = duration(value);
+                case "--initial-delay" -> sim.initialDelay = duration(value);
+                case "--retry-delays" -> sim.retryDelays = durations(value);
+                case "--max-retries" -> sim.maxRetries = Integer.parseInt(value);
+                case "--api-latency" -> sim.apiLatency = duration(value);
+                case "--api-jitter" -> sim.apiJitter = duration(value);
+                case "--change-calls" -> sim.changeCalls = Integer.parseInt(value);
+                case "--reconcile-calls" -> sim.reconcileCalls = Integer.parseInt(value);
+                case "--scenario" -> sim.scenarios = Set.of(value.split(","));
+                case "--repos" -> sim.repos = Integer.parseInt(value);
+                case "--groups" -> sim.groups = Integer.parseInt(value);
+                case "--burst-at" -> sim.burstAt = duration(value);
+                case "--burst-events" -> sim.burstEvents = Integer.parseInt(value);
+                case "--burst-over" -> sim.burstOver = duration(value);
+                case "--outage-at" -> sim.outageAt = duration(value);
+                case "--outage-for" -> sim.outageFor = duration(value);
+                case "--horizon" -> sim.horizon = duration(value);
+                case "--seed" -> sim.seed = Long.parseLong(value);
+                default -> {
+                    System.err.println("Unknown argument: " + arg);
+                    System.exit(2);
+                }
+            }
+        }
+        long start = System.nanoTime();
+        sim.run();
+        sim.report(Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    void run() {
+        clock = new VirtualClock();
+        scheduler = new VirtualScheduler(clock);
+        random = new Random(seed);
+        queue = new PeriodicUpdateQueue();
+        queue.configure(clock, retryDelays);
+
+        if (scenarios.contains("bootstrap")) {
+            arrivalsRemaining++;
+            scheduler.at(0, () -> {
+                arrivalsRemaining--;
+                for (int r = 0; r < repos; r++) {
+                    event("bootstrap", "group-" + (r % groups));
+                }
+            });
+        }
+        if (scenarios.contains("burst") && burstEvents > 0) {
+            long spacing = burstOver.toMillis() / burstEvents;
+            for (int i = 0; i < burstEvents; i++) {
+                arrivalsRemaining++;
+                scheduler.at(burstAt.toMillis() + i * spacing, () -> {
+                    arrivalsRemaining--;
+                    event("burst", "group-" + random.nextInt(groups));
+                });
+            }
+        }
+        // sample the backlog once per period
+        scheduler.scheduleAtFixedRate(() -> {
+            QueueStats stats = queue.stats();
+            maxDepth = Math.max(maxDepth, stats.depth());
+            maxOldestMs = Math.max(maxOldestMs, stats.oldestAgeMs());
+        }, period, period);
+
+        queue.start(scheduler, initialDelay, period);
+        scheduler.runUntil(horizon.toMillis(),
+                () -> arrivalsRemaining == 0 && queue.isEmpty() && pending.values().stream().allMatch(Deque::isEmpty));
+        queue.shutdown(null);
+    }
+
+    /** An event for the group: a change, followed by a reconciliation */
+    void event(String source, String group) {
+        pending.computeIfAbsent(group, k -> new ArrayDeque<>()).add(new Arrival(clock.millis(), source));
+        queue.queue(group, () -> change(group));
+        reconcilesQueued++;
+        queue.queueReconciliation(group, () -> reconcile(group, 0));
+    }
+
+    void change(String group) {
+        if (isOutage()) {
+            failedAttempts++;
+            spend("change", 1);
+            return;
+        }
+        spend("change", changeCalls);
+    }
+
+    void reconcile(String group, int retryCount) {
+        reconcilesRun++;
+        if (retryCount > 0) {
+            retriesRun++;
+        }
+        Deque<Arrival> waiting = pending.computeIfAbsent(group, k -> new ArrayDeque<>());
+        List<Arrival> covered = new ArrayList<>(waiting);
+        waiting.clear();
+
+        if (isOutage()) {
+            failedAttempts++;
+            spend("reconcile", 1);
+            // still waiting
+            covered.forEach(waiting::addFirst);
+            if (retryCount < maxRetries) {
+                queue.scheduleReconciliationRetry(group, count -> reconcile(group, count), retryCount);
+            } else {
+                retriesExhausted++;
+            }
+            return;
+        }
+        spend(retryCount > 0 ? "retry" : "reconcile", reconcileCalls);
+        for (Arrival arrival : covered) {
+            latencies.computeIfAbsent(arrival.source(), k -> new ArrayList<>())
+                    .add(clock.millis() - arrival.time());
+        }
+    }
+
+    boolean isOutage() {
+        if (!scenarios.contains("outage")) {
+            return false;
+        }
+        long now = clock.millis();
+        return now >= outageAt.toMillis() && now < outageAt.plus(outageFor).toMillis();
+    }
+
+    /** Make API calls: advances the clock */
+    void spend(String type, int count) {
+        calls.merge(type, (long) count, Long::sum);
+        for (int i = 0; i < count; i++) {
+            callsByMinute.merge(clock.millis() / 60_000, 1L, Long::sum);
+            long jitter = apiJitter.isZero() ? 0 : random.nextLong(apiJitter.toMillis() + 1);
+            clock.advance(apiLatency.toMillis() + jitter);
+        }
+    }
+
+    void report(Duration wallTime) {
+        QueueStats stats = queue.stats();
+        boolean drained = arrivalsRemaining == 0 && queue.isEmpty();
+        System.out.printf("Simulated %s (%s) in %d ms%n", Duration.ofMillis(clock.millis()),
+                drained ? "drained" : "horizon reached, not drained", wallTime.toMillis());
+        System.out.printf("Settings      period %s, initial delay %s, retry delays %s, api latency %s (+%s)%n",
+                period, initialDelay, retryDelays, apiLatency, apiJitter);
+        System.out.printf("%nLatency (ms)  %10s %10s %10s %10s %10s %8s%n", "p50", "p90", "p99", "max", "mean", "events");
+        latencies.forEach((source, values) -> {
+            long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("  %-11s %10d %10d %10d %10d %10d %8d%n", source,
+                    percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                    sorted[sorted.length - 1], (long) Arrays.stream(sorted).average().orElse(0), sorted.length);
+        });
+        long unfinished = pending.values().stream().mapToLong(Deque::size).sum();
+        if (unfinished > 0) {
+            System.out.printf("  %d events were not reconciled%n", unfinished);
+        }
+
+        System.out.printf("%nQueue         max depth %d, max oldest %d ms, tasks %d (failed %d), mean wait %d ms, max wait %d ms%n",
+                maxDepth, maxOldestMs, stats.completed(), stats.failed(),
+                stats.completed() == 0 ? 0 : stats.totalWaitMs() / stats.completed(), stats.maxWaitMs());
+        System.out.printf("Reconcile     queued %d, run %d (%d collapsed), failed attempts %d, retries %d (%d gave up)%n",
+                reconcilesQueued, reconcilesRun, reconcilesQueued - (reconcilesRun - retriesRun),
+                failedAttempts, retriesRun, retriesExhausted);
+
+        long total = calls.values().stream().mapToLong(Long::longValue).sum();
+        long peakHour = 0;
+        long lastMinute = clock.millis() / 60_000;
+        for (long m = 0; m <= lastMinute; m++) {
+            long hour = 0;
+            for (long i = m; i < m + 60; i++) {
+                hour += callsByMinute.getOrDefault(i, 0L);
+            }
+            peakHour = Math.max(peakHour, hour);
+        }
+        System.out.printf("API calls     %d %s, peak %d in one hour%n", total, calls, peakHour);
+    }
+
+    static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    static Duration duration(String value) {
+        Matcher m = DURATION.matcher(value.trim());
+        if (!m.matches()) {
+            throw new IllegalArgumentException("Bad duration: " + value);
+        }
+        long amount = Long.parseLong(m.group(1));
+        return switch (m.group(2)) {
+            case "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            default -> Duration.ofHours(amount);
+        };
+    }
+
+    static List<Duration> durations(String value) {
+        return Arrays.stream(value.split(",")).map(QueueSimulator::duration).toList();
+    }
+
+    /**
+     * Clock that only moves when told to
+     */
+    static class VirtualClock extends Clock {
+        long now;
+
+        void advance(long millis) {
+            now += millis;
+        }
+
+        void advanceTo(long millis) {
+            now = Math.max(now, millis);
+        }
+
+        @Override
+        public long millis() {
+            return now;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    /**
+     * Runs scheduled work in time order, on the calling thread, moving the virtual clock forward.
+     * As with a single-thread executor, runs never overlap: work that is due while
+     * another task runs starts (late) when it completes.
+     */
+    static class VirtualScheduler implements QueueScheduler {
+        record Entry(long time, long seq, Runnable task, long period) {
+        }
+
+        final VirtualClock clock;
+        final PriorityQueue<Entry> entries = new PriorityQueue<>(
+                (a, b) -> a.time != b.time ? Long.compare(a.time, b.time) : Long.compare(a.seq, b.seq));
+        long seq;
+        boolean shutdown;
+
+        VirtualScheduler(VirtualClock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public void scheduleAtFixedRate(Runnable task, Duration initialDelay, Duration period) {
+            entries.add(new Entry(clock.millis() + initialDelay.toMillis(), seq++, task, period.toMillis()));
+        }
+
+        void at(long time, Runnable task) {
+            entries.add(new Entry(time, seq++, task, 0));
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        /**
+         * Run work until the end time, or until done
+         */
+        void runUntil(long end, BooleanSupplier done) {
+            while (!shutdown && !entries.isEmpty() && entries.peek().time <= end) {
+                Entry entry = entries.poll();
+                clock.advanceTo(entry.time);
+                entry.task.run();
+                if (entry.period > 0) {
+                    entries.add(new Entry(entry.time + entry.period, seq++, entry.task, entry.period));
+                }
+                if (done.getAsBoolean()) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package org.commonhaus.automation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.smallrye.graphql.client.Response;
+import jdk.jfr.Event;
+
+/**
+ * Accounting of GitHub API calls.
+ * <p>
+ * Every call made through {@link GraphQLQueryContext#execQuerySync(String, Map)} or
+ * {@code GitHubQueryContext#execGitHubSync} is attributed to:
+ * <ul>
+ * <li>the installation (or other API scope) of the query context,</li>
+ * <li>the task group that is running (see {@link #runInGroup(String, Runnable)};
+ * set by the update and webhook ingest queues), and</li>
+ * <li>the calling component: the first class and method on the stack
+ * that is not a query context (e.g. {@code GitHubTeamService.syncMembers}).</li>
+ * </ul>
+ * For each, the number of calls, errors, GraphQL point cost (from {@code rateLimit { cost }}
+ * when the query requests it, otherwise the minimum cost of 1), bytes received (GraphQL only)
+ * and latency are counted.
+ * <p>
+ * Counts are kept in {@value #BUCKETS} buckets of {@link #BUCKET} for a rolling one hour report.
+ */
+public class ApiUsage {
+    public static final Duration BUCKET = Duration.ofMinutes(10);
+    public static final int BUCKETS = 6;
+    static final long BUCKET_MS = BUCKET.toMillis();
+    static final int MAX_KEYS = 1000;
+
+    static final String NO_GROUP = "-";
+    static final String OTHER = "(other)";
+    /** Package of the {@code Data*} query helpers (called by query contexts on behalf of features) */
+    static final String DATA_PACKAGE = "org.commonhaus.automation.github.context";
+
+    public enum Api {
+        REST,
+        GRAPHQL
+    }
+
+    private static final ThreadLocal<String> taskGroup = new ThreadLocal<>();
+    private static final StackWalker walker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final Bucket[] buckets = new Bucket[BUCKETS];
+
+    private ApiUsage() {
+    }
+
+    /**
+     * Run a task: API calls made by the task (on this thread)
+     * are attributed to the specified task group.
+     *
+     * @param group Task group name
+     * @param task Task to run
+     */
+    public static void runInGroup(String group, Runnable task) {
+        String previous = taskGroup.get();
+        taskGroup.set(group);
+        try {
+            task.run();
+        } finally {
+            if (previous == null) {
+                taskGroup.remove();
+            } else {
+                taskGroup.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the task group for the current thread, or {@value #NO_GROUP}
+     */
+    public static String currentTaskGroup() {
+        String group = taskGroup.get();
+        return group == null ? NO_GROUP : group;
+    }
+
+    public static void recordRest(String scope, long latencyNanos, boolean error) {
+        record(System.currentTimeMillis(), scope,
+                new UsageKey(currentTaskGroup(), caller(), Api.REST),
+                latencyNanos, 0, 0, error);
+    }
+
+    /**
+     * @return key for a GraphQL call made from the current thread
+     *         (captured before a request is sent from another thread)
+     */
+    static UsageKey graphQLKey() {
+        return new UsageKey(currentTaskGroup(), caller(), Api.GRAPHQL);
+    }
+
+    static void recordGraphQL(String scope, UsageKey key, long latencyNanos, Response response, boolean error) {
+        record(System.currentTimeMillis(), scope, key,
+                latencyNanos, graphQLCost(response), responseBytes(response), error);
+    }
+
+    static void record(long now, String scope, UsageKey key,
+            long latencyNanos, long cost, long bytes, boolean error) {
+        Map<UsageKey, Counter> counters = bucket(now).scopes
+                .computeIfAbsent(scope == null ? OTHER : scope, k -> new ConcurrentHashMap<>());
+        if (counters.size() >= MAX_KEYS && !counters.containsKey(key)) {
+            // Bound memory use if task group names are not well-behaved
+            key = new UsageKey(OTHER, OTHER, key.api());
+        }
+        counters.computeIfAbsent(key, k -> new Counter())
+                .add(latencyNanos, cost, bytes, error);
+    }
+
+    /**
+     * Usage for the last hour, by installation (or other API scope).
+     * Entries are sorted by descending GraphQL cost, then number of calls.
+     *
+     * @return usage summary
+     */
+    public static Map<String, List<UsageSummary>> report() {
+        return report(System.currentTimeMillis());
+    }
+
+    static Map<String, List<UsageSummary>> report(long now) {
+        long oldest = bucketStart(now) - (BUCKETS - 1) * BUCKET_MS;
+        Map<String, Map<UsageKey, Counter>> merged = new HashMap<>();
+        synchronized (buckets) {
+            for (Bucket bucket : buckets) {
+                if (bucket == null || bucket.start < oldest) {
+                    continue;
+                }
+                bucket.scopes.forEach((scope, counters) -> {
+                    var target = merged.computeIfAbsent(scope, k -> new HashMap<>());
+                    counters.forEach((key, counter) -> target.computeIfAbsent(key, k -> new Counter()).merge(counter));
+                });
+            }
+        }
+        Map<String, List<UsageSummary>> result = new TreeMap<>();
+        merged.forEach((scope, counters) -> {
+            List<UsageSummary> summaries = new ArrayList<>();
+            counters.forEach((key, counter) -> summaries.add(counter.summarize(key)));
+            summaries.sort(Comparator.comparingLong(UsageSummary::cost)
+                    .thenComparingLong(UsageSummary::calls)
+                    .reversed());
+            result.put(scope, summaries);
+        });
+        return result;
+    }
+
+    static void reset() {
+        synchronized (buckets) {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = null;
+            }
+        }
+    }
+
+    private static long bucketStart(long now) {
+        return now - now % BUCKET_MS;
+    }
+
+    private static Bucket bucket(long now) {
+        long start = bucketStart(now);
+        int i = (int) ((start / BUCKET_MS) % BUCKETS);
+        synchronized (buckets) {
+            Bucket bucket = buckets[i];
+            if (bucket == null || bucket.start != start) {
+                bucket = new Bucket(start);
+                buckets[i] = bucket;
+            }
+            return bucket;
+        }
+    }
+
+    /**
+     * Find the calling component: the first frame outside of query contexts
+     * (and pagination, event recording, or the {@code Data*} query helpers
+     * in {@link #DATA_PACKAGE}) that are used to make the call.
+     */
+    public static String caller() {
+        return walker.walk(frames -> frames
+                .filter(f -> !isInfrastructure(f.getDeclaringClass()))
+                .findFirst()
+                .map(f -> simpleName(f.getDeclaringClass()) + "." + methodName(f.getMethodName()))
+                .orElse(OTHER));
+    }
+
+    private static boolean isInfrastructure(Class<?> type) {
+        for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+            if (c == ApiUsage.class
+                    || c == GraphQLPager.class
+                    || Event.class.isAssignableFrom(c)
+                    || GraphQLQueryContext.class.isAssignableFrom(c)
+                    || (c.getPackageName().equals(DATA_PACKAGE) && c.getSimpleName().startsWith("Data"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String simpleName(Class<?> type) {
+        // Qualify nested classes with the outer class name
+        String name = type.getName();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Lambda bodies are compiled to methods named {@code lambda$enclosingMethod$n}
+     */
+    static String methodName(String name) {
+        if (name.startsWith("lambda$")) {
+            int end = name.indexOf('$', 7);
+            return end > 0 ? name.substring(7, end) : name.substring(7);
+        }
+        return name;
+    }
+
+    /**
+     * @return the cost reported by {@code rateLimit { cost }} if the query requested it,
+     *         otherwise 1 (the minimum cost of a query)
+     */
+    static long graphQLCost(Response response) {
+        JsonObject data = response == null ? null : response.getData();
+        if (data != null
+                && data.get("rateLimit") instanceof JsonObject rateLimit
+                && rateLimit.get("cost") instanceof JsonNumber cost) {
+            return cost.longValue();
+        }
+        return 1;
+    }
+
+    /**
+     * @return the response size: from the Content-Length header if present,
+     *         otherwise estimated from the returned data
+     */
+    static long responseBytes(Response response) {
+        if (response == null) {
+            return 0;
+        }
+        Map<String, List<String>> meta = response.getTransportMeta();
+        List<String> length = meta == null ? null : meta.get("Content-Length");
+        if (length == null && meta != null) {
+            length = meta.get("content-length");
+        }
+        if (length != null && !length.isEmpty()) {
+            try {
+                return Long.parseLong(length.get(0));
+            } catch (NumberFormatException ignored) {
+                // fall through to estimate
+            }
+        }
+        JsonObject data = response.getData();
+        return data == null ? 0 : data.toString().length();
+    }
+
+    record UsageKey(String taskGroup, String component, Api api) {
+    }
+
+    @RegisterForReflection
+    public record UsageSummary(
+            String taskGroup,
+            String component,
+            Api api,
+            long calls,
+            long errors,
+            long cost,
+            long bytes,
+            long totalLatencyMs,
+            long maxLatencyMs) {
+    }
+
+    static class Bucket {
+        final long start;
+        final Map<String, Map<UsageKey, Counter>> scopes = new ConcurrentHashMap<>();
+
+        Bucket(long start) {
+            this.start = start;
+        }
+    }
+
+    static class Counter {
+        final LongAdder calls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder cost = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final LongAdder latencyNanos = new LongAdder();
+        final AtomicLong maxLatencyNanos = new AtomicLong();
+
+        void add(long latency, long cost, long bytes, boolean error) {
+            this.calls.increment();
+            if (error) {
+                this.errors.increment();
+            }
+            this.cost.add(cost);
+            this.bytes.add(bytes);
+            this.latencyNanos.add(latency);
+            this.maxLatencyNanos.accumulateAndGet(latency, Math::max);
+        }
+
+        void merge(Counter other) {
+            calls.add(other.calls.sum());
+            errors.add(other.errors.sum());
+            cost.add(other.cost.sum());
+            bytes.add(other.bytes.sum());
+            latencyNanos.add(other.latencyNanos.sum());
+            maxLatencyNanos.accumulateAndGet(other.maxLatencyNanos.get(), Math::max);
+        }
+
+        UsageSummary summarize(UsageKey key) {
+            return new UsageSummary(key.taskGroup(), key.component(), key.api(),
+                    calls.sum(), errors.sum(), cost.sum(), bytes.sum(),
+                    Duration.ofNanos(latencyNanos.sum()).toMillis(),
+                    Duration.ofNanos(maxLatencyNanos.get()).toMillis());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.commonhaus.automation;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Singleton;
+
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+
+/**
+ * Threads for GitHub API work done in the background: pages prefetched by
+ * {@link GraphQLPager}, and subtasks started by
+ * {@link org.commonhaus.automation.github.scopes.QueryFanOut}.
+ * <p>
+ * At most {@value #MAX_THREADS} threads are used, across all installations.
+ * Work is only accepted if a thread is available: when all threads are busy,
+ * {@link #trySubmit(Callable)} returns null and the caller does the work itself
+ * (the next page is not prefetched; a subtask runs on the calling thread).
+ * Work started from a background thread can then never wait for a thread
+ * held by its caller.
+ * <p>
+ * Threads are stopped when the application shuts down, and work is accepted
+ * again when it starts (dev and test restarts reuse the JVM). The pool is static
+ * because callers (query contexts) are not beans.
+ */
+@Singleton
+public class BackgroundQueries {
+    /** Maximum number of background threads */
+    public static final int MAX_THREADS = 16;
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static ThreadPoolExecutor executor;
+    private static boolean stopped;
+
+    /**
+     * Run a task on a background thread if one is available.
+     *
+     * @param task Task to run
+     * @return Future for the task result, or null if no thread is available
+     *         (or the application is stopping)
+     */
+    public static <T> Future<T> trySubmit(Callable<T> task) {
+        ThreadPoolExecutor pool = executor();
+        if (pool == null) {
+            return null;
+        }
+        try {
+            return pool.submit(task);
+        } catch (RejectedExecutionException e) {
+            Log.debugf("BackgroundQueries: all %s threads are busy", MAX_THREADS);
+            return null;
+        }
+    }
+
+    static synchronized ThreadPoolExecutor executor() {
+        if (executor == null && !stopped) {
+            executor = new ThreadPoolExecutor(0, MAX_THREADS, 60L, TimeUnit.SECONDS,
+                    new SynchronousQueue<>(), r -> {
+                        Thread t = new Thread(r, "background-query-" + threadCount.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+        }
+        return executor;
+    }
+
+    void startup(@Observes StartupEvent startup) {
+        synchronized (BackgroundQueries.class) {
+            stopped = false;
+        }
+    }
+
+    void shutdown(@Observes ShutdownEvent shutdown) {
+        ThreadPoolExecutor pool;
+        synchronized (BackgroundQueries.class) {
+            stopped = true;
+            pool = executor;
+            executor = null;
+        }
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package org.commonhaus.automation;
+
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.kohsuke.github.HttpException;
+
+import io.quarkus.logging.Log;
+
+/**
+ * Fail fast when a remote service is down.
+ * <p>
+ * Remote services (GitHub, Namecheap, ForwardEmail, OpenCollective) are called
+ * synchronously, often from the single update queue thread. Without a breaker,
+ * every call waits for a full timeout during an outage, and everything queued
+ * behind it stalls.
+ * <ul>
+ * <li>{@link State#CLOSED}: calls are allowed. After {@value #FAILURE_THRESHOLD}
+ * consecutive outage failures, the circuit opens.</li>
+ * <li>{@link State#OPEN}: calls are rejected with {@link CircuitOpenException}
+ * until {@link #OPEN_DURATION} has passed.</li>
+ * <li>{@link State#HALF_OPEN}: a single probe call is allowed (others are rejected).
+ * The circuit closes if it succeeds, and opens again if it fails.</li>
+ * </ul>
+ * Only failures that indicate an outage count (see {@link #isOutage(Throwable)}):
+ * a 404 or 422 means the service is up.
+ * <p>
+ * Breakers are shared by name, e.g. one per GitHub installation
+ * ({@code github:<installationId>}), and one per other service.
+ */
+public class CircuitBreaker {
+    static final String ME = "🔌 circuit";
+
+    public static final int FAILURE_THRESHOLD = 5;
+    public static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * @param name Service name (e.g. {@code namecheap} or {@code github:<installationId>})
+     * @return shared circuit breaker for the named service
+     */
+    public static CircuitBreaker forService(String name) {
+        return breakers.computeIfAbsent(name,
+                k -> new CircuitBreaker(k, FAILURE_THRESHOLD, OPEN_DURATION, System::nanoTime));
+    }
+
+    /**
+     * @return state of all circuits that are not closed, by name
+     */
+    public static Map<String, State> openCircuits() {
+        Map<String, State> result = new TreeMap<>();
+        breakers.values().forEach(b -> {
+            State state = b.state();
+            if (state != State.CLOSED) {
+                result.put(b.name, state);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Forget all circuit breakers (tests)
+     */
+    static void reset() {
+        breakers.clear();
+    }
+
+    /**
+     * Failures that indicate the service is unavailable:
+     * connection errors and timeouts, and HTTP 408, 429 and 5xx responses.
+     * Other exceptions (e.g. not found, validation errors, or a response
+     * that can't be parsed) do not count.
+     *
+     * @param e Exception thrown by a remote call
+     * @return true if the exception indicates an outage
+     */
+    public static boolean isOutage(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof CircuitOpenException) {
+                return false;
+            }
+            if (t instanceof HttpException he) {
+                return isOutage(he.getResponseCode());
+            }
+            if (t instanceof SocketException // connect failure, connection reset
+                    || t instanceof UnknownHostException
+                    || t instanceof SocketTimeoutException
+                    || t instanceof HttpTimeoutException
+                    || t instanceof TimeoutException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param e Exception thrown by a task
+     * @return true if the exception was caused by a call rejected by an open circuit
+     */
+    public static boolean isCircuitOpen(Throwable e) {
+        return openCircuit(e) != null;
+    }
+
+    /**
+     * @param e Exception thrown by a task
+     * @return name of the circuit that rejected the call, or null if the exception
+     *         was not caused by an open circuit
+     */
+    public static String openCircuit(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof CircuitOpenException open) {
+                return open.circuit();
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param statusCode HTTP status code (-1 if there was no response)
+     * @return true if the status code indicates an outage
+     */
+    public static boolean isOutage(int statusCode) {
+        return statusCode < 0 || statusCode == 408 || statusCode == 429 || statusCode >= 500;
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoTime;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+    private boolean probing;
+
+    CircuitBreaker(String name, int failureThreshold, Duration openDuration, LongSupplier nanoTime) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && nanoTime.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            probing = false;
+        }
+        return state;
+    }
+
+    /**
+     * Check if a call may be made. When this returns true, the outcome
+     * must be reported with {@link #recordSuccess()} or {@link #recordFailure(Throwable)}.
+     *
+     * @return true if the call may proceed; false to fail fast
+     */
+    public synchronized boolean allowRequest() {
+        return switch (state()) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (probing) {
+                    yield false;
+                }
+                probing = true;
+                Log.debugf("[%s] %s: half-open, probing", ME, name);
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * The service responded (including with an error that is not an outage).
+     */
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            Log.infof("[%s] %s: %s -> CLOSED", ME, name, state);
+        }
+        state = State.CLOSED;
+        failures = 0;
+        probing = false;
+    }
+
+    /**
+     * Record the outcome of a failed call.
+     * Failures that do not indicate an outage count as a success.
+     *
+     * @param e Exception thrown by the call
+     */
+    public void recordFailure(Throwable e) {
+        if (isOutage(e)) {
+            recordOutage(e.toString());
+        } else {
+            recordSuccess();
+        }
+    }
+
+    /**
+     * Record a failed call that indicates an outage.
+     *
+     * @param reason Description of the failure (logged when the circuit opens)
+     */
+    public synchronized void recordOutage(String reason) {
+        failures++;
+        probing = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= failureThreshold)) {
+            Log.warnf("[%s] %s: %s -> OPEN after %d failure(s): %s", ME, name, state, failures, reason);
+            state = State.OPEN;
+            openedAt = nanoTime.getAsLong();
+        }
+    }
+
+    /**
+     * Call the service through this breaker.
+     *
+     * @param call Remote call
+     * @return result of the call
+     * @throws CircuitOpenException if the circuit is open
+     */
+    public <R> R call(Supplier<R> call) {
+        return call(call, CircuitOpenException::new);
+    }
+
+    /**
+     * Call the service through this breaker.
+     *
+     * @param call Remote call
+     * @param rejected Creates the exception thrown when the circuit is open
+     *        (e.g. to use a service-specific exception type)
+     * @return result of the call
+     */
+    public <R> R call(Supplier<R> call, Function<CircuitBreaker, RuntimeException> rejected) {
+        return call(call, rejected, CircuitBreaker::isOutage);
+    }
+
+    /**
+     * Call the service through this breaker.
+     *
+     * @param call Remote call
+     * @param rejected Creates the exception thrown when the circuit is open
+     * @param outage Identifies exceptions that indicate an outage
+     *        (e.g. a REST client exception with a 5xx status)
+     * @return result of the call
+     */
+    public <R> R call(Supplier<R> call, Function<CircuitBreaker, RuntimeException> rejected,
+            Predicate<Throwable> outage) {
+        if (!allowRequest()) {
+            throw rejected.apply(this);
+        }
+        try {
+            R result = call.get();
+            recordSuccess();
+            return result;
+        } catch (RuntimeException | Error e) {
+            if (outage.test(e)) {
+                recordOutage(e.toString());
+            } else {
+                recordSuccess();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker(%s %s)".formatted(name, state());
+    }
+
+    /**
+     * Thrown (or recorded in a query context) instead of calling
+     * a service while its circuit is open.
+     */
+    public static class CircuitOpenException extends RuntimeException {
+        private final String circuit;
+
+        public CircuitOpenException(CircuitBreaker breaker) {
+            super("Circuit open for " + breaker.name() + ": failing fast");
+            this.circuit = breaker.name();
+        }
+
+        /**
+         * @return name of the circuit (see {@link CircuitBreaker#forService(String)})
+         */
+        public String circuit() {
+            return circuit;
+        }
+    }
+}
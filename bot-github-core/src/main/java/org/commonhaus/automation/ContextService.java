@@ -22,6 +22,9 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactoryBuilder;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 
 import io.smallrye.graphql.client.dynamic.api.DynamicGraphQLClient;
 
@@ -31,6 +34,8 @@ public interface ContextService {
      * A YAML mapper that is configured to be pretty-printed and to use plain scalars.
      * <p>
      * Supplier creates the singleton instance when the interface is loaded.
+     * Modules are registered explicitly (rather than found with a ServiceLoader),
+     * so the mapper is the same in JVM and native mode.
      */
     public static ObjectMapper yamlMapper = new Supplier<ObjectMapper>() {
         @Override
@@ -42,7 +47,9 @@ public interface ContextService {
 
             return new ObjectMapper(new YAMLFactoryBuilder(new YAMLFactory())
                     .dumperOptions(options).build())
-                    .findAndRegisterModules()
+                    .registerModule(new Jdk8Module())
+                    .registerModule(new JavaTimeModule())
+                    .registerModule(new ParameterNamesModule())
                     .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
                     .setDefaultPropertyInclusion(Include.NON_EMPTY)
                     .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.NON_PRIVATE);
@@ -0,0 +1,264 @@
+package org.commonhaus.automation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import org.commonhaus.automation.github.context.JsonAttribute;
+
+import io.quarkus.logging.Log;
+import io.smallrye.graphql.client.Response;
+
+/**
+ * Iterate over the results of a paginated GraphQL query.
+ * <p>
+ * Pages are fetched on demand. When a page arrives, the request for the next
+ * page is sent (from a {@linkplain BackgroundQueries background thread}, if one is
+ * available) before the current page is decoded and handed to the consumer.
+ * If the consumer stops early, no further pages are requested. A prefetch that
+ * has not started yet is cancelled (it is never sent); one that has started
+ * completes in the background, and its API usage is recorded.
+ * <p>
+ * Errors are accumulated in the owning {@link GraphQLQueryContext}, as for
+ * {@link GraphQLQueryContext#execQuerySync(String, Map)}: iteration stops at the
+ * first error, and the caller should check {@link GraphQLQueryContext#hasErrors()}.
+ * <p>
+ * Like the query context, a pager is not thread-safe and should be used once.
+ *
+ * <pre>
+ * List&lt;DataReaction&gt; reactions = GraphQLPager.cursor(qc, QUERY_REACTIONS, variables,
+ *         data -&gt; JsonAttribute.reactions.extractObjectFrom(data, JsonAttribute.node),
+ *         DataReaction::new)
+ *         .toList();
+ * </pre>
+ *
+ * @param <T> type of decoded item
+ */
+public class GraphQLPager<T> {
+
+    /**
+     * Next page for cursor-based (GitHub) connections: sets the {@code after} variable
+     * from {@code pageInfo.endCursor} while {@code pageInfo.hasNextPage} is true.
+     */
+    public static final BiFunction<JsonObject, Map<String, Object>, Map<String, Object>> AFTER_CURSOR = (
+            connection, variables) -> {
+        JsonObject pageInfo = JsonAttribute.pageInfo.jsonObjectFrom(connection);
+        if (!JsonAttribute.hasNextPage.booleanFromOrFalse(pageInfo)) {
+            return null;
+        }
+        Map<String, Object> next = new HashMap<>(variables);
+        next.put("after", JsonAttribute.endCursor.stringFrom(pageInfo));
+        return next;
+    };
+
+    final GraphQLQueryContext qc;
+    final String query;
+    final Map<String, Object> variables;
+    final Function<JsonObject, JsonObject> connection;
+    final Function<JsonObject, T> decode;
+
+    Function<JsonObject, JsonArray> items = JsonAttribute.nodes::jsonArrayFrom;
+    BiFunction<JsonObject, Map<String, Object>, Map<String, Object>> nextPage = AFTER_CURSOR;
+    boolean prefetch = true;
+
+    private GraphQLPager(GraphQLQueryContext qc, String query, Map<String, Object> variables,
+            Function<JsonObject, JsonObject> connection, Function<JsonObject, T> decode) {
+        this.qc = qc;
+        this.query = query;
+        this.variables = new HashMap<>(variables);
+        this.connection = connection;
+        this.decode = decode;
+    }
+
+    /**
+     * Create a pager for a cursor-paginated query (GitHub connections).
+     * The query should accept an {@code $after: String} variable,
+     * and the connection should include {@code pageInfo { hasNextPage endCursor }}.
+     *
+     * @param qc Query context used to execute the query and collect errors
+     * @param query GraphQL query
+     * @param variables Query variables (copied)
+     * @param connection Find the paged connection object in response data
+     * @param decode Convert a node (JsonObject) into the result type
+     * @return pager (nothing is fetched until results are consumed)
+     */
+    public static <T> GraphQLPager<T> cursor(GraphQLQueryContext qc, String query, Map<String, Object> variables,
+            Function<JsonObject, JsonObject> connection, Function<JsonObject, T> decode) {
+        GraphQLPager<T> pager = new GraphQLPager<>(qc, query, variables, connection, decode);
+        pager.variables.putIfAbsent("after", null);
+        return pager;
+    }
+
+    /**
+     * Create a pager with custom paging.
+     *
+     * @param qc Query context used to execute the query and collect errors
+     * @param query GraphQL query
+     * @param variables Variables for the first page (copied)
+     * @param connection Find the paged connection object in response data
+     * @param nextPage Given the connection object and variables for the current page,
+     *        return variables for the next page, or null if this is the last page
+     * @param decode Convert a node (JsonObject) into the result type
+     * @return pager (nothing is fetched until results are consumed)
+     */
+    public static <T> GraphQLPager<T> paged(GraphQLQueryContext qc, String query, Map<String, Object> variables,
+            Function<JsonObject, JsonObject> connection,
+            BiFunction<JsonObject, Map<String, Object>, Map<String, Object>> nextPage,
+            Function<JsonObject, T> decode) {
+        GraphQLPager<T> pager = new GraphQLPager<>(qc, query, variables, connection, decode);
+        pager.nextPage = nextPage;
+        return pager;
+    }
+
+    /**
+     * @param items Find the array of items in the connection object (default: {@code nodes})
+     * @return this pager
+     */
+    public GraphQLPager<T> items(Function<JsonObject, JsonArray> items) {
+        this.items = items;
+        return this;
+    }
+
+    /**
+     * @param prefetch false to wait for each page to be consumed before requesting the next
+     * @return this pager
+     */
+    public GraphQLPager<T> prefetch(boolean prefetch) {
+        this.prefetch = prefetch;
+        return this;
+    }
+
+    /**
+     * Pass each item to the consumer, page by page, until all pages have been read,
+     * an error occurs, or the consumer returns false.
+     *
+     * @param consumer return false to stop
+     * @return true if all pages were read without error
+     */
+    public boolean forEachWhile(Predicate<? super T> consumer) {
+        Pages pages = new Pages();
+        try {
+            while (pages.hasNext()) {
+                if (!consumer.test(pages.next())) {
+                    return false;
+                }
+            }
+            return !qc.hasErrors();
+        } finally {
+            pages.close();
+        }
+    }
+
+    /**
+     * Pass each item to the consumer, page by page.
+     *
+     * @return true if all pages were read without error
+     */
+    public boolean forEach(Consumer<? super T> consumer) {
+        return forEachWhile(x -> {
+            consumer.accept(x);
+            return true;
+        });
+    }
+
+    /**
+     * Lazily stream items. Pages are requested as the stream is consumed.
+     * Close the stream if it is not fully consumed to cancel a prefetched page.
+     */
+    public Stream<T> stream() {
+        Pages pages = new Pages();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED), false)
+                .onClose(pages::close);
+    }
+
+    /**
+     * Read all pages.
+     *
+     * @return list of all items (partial if an error occurred)
+     */
+    public List<T> toList() {
+        List<T> result = new ArrayList<>();
+        forEach(result::add);
+        return result;
+    }
+
+    /** Page-at-a-time iterator over items */
+    class Pages implements Iterator<T> {
+        Map<String, Object> pageVariables = variables;
+        Future<Response> pending;
+        Iterator<JsonValue> current = Collections.emptyIterator();
+        int page = 0;
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (pageVariables == null || !fetch()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return decode.apply(current.next().asJsonObject());
+        }
+
+        private boolean fetch() {
+            Map<String, Object> thisPage = pageVariables;
+            Response response = qc.execQuerySync(query, thisPage, pending);
+            pending = null;
+            pageVariables = null;
+            if (qc.hasErrors() || response == null) {
+                return false;
+            }
+            page++;
+            JsonObject pageData = connection.apply(response.getData());
+            if (pageData == null) {
+                return false;
+            }
+
+            // Request the next page before decoding this one
+            pageVariables = nextPage.apply(pageData, thisPage);
+            if (prefetch && pageVariables != null) {
+                pending = qc.sendQueryAsync(query, pageVariables);
+            }
+
+            JsonArray nodes = items.apply(pageData);
+            Log.debugf("[%s] GraphQLPager: page %s; %s item(s); more=%s", qc.getLogId(), page,
+                    nodes == null ? 0 : nodes.size(), pageVariables != null);
+            current = nodes == null ? Collections.emptyIterator() : nodes.iterator();
+            return true;
+        }
+
+        void close() {
+            pageVariables = null;
+            if (pending != null) {
+                // not sent if it hasn't started; otherwise it completes
+                // (and is recorded) in the background
+                pending.cancel(false);
+                pending = null;
+            }
+        }
+    }
+}
@@ -5,9 +5,17 @@ import java.net.HttpURLConnection;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+import org.commonhaus.automation.ApiUsage.UsageKey;
+import org.commonhaus.automation.CircuitBreaker.CircuitOpenException;
 import org.commonhaus.automation.config.EmailNotification;
 import org.commonhaus.automation.github.context.GitHubQueryContext.GitHubParameterApiCall;
+import org.commonhaus.automation.jfr.GitHubApiEvent;
+import org.commonhaus.automation.trace.Span;
+import org.commonhaus.automation.trace.TraceContext;
+import org.commonhaus.automation.trace.Tracing;
 import org.kohsuke.github.GHFileNotFoundException;
 import org.kohsuke.github.HttpException;
 
@@ -36,6 +44,22 @@ public abstract class GraphQLQueryContext {
 
     protected abstract void cleanupAuthenticationError();
 
+    /**
+     * @return Scope used to account for API usage (e.g. the installation id)
+     * @see ApiUsage
+     */
+    protected String getApiUsageScope() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * @return Circuit breaker for the service called by this context
+     * @see CircuitBreaker
+     */
+    protected CircuitBreaker getCircuitBreaker() {
+        return CircuitBreaker.forService(getApiUsageScope());
+    }
+
     /**
      * @return true if the context is in dry run mode
      */
@@ -51,6 +75,17 @@ public abstract class GraphQLQueryContext {
         exceptions.add(t);
     }
 
+    /**
+     * Add errors and exceptions collected by another context
+     * (e.g. a child context used for a concurrent subtask).
+     *
+     * @param other context with errors to copy into this one
+     */
+    public void addErrors(GraphQLQueryContext other) {
+        errors.addAll(other.errors);
+        exceptions.addAll(other.exceptions);
+    }
+
     /**
      * @return true if there are errors or exceptions
      */
@@ -143,7 +178,8 @@ public abstract class GraphQLQueryContext {
      */
     public boolean hasRetriableNetworkError() {
         // Unauthorized can be retried after connection is refreshed.
-        return exceptions.stream().anyMatch(e -> List.of(HttpURLConnection.HTTP_UNAUTHORIZED,
+        // Calls rejected by an open circuit can be retried once the service recovers.
+        return exceptions.stream().anyMatch(e -> e instanceof CircuitOpenException || List.of(HttpURLConnection.HTTP_UNAUTHORIZED,
                 HttpURLConnection.HTTP_PROXY_AUTH,
                 HttpURLConnection.HTTP_BAD_GATEWAY,
                 HttpURLConnection.HTTP_CLIENT_TIMEOUT,
@@ -193,7 +229,57 @@ public abstract class GraphQLQueryContext {
      * @return GraphQL Response
      */
     public Response execQuerySync(String query, Map<String, Object> variables) {
+        return execQuerySync(query, variables, null);
+    }
+
+    /**
+     * Start sending a (read-only) GraphQL query without waiting for the response.
+     * <p>
+     * The request is sent from a {@linkplain BackgroundQueries background thread},
+     * which records its outcome (API usage, circuit breaker) when the response arrives,
+     * whether or not it is collected.
+     * The response must be collected with {@link #execQuerySync(String, Map, Future)}
+     * (on the thread that owns this context), which applies the usual error handling.
+     *
+     * @param query GraphQL query
+     * @param variables Query variables; must not be modified after this call
+     * @return Future for the pending response, or null if the query should not
+     *         (or could not) be sent early
+     * @see GraphQLPager
+     */
+    Future<Response> sendQueryAsync(String query, Map<String, Object> variables) {
+        if (hasErrors() || query.contains("mutation")
+                || getCircuitBreaker().state() != CircuitBreaker.State.CLOSED) {
+            return null;
+        }
+        DynamicGraphQLClient graphqlCLI = getGraphQLClient();
+        if (graphqlCLI == null) {
+            return null;
+        }
+        UsageKey usageKey = ApiUsage.graphQLKey();
+        TraceContext trace = Tracing.current();
+        Future<Response> pending = BackgroundQueries.trySubmit(
+                () -> sendQuery(graphqlCLI, query, variables, usageKey, trace));
+        if (pending != null) {
+            Log.debugf("[%s] sendQueryAsync: %s with %s", getLogId(), variables, query);
+        }
+        return pending;
+    }
+
+    /**
+     * Complete a synchronous GraphQL query, using a response already requested
+     * with {@link #sendQueryAsync(String, Map)} if present.
+     * Errors and authentication retries are handled as for {@link #execQuerySync(String, Map)}.
+     * <p>
+     * A pending request that is no longer needed is cancelled without interruption:
+     * if it has not started, it is never sent; if it has, it completes and its
+     * outcome is still recorded.
+     */
+    Response execQuerySync(String query, Map<String, Object> variables, Future<Response> pending) {
         if (hasErrors()) {
+            if (pending != null) {
+                pending.cancel(false);
+            }
             return null;
         }
         if (isDryRun() && query.contains("mutation")) {
@@ -201,12 +287,24 @@ public abstract class GraphQLQueryContext {
                     getLogId(), query, variables);
             return null;
         }
+        CircuitBreaker breaker = getCircuitBreaker();
+        if (!breaker.allowRequest()) {
+            if (pending != null) {
+                pending.cancel(false);
+            }
+            Log.debugf("[%s] execQuerySync: %s is open, skipping", getLogId(), breaker.name());
+            addException(new CircuitOpenException(breaker));
+            return null;
+        }
 
-        DynamicGraphQLClient graphqlCLI = getGraphQLClient();
         Response response = null;
         try {
-            Log.debugf("[%s] execQuerySync: %s with %s", getLogId(), variables, query);
-            response = graphqlCLI.executeSync(query, variables);
+            if (pending == null) {
+                Log.debugf("[%s] execQuerySync: %s with %s", getLogId(), variables, query);
+                response = sendQuery(getGraphQLClient(), query, variables, ApiUsage.graphQLKey(), Tracing.current());
+            } else {
+                response = awaitResponse(pending);
+            }
             Log.debugf("[%s] execQuerySync: result ? %s", getLogId(), response == null ? null : response.getData());
 
             // Check if the response has authentication errors
@@ -236,6 +334,80 @@ public abstract class GraphQLQueryContext {
         return response;
     }
 
+    /**
+     * Send a query and record its outcome: API usage (from the time the request is sent),
+     * circuit breaker, JFR event and span.
+     * Called on the owning thread, or on a background thread for a prefetched query.
+     *
+     * @param usageKey API usage attribution, captured on the owning thread
+     * @param trace Trace context of the owning thread
+     */
+    private Response sendQuery(DynamicGraphQLClient graphqlCLI, String query, Map<String, Object> variables,
+            UsageKey usageKey, TraceContext trace) throws Exception {
+        CircuitBreaker breaker = getCircuitBreaker();
+        Response response = null;
+        String status = null;
+        long start = System.nanoTime();
+        GitHubApiEvent apiEvent = GitHubApiEvent.start(ApiUsage.Api.GRAPHQL, getApiUsageScope());
+        Span span = Tracing.start("github GraphQL", trace);
+        try {
+            response = graphqlCLI.executeSync(query, variables);
+            Integer responseCode = response == null ? null : extractStatusCode(response);
+            if (responseCode != null && CircuitBreaker.isOutage(responseCode)) {
+                breaker.recordOutage("HTTP " + responseCode);
+            } else {
+                breaker.recordSuccess();
+            }
+            ApiUsage.recordGraphQL(getApiUsageScope(), usageKey, System.nanoTime() - start, response,
+                    response == null || response.hasError());
+            status = graphQLStatus(response);
+            apiEvent.complete(status);
+            return response;
+        } catch (Throwable e) {
+            if (response == null) {
+                if (!(e instanceof InterruptedException)) {
+                    breaker.recordFailure(e);
+                }
+                ApiUsage.recordGraphQL(getApiUsageScope(), usageKey, System.nanoTime() - start, null, true);
+            }
+            if (status == null) {
+                status = e.getClass().getSimpleName();
+                apiEvent.complete(status);
+            }
+            throw e;
+        } finally {
+            endSpan(span, usageKey, status);
+        }
+    }
+
+    private void endSpan(Span span, UsageKey usageKey, String status) {
+        if (span.isRecording()) {
+            span.attribute("operation", usageKey.component())
+                    .attribute("installation", getApiUsageScope())
+                    .status(status)
+                    .close();
+        }
+    }
+
+    private String graphQLStatus(Response response) {
+        Integer statusCode = response == null ? null : extractStatusCode(response);
+        if (statusCode != null && statusCode != 200) {
+            return String.valueOf(statusCode);
+        }
+        return response == null || response.hasError() ? "errors" : "ok";
+    }
+
+    private Response awaitResponse(Future<Response> pending) throws Throwable {
+        try {
+            return pending.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
     public <T> T readYamlContent(String content, Class<T> type) {
         try {
             return ctx.parseYamlContent(content, type);
@@ -4,11 +4,9 @@ import java.io.IOException;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 
-import jakarta.json.Json;
 import jakarta.json.JsonArray;
 import jakarta.json.JsonNumber;
 import jakarta.json.JsonObject;
-import jakarta.json.JsonReader;
 import jakarta.json.JsonString;
 import jakarta.json.JsonValue;
 import jakarta.json.JsonValue.ValueType;
@@ -48,9 +46,7 @@ public interface JsonAttributeAccessor {
         if (object == null) {
             return false;
         }
-        return hasAlternateName()
-                ? object.getBoolean(alternateName(), object.getBoolean(name(), false))
-                : object.getBoolean(alternateName(), false);
+        return booleanFromOrDefault(object, false);
     }
 
     /**
@@ -60,9 +56,8 @@ public interface JsonAttributeAccessor {
         if (object == null) {
             return defaultValue;
         }
-        return hasAlternateName()
-                ? object.getBoolean(alternateName(), object.getBoolean(name(), defaultValue))
-                : object.getBoolean(alternateName(), defaultValue);
+        JsonValue value = typedValueFrom(object, ValueType.TRUE, ValueType.FALSE);
+        return value == null ? defaultValue : value == JsonValue.TRUE;
     }
 
     /**
@@ -72,9 +67,8 @@ public interface JsonAttributeAccessor {
         if (object == null) {
             return null;
         }
-        return hasAlternateName()
-                ? object.getString(alternateName(), object.getString(name(), null))
-                : object.getString(alternateName(), null);
+        JsonValue value = typedValueFrom(object, ValueType.STRING);
+        return value == null ? null : ((JsonString) value).getString();
     }
 
     /**
@@ -84,9 +78,7 @@ public interface JsonAttributeAccessor {
         if (object == null) {
             return null;
         }
-        JsonValue value = hasAlternateName()
-                ? object.getOrDefault(alternateName(), object.get(name()))
-                : object.get(alternateName());
+        JsonValue value = valueFrom(object);
         if (value == null || value.getValueType() == ValueType.NULL) {
             return null;
         }
@@ -104,9 +96,7 @@ public interface JsonAttributeAccessor {
         if (object == null) {
             return null;
         }
-        JsonValue value = hasAlternateName()
-                ? object.getOrDefault(alternateName(), object.get(name()))
-                : object.get(alternateName());
+        JsonValue value = valueFrom(object);
         if (value == null || value.getValueType() == ValueType.NULL) {
             return null;
         }
@@ -124,10 +114,7 @@ public interface JsonAttributeAccessor {
         if (object == null) {
             return null;
         }
-        String timestamp = hasAlternateName()
-                ? object.getString(alternateName(), object.getString(name(), null))
-                : object.getString(alternateName(), null);
-        return parseInstant(timestamp);
+        return parseInstant(stringFrom(object));
     }
 
     /** @return JsonObject with alternateName() (or name()) from object */
@@ -140,9 +127,37 @@ public interface JsonAttributeAccessor {
         if (object == null) {
             return null;
         }
-        return hasAlternateName()
-                ? object.getOrDefault(alternateName(), object.get(name()))
-                : object.get(alternateName());
+        // Only look up name() if alternateName() is missing
+        JsonValue value = object.get(alternateName());
+        return value == null && hasAlternateName()
+                ? object.get(name())
+                : value;
+    }
+
+    /**
+     * @return value of alternateName() (or name()) attribute if it has one of the
+     *         specified types, or null
+     */
+    private JsonValue typedValueFrom(JsonObject object, ValueType... types) {
+        if (object == null) {
+            return null;
+        }
+        JsonValue value = object.get(alternateName());
+        if (!isOneOf(value, types) && hasAlternateName()) {
+            value = object.get(name());
+        }
+        return isOneOf(value, types) ? value : null;
+    }
+
+    private static boolean isOneOf(JsonValue value, ValueType... types) {
+        if (value != null) {
+            for (ValueType type : types) {
+                if (value.getValueType() == type) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     /**
@@ -168,9 +183,7 @@ public interface JsonAttributeAccessor {
         if (object == null) {
             return null;
         }
-        JsonValue value = hasAlternateName()
-                ? object.getOrDefault(alternateName(), object.get(name()))
-                : object.get(alternateName());
+        JsonValue value = valueFrom(object);
         return value == null || value.getValueType() == ValueType.NULL ? null : (JsonArray) value;
     }
 
@@ -207,16 +220,14 @@ public interface JsonAttributeAccessor {
             return null;
         }
 
-        if (timestamp.charAt(4) == '/') {
+        if (timestamp.endsWith("Z")) {
+            // Common case for GitHub (UTC)
+            return Instant.parse(timestamp);
+        } else if (timestamp.charAt(4) == '/') {
             // Unsure where this is used, but retained for compatibility.
             return Instant.from(DATE_TIME_PARSER_SLASHES.parse(timestamp));
         } else {
             return Instant.from(DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(timestamp));
         }
     }
-
-    static JsonObject unpack(String payload) {
-        JsonReader reader = Json.createReader(new java.io.StringReader(payload));
-        return reader.readObject();
-    }
 }
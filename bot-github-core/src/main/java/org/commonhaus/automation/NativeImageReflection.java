@@ -0,0 +1,28 @@
+package org.commonhaus.automation;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Classes that are only looked up by name at runtime, and so are not
+ * found by the native image build.
+ * <p>
+ * Caffeine loads the cache (SS*) and node (PS*) implementation that matches
+ * the builder configuration. Register the combinations used by {@link QueryCache}
+ * instances: expireAfterWrite, expireAfterAccess, maximumSize, and
+ * maximumSize with expireAfterWrite.
+ * Add the matching pair when a cache uses a new combination.
+ */
+@RegisterForReflection(classNames = {
+        "com.github.benmanes.caffeine.cache.SSW",
+        "com.github.benmanes.caffeine.cache.PSW",
+        "com.github.benmanes.caffeine.cache.SSA",
+        "com.github.benmanes.caffeine.cache.PSA",
+        "com.github.benmanes.caffeine.cache.SSMS",
+        "com.github.benmanes.caffeine.cache.PSMS",
+        "com.github.benmanes.caffeine.cache.SSMSW",
+        "com.github.benmanes.caffeine.cache.PSWMS",
+})
+final class NativeImageReflection {
+    private NativeImageReflection() {
+    }
+}
@@ -3,6 +3,8 @@ package org.commonhaus.automation;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 
+import org.commonhaus.automation.jfr.CacheLoadEvent;
+
 import com.cronutils.Function;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -58,7 +60,12 @@ public class QueryCache {
     public <T> T computeIfAbsent(String key, Function<String, T> mappingFunction) {
         return (T) cache.asMap().computeIfAbsent(key, k -> {
             Log.debugf(":: PUT_IF_ABSENT %s/%s ::: ", name, key);
-            return mappingFunction.apply(k);
+            CacheLoadEvent event = CacheLoadEvent.start(name, k);
+            try {
+                return mappingFunction.apply(k);
+            } finally {
+                event.complete();
+            }
         });
     }
 
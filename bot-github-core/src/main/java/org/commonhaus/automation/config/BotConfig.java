@@ -1,6 +1,7 @@
 package org.commonhaus.automation.config;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 
 import io.smallrye.config.ConfigMapping;
@@ -55,6 +56,49 @@ public interface BotConfig {
      */
     QueueConfig queue();
 
+    /**
+     * Update queue backlog thresholds for readiness and load shedding.
+     *
+     * @return {@link BacklogConfig}
+     */
+    BacklogConfig backlog();
+
+    /**
+     * Configuration for webhook ingestion: events are handed off
+     * from the delivery thread to worker lanes.
+     *
+     * @return {@link IngestConfig}
+     */
+    IngestConfig ingest();
+
+    /**
+     * Configuration for the outbound mail queue (outbox).
+     *
+     * @return {@link MailConfig}
+     */
+    MailConfig mail();
+
+    /**
+     * Configuration for trace spans (webhook, queued tasks, API calls, email).
+     *
+     * @return {@link TraceConfig}
+     */
+    TraceConfig trace();
+
+    /**
+     * Configuration for dividing installations between replicas.
+     *
+     * @return {@link ShardConfig}
+     */
+    ShardConfig shard();
+
+    /**
+     * Configuration for the HTTP client used for GitHub API requests.
+     *
+     * @return {@link GitHubHttpConfig}
+     */
+    GitHubHttpConfig githubHttp();
+
     /**
      * Configuration to send notification for registered
      * organizations.
@@ -92,13 +136,52 @@ public interface BotConfig {
 
                 queue.initialDelay=%s
                 queue.period=%s
+                queue.retryDelays=%s
+
+                backlog.shedding=%s
+                backlog.shedDepth=%s
+                backlog.shedAge=%s
+                backlog.unreadyDepth=%s
+                backlog.unreadyAge=%s
+
+                ingest.lanes=%s
+                ingest.capacity=%s
+                ingest.overflow=%s
+                ingest.blockTimeout=%s
+
+                mail.capacity=%s
+                mail.batchSize=%s
+                mail.period=%s
+                mail.maxAttempts=%s
+
+                trace.exporter=%s
+
+                shard.enabled=%s
+                shard.replica=%s
                 """.formatted(
                 isDryRun(),
                 isDiscoveryEnabled(),
                 errorEmailAddress().orElse("N/A"),
                 replyTo().orElse("N/A"),
                 queue().initialDelay(),
-                queue().period());
+                queue().period(),
+                queue().retryDelays(),
+                backlog().shedding(),
+                backlog().shedDepth(),
+                backlog().shedAge(),
+                backlog().unreadyDepth(),
+                backlog().unreadyAge(),
+                ingest().lanes(),
+                ingest().capacity(),
+                ingest().overflow(),
+                ingest().blockTimeout(),
+                mail().capacity(),
+                mail().batchSize(),
+                mail().period(),
+                mail().maxAttempts(),
+                trace().exporter(),
+                shard().enabled(),
+                shard().replica().orElse("(host name)"));
     }
 
     interface DryRunBotConfig {
@@ -125,6 +208,13 @@ public interface BotConfig {
         @WithDefault("2s")
         Duration period();
 
+        /**
+         * Delay before each retry of a task that failed with a retriable error.
+         * The last delay applies to all further retries.
+         */
+        @WithDefault("5s,30s,2m,10m,30m")
+        List<Duration> retryDelays();
+
         /**
          * Directory for state data used to persist
          * some information across restarts.
@@ -140,6 +230,208 @@ public interface BotConfig {
         Optional<String> stateFile();
     }
 
+    interface BacklogConfig {
+        /**
+         * Reject non-critical requests (503 with Retry-After) while the
+         * update queue is past a shedding threshold
+         */
+        @WithDefault("true")
+        boolean shedding();
+
+        /**
+         * Number of pending update tasks at which non-critical requests are rejected
+         */
+        @WithDefault("200")
+        int shedDepth();
+
+        /**
+         * Age of the oldest pending update task at which non-critical requests are rejected
+         */
+        @WithDefault("5m")
+        Duration shedAge();
+
+        /**
+         * Number of pending update tasks at which the application reports it is not ready
+         */
+        @WithDefault("1000")
+        int unreadyDepth();
+
+        /**
+         * Age of the oldest pending update task at which the application reports it is not ready
+         */
+        @WithDefault("30m")
+        Duration unreadyAge();
+
+        /**
+         * Value of the Retry-After header sent with rejected requests
+         */
+        @WithDefault("60s")
+        Duration retryAfter();
+    }
+
+    interface IngestConfig {
+        /**
+         * Number of worker lanes (threads) for webhook events.
+         * Events for the same repository are processed in order on the same lane.
+         * Set to 0 to process events on the delivery thread.
+         */
+        @WithDefault("2")
+        int lanes();
+
+        /**
+         * Maximum number of pending events per lane
+         */
+        @WithDefault("100")
+        int capacity();
+
+        /**
+         * What to do with a new event when its lane is full
+         */
+        @WithDefault("block")
+        OverflowPolicy overflow();
+
+        /**
+         * With the {@code block} overflow policy: how long the delivery thread
+         * waits for room in a full lane before the new event is discarded
+         */
+        @WithDefault("5s")
+        Duration blockTimeout();
+    }
+
+    interface MailConfig {
+        /**
+         * Maximum number of messages waiting to be sent.
+         * The oldest message is dropped when the outbox is full.
+         */
+        @WithDefault("500")
+        int capacity();
+
+        /**
+         * Maximum number of messages sent each time the outbox is drained
+         */
+        @WithDefault("20")
+        int batchSize();
+
+        /**
+         * The period between successive attempts to drain the outbox
+         */
+        @WithDefault("2s")
+        Duration period();
+
+        /**
+         * Number of attempts to send a message before it is discarded
+         */
+        @WithDefault("8")
+        int maxAttempts();
+    }
+
+    interface TraceConfig {
+        /**
+         * Where finished spans are sent: none (tracing is disabled),
+         * memory (recent spans, see the {@code /traces} route), or file
+         */
+        @WithDefault("none")
+        TraceExporter exporter();
+
+        /**
+         * File used by the file exporter (one JSON object per span)
+         */
+        @WithDefault("traces.jsonl")
+        String file();
+
+        /**
+         * Number of spans kept by the memory exporter
+         */
+        @WithDefault("2000")
+        int capacity();
+    }
+
+    interface ShardConfig {
+        /**
+         * Divide installations between the replicas that share the membership directory.
+         * Each replica handles webhook deliveries and scheduled work
+         * for the installations it owns.
+         * <p>
+         * Scheduled jobs for one organization (e.g. all haus-manager jobs,
+         * for the home organization) only run on the replica that owns it.
+         */
+        @WithDefault("false")
+        boolean enabled();
+
+        /**
+         * Name of this replica (default: host name)
+         */
+        Optional<String> replica();
+
+        /**
+         * Membership directory shared by all replicas
+         * (default: {@code shards} in the queue state directory)
+         */
+        Optional<String> directory();
+
+        /**
+         * Base URL other replicas use to forward webhook deliveries to this replica.
+         * If unset, deliveries received by other replicas for installations
+         * owned by this replica are ignored.
+         */
+        Optional<String> url();
+
+        /**
+         * The period between membership heartbeats
+         */
+        @WithDefault("30s")
+        Duration heartbeat();
+
+        /**
+         * Time without a heartbeat after which a replica is considered gone
+         */
+        @WithDefault("2m")
+        Duration expiry();
+    }
+
+    interface GitHubHttpConfig {
+        /**
+         * Send REST and GraphQL requests for all installations with one HTTP client
+         * (one connection pool). Only the Authorization header differs per installation.
+         */
+        @WithDefault("true")
+        boolean shared();
+
+        /**
+         * Use HTTP/2 (requests are multiplexed on one connection).
+         * The client falls back to HTTP/1.1 if the server does not support HTTP/2.
+         */
+        @WithDefault("true")
+        boolean http2();
+
+        /**
+         * Timeout for opening a connection
+         */
+        @WithDefault("10s")
+        Duration connectTimeout();
+    }
+
+    enum TraceExporter {
+        NONE,
+        MEMORY,
+        FILE
+    }
+
+    enum OverflowPolicy {
+        /**
+         * Wait (up to the block timeout) for room in the lane, then discard the new event
+         * (slows down acknowledgement)
+         */
+        BLOCK,
+        /** Discard the new event */
+        DROP_NEWEST,
+        /**
+         * Discard the oldest pending event for the same key (repository), and queue
+         * the new one. If the lane holds no event for the key, discard the new event.
+         */
+        DROP_OLDEST
+    }
+
     public interface OpenCollectiveConfig {
         public static final String GRAPHQL_ENDPOINT = "https://api.opencollective.com/graphql/v2";
 
@@ -9,6 +9,7 @@ import jakarta.inject.Inject;
 import org.commonhaus.automation.ContextService;
 import org.commonhaus.automation.config.BotConfig;
 import org.commonhaus.automation.config.EmailNotification;
+import org.commonhaus.automation.github.http.GitHubHttp;
 import org.commonhaus.automation.github.scopes.ScopedInstallationMap;
 import org.commonhaus.automation.github.scopes.ScopedQueryContext;
 import org.commonhaus.automation.mail.LogMailer;
@@ -39,6 +40,9 @@ public abstract class BaseContextService implements ContextService {
     @Inject
     protected GitHubClientProvider gitHubClientProvider;
 
+    @Inject
+    protected GitHubHttp gitHubHttp;
+
     @Inject
     protected EventBus bus;
 
@@ -76,7 +80,10 @@ public abstract class BaseContextService implements ContextService {
     public DynamicGraphQLClient getInstallationGraphQLClient(long installationId) {
         DynamicGraphQLClient graphQLClient = BaseQueryCache.getCachedGraphQLClient(installationId);
         if (graphQLClient == null) {
-            graphQLClient = gitHubClientProvider.getInstallationGraphQLClient(installationId);
+            // The shared client reuses connections; the provider creates a new client (and pool)
+            graphQLClient = gitHubHttp.isShared()
+                    ? gitHubHttp.graphQLClient(installationId)
+                    : gitHubClientProvider.getInstallationGraphQLClient(installationId);
             if (graphQLClient != null) {
                 BaseQueryCache.putCachedGraphQLClient(installationId, graphQLClient);
             }
@@ -21,7 +21,16 @@ public enum BaseQueryCache {
 
     BOT_LOGIN(b -> b.expireAfterWrite(6, TimeUnit.HOURS)),
 
-    RECENT_BOT_CONTENT(b -> b.expireAfterWrite(6, TimeUnit.HOURS));
+    RECENT_BOT_CONTENT(b -> b.expireAfterWrite(6, TimeUnit.HOURS)),
+
+    /** Parsed webhook payloads, shared by observers of the same delivery */
+    WEBHOOK_PAYLOAD(b -> b.expireAfterWrite(2, TimeUnit.MINUTES).maximumSize(100)),
+
+    /** Processed webhook delivery ids (by consumer): redeliveries are skipped */
+    WEBHOOK_DELIVERIES(b -> b.expireAfterWrite(1, TimeUnit.HOURS).maximumSize(10_000)),
+
+    /** Recently processed changes (by consumer and semantic key): repeated events are skipped */
+    WEBHOOK_CHANGES(b -> b.expireAfterWrite(30, TimeUnit.SECONDS).maximumSize(1_000));
 
     private QueryCache cache = null;
 
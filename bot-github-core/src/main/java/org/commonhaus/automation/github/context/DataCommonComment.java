@@ -1,13 +1,13 @@
 package org.commonhaus.automation.github.context;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
 
+import org.commonhaus.automation.GraphQLPager;
+
 import io.quarkus.logging.Log;
 import io.smallrye.graphql.client.Response;
 
@@ -96,27 +96,14 @@ public class DataCommonComment extends DataCommonObject {
         Map<String, Object> variables = new HashMap<>();
         variables.put("itemId", nodeId);
 
-        DataPageInfo pageInfo = new DataPageInfo(null, false);
-
-        // Paginate.. excessive?, but..
-        List<DataCommonComment> allComments = new ArrayList<>();
-        do {
-            variables.put("after", pageInfo.cursor());
-            Response response = qc.execQuerySync(QUERY_ALL_COMMENTS, variables);
-            if (qc.hasErrors() || response == null) {
-                qc.checkRemoveNotFound();
-                return null;
-            }
-            JsonObject node = JsonAttribute.node.jsonObjectFrom(response.getData());
-            JsonObject comments = JsonAttribute.comments.jsonObjectFrom(node);
-            JsonArray nodes = JsonAttribute.nodes.jsonArrayFrom(comments);
-            allComments.addAll(nodes.stream()
-                    .map(JsonObject.class::cast)
-                    .map(DataCommonComment::new)
-                    .toList());
-
-            pageInfo = JsonAttribute.pageInfo.pageInfoFrom(comments);
-        } while (pageInfo.hasNextPage());
+        List<DataCommonComment> allComments = GraphQLPager.cursor(qc, QUERY_ALL_COMMENTS, variables,
+                data -> JsonAttribute.comments.extractObjectFrom(data, JsonAttribute.node),
+                DataCommonComment::new)
+                .toList();
+        if (qc.hasErrors()) {
+            qc.checkRemoveNotFound();
+            return null;
+        }
         return allComments;
     }
 }
@@ -1,18 +1,16 @@
 package org.commonhaus.automation.github.context;
 
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
 
+import org.commonhaus.automation.GraphQLPager;
 import org.kohsuke.github.ReactionContent;
 
 import io.quarkus.logging.Log;
-import io.smallrye.graphql.client.Response;
 
 /**
  * Represents a reaction to a GraphQL Reactable object.
@@ -169,32 +167,17 @@ public class DataReaction {
             return List.of();
         }
         Log.debugf("[%s] queryReactions for reactable %s", qc.getLogId(), reactorId);
-        List<DataReaction> reactions = new ArrayList<>();
 
         Map<String, Object> variables = new HashMap<>();
         variables.put("id", reactorId);
 
-        DataPageInfo pageInfo = new DataPageInfo(null, false);
-
-        // paginated...
-        do {
-            variables.put("after", pageInfo.cursor());
-            Response response = qc.execRepoQuerySync(QUERY_REACTIONS, variables);
-            if (qc.hasErrors()) {
-                qc.checkRemoveNotFound();
-                break;
-            }
-            JsonObject allReactions = JsonAttribute.reactions.extractObjectFrom(response.getData(),
-                    JsonAttribute.node);
-
-            JsonArray nodes = JsonAttribute.nodes.jsonArrayFrom(allReactions);
-            reactions.addAll(nodes.stream()
-                    .map(JsonObject.class::cast)
-                    .map(DataReaction::new)
-                    .toList());
-
-            pageInfo = JsonAttribute.pageInfo.pageInfoFrom(allReactions);
-        } while (pageInfo.hasNextPage());
+        List<DataReaction> reactions = GraphQLPager.cursor(qc, QUERY_REACTIONS, variables,
+                data -> JsonAttribute.reactions.extractObjectFrom(data, JsonAttribute.node),
+                DataReaction::new)
+                .toList();
+        if (qc.hasErrors()) {
+            qc.checkRemoveNotFound();
+        }
         return reactions;
     }
 
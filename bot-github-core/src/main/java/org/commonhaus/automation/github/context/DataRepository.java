@@ -17,6 +17,7 @@ import java.util.stream.Collectors;
 import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
 
+import org.commonhaus.automation.GraphQLPager;
 import org.kohsuke.github.GHRelease;
 import org.kohsuke.github.GHRepository;
 
@@ -115,36 +116,45 @@ public class DataRepository extends DataCommonType {
     }
 
     public static List<Instant> starHistory(GitHubQueryContext qc, GHRepository repo) {
+        List<Instant> stargazerDates = stargazers(qc, repo).toList();
+        if (qc.hasErrors()) {
+            qc.checkRemoveNotFound();
+            return null;
+        }
+        return stargazerDates;
+    }
+
+    /**
+     * Stargazer timestamps, most recent first.
+     * Nodes are decoded as pages are consumed; stop early to avoid reading the full history.
+     */
+    public static GraphQLPager<Instant> stargazers(GitHubQueryContext qc, GHRepository repo) {
         Map<String, Object> variables = new HashMap<>();
-        List<Instant> stargazerDates = new java.util.ArrayList<>();
         variables.put("org", repo.getOwnerName());
         variables.put("repo", repo.getName());
 
-        DataPageInfo pageInfo = new DataPageInfo(null, false);
-        do {
-            variables.put("after", pageInfo.cursor());
-            Response response = qc.execQuerySync(PAGED_STARGAZERS, variables);
-            if (qc.hasErrors()) {
-                qc.checkRemoveNotFound();
-                return null;
-            }
-            JsonObject stargazers = JsonAttribute.stargazers.jsonObjectFrom(response.getData());
-            JsonArray edges = JsonAttribute.edges.extractArrayFrom(stargazers);
-            if (edges != null && !edges.isEmpty()) {
-                for (var edge : edges) {
-                    Instant starredAt = JsonAttribute.starredAt.instantFrom(edge.asJsonObject());
-                    stargazerDates.add(starredAt);
-                }
-            }
-            pageInfo = JsonAttribute.pageInfo.pageInfoFrom(stargazers);
-        } while (pageInfo.hasNextPage());
-        return stargazerDates;
+        return GraphQLPager.cursor(qc, PAGED_STARGAZERS, variables,
+                data -> JsonAttribute.stargazers.extractObjectFrom(data, JsonAttribute.repository),
+                edge -> JsonAttribute.starredAt.instantFrom(edge))
+                .items(JsonAttribute.edges::jsonArrayFrom);
     }
 
     private static int countStargazersInRange(GitHubQueryContext qc, GHRepository repo,
             LocalDate from, LocalDate toExclusive) {
-        List<Instant> allStars = starHistory(qc, repo);
-        return filterRange(allStars, from, toExclusive);
+        Instant start = from.atStartOfDay().toInstant(ZoneOffset.UTC);
+        int[] count = { 0 };
+        // Most recent first: stop once stars are older than the range
+        stargazers(qc, repo).forEachWhile(starredAt -> {
+            if (isBetween(starredAt, from, toExclusive)) {
+                count[0]++;
+            }
+            return starredAt == null || !starredAt.isBefore(start);
+        });
+        if (qc.hasErrors()) {
+            qc.checkRemoveNotFound();
+            return 0;
+        }
+        return count[0];
     }
 
     private static int countReleasesInRange(GitHubQueryContext qc, GHRepository repo,
@@ -251,31 +261,22 @@ public class DataRepository extends DataCommonType {
 
         Count count = new Count();
         count.type = searchType;
-        DataPageInfo pageInfo = new DataPageInfo(null, false);
-        do {
-            variables.put("after", pageInfo.cursor());
-            Response response = qc.execRepoQuerySync(RANGED_ITEM_STATISTICS, variables);
-            if (qc.hasErrors()) {
-                break;
-            }
-            JsonObject search = JsonAttribute.search.jsonObjectFrom(response.getData());
-            JsonArray nodes = JsonAttribute.nodes.jsonArrayFrom(search);
-
-            for (var node : nodes) {
-                var createdAt = JsonAttribute.createdAt.instantFrom(node.asJsonObject());
-                var closedAt = JsonAttribute.closedAt.instantFrom(node.asJsonObject());
-                boolean closed = JsonAttribute.closed.booleanFromOrFalse(node.asJsonObject());
-
-                if (closed && isBetween(closedAt, from, toExclusive)) {
-                    count.closedItem++;
-                } else if (isBetween(createdAt, from, toExclusive)) {
-                    count.newItem++;
-                } else if (!closed) {
-                    count.openItem++;
-                } // otherwise modified for some reason
-            }
-            pageInfo = JsonAttribute.pageInfo.pageInfoFrom(search);
-        } while (pageInfo.hasNextPage());
+        GraphQLPager.cursor(qc, RANGED_ITEM_STATISTICS, variables,
+                data -> JsonAttribute.search.jsonObjectFrom(data),
+                node -> node)
+                .forEach(node -> {
+                    var createdAt = JsonAttribute.createdAt.instantFrom(node);
+                    var closedAt = JsonAttribute.closedAt.instantFrom(node);
+                    boolean closed = JsonAttribute.closed.booleanFromOrFalse(node);
+
+                    if (closed && isBetween(closedAt, from, toExclusive)) {
+                        count.closedItem++;
+                    } else if (isBetween(createdAt, from, toExclusive)) {
+                        count.newItem++;
+                    } else if (!closed) {
+                        count.openItem++;
+                    } // otherwise modified for some reason
+                });
         return count;
     }
 
@@ -287,45 +288,35 @@ public class DataRepository extends DataCommonType {
         variables.putIfAbsent("name", name);
 
         Set<Collaborator> members = new HashSet<>();
-        DataPageInfo pageInfo = new DataPageInfo(null, false);
-        do {
-            variables.put("after", pageInfo.cursor());
-            Response response = qc.execQuerySync(QUERY_ADMINS, variables);
-            if (qc.hasErrors()) {
-                qc.checkRemoveNotFound();
-                break;
-            }
-
-            var data = response.getData();
-            var collaborators = JsonAttribute.collaborators.extractObjectFrom(data, JsonAttribute.repository);
-            List<Collaborator> collaboratorList = JsonAttribute.edges.jsonArrayFrom(collaborators)
-                    .stream()
-                    .map(edge -> {
-                        var obj = edge.asJsonObject();
-                        var node = JsonAttribute.node.jsonObjectFrom(obj);
-                        var login = JsonAttribute.login.stringFrom(node);
-                        var permission = JsonAttribute.permission.stringFrom(obj);
-                        var permissionSources = JsonAttribute.permissionSources.jsonArrayFrom(obj)
-                                .stream()
-                                .map(ps -> {
-                                    var psObj = ps.asJsonObject();
-                                    var source = JsonAttribute.source.jsonObjectFrom(psObj);
-                                    var type = JsonAttribute.typeName.stringFrom(source);
-                                    var perm = JsonAttribute.permission.stringFrom(psObj);
-                                    return new CollaboratorPermission(perm, type);
-                                })
-                                .collect(Collectors.toList());
-                        return new Collaborator(login, permission, permissionSources);
-                    })
-                    .collect(Collectors.toList());
-
-            members.addAll(collaboratorList);
-            pageInfo = JsonAttribute.pageInfo.pageInfoFrom(collaborators);
-        } while (pageInfo.hasNextPage());
+        GraphQLPager.cursor(qc, QUERY_ADMINS, variables,
+                data -> JsonAttribute.collaborators.extractObjectFrom(data, JsonAttribute.repository),
+                DataRepository::toCollaborator)
+                .items(JsonAttribute.edges::jsonArrayFrom)
+                .forEach(members::add);
+        if (qc.hasErrors()) {
+            qc.checkRemoveNotFound();
+        }
 
         return new Collaborators(members);
     }
 
+    private static Collaborator toCollaborator(JsonObject edge) {
+        var node = JsonAttribute.node.jsonObjectFrom(edge);
+        var login = JsonAttribute.login.stringFrom(node);
+        var permission = JsonAttribute.permission.stringFrom(edge);
+        var permissionSources = JsonAttribute.permissionSources.jsonArrayFrom(edge)
+                .stream()
+                .map(ps -> {
+                    var psObj = ps.asJsonObject();
+                    var source = JsonAttribute.source.jsonObjectFrom(psObj);
+                    var type = JsonAttribute.typeName.stringFrom(source);
+                    var perm = JsonAttribute.permission.stringFrom(psObj);
+                    return new CollaboratorPermission(perm, type);
+                })
+                .collect(Collectors.toList());
+        return new Collaborator(login, permission, permissionSources);
+    }
+
     public record CollaboratorPermission(
             String permission,
             String permissionSourceType) {
@@ -0,0 +1,263 @@
+package org.commonhaus.automation.github.context;
+
+import static org.commonhaus.automation.github.context.BaseQueryCache.LABELS;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+
+import io.quarkus.logging.Log;
+import io.smallrye.graphql.client.Response;
+
+/**
+ * Write-behind buffer for label mutations made within a single query context.
+ * <p>
+ * Adds and removes for the same labelable item are merged (the last request
+ * for a given label wins), and changes that would not alter the cached label
+ * state are dropped. Remaining changes are sent as a single aliased GraphQL
+ * mutation when the buffer is flushed.
+ * <p>
+ * Not thread-safe: owned by a {@link GitHubQueryContext}.
+ */
+class DeferredLabelMutations {
+    // @formatter:off
+    static final String MUTATION_LABELS = """
+            labelable {
+                labels(first: 100) {
+                    nodes {
+                        """ + DataLabel.LABEL_FIELDS + """
+                    }
+                    pageInfo {
+                        hasNextPage
+                    }
+                }
+            }
+            """.stripIndent();
+    // @formatter:on
+
+    static class PendingLabels {
+        final Map<String, DataLabel> add = new LinkedHashMap<>();
+        final Map<String, DataLabel> remove = new LinkedHashMap<>();
+
+        boolean isEmpty() {
+            return add.isEmpty() && remove.isEmpty();
+        }
+    }
+
+    final Map<String, PendingLabels> pending = new LinkedHashMap<>();
+
+    void add(String nodeId, Collection<DataLabel> labels) {
+        PendingLabels p = pending.computeIfAbsent(nodeId, k -> new PendingLabels());
+        for (DataLabel label : labels) {
+            p.remove.remove(label.id);
+            p.add.put(label.id, label);
+        }
+    }
+
+    void remove(String nodeId, Collection<DataLabel> labels) {
+        PendingLabels p = pending.computeIfAbsent(nodeId, k -> new PendingLabels());
+        for (DataLabel label : labels) {
+            p.add.remove(label.id);
+            p.remove.put(label.id, label);
+        }
+    }
+
+    boolean isEmpty() {
+        return pending.values().stream().allMatch(PendingLabels::isEmpty);
+    }
+
+    /**
+     * Labels for the item as they will be once pending changes are applied.
+     *
+     * @param nodeId labelable item node id
+     * @return projected set of labels, or null if the current state is not known
+     */
+    Set<DataLabel> projectedLabels(String nodeId) {
+        Set<DataLabel> cached = LABELS.get(nodeId);
+        if (cached == null) {
+            return null;
+        }
+        Set<DataLabel> labels = new HashSet<>(cached);
+        PendingLabels p = pending.get(nodeId);
+        if (p != null) {
+            labels.removeAll(p.remove.values());
+            labels.addAll(p.add.values());
+        }
+        return labels;
+    }
+
+    /**
+     * Labels for the item as far as they are known while changes are pending:
+     * the projected labels if the item's labels are cached, otherwise
+     * the labels that pending changes add.
+     *
+     * @param nodeId labelable item node id
+     * @return projected set of labels (never null)
+     */
+    Set<DataLabel> pendingLabels(String nodeId) {
+        Set<DataLabel> labels = projectedLabels(nodeId);
+        if (labels == null) {
+            PendingLabels p = pending.get(nodeId);
+            labels = p == null ? new HashSet<>() : new HashSet<>(p.add.values());
+        }
+        return labels;
+    }
+
+    /**
+     * Drop changes that match the cached state of the item
+     * (adding a label that is present, removing one that is not).
+     * Items without cached labels are left as-is.
+     */
+    void dropNoOps() {
+        for (var entry : pending.entrySet()) {
+            Set<DataLabel> cached = LABELS.get(entry.getKey());
+            if (cached != null) {
+                entry.getValue().add.values().removeIf(cached::contains);
+                entry.getValue().remove.values().removeIf(l -> !cached.contains(l));
+            }
+        }
+        pending.values().removeIf(PendingLabels::isEmpty);
+    }
+
+    /**
+     * Send all pending changes as one aliased mutation and update the label cache.
+     * <p>
+     * If the context has errors, pending changes are logged and dropped:
+     * as with immediate label changes, nothing more is sent after an error.
+     *
+     * @param qc query context used to execute the mutation
+     */
+    void flush(GitHubQueryContext qc) {
+        dropNoOps();
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (qc.hasErrors()) {
+            Log.warnf("[%s] flushLabelMutations: skip label changes after errors: %s", qc.getLogId(), this);
+            pending.clear();
+            return;
+        }
+
+        Map<String, Object> variables = new HashMap<>();
+        StringBuilder params = new StringBuilder();
+        StringBuilder body = new StringBuilder();
+        Map<String, String> responseKeys = new LinkedHashMap<>();
+
+        int i = 0;
+        for (var entry : pending.entrySet()) {
+            String node = "n" + i;
+            variables.put(node, entry.getKey());
+            params.append(params.isEmpty() ? "" : ", ").append('$').append(node).append(": ID!");
+
+            // Removes before adds: mutation fields are executed in order
+            // Fields for the first item are not aliased (no conflict), subsequent items are
+            PendingLabels p = entry.getValue();
+            if (!p.remove.isEmpty()) {
+                String key = appendField(params, body, variables, i, "r",
+                        "removeLabelsFromLabelable", node, p.remove.keySet());
+                responseKeys.put(entry.getKey(), key);
+            }
+            if (!p.add.isEmpty()) {
+                String key = appendField(params, body, variables, i, "a",
+                        "addLabelsToLabelable", node, p.add.keySet());
+                responseKeys.put(entry.getKey(), key);
+            }
+            i++;
+        }
+
+        String mutation = "mutation DeferredLabels(" + params + ") {\n" + body + "}\n";
+        Log.debugf("[%s] flushLabelMutations: %s item(s)", qc.getLogId(), pending.size());
+
+        // Expected state (where the current state is known)
+        Map<String, Set<DataLabel>> projected = new HashMap<>();
+        for (String nodeId : pending.keySet()) {
+            Set<DataLabel> labels = projectedLabels(nodeId);
+            if (labels != null) {
+                projected.put(nodeId, labels);
+            }
+        }
+
+        Response response = qc.execQuerySync(mutation, variables);
+        if (qc.isDryRun()) {
+            // mutation was logged, not sent
+            projected.forEach(LABELS::put);
+            pending.clear();
+            return;
+        }
+        if (qc.hasErrors() || response == null) {
+            qc.checkRemoveNotFound();
+            // cached state is no longer trustworthy for these items
+            pending.keySet().forEach(LABELS::invalidate);
+            pending.clear();
+            return;
+        }
+
+        JsonObject data = response.getData();
+        for (var entry : responseKeys.entrySet()) {
+            JsonObject result = data == null ? null : data.getJsonObject(entry.getValue());
+            JsonObject pageLabels = result == null
+                    ? null
+                    : JsonAttribute.labels.extractObjectFrom(result, JsonAttribute.labelable);
+            JsonArray nodes = pageLabels == null ? null : JsonAttribute.nodes.jsonArrayFrom(pageLabels);
+            JsonObject pageInfo = pageLabels == null ? null : JsonAttribute.pageInfo.jsonObjectFrom(pageLabels);
+            if (nodes == null || (pageInfo != null && JsonAttribute.hasNextPage.booleanFromOrFalse(pageInfo))) {
+                // incomplete result: use expected state, or refetch on next use
+                Set<DataLabel> labels = projected.get(entry.getKey());
+                if (labels == null) {
+                    LABELS.invalidate(entry.getKey());
+                } else {
+                    LABELS.put(entry.getKey(), labels);
+                }
+                continue;
+            }
+            Set<DataLabel> labels = new HashSet<>(nodes.stream()
+                    .map(JsonObject.class::cast)
+                    .map(DataLabel::new)
+                    .toList());
+            LABELS.put(entry.getKey(), labels);
+            Log.infof("[%s] flushLabelMutations for labelable %s; result=%s", qc.getLogId(), entry.getKey(), labels);
+        }
+        pending.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (var entry : pending.entrySet()) {
+            PendingLabels p = entry.getValue();
+            sb.append(sb.isEmpty() ? "" : "; ").append(entry.getKey()).append(':');
+            p.add.values().forEach(l -> sb.append(" +").append(l.name));
+            p.remove.values().forEach(l -> sb.append(" -").append(l.name));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Append a label mutation field to the document
+     *
+     * @return response key for the field (alias or field name)
+     */
+    private String appendField(StringBuilder params, StringBuilder body, Map<String, Object> variables,
+            int index, String prefix, String field, String node, Set<String> labelIds) {
+        String labelsVar = prefix + index;
+        variables.put(labelsVar, labelIds.toArray(String[]::new));
+        params.append(", $").append(labelsVar).append(": [ID!]!");
+
+        String key = index == 0 ? field : labelsVar;
+        body.append("    ");
+        if (index > 0) {
+            body.append(key).append(": ");
+        }
+        body.append(field)
+                .append("(input: { labelableId: $").append(node).append(", labelIds: $").append(labelsVar).append("}) {\n")
+                .append(MUTATION_LABELS.indent(8))
+                .append("    }\n");
+        return key;
+    }
+}
@@ -2,7 +2,6 @@ package org.commonhaus.automation.github.context;
 
 import jakarta.json.JsonObject;
 
-import org.commonhaus.automation.JsonAttributeAccessor;
 import org.kohsuke.github.GHAppInstallation;
 import org.kohsuke.github.GHEventPayload;
 import org.kohsuke.github.GHOrganization;
@@ -11,69 +10,98 @@ import org.kohsuke.github.GHRepository;
 import io.quarkiverse.githubapp.GitHubEvent;
 import io.quarkus.logging.Log;
 
+/**
+ * Event data for one observer of a webhook delivery.
+ * <p>
+ * Values are read from the payload on first use. The parsed payload and
+ * read-only {@code Data*} values are shared with other observers of the
+ * delivery ({@link WebhookPayload}); mutable GitHub API objects (repository,
+ * organization, installation) belong to this instance.
+ * Like the query contexts that use it, an instance is used by one thread.
+ */
 public class EventData {
     final GitHubEvent event;
-    final JsonObject jsonData;
+    final WebhookPayload payload;
     final GHEventPayload ghPayload;
-    private final String logId;
+    private String logId;
 
-    /** GHRepo / context of current request */
-    final GHRepository repository;
-    final GHOrganization organization;
-    final GHAppInstallation installation;
+    /** GHRepo / context of current request (read on first use) */
+    private GHRepository repository;
+    private GHOrganization organization;
+    private GHAppInstallation installation;
+    private boolean contextRead;
 
     final ActionType actionType;
     final EventType eventType;
-    final DataCommonItem commonItem;
+    private DataCommonItem commonItem;
+    private boolean commonItemRead;
 
-    private EventPayload eventPayload;
-
-    public EventData(GitHubEvent event, GHEventPayload payload) {
+    public EventData(GitHubEvent event, GHEventPayload ghPayload) {
         this.event = event;
-        this.ghPayload = payload;
+        this.ghPayload = ghPayload;
         this.eventType = EventType.fromString(event.getEvent());
         this.actionType = ActionType.fromString(event.getAction());
-        this.jsonData = JsonAttributeAccessor.unpack(event.getPayload());
-
-        this.commonItem = switch (eventType) {
-            case discussion, discussion_comment -> {
-                yield JsonAttribute.discussion.commonItemFrom(jsonData);
-            }
-            case issues, issue, issue_comment -> {
-                yield JsonAttribute.issue.commonItemFrom(jsonData);
-            }
-            case pull_request, pull_request_review -> {
-                yield JsonAttribute.pullRequest.commonItemFrom(jsonData);
-            }
-            default -> {
-                Log.errorf("getTitle: DataCommonItem unsupported event type %s", eventType);
-                yield null;
-            }
-        };
+        // parsed on first use, shared with other observers of this delivery
+        this.payload = WebhookPayload.of(event);
+    }
 
-        if (payload != null) {
-            this.repository = payload.getRepository();
-            this.organization = payload.getOrganization();
-            this.installation = payload.getInstallation();
+    private void readContext() {
+        if (contextRead) {
+            return;
+        }
+        if (ghPayload != null) {
+            repository = ghPayload.getRepository();
+            organization = ghPayload.getOrganization();
+            installation = ghPayload.getInstallation();
         } else {
-            this.repository = JsonAttribute.repository.repositoryFrom(jsonData);
-            this.organization = JsonAttribute.organization.organizationFrom(jsonData);
-            this.installation = JsonAttribute.installation.appInstallationFrom(jsonData);
+            repository = payload.repository();
+            organization = payload.organization();
+            installation = payload.installation();
         }
-
-        this.logId = "%s:%s.%s%s".formatted(
-                installation.getId(), eventType, actionType,
-                repository == null
-                        ? ""
-                        : (":" + repository.getFullName() + (getNumber() >= 0 ? ("#" + getNumber()) : "")));
+        contextRead = true;
+    }
+
+    private DataCommonItem commonItem() {
+        if (!commonItemRead) {
+            commonItem = switch (eventType) {
+                case discussion, discussion_comment -> payload.commonItem(JsonAttribute.discussion);
+                case issues, issue, issue_comment -> payload.commonItem(JsonAttribute.issue);
+                case pull_request, pull_request_review -> payload.commonItem(JsonAttribute.pullRequest);
+                default -> {
+                    Log.errorf("getTitle: DataCommonItem unsupported event type %s", eventType);
+                    yield null;
+                }
+            };
+            commonItemRead = true;
+        }
+        return commonItem;
     }
 
     public String getLogId() {
+        if (logId == null) {
+            GHRepository repo = getRepository();
+            logId = "%s:%s.%s%s".formatted(
+                    getInstallationId(), eventType, actionType,
+                    repo == null
+                            ? ""
+                            : (":" + repo.getFullName() + (getNumber() >= 0 ? ("#" + getNumber()) : "")));
+        }
         return logId;
     }
 
+    public GitHubEvent getGitHubEvent() {
+        return event;
+    }
+
     public JsonObject getJsonData() {
-        return jsonData;
+        return payload.json();
+    }
+
+    /**
+     * @return shared view of the webhook payload
+     */
+    public WebhookPayload getPayload() {
+        return payload;
     }
 
     public String getAction() {
@@ -89,22 +117,25 @@ public class EventData {
     }
 
     public String getRepoFullName() {
-        return repository.getFullName();
+        return getRepository().getFullName();
     }
 
     public String getRepositoryId() {
-        return repository.getNodeId();
+        return getRepository().getNodeId();
     }
 
     public GHRepository getRepository() {
+        readContext();
         return repository;
     }
 
     public GHOrganization getOrganization() {
+        readContext();
         return organization;
     }
 
     public long getInstallationId() {
+        readContext();
         return installation.getId();
     }
 
@@ -115,9 +146,7 @@ public class EventData {
 
     @SuppressWarnings("unchecked")
     public <T extends EventPayload> T getEventPayload() {
-        if (eventPayload == null) {
-            eventPayload = eventType.getDataFrom(actionType, jsonData);
-        }
+        EventPayload eventPayload = payload.decode("eventPayload", data -> eventType.getDataFrom(actionType, data));
         return (T) eventPayload;
     }
 
@@ -128,22 +157,26 @@ public class EventData {
      * @return the id of the primary item for this event
      */
     public String getNodeId() {
-        return commonItem == null ? null : commonItem.id;
+        DataCommonItem item = commonItem();
+        return item == null ? null : item.id;
     }
 
     public String getNodeUrl() {
-        return commonItem == null ? null : commonItem.url;
+        DataCommonItem item = commonItem();
+        return item == null ? null : item.url;
     }
 
     public String getTitle() {
-        return commonItem == null ? null : commonItem.title;
+        DataCommonItem item = commonItem();
+        return item == null ? null : item.title;
     }
 
     /**
      * @return the body of the item (discussion, issue, pull request, etc.)
      */
     public String getItemBody() {
-        return commonItem == null ? "" : commonItem.body;
+        DataCommonItem item = commonItem();
+        return item == null ? "" : item.body;
     }
 
     /**
@@ -153,7 +186,7 @@ public class EventData {
         return switch (eventType) {
             case discussion, issue, pull_request -> getItemBody();
             case issue_comment, discussion_comment -> {
-                DataCommonComment comment = JsonAttribute.comment.commonCommentFrom(jsonData);
+                DataCommonComment comment = payload.commonComment();
                 yield comment == null ? null : comment.body;
             }
             default -> null;
@@ -161,14 +194,17 @@ public class EventData {
     }
 
     public int getNumber() {
-        return commonItem == null ? -1 : commonItem.number;
+        DataCommonItem item = commonItem();
+        return item == null ? -1 : item.number;
     }
 
     public boolean isClosed() {
-        return commonItem == null ? false : commonItem.closedAt != null;
+        DataCommonItem item = commonItem();
+        return item == null ? false : item.closedAt != null;
     }
 
     public DataActor getAuthor() {
-        return commonItem == null ? null : commonItem.author;
+        DataCommonItem item = commonItem();
+        return item == null ? null : item.author;
     }
 }
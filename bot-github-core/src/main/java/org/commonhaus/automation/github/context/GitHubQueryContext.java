@@ -21,8 +21,14 @@ import java.util.regex.Pattern;
 import jakarta.annotation.Nullable;
 import jakarta.json.JsonObject;
 
+import org.commonhaus.automation.ApiUsage;
+import org.commonhaus.automation.CircuitBreaker;
+import org.commonhaus.automation.CircuitBreaker.CircuitOpenException;
 import org.commonhaus.automation.ContextService;
 import org.commonhaus.automation.GraphQLQueryContext;
+import org.commonhaus.automation.jfr.GitHubApiEvent;
+import org.commonhaus.automation.trace.Span;
+import org.commonhaus.automation.trace.Tracing;
 import org.kohsuke.github.GHContent;
 import org.kohsuke.github.GHFileNotFoundException;
 import org.kohsuke.github.GHIssue;
@@ -76,6 +82,9 @@ public class GitHubQueryContext extends GraphQLQueryContext {
     protected GitHub github;
     protected DynamicGraphQLClient graphQLClient;
 
+    /** Pending label changes; null unless {@link #deferLabelMutations()} was called */
+    protected DeferredLabelMutations deferredLabels;
+
     public GitHubQueryContext(ContextService contextService, long installationId) {
         super(contextService);
         this.installationId = installationId;
@@ -176,6 +185,16 @@ public class GitHubQueryContext extends GraphQLQueryContext {
         return installationId;
     }
 
+    @Override
+    protected String getApiUsageScope() {
+        return String.valueOf(installationId);
+    }
+
+    @Override
+    protected CircuitBreaker getCircuitBreaker() {
+        return CircuitBreaker.forService("github:" + installationId);
+    }
+
     protected void cleanupAuthenticationError() {
         // Clear the cached clients to force fresh token acquisition
         BaseQueryCache.resetCachedClients(installationId);
@@ -219,27 +238,60 @@ public class GitHubQueryContext extends GraphQLQueryContext {
                     getLogId(), bundleExceptions());
             return null;
         }
+        CircuitBreaker breaker = getCircuitBreaker();
+        if (!breaker.allowRequest()) {
+            Log.debugf("[%s] execGitHubSync: %s is open, skipping", getLogId(), breaker.name());
+            addException(new CircuitOpenException(breaker));
+            return null;
+        }
+        long start = System.nanoTime();
+        GitHubApiEvent apiEvent = GitHubApiEvent.start(ApiUsage.Api.REST, getApiUsageScope());
+        Span span = Tracing.start("github REST");
+        String status = "ok";
         try {
-            return ghApiCall.apply(getGitHub(), isDryRun());
+            // Retry after an authorization error (with a fresh token);
+            // only the final outcome is recorded
+            while (true) {
+                try {
+                    R result = ghApiCall.apply(getGitHub(), isDryRun());
+                    breaker.recordSuccess();
+                    return result;
+                } catch (HttpException he) {
+                    if ((he.getResponseCode() == 401 || he.getResponseCode() == 403) && countAuthRetry++ < 2) {
+                        Log.debugf("[%s] execGitHubSync: Authorization error: %s", getLogId(), he);
+                        cleanupAuthenticationError();
+                        continue;
+                    }
+                    throw he;
+                }
+            }
         } catch (GHFileNotFoundException e) {
+            breaker.recordSuccess();
+            status = "404";
             addException(e);
         } catch (HttpException he) {
+            breaker.recordFailure(he);
+            status = String.valueOf(he.getResponseCode());
             if (he.getResponseCode() == 401 || he.getResponseCode() == 403) {
-                if (countAuthRetry++ < 2) {
-                    Log.debugf("[%s] execGitHubSync: Authorization error: %s", getLogId(), he);
-                    cleanupAuthenticationError();
-                    // Let's try again
-                    return execGitHubSync(ghApiCall);
-                } else {
-                    Log.debugf("[%s] execGitHubSync: Auth error retry limit reached", getLogId());
-                }
+                Log.debugf("[%s] execGitHubSync: Auth error retry limit reached", getLogId());
             } else {
                 Log.debugf("[%s] execGitHubSync: HttpException: %s", getLogId(), he);
             }
             addException(he);
         } catch (Throwable e) {
+            breaker.recordFailure(e);
+            status = e.getClass().getSimpleName();
             Log.debugf("[%s] execGitHubSync: Throwable: %s", getLogId(), e);
             addException(e);
+        } finally {
+            ApiUsage.recordRest(getApiUsageScope(), System.nanoTime() - start, !"ok".equals(status));
+            apiEvent.complete(status);
+            if (span.isRecording()) {
+                span.attribute("operation", ApiUsage.caller())
+                        .attribute("installation", getApiUsageScope())
+                        .status(status)
+                        .close();
+            }
         }
         return null;
     }
@@ -612,6 +664,10 @@ public class GitHubQueryContext extends GraphQLQueryContext {
     public Collection<DataLabel> addLabels(String nodeId, List<String> labels) {
         Collection<DataLabel> newLabels = findLabels(labels);
         if (!newLabels.isEmpty()) {
+            if (deferredLabels != null) {
+                deferredLabels.add(nodeId, newLabels);
+                return deferredLabels.pendingLabels(nodeId);
+            }
             Set<DataLabel> currentLabels = DataLabel.addLabels(this, nodeId, newLabels);
             LABELS.put(nodeId, currentLabels);
             return currentLabels;
@@ -642,9 +698,22 @@ public class GitHubQueryContext extends GraphQLQueryContext {
         });
     }
 
+    /**
+     * Remove labels by name or id from event item
+     *
+     * @param nodeId String node id or item (discussion or pull request or issue) to
+     *        remove labels from
+     * @param labels Collection of Label names or ids
+     * @return updated collection of labels for the item, or null if no labels were
+     *         found
+     */
     public Collection<DataLabel> removeLabels(String nodeId, List<String> labels) {
         Collection<DataLabel> oldLabels = findLabels(labels);
         if (!oldLabels.isEmpty()) {
+            if (deferredLabels != null) {
+                deferredLabels.remove(nodeId, oldLabels);
+                return deferredLabels.pendingLabels(nodeId);
+            }
             Set<DataLabel> currentLabels = DataLabel.removeLabels(this, nodeId, oldLabels);
             LABELS.put(nodeId, currentLabels);
             return currentLabels;
@@ -652,6 +721,48 @@ public class GitHubQueryContext extends GraphQLQueryContext {
         return null;
     }
 
+    /**
+     * Buffer label changes made with {@link #addLabels(String, List)} and
+     * {@link #removeLabels(String, List)} instead of sending them immediately.
+     * <p>
+     * Changes to the same item are merged, and changes that match the cached
+     * label state are dropped. Call {@link #flushLabelMutations()} when processing
+     * is complete to send the remaining changes as a single mutation.
+     * <p>
+     * While deferred, the returned label collections include pending changes.
+     * If the item's labels have not been cached, they only contain the labels
+     * added by pending changes.
+     *
+     * @return this context
+     */
+    public GitHubQueryContext deferLabelMutations() {
+        if (deferredLabels == null) {
+            deferredLabels = new DeferredLabelMutations();
+        }
+        return this;
+    }
+
+    /**
+     * Send buffered label changes (if any) as a single aliased GraphQL mutation,
+     * update cached labels for affected items, and stop deferring label changes.
+     * Errors are captured in this context, as for other queries.
+     * <p>
+     * If errors were recorded before the flush, buffered changes are logged
+     * and dropped (as immediate changes would not have been sent).
+     * Call this from a {@code finally} block.
+     */
+    public void flushLabelMutations() {
+        DeferredLabelMutations pending = deferredLabels;
+        deferredLabels = null;
+        if (pending != null) {
+            pending.flush(this);
+        }
+    }
+
+    public boolean hasPendingLabelMutations() {
+        return deferredLabels != null && !deferredLabels.isEmpty();
+    }
+
     public DataLabel createLabel(String labelName, String color) {
         return DataLabel.createLabel(this, this.getRepositoryId(), labelName, color);
     }
@@ -585,7 +585,7 @@ public class GitHubTeamService {
                 qc.getLogId(), targetTeam, changes.toAdd().size(), changes.toRemove().size());
     }
 
-    private MembershipChanges computeMemberChanges(boolean collaborators, String resourceName,
+    static MembershipChanges computeMemberChanges(boolean collaborators, String resourceName,
             Set<String> currentLogins, Set<String> expectedLogins, Set<String> ignoreUsers) {
 
         Set<String> toAdd = new HashSet<>(expectedLogins);
@@ -343,7 +343,7 @@ public enum JsonAttribute implements JsonAttributeAccessor {
         JsonObject field = jsonObjectFrom(object);
         return field == null
                 ? new DataPageInfo(null, false)
-                : new DataPageInfo(object);
+                : new DataPageInfo(field);
     }
 
     /**
@@ -371,10 +371,9 @@ public enum JsonAttribute implements JsonAttributeAccessor {
      */
     public GHRepository repositoryFrom(JsonObject object) {
         JsonObject field = jsonObjectFrom(object);
-        String value = field.toString();
-        return value == null
+        return field == null
                 ? null
-                : tryOrNull(value, GHRepository.class);
+                : tryOrNull(field.toString(), GHRepository.class);
     }
 
     /**
@@ -411,10 +410,10 @@ public enum JsonAttribute implements JsonAttributeAccessor {
      * @return GHOrganization constructed from nodeName (or name()) attribute of object
      */
     public GHOrganization organizationFrom(JsonObject object) {
-        String value = stringFrom(object);
-        return value == null
+        JsonObject field = jsonObjectFrom(object);
+        return field == null
                 ? null
-                : tryOrNull(value, GHOrganization.class);
+                : tryOrNull(field.toString(), GHOrganization.class);
     }
 
     /**
@@ -425,9 +424,9 @@ public enum JsonAttribute implements JsonAttributeAccessor {
      * @return GHAppInstallation constructed from nodeName (or name()) attribute of object
      */
     public GHAppInstallation appInstallationFrom(JsonObject object) {
-        String value = stringFrom(object);
-        return value == null
+        JsonObject field = jsonObjectFrom(object);
+        return field == null
                 ? null
-                : tryOrNull(value, GHAppInstallation.class);
+                : tryOrNull(field.toString(), GHAppInstallation.class);
     }
 }
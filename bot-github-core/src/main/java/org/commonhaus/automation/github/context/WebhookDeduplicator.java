@@ -0,0 +1,176 @@
+package org.commonhaus.automation.github.context;
+
+import io.quarkiverse.githubapp.GitHubEvent;
+import io.quarkus.logging.Log;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Time-windowed de-duplication of webhook deliveries.
+ * <p>
+ * A delivery is a duplicate for a consumer (watcher, discovery) if:
+ * <ul>
+ * <li>the consumer has already seen the same delivery id ({@code X-GitHub-Delivery}):
+ * redelivered webhooks keep their delivery id; or</li>
+ * <li>the consumer has recently seen an event with the same semantic key
+ * (event type, resource and subject) and the same action, e.g. the same member
+ * added to the same team, reported more than once.</li>
+ * </ul>
+ * Delivery ids are remembered in {@link BaseQueryCache#WEBHOOK_DELIVERIES};
+ * the last action for each semantic key is kept for a short window
+ * in {@link BaseQueryCache#WEBHOOK_CHANGES}.
+ * Events without a semantic key (e.g. label edits, where a later change to the same
+ * label must not be dropped) are only de-duplicated by delivery id.
+ * <p>
+ * A delivery is recorded when it is checked. If the consumer then fails to handle it,
+ * the delivery is {@linkplain #forget(String, GitHubEvent) forgotten}, so that a
+ * redelivery (e.g. a manual redelivery from the GitHub UI) is processed.
+ */
+public class WebhookDeduplicator {
+
+    private WebhookDeduplicator() {
+    }
+
+    /**
+     * Check and record a delivery for a consumer.
+     *
+     * @param consumer Name of the consumer (each observer of a delivery de-duplicates separately)
+     * @param event webhook event
+     * @return true if the event was already processed by this consumer (skip it)
+     */
+    public static boolean isDuplicate(String consumer, GitHubEvent event) {
+        String deliveryId = event.getDeliveryId();
+        if (isRedelivery(consumer, event)) {
+            Log.debugf("[%s] %s: duplicate delivery %s (%s)", event.getInstallationId(), consumer,
+                    deliveryId, event.getEventAction());
+            return true;
+        }
+        String semanticKey = semanticKey(event);
+        if (semanticKey != null && isRepeated(consumer + ":" + semanticKey, event.getAction())) {
+            Log.debugf("[%s] %s: duplicate change %s %s (delivery %s)", event.getInstallationId(), consumer,
+                    semanticKey, event.getAction(), deliveryId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Check and record a delivery id for a consumer (ignores content).
+     *
+     * @param consumer Name of the consumer
+     * @param event webhook event
+     * @return true if this consumer has already seen this delivery
+     */
+    public static boolean isRedelivery(String consumer, GitHubEvent event) {
+        String deliveryId = event.getDeliveryId();
+        return deliveryId != null && !firstSeen(BaseQueryCache.WEBHOOK_DELIVERIES, consumer + ":" + deliveryId);
+    }
+
+    /**
+     * Forget a delivery that a consumer failed to handle:
+     * a redelivery of the event will not be treated as a duplicate.
+     *
+     * @param consumer Name of the consumer
+     * @param event webhook event
+     */
+    public static void forget(String consumer, GitHubEvent event) {
+        String deliveryId = event.getDeliveryId();
+        if (deliveryId != null) {
+            BaseQueryCache.WEBHOOK_DELIVERIES.invalidate(consumer + ":" + deliveryId);
+        }
+        String semanticKey = semanticKey(event);
+        if (semanticKey != null) {
+            BaseQueryCache.WEBHOOK_CHANGES.invalidate(consumer + ":" + semanticKey);
+        }
+        Log.debugf("[%s] %s: forget delivery %s (%s)", event.getInstallationId(), consumer,
+                deliveryId, event.getEventAction());
+    }
+
+    /**
+     * Run the handler for a delivery. If it fails, the delivery is forgotten
+     * (see {@link #forget(String, GitHubEvent)}) and the exception is rethrown.
+     *
+     * @param consumer Name of the consumer
+     * @param event webhook event
+     * @param handler Handler for the event
+     */
+    public static void handle(String consumer, GitHubEvent event, Runnable handler) {
+        try {
+            handler.run();
+        } catch (RuntimeException | Error e) {
+            forget(consumer, event);
+            throw e;
+        }
+    }
+
+    private static boolean firstSeen(BaseQueryCache cache, String key) {
+        Object marker = new Object();
+        return cache.computeIfAbsent(key, k -> marker) == marker;
+    }
+
+    /**
+     * The last action seen for the resource is remembered: a change is repeated if
+     * it has the same action. A change that reverts the previous one
+     * (added, removed, added) is never treated as a duplicate.
+     */
+    private static boolean isRepeated(String key, String action) {
+        String value = action == null ? "" : action;
+        boolean[] repeated = new boolean[1];
+        BaseQueryCache.WEBHOOK_CHANGES.compute(key, (k, v) -> {
+            repeated[0] = value.equals(v);
+            return value;
+        });
+        return repeated[0];
+    }
+
+    /**
+     * Semantic key for an event: event type and resource, including the subject
+     * of the change (member, commit) so that distinct changes are never merged.
+     *
+     * @param event webhook event
+     * @return semantic key, or null if this type of event should not be de-duplicated by content
+     */
+    static String semanticKey(GitHubEvent event) {
+        JsonObject payload = event.getParsedPayload();
+        if (payload == null || "edited".equals(event.getAction())) {
+            // successive edits are distinct changes
+            return null;
+        }
+        String type = event.getEvent();
+        String resource = switch (type) {
+            case "push" -> payload.getString("after") == null
+                    ? null
+                    : join(event.getRepository().orElse(null), payload.getString("after"));
+            case "membership" -> join(stringFrom(payload, "organization", "login"),
+                    stringFrom(payload, "team", "slug"),
+                    stringFrom(payload, "member", "login"));
+            case "team" -> join(stringFrom(payload, "organization", "login"),
+                    stringFrom(payload, "team", "slug"),
+                    stringFrom(payload, "repository", "full_name"));
+            case "member" -> join(event.getRepository().orElse(null),
+                    stringFrom(payload, "member", "login"));
+            case "installation" -> join(stringFrom(payload, "installation", "id"));
+            default -> null;
+        };
+        return resource == null ? null : type + ":" + resource;
+    }
+
+    private static String join(String... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (String part : parts) {
+            if (part == null && sb.isEmpty()) {
+                return null; // no primary resource
+            }
+            if (!sb.isEmpty()) {
+                sb.append('/');
+            }
+            sb.append(part == null ? "" : part);
+        }
+        return sb.toString();
+    }
+
+    private static String stringFrom(JsonObject payload, String object, String field) {
+        JsonObject value = payload.getJsonObject(object);
+        Object result = value == null ? null : value.getValue(field);
+        return result == null ? null : result.toString();
+    }
+}
@@ -0,0 +1,151 @@
+package org.commonhaus.automation.github.context;
+
+import java.io.StringReader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+
+import org.kohsuke.github.GHAppInstallation;
+import org.kohsuke.github.GHOrganization;
+import org.kohsuke.github.GHRepository;
+
+import io.quarkiverse.githubapp.GitHubEvent;
+
+/**
+ * Shared, read-only view of a webhook payload.
+ * <p>
+ * A delivery is dispatched to several observers (watchers, rules, discovery),
+ * each of which needs some part of the same payload. The raw payload is parsed
+ * at most once per delivery, on first use, and decoded values (common item,
+ * comment, label, etc.) are computed once and shared by all observers.
+ * <p>
+ * Observers may run on different threads: shared values are the (immutable)
+ * JSON tree and {@code Data*} objects, which must be treated as read-only.
+ * GitHub API objects ({@link GHRepository}, {@link GHOrganization},
+ * {@link GHAppInstallation}) are mutable: a new instance is decoded for each
+ * call, and is not shared.
+ * <p>
+ * Views are held briefly in {@link BaseQueryCache#WEBHOOK_PAYLOAD}, keyed by delivery id.
+ */
+public class WebhookPayload {
+    private static final Object NULL = new Object();
+
+    private final String raw;
+    private volatile JsonObject json;
+    final Map<String, Object> decoded = new ConcurrentHashMap<>();
+
+    WebhookPayload(String raw) {
+        this.raw = raw;
+    }
+
+    /**
+     * @param event webhook event
+     * @return shared view of the event payload (parsed lazily)
+     */
+    public static WebhookPayload of(GitHubEvent event) {
+        String raw = event.getPayload();
+        String deliveryId = event.getDeliveryId();
+        if (deliveryId == null) {
+            return new WebhookPayload(raw);
+        }
+        return BaseQueryCache.WEBHOOK_PAYLOAD.compute(deliveryId,
+                (k, v) -> v instanceof WebhookPayload p && p.matches(raw)
+                        ? p
+                        : new WebhookPayload(raw));
+    }
+
+    private boolean matches(String other) {
+        return raw == other || (raw != null && raw.equals(other));
+    }
+
+    /**
+     * @return the parsed payload (parsed on first call)
+     */
+    public JsonObject json() {
+        JsonObject result = json;
+        if (result == null) {
+            synchronized (this) {
+                result = json;
+                if (result == null) {
+                    try (JsonReader reader = Json.createReader(new StringReader(raw))) {
+                        json = result = reader.readObject();
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Decode a value from the payload once; subsequent calls with the same key
+     * return the same (shared) value.
+     *
+     * @param key name of the decoded value
+     * @param decoder function to read the value from the payload
+     * @return decoded value (may be null)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T decode(String key, Function<JsonObject, T> decoder) {
+        Object value = decoded.get(key);
+        if (value == null) {
+            // decoders may call decode (nested values): don't decode inside computeIfAbsent
+            Object result = decoder.apply(json());
+            value = decoded.putIfAbsent(key, result == null ? NULL : result);
+            if (value == null) {
+                value = result == null ? NULL : result;
+            }
+        }
+        return value == NULL ? null : (T) value;
+    }
+
+    /**
+     * @return repository from the payload (a new instance for each call)
+     */
+    public GHRepository repository() {
+        return JsonAttribute.repository.repositoryFrom(json());
+    }
+
+    /**
+     * @return organization from the payload (a new instance for each call)
+     */
+    public GHOrganization organization() {
+        return JsonAttribute.organization.organizationFrom(json());
+    }
+
+    /**
+     * @return installation from the payload (a new instance for each call)
+     */
+    public GHAppInstallation installation() {
+        return JsonAttribute.installation.appInstallationFrom(json());
+    }
+
+    public Long installationId() {
+        return decode("installationId", data -> {
+            JsonObject installation = JsonAttribute.installation.jsonObjectFrom(data);
+            return installation == null ? null : JsonAttribute.id.longFrom(installation);
+        });
+    }
+
+    /**
+     * @param attribute attribute containing the item (discussion, issue, pullRequest)
+     * @return common item (shared)
+     */
+    public DataCommonItem commonItem(JsonAttribute attribute) {
+        return decode("commonItem." + attribute.name(), attribute::commonItemFrom);
+    }
+
+    /**
+     * @return comment from the payload (shared)
+     */
+    public DataCommonComment commonComment() {
+        return decode("comment", JsonAttribute.comment::commonCommentFrom);
+    }
+
+    public DataLabel label() {
+        return decode("label", JsonAttribute.label::labelFrom);
+    }
+}
@@ -7,15 +7,16 @@ import jakarta.enterprise.event.Event;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import jakarta.json.JsonObject;
 
-import org.commonhaus.automation.JsonAttributeAccessor;
 import org.commonhaus.automation.config.BotConfig;
 import org.commonhaus.automation.github.context.BaseQueryCache;
 import org.commonhaus.automation.github.context.JsonAttribute;
+import org.commonhaus.automation.github.context.WebhookDeduplicator;
+import org.commonhaus.automation.github.context.WebhookPayload;
 import org.commonhaus.automation.github.scopes.ScopedInstallationMap;
 import org.commonhaus.automation.mail.LogMailer;
 import org.commonhaus.automation.queue.PeriodicUpdateQueue;
+import org.commonhaus.automation.shard.InstallationShards;
 import org.kohsuke.github.GHAppInstallation;
 import org.kohsuke.github.GHAuthenticatedAppInstallation;
 import org.kohsuke.github.GHIOException;
@@ -50,6 +51,9 @@ public class RepositoryDiscovery {
     @Inject
     LogMailer mailer;
 
+    @Inject
+    InstallationShards shards;
+
     @Inject
     Event<RepositoryDiscoveryEvent> fireRepositoryDiscoveryEvent;
 
@@ -94,6 +98,7 @@ public class RepositoryDiscovery {
      */
     void discoverRepositories() {
         LogMailer mailer = Arc.container().instance(LogMailer.class).orElse(new LogMailer());
+        long start = System.currentTimeMillis();
 
         List<Long> installations = new ArrayList<>();
         try {
@@ -141,6 +146,8 @@ public class RepositoryDiscovery {
             }
         } finally {
             fireBootstrapDiscovery.fire(new BootstrapDiscoveryEvent(installations));
+            Log.infof("Bootstrap discovery complete: %d installations in %dms",
+                    installations.size(), System.currentTimeMillis() - start);
         }
     }
 
@@ -159,6 +166,9 @@ public class RepositoryDiscovery {
         @Inject
         GitHubClientProvider gitHubService;
 
+        @Inject
+        InstallationShards shards;
+
         void onEvent(@RawEvent GitHubEvent event) {
             if (event == null || event.getInstallationId() == null) {
                 return;
@@ -171,49 +181,63 @@ public class RepositoryDiscovery {
             BaseQueryCache.putCachedGithubClient(event.getInstallationId(), github);
             BaseQueryCache.putCachedGraphQLClient(event.getInstallationId(), graphQLClient);
 
-            fireConnectionEvent.fire(
-                    new ConnectionEvent(event, github, graphQLClient));
+            // Clients are always refreshed; connection listeners only see a delivery once
+            if (WebhookDeduplicator.isRedelivery("discovery", event)) {
+                return;
+            }
+            WebhookDeduplicator.handle("discovery", event, () -> fireConnectionEvent.fire(
+                    new ConnectionEvent(event, github, graphQLClient)));
         }
 
         /**
          * Respond to installation changes
          */
         void onInstallationChange(@RawEvent(event = "installation") GitHubEvent gitHubEvent) {
+            if (WebhookDeduplicator.isDuplicate("discovery-installation", gitHubEvent)) {
+                return;
+            }
+            shards.broadcast(gitHubEvent);
 
             String action = gitHubEvent.getAction();
-            JsonObject payload = JsonAttributeAccessor.unpack(gitHubEvent.getPayload());
-            JsonObject installation = JsonAttribute.installation.jsonObjectFrom(payload);
-            long installationId = JsonAttribute.id.longFrom(installation);
-
-            List<GHRepository> repositories = JsonAttribute.repositories.repositoriesFrom(payload);
-
-            switch (action) {
-                case "created", "unsuspend" -> {
-                    GitHub github = gitHubService.getInstallationClient(installationId);
-                    DynamicGraphQLClient graphQLClient = gitHubService.getInstallationGraphQLClient(installationId);
+            WebhookPayload payload = WebhookPayload.of(gitHubEvent);
+            Long installationId = payload.installationId();
+            if (installationId == null) {
+                Log.warnf("%s event without an installation (delivery %s); skipping",
+                        gitHubEvent.getEventAction(), gitHubEvent.getDeliveryId());
+                return;
+            }
 
-                    for (GHRepository repo : repositories) {
-                        repositoryDiscovery.fireRepositoryDiscoveryEvent.fire(new RepositoryDiscoveryEvent(
-                                DiscoveryAction.INSTALL_ADDED, github, graphQLClient, installationId,
-                                repo, false));
+            List<GHRepository> repositories = JsonAttribute.repositories.repositoriesFrom(payload.json());
+
+            WebhookDeduplicator.handle("discovery-installation", gitHubEvent, () -> {
+                switch (action) {
+                    case "created", "unsuspend" -> {
+                        GitHub github = gitHubService.getInstallationClient(installationId);
+                        DynamicGraphQLClient graphQLClient = gitHubService.getInstallationGraphQLClient(installationId);
+
+                        for (GHRepository repo : repositories) {
+                            repositoryDiscovery.fireRepositoryDiscoveryEvent.fire(new RepositoryDiscoveryEvent(
+                                    DiscoveryAction.INSTALL_ADDED, github, graphQLClient, installationId,
+                                    repo, false));
+                        }
+                        repositoryDiscovery.fireInstallationDiscoveryEvent
+                                .fire(new InstallationDiscoveryEvent(DiscoveryAction.INSTALL_ADDED,
+                                        installationId, github, graphQLClient));
                     }
-                    repositoryDiscovery.fireInstallationDiscoveryEvent
-                            .fire(new InstallationDiscoveryEvent(DiscoveryAction.INSTALL_ADDED,
-                                    installationId, github, graphQLClient));
-                }
-                case "deleted", "suspend" -> {
-                    for (GHRepository repo : repositories) {
-                        repositoryDiscovery.fireRepositoryDiscoveryEvent.fire(new RepositoryDiscoveryEvent(
-                                DiscoveryAction.INSTALL_REMOVED, null, null, installationId,
-                                repo, false));
+                    case "deleted", "suspend" -> {
+                        for (GHRepository repo : repositories) {
+                            repositoryDiscovery.fireRepositoryDiscoveryEvent.fire(new RepositoryDiscoveryEvent(
+                                    DiscoveryAction.INSTALL_REMOVED, null, null, installationId,
+                                    repo, false));
+                        }
+                        repositoryDiscovery.fireInstallationDiscoveryEvent
+                                .fire(new InstallationDiscoveryEvent(DiscoveryAction.INSTALL_REMOVED,
+                                        installationId, null, null));
+                    }
+                    default -> {
                     }
-                    repositoryDiscovery.fireInstallationDiscoveryEvent
-                            .fire(new InstallationDiscoveryEvent(DiscoveryAction.INSTALL_REMOVED,
-                                    installationId, null, null));
-                }
-                default -> {
                 }
-            }
+            });
         }
 
         /**
@@ -224,17 +248,26 @@ public class RepositoryDiscovery {
          */
         void onInstallationRepositoryChange(@RawEvent(event = "installation_repositories") GitHubEvent gitHubEvent,
                 GitHub github, DynamicGraphQLClient graphQLClient) {
+            if (WebhookDeduplicator.isDuplicate("discovery-installation", gitHubEvent)) {
+                return;
+            }
+            shards.broadcast(gitHubEvent);
 
-            JsonObject payload = JsonAttributeAccessor.unpack(gitHubEvent.getPayload());
-            JsonObject installation = JsonAttribute.installation.jsonObjectFrom(payload);
-            long installationId = JsonAttribute.id.longFrom(installation);
+            WebhookPayload payload = WebhookPayload.of(gitHubEvent);
+            Long installationId = payload.installationId();
+            if (installationId == null) {
+                Log.warnf("%s event without an installation (delivery %s); skipping",
+                        gitHubEvent.getEventAction(), gitHubEvent.getDeliveryId());
+                return;
+            }
 
-            List<GHRepository> added = JsonAttribute.repositoriesAdded.repositoriesFrom(payload);
-            List<GHRepository> removed = JsonAttribute.repositoriesRemoved.repositoriesFrom(payload);
+            List<GHRepository> added = JsonAttribute.repositoriesAdded.repositoriesFrom(payload.json());
+            List<GHRepository> removed = JsonAttribute.repositoriesRemoved.repositoriesFrom(payload.json());
 
-            repositoryDiscovery.handleRepositoryChanges(github, graphQLClient, installationId,
-                    added == null ? List.of() : added,
-                    removed == null ? List.of() : removed);
+            WebhookDeduplicator.handle("discovery-installation", gitHubEvent,
+                    () -> repositoryDiscovery.handleRepositoryChanges(github, graphQLClient, installationId,
+                            added == null ? List.of() : added,
+                            removed == null ? List.of() : removed));
         }
     }
 
@@ -244,7 +277,7 @@ public class RepositoryDiscovery {
     // Quartz cron expression: s m h dom mon dow year(optional)
     @Scheduled(cron = "${automation.scope-notification.cron:0 43 2 * 3 ?}")
     public void scheduledRefresh() {
-        if (LaunchMode.current() == LaunchMode.TEST) {
+        if (LaunchMode.current() == LaunchMode.TEST || !shards.isLeader()) {
             return;
         }
         mailer.sendEmail("RepositoryDiscovery",
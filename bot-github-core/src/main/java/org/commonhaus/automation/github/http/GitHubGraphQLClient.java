@@ -0,0 +1,268 @@
+package org.commonhaus.automation.github.http;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonValue;
+
+import io.smallrye.graphql.client.Request;
+import io.smallrye.graphql.client.Response;
+import io.smallrye.graphql.client.core.Document;
+import io.smallrye.graphql.client.dynamic.api.DynamicGraphQLClient;
+import io.smallrye.graphql.client.impl.ResponseReader;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * GraphQL client for one installation that sends requests with the
+ * shared {@link HttpClient} (see {@link GitHubHttp}).
+ * <p>
+ * The installation token is looked up for each request (quarkus-github-app
+ * caches and renews installation tokens), so the client remains usable
+ * after the token it started with has expired.
+ * Subscriptions are not supported.
+ */
+class GitHubGraphQLClient implements DynamicGraphQLClient {
+    final HttpClient httpClient;
+    final URI endpoint;
+    final Supplier<String> token;
+    final LongAdder requests;
+
+    GitHubGraphQLClient(HttpClient httpClient, URI endpoint, Supplier<String> token, LongAdder requests) {
+        this.httpClient = httpClient;
+        this.endpoint = endpoint;
+        this.token = token;
+        this.requests = requests;
+    }
+
+    @Override
+    public Response executeSync(Request request) throws ExecutionException, InterruptedException {
+        return send(request.toJson());
+    }
+
+    @Override
+    public Uni<Response> executeAsync(Request request) {
+        return sendAsync(request.toJson());
+    }
+
+    Response send(String body) throws ExecutionException, InterruptedException {
+        HttpRequest httpRequest = httpRequest(body);
+        try {
+            return read(httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString()));
+        } catch (IOException e) {
+            throw new ExecutionException(e);
+        }
+    }
+
+    Uni<Response> sendAsync(String body) {
+        return Uni.createFrom().completionStage(() -> httpClient
+                .sendAsync(httpRequest(body), HttpResponse.BodyHandlers.ofString())
+                .thenApply(GitHubGraphQLClient::read));
+    }
+
+    HttpRequest httpRequest(String body) {
+        requests.increment();
+        return HttpRequest.newBuilder(endpoint)
+                .header("Authorization", "Bearer " + token.get())
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    static Response read(HttpResponse<String> response) {
+        return ResponseReader.readFrom(response.body(), response.headers().map(),
+                response.statusCode(), "HTTP " + response.statusCode());
+    }
+
+    /**
+     * @return request body: query, variables and operation name
+     */
+    static String body(String query, Map<String, Object> variables, String operationName) {
+        JsonObjectBuilder body = Json.createObjectBuilder().add("query", query);
+        if (variables != null && !variables.isEmpty()) {
+            body.add("variables", toJson(variables));
+        }
+        if (operationName != null && !operationName.isEmpty()) {
+            body.add("operationName", operationName);
+        }
+        return body.build().toString();
+    }
+
+    static JsonValue toJson(Object value) {
+        if (value == null) {
+            return JsonValue.NULL;
+        } else if (value instanceof JsonValue json) {
+            return json;
+        } else if (value instanceof Boolean b) {
+            return b ? JsonValue.TRUE : JsonValue.FALSE;
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            return Json.createValue(((Number) value).longValue());
+        } else if (value instanceof Number n) {
+            return Json.createValue(new BigDecimal(n.toString()));
+        } else if (value instanceof Map<?, ?> map) {
+            JsonObjectBuilder object = Json.createObjectBuilder();
+            map.forEach((k, v) -> object.add(String.valueOf(k), toJson(v)));
+            return object.build();
+        } else if (value instanceof Collection<?> collection) {
+            JsonArrayBuilder array = Json.createArrayBuilder();
+            collection.forEach(v -> array.add(toJson(v)));
+            return array.build();
+        } else if (value instanceof Object[] items) {
+            return toJson(Arrays.asList(items));
+        }
+        return Json.createValue(value.toString());
+    }
+
+    @Override
+    public Response executeSync(Document document) throws ExecutionException, InterruptedException {
+        return send(body(document.build(), null, null));
+    }
+
+    @Override
+    public Response executeSync(Document document, Map<String, Object> variables)
+            throws ExecutionException, InterruptedException {
+        return send(body(document.build(), variables, null));
+    }
+
+    @Override
+    public Response executeSync(Document document, String operationName)
+            throws ExecutionException, InterruptedException {
+        return send(body(document.build(), null, operationName));
+    }
+
+    @Override
+    public Response executeSync(Document document, Map<String, Object> variables, String operationName)
+            throws ExecutionException, InterruptedException {
+        return send(body(document.build(), variables, operationName));
+    }
+
+    @Override
+    public Response executeSync(String query) throws ExecutionException, InterruptedException {
+        return send(body(query, null, null));
+    }
+
+    @Override
+    public Response executeSync(String query, Map<String, Object> variables)
+            throws ExecutionException, InterruptedException {
+        return send(body(query, variables, null));
+    }
+
+    @Override
+    public Response executeSync(String query, String operationName) throws ExecutionException, InterruptedException {
+        return send(body(query, null, operationName));
+    }
+
+    @Override
+    public Response executeSync(String query, Map<String, Object> variables, String operationName)
+            throws ExecutionException, InterruptedException {
+        return send(body(query, variables, operationName));
+    }
+
+    @Override
+    public Uni<Response> executeAsync(Document document) {
+        return sendAsync(body(document.build(), null, null));
+    }
+
+    @Override
+    public Uni<Response> executeAsync(Document document, Map<String, Object> variables) {
+        return sendAsync(body(document.build(), variables, null));
+    }
+
+    @Override
+    public Uni<Response> executeAsync(Document document, String operationName) {
+        return sendAsync(body(document.build(), null, operationName));
+    }
+
+    @Override
+    public Uni<Response> executeAsync(Document document, Map<String, Object> variables, String operationName) {
+        return sendAsync(body(document.build(), variables, operationName));
+    }
+
+    @Override
+    public Uni<Response> executeAsync(String query) {
+        return sendAsync(body(query, null, null));
+    }
+
+    @Override
+    public Uni<Response> executeAsync(String query, Map<String, Object> variables) {
+        return sendAsync(body(query, variables, null));
+    }
+
+    @Override
+    public Uni<Response> executeAsync(String query, String operationName) {
+        return sendAsync(body(query, null, operationName));
+    }
+
+    @Override
+    public Uni<Response> executeAsync(String query, Map<String, Object> variables, String operationName) {
+        return sendAsync(body(query, variables, operationName));
+    }
+
+    @Override
+    public Multi<Response> subscription(Document document) {
+        return unsupported();
+    }
+
+    @Override
+    public Multi<Response> subscription(Document document, Map<String, Object> variables) {
+        return unsupported();
+    }
+
+    @Override
+    public Multi<Response> subscription(Document document, String operationName) {
+        return unsupported();
+    }
+
+    @Override
+    public Multi<Response> subscription(Document document, Map<String, Object> variables, String operationName) {
+        return unsupported();
+    }
+
+    @Override
+    public Multi<Response> subscription(Request request) {
+        return unsupported();
+    }
+
+    @Override
+    public Multi<Response> subscription(String query) {
+        return unsupported();
+    }
+
+    @Override
+    public Multi<Response> subscription(String query, Map<String, Object> variables) {
+        return unsupported();
+    }
+
+    @Override
+    public Multi<Response> subscription(String query, String operationName) {
+        return unsupported();
+    }
+
+    @Override
+    public Multi<Response> subscription(String query, Map<String, Object> variables, String operationName) {
+        return unsupported();
+    }
+
+    static Multi<Response> unsupported() {
+        return Multi.createFrom().failure(new UnsupportedOperationException("Subscriptions are not supported"));
+    }
+
+    @Override
+    public void close() {
+        // The HTTP client is shared
+    }
+}
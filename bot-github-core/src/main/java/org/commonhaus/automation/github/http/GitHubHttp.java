@@ -0,0 +1,213 @@
+package org.commonhaus.automation.github.http;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.net.ssl.SSLContext;
+
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.commonhaus.automation.config.BotConfig;
+import org.commonhaus.automation.config.BotConfig.GitHubHttpConfig;
+import org.commonhaus.automation.config.LocalRouteOnly;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.extras.HttpClientGitHubConnector;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkiverse.githubapp.GitHubCustomizer;
+import io.quarkiverse.githubapp.InstallationTokenProvider;
+import io.quarkiverse.githubapp.JavaHttpClientFactory;
+import io.quarkiverse.githubapp.runtime.github.AbstractJavaHttpClientFactory;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.LaunchMode;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.quarkus.vertx.web.Route;
+import io.quarkus.vertx.web.Route.HttpMethod;
+import io.quarkus.vertx.web.RoutingExchange;
+import io.smallrye.graphql.client.dynamic.api.DynamicGraphQLClient;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * One HTTP client for all GitHub API requests (see {@code automation.github-http}).
+ * <p>
+ * quarkus-github-app builds the connector for REST clients with the
+ * {@link JavaHttpClientFactory} (HTTP/1.1 by default), and a GraphQL client with
+ * its own connection pool for each installation. Installation clients are re-created
+ * when they expire from the connection cache, and a new GraphQL client
+ * starts with a TCP and TLS handshake.
+ * <p>
+ * When {@code shared} is enabled, this replaces the default factory:
+ * <ul>
+ * <li>REST clients for all installations (and the application) use one connector,
+ * built on one HTTP/2 client.</li>
+ * <li>GraphQL clients ({@link #graphQLClient(long)}) send requests with the same client;
+ * only the Authorization header differs per installation.</li>
+ * </ul>
+ * Connections opened (TLS handshakes) and requests sent are counted; connection reuse is
+ * reported (locally) from {@code /httpStats}.
+ * <p>
+ * Not used in tests: test clients are mocked.
+ */
+@Singleton
+public class GitHubHttp extends AbstractJavaHttpClientFactory implements GitHubCustomizer, LocalRouteOnly {
+    static final String ME = "🌐 http";
+
+    @Inject
+    BotConfig botConfig;
+
+    @Inject
+    Instance<InstallationTokenProvider> tokenProvider;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "quarkus.github-app.graphql-api-endpoint",
+            defaultValue = "${quarkus.github-app.instance-endpoint:https://api.github.com}/graphql")
+    String graphqlEndpoint;
+
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder restRequests = new LongAdder();
+    private final LongAdder graphQLRequests = new LongAdder();
+
+    private HttpClient httpClient;
+    private GitHubConnector connector;
+
+    /**
+     * @return true if all GitHub API requests should use the shared client
+     */
+    public boolean isShared() {
+        return botConfig.githubHttp().shared() && LaunchMode.current() != LaunchMode.TEST;
+    }
+
+    /**
+     * Used by quarkus-github-app to build the connector for REST clients.
+     *
+     * @return the shared client, or a new client if sharing is disabled
+     */
+    @Override
+    public HttpClient create() {
+        return isShared() ? httpClient() : createDefaultClientBuilder().build();
+    }
+
+    /**
+     * Called by quarkus-github-app for each REST client it builds:
+     * use the shared (counting) connector.
+     */
+    @Override
+    public void customize(GitHubBuilder builder) {
+        if (isShared()) {
+            builder.withConnector(connector());
+        }
+    }
+
+    /**
+     * Create a GraphQL client for an installation that sends requests
+     * with the shared client.
+     *
+     * @param installationId GitHub installation id
+     * @return GraphQL client for the installation
+     */
+    public DynamicGraphQLClient graphQLClient(long installationId) {
+        return new GitHubGraphQLClient(httpClient(),
+                URI.create(graphqlEndpoint),
+                () -> tokenProvider.get().getInstallationToken(installationId).token(),
+                graphQLRequests);
+    }
+
+    synchronized HttpClient httpClient() {
+        if (httpClient == null) {
+            GitHubHttpConfig config = botConfig.githubHttp();
+            try {
+                httpClient = createDefaultClientBuilder()
+                        .version(config.http2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(config.connectTimeout())
+                        .sslContext(new ConnectionCountingSSLContext(SSLContext.getDefault(), connections))
+                        .build();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Unable to create the GitHub HTTP client", e);
+            }
+            Log.infof("[%s] Shared GitHub HTTP client: %s, connect timeout %s", ME,
+                    httpClient.version(), config.connectTimeout());
+        }
+        return httpClient;
+    }
+
+    synchronized GitHubConnector connector() {
+        if (connector == null) {
+            HttpClientGitHubConnector delegate = new HttpClientGitHubConnector(httpClient());
+            connector = request -> {
+                restRequests.increment();
+                return delegate.send(request);
+            };
+        }
+        return connector;
+    }
+
+    /**
+     * @return connections opened and requests sent with the shared client
+     */
+    public HttpStats stats() {
+        long opened = connections.sum();
+        long rest = restRequests.sum();
+        long graphQL = graphQLRequests.sum();
+        HttpClient current;
+        synchronized (this) {
+            current = httpClient;
+        }
+        return new HttpStats(isShared(),
+                current == null ? null : current.version().name(),
+                opened, rest, graphQL, reuse(opened, rest + graphQL));
+    }
+
+    /**
+     * @return fraction of requests sent on an existing connection
+     */
+    static double reuse(long connections, long requests) {
+        if (requests == 0) {
+            return 0;
+        }
+        return Math.max(0, 1 - (double) connections / requests);
+    }
+
+    @Route(path = "/httpStats", order = 99, produces = "application/json", methods = { HttpMethod.GET })
+    public void reportHttpStats(RoutingContext routingContext, RoutingExchange routingExchange) {
+        if (!isDirectConnection(routingExchange)) {
+            rejectNonLocalAccess(routingExchange);
+            return;
+        }
+        try {
+            routingExchange.ok().end(objectMapper.writeValueAsString(stats()));
+        } catch (JsonProcessingException e) {
+            Log.error("Unable to serialize HTTP stats", e);
+            routingExchange.serverError().end();
+        }
+    }
+
+    /**
+     * Connection use of the shared client.
+     *
+     * @param shared true if the shared client is used
+     * @param version preferred HTTP version (null until the client is created)
+     * @param connections connections opened (TLS handshakes, including failed attempts)
+     * @param restRequests REST requests sent
+     * @param graphQLRequests GraphQL requests sent
+     * @param reuse fraction of requests sent on an existing connection
+     */
+    @RegisterForReflection
+    public record HttpStats(
+            boolean shared,
+            String version,
+            long connections,
+            long restRequests,
+            long graphQLRequests,
+            double reuse) {
+    }
+}
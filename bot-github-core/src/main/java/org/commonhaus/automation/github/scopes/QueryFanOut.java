@@ -0,0 +1,209 @@
+package org.commonhaus.automation.github.scopes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.commonhaus.automation.ApiUsage;
+import org.commonhaus.automation.BackgroundQueries;
+import org.commonhaus.automation.github.context.GitHubQueryContext;
+import org.commonhaus.automation.trace.TraceContext;
+import org.commonhaus.automation.trace.Tracing;
+
+import io.quarkus.logging.Log;
+
+/**
+ * Run independent GitHub API work (one subtask per item) concurrently.
+ * <p>
+ * Query contexts are not thread-safe: each subtask gets its own context.
+ * <ul>
+ * <li>{@link #fork(ScopedQueryContext, Collection, BiFunction)}: subtasks use a
+ * {@linkplain ScopedQueryContext#fork() child} of one parent context
+ * (sharing its clients). Errors and exceptions from all children are added to the
+ * parent once every subtask has completed, so the caller checks the parent as usual.</li>
+ * <li>{@link #each(Collection, Function, BiFunction)}: each item has its own context
+ * (e.g. a repository in another organization), which keeps its own errors.</li>
+ * </ul>
+ * At most {@value #MAX_CONCURRENCY} subtasks run at once for an installation
+ * (across all callers): the calling thread waits for a permit before starting
+ * the next subtask, and then waits for all subtasks to complete.
+ * Subtasks run on {@link BackgroundQueries} threads, which are shared by all
+ * installations; when none is available, the subtask runs on the calling thread. Results are
+ * returned in item order. Exceptions thrown by a subtask are recorded in its context;
+ * other subtasks continue.
+ * <p>
+ * Subtasks inherit the task group ({@link ApiUsage}) and trace of the caller.
+ * A fan-out started from within a subtask runs its subtasks on the current thread.
+ */
+public class QueryFanOut {
+    /** Maximum number of subtasks running at once for one installation */
+    public static final int MAX_CONCURRENCY = 4;
+
+    private static final Map<Long, Semaphore> permits = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Boolean> inSubtask = new ThreadLocal<>();
+
+    private QueryFanOut() {
+    }
+
+    /**
+     * Run a subtask for each item, with a child of the parent context.
+     * <p>
+     * Nothing is run if the parent already has errors.
+     *
+     * @param parent Context that receives errors from all subtasks
+     * @param items Items to process
+     * @param task Subtask: called with a child context and an item
+     * @return results in item order (null for items whose subtask failed or returned null)
+     */
+    public static <T, R> List<R> fork(ScopedQueryContext parent, Collection<T> items,
+            BiFunction<ScopedQueryContext, T, R> task) {
+        List<ScopedQueryContext> children = new ArrayList<>(items.size());
+        if (parent.hasErrors()) {
+            Log.debugf("[%s] fork: QueryContext has existing errors, skipping: %s",
+                    parent.getLogId(), parent.bundleExceptions());
+            List<R> results = new ArrayList<>(items.size());
+            items.forEach(x -> results.add(null));
+            return results;
+        }
+        try {
+            return run(items, item -> {
+                ScopedQueryContext child = parent.fork();
+                children.add(child);
+                return child;
+            }, task);
+        } finally {
+            children.forEach(parent::addErrors);
+        }
+    }
+
+    /**
+     * Run a subtask for each item, with a context created for that item.
+     * <p>
+     * Contexts are created on the calling thread. Errors stay in each item's context:
+     * subtasks should check and report them.
+     *
+     * @param items Items to process
+     * @param contextFor Create the context for an item (null to skip the item)
+     * @param task Subtask: called with the item's context and the item
+     * @return results in item order (null for skipped items, and for items whose subtask
+     *         failed or returned null)
+     */
+    public static <T, C extends GitHubQueryContext, R> List<R> each(Collection<T> items,
+            Function<T, C> contextFor, BiFunction<C, T, R> task) {
+        return run(items, contextFor, task);
+    }
+
+    static <T, C extends GitHubQueryContext, R> List<R> run(Collection<T> items,
+            Function<T, C> contextFor, BiFunction<C, T, R> task) {
+        List<R> results = new ArrayList<>(items.size());
+        if (Boolean.TRUE.equals(inSubtask.get())) {
+            // Nested fan-out: the caller already holds a permit
+            for (T item : items) {
+                C qc = contextFor.apply(item);
+                results.add(qc == null ? null : call(qc, item, task));
+            }
+            return results;
+        }
+
+        String group = ApiUsage.currentTaskGroup();
+        TraceContext trace = Tracing.current();
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        List<C> contexts = new ArrayList<>(items.size());
+        try {
+            for (T item : items) {
+                C qc = contextFor.apply(item);
+                contexts.add(qc);
+                if (qc == null) {
+                    futures.add(null);
+                    continue;
+                }
+                Semaphore permit = permits.computeIfAbsent(qc.getInstallationId(),
+                        k -> new Semaphore(MAX_CONCURRENCY));
+                permit.acquire();
+                Supplier<R> subtask = () -> {
+                    inSubtask.set(Boolean.TRUE);
+                    Object[] result = new Object[1];
+                    try {
+                        Tracing.inSpan(Tracing.start("fan-out " + qc.getLogId(), trace),
+                                () -> ApiUsage.runInGroup(group, () -> result[0] = call(qc, item, task)));
+                    } finally {
+                        inSubtask.remove();
+                        permit.release();
+                    }
+                    @SuppressWarnings("unchecked")
+                    R r = (R) result[0];
+                    return r;
+                };
+                Future<R> future;
+                try {
+                    future = BackgroundQueries.trySubmit(subtask::get);
+                } catch (RuntimeException e) {
+                    permit.release();
+                    throw e;
+                }
+                if (future == null) {
+                    // No background thread available: run the subtask here
+                    future = CompletableFuture.completedFuture(subtask.get());
+                }
+                futures.add(future);
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(await(futures.get(i), contexts.get(i)));
+            }
+        } catch (RuntimeException | Error e) {
+            cancel(futures);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(futures);
+            contexts.stream().filter(qc -> qc != null).findFirst().ifPresent(qc -> qc.addException(e));
+            while (results.size() < items.size()) {
+                results.add(null);
+            }
+        }
+        return results;
+    }
+
+    static void cancel(List<? extends Future<?>> futures) {
+        futures.stream().filter(f -> f != null).forEach(f -> f.cancel(true));
+    }
+
+    static <T, C extends GitHubQueryContext, R> R call(C qc, T item, BiFunction<C, T, R> task) {
+        try {
+            return task.apply(qc, item);
+        } catch (RuntimeException e) {
+            Log.debugf("[%s] fan-out: subtask failed for %s: %s", qc.getLogId(), item, e);
+            qc.addException(e);
+            return null;
+        }
+    }
+
+    static <R> R await(Future<R> future, GitHubQueryContext qc) throws InterruptedException {
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get();
+        } catch (CancellationException e) {
+            qc.addException(e);
+            return null;
+        } catch (ExecutionException e) {
+            // call() records exceptions; only errors reach here
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            qc.addException(e.getCause());
+            return null;
+        }
+    }
+}
@@ -12,8 +12,6 @@ import org.commonhaus.automation.github.context.GitHubQueryContext;
 import org.commonhaus.automation.github.scopes.ScopedInstallationMap.AppInstallationState;
 import org.commonhaus.automation.github.watchers.MembershipWatcher.MembershipUpdate;
 import org.commonhaus.automation.github.watchers.MembershipWatcher.MembershipUpdateType;
-import org.commonhaus.automation.github.watchers.MembershipWatcher.RepositoryEvent;
-import org.commonhaus.automation.github.watchers.MembershipWatcher.TeamEvent;
 import org.kohsuke.github.GHOrganization;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
@@ -88,6 +86,23 @@ public class ScopedQueryContext extends GitHubQueryContext {
         return this;
     }
 
+    /**
+     * Create a context for a subtask that runs on another thread
+     * (see {@link QueryFanOut#fork(ScopedQueryContext, java.util.Collection, java.util.function.BiFunction)}).
+     * <p>
+     * The child has the same scope and shares the GitHub and GraphQL clients
+     * of this context, but collects its own errors.
+     * Call this on the thread that owns this context.
+     *
+     * @return new context for the same installation, organization and repository
+     */
+    public ScopedQueryContext fork() {
+        ScopedQueryContext child = new ScopedQueryContext(ctx, installationId, getRepository(), repoFullName, ownerName);
+        child.github = getGitHub();
+        child.graphQLClient = getGraphQLClient();
+        return child;
+    }
+
     /**
      * @return a ScopedQueryContext suitable to modify the membership of the target
      *         team.
@@ -151,14 +166,9 @@ public class ScopedQueryContext extends GitHubQueryContext {
 
     public static ScopedQueryContext forUpdate(ContextService ctx, MembershipUpdate update) {
         if (update.type() == MembershipUpdateType.COLLABORATOR) {
-            RepositoryEvent event = update.repositoryEvent();
-            return new ScopedQueryContext(ctx, event.installationId(), event.repository())
-                    .withExisting(event.github());
+            return new ScopedQueryContext(ctx, update.installationId(), update.resourceName());
         } else {
-            TeamEvent event = update.teamEvent();
-            String orgName = event.organization().getLogin();
-            return new ScopedQueryContext(ctx, event.installationId(), orgName, null)
-                    .withExisting(event.github());
+            return new ScopedQueryContext(ctx, update.installationId(), update.orgName(), null);
         }
     }
 
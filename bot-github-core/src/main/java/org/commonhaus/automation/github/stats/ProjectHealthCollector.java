@@ -29,13 +29,12 @@ public class ProjectHealthCollector {
 
         DataRepository.itemHistory(orgQc, repo, history);
 
-        List<Instant> startgazerHistory = DataRepository.starHistory(orgQc, repo);
-        for (Instant start : startgazerHistory) {
+        DataRepository.stargazers(orgQc, repo).forEach(start -> {
             LocalDate weekStart = start.atZone(ZoneOffset.UTC).toLocalDate();
             history.computeIfAbsent(weekStart, k -> {
                 return new WeeklyStatisticsBuilder(weekStart);
             }).addStar();
-        }
+        });
 
         List<Instant> releaseHistory = DataRepository.releaseHistory(orgQc, repo);
         releaseHistory.stream()
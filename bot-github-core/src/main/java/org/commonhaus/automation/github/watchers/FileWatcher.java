@@ -4,6 +4,8 @@ import static org.commonhaus.automation.github.context.GitHubQueryContext.toOrga
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -22,6 +24,7 @@ import org.commonhaus.automation.github.discovery.RepositoryDiscoveryEvent;
 import org.commonhaus.automation.github.discovery.RepositoryDiscoveryEvent.RdePriority;
 import org.commonhaus.automation.github.scopes.ScopedQueryContext;
 import org.commonhaus.automation.queue.PeriodicUpdateQueue;
+import org.commonhaus.automation.shard.InstallationShards;
 import org.kohsuke.github.GHEventPayload;
 import org.kohsuke.github.GHEventPayload.Push.PushCommit;
 import org.kohsuke.github.GHRepository;
@@ -34,14 +37,23 @@ import io.quarkus.logging.Log;
 public class FileWatcher {
     static final String ME = "fileWatcher";
 
+    /** Only pushes to these refs are checked for changes to watched files */
+    static final Set<String> WATCHED_REFS = Set.of("refs/heads/main");
+
     final Map<String, WatchedFiles> repositoryFiles = new ConcurrentHashMap<>();
 
+    /** Reverse index: files (repository, path) watched by each task group */
+    final Map<String, Set<WatchedFile>> filesByTaskGroup = new ConcurrentHashMap<>();
+
     @Inject
     PeriodicUpdateQueue updateQueue;
 
     @Inject
     Instance<ContextService> ctxInstance;
 
+    @Inject
+    InstallationShards shards;
+
     /**
      * Watch for repository discovery events and clean up watchers
      * if repositories or installations (association between GH App and an Organization)
@@ -49,18 +61,27 @@ public class FileWatcher {
      *
      * @param repoEvent
      */
-    protected void onRepositoryDiscovery(
+    protected synchronized void onRepositoryDiscovery(
             @Observes @Priority(value = RdePriority.WATCHER_DISCOVERY) RepositoryDiscoveryEvent repoEvent) {
         if (repoEvent.removed()) {
             if (repoEvent.installation()) {
                 // If an entire installation is removed, clean up all watchers for that installation
                 long installationId = repoEvent.installationId();
-                repositoryFiles.entrySet().removeIf(entry -> entry.getValue().installationId == installationId);
+                repositoryFiles.values().removeIf(watchedFiles -> {
+                    if (watchedFiles.installationId == installationId) {
+                        unindex(watchedFiles);
+                        return true;
+                    }
+                    return false;
+                });
                 Log.debugf("%s: cleared watchers for installation %d", ME, installationId);
             } else {
                 // Otherwise just remove watchers for the specific repository
                 String repoFullName = repoEvent.repository().getFullName();
-                repositoryFiles.remove(repoFullName);
+                WatchedFiles watchedFiles = repositoryFiles.remove(repoFullName);
+                if (watchedFiles != null) {
+                    unindex(watchedFiles);
+                }
                 Log.debugf("%s: cleared watchers for repository %s", ME, repoFullName);
             }
         }
@@ -72,70 +93,129 @@ public class FileWatcher {
      * <p>
      * Registered watchers will be automatically cleaned up if app loses visiblity to the
      * repository or organization (DiscoveryAction: REMOVED, INSTALL_REMOVED)
+     * <p>
+     * The file path may be a pattern (see {@link PathPatternIndex}): {@code dir/} or
+     * {@code dir/**} for all files below a directory, {@code *} for one path segment,
+     * and {@code *} or {@code ?} within a segment ({@code *.yml}).
+     * The callback is invoked once for each changed file that matches the pattern;
+     * a refresh is invoked with the pattern as the file path.
      *
      * @param taskGroupName Name of the task group to use for periodic updates
      * @param installationId Installation ID for the repository
      * @param repoName Name of the repository
-     * @param filePath Name of the file to watch
+     * @param filePath Name of the file (or path pattern) to watch
      * @param callback Callback function to invoke when the file is updated (with FileUpdate object)
      */
-    public void watchFile(String taskGroupName, long installationId, String repoName, String filePath,
+    public synchronized void watchFile(String taskGroupName, long installationId, String repoName, String filePath,
             Consumer<FileUpdate> callback) {
         repositoryFiles.computeIfAbsent(repoName, k -> new WatchedFiles(repoName, installationId))
                 .add(filePath, new TaskCallback<FileUpdate>(taskGroupName, callback));
+        filesByTaskGroup.computeIfAbsent(taskGroupName, k -> ConcurrentHashMap.newKeySet())
+                .add(new WatchedFile(repoName, filePath));
     }
 
-    public void unwatchAll(String taskGroup) {
-        for (var watchedFiles : repositoryFiles.values()) {
-            watchedFiles.filesByPath.values().removeIf(callbacks -> {
-                callbacks.removeIf(callback -> callback.taskGroupName().equals(taskGroup));
-                return callbacks.isEmpty();
-            });
+    /**
+     * Remove all file watchers for a task group.
+     * Only files watched by the task group are visited.
+     *
+     * @param taskGroup Name of the task group
+     */
+    public synchronized void unwatchAll(String taskGroup) {
+        Set<WatchedFile> files = filesByTaskGroup.remove(taskGroup);
+        if (files == null) {
+            return;
+        }
+        for (WatchedFile file : files) {
+            WatchedFiles watchedFiles = repositoryFiles.get(file.repoFullName());
+            if (watchedFiles != null) {
+                watchedFiles.removeCallbacks(file.filePath(), taskGroup);
+                if (watchedFiles.filesByPath.isEmpty()) {
+                    repositoryFiles.remove(file.repoFullName(), watchedFiles);
+                }
+            }
         }
-        repositoryFiles.values().removeIf(x -> x.filesByPath.isEmpty());
     }
 
-    public void unwatchFile(String taskGroup, String repoName, String filePath) {
+    public synchronized void unwatchFile(String taskGroup, String repoName, String filePath) {
         WatchedFiles watchedFiles = repositoryFiles.get(repoName);
         if (watchedFiles != null) {
-            Set<TaskCallback<FileUpdate>> callbacks = watchedFiles.filesByPath.get(filePath);
-            if (callbacks != null) {
-                callbacks.removeIf(callback -> callback.taskGroupName().equals(taskGroup));
-                if (callbacks.isEmpty()) {
-                    watchedFiles.filesByPath.remove(filePath);
-                }
-            }
+            watchedFiles.removeCallbacks(filePath, taskGroup);
             if (watchedFiles.filesByPath.isEmpty()) {
                 repositoryFiles.remove(repoName);
             }
         }
+        Set<WatchedFile> files = filesByTaskGroup.get(taskGroup);
+        if (files != null) {
+            files.remove(new WatchedFile(repoName, filePath));
+            if (files.isEmpty()) {
+                filesByTaskGroup.remove(taskGroup);
+            }
+        }
     }
 
-    public void refresh(ContextService ctx, String taskGroup) {
-        for (var watchedFiles : repositoryFiles.values()) {
-            for (var fileWatcher : watchedFiles.filesByPath.entrySet()) {
-                String orgName = toOrganizationName(watchedFiles.repoFullName);
-                ScopedQueryContext qc = ctx.getOrgScopedQueryContext(orgName);
-                if (qc == null) {
-                    Log.warnf("[%s] No installation for %s; unable to refresh configuration", ME, orgName);
-                    continue;
+    /**
+     * Remove reverse index entries for all files of a repository.
+     * Must be called while holding the lock.
+     */
+    private void unindex(WatchedFiles watchedFiles) {
+        for (var entry : watchedFiles.filesByPath.entrySet()) {
+            WatchedFile file = new WatchedFile(watchedFiles.repoFullName, entry.getKey());
+            for (var callback : entry.getValue()) {
+                Set<WatchedFile> files = filesByTaskGroup.get(callback.taskGroupName());
+                if (files != null) {
+                    files.remove(file);
+                    if (files.isEmpty()) {
+                        filesByTaskGroup.remove(callback.taskGroupName());
+                    }
                 }
+            }
+        }
+    }
 
-                GitHub github = qc.getGitHub();
-                GHRepository repo = qc.getRepository(watchedFiles.repoFullName);
-                if (repo == null) {
-                    Log.warnf("[%s] No repository for %s; unable to refresh configuration", ME, watchedFiles.repoFullName);
-                    continue;
-                }
+    /**
+     * Queue a refresh for all files watched by a task group.
+     * Files are grouped by repository: each organization and repository is resolved once.
+     * Repositories of installations owned by another replica are skipped.
+     *
+     * @param ctx Context service (used to find the installation for each organization)
+     * @param taskGroup Name of the task group
+     */
+    public void refresh(ContextService ctx, String taskGroup) {
+        Set<WatchedFile> files = filesByTaskGroup.get(taskGroup);
+        if (files == null) {
+            return;
+        }
+        Map<String, List<String>> pathsByRepo = new LinkedHashMap<>();
+        for (WatchedFile file : files) {
+            pathsByRepo.computeIfAbsent(file.repoFullName(), k -> new ArrayList<>()).add(file.filePath());
+        }
 
-                FileUpdate update = new FileUpdate(fileWatcher.getKey(), FileUpdateType.REFRESH,
-                        watchedFiles.installationId, repo, github);
+        Map<String, ScopedQueryContext> orgContexts = new HashMap<>();
+        for (var entry : pathsByRepo.entrySet()) {
+            String repoFullName = entry.getKey();
+            WatchedFiles watchedFiles = repositoryFiles.get(repoFullName);
+            if (watchedFiles == null) {
+                continue;
+            }
+            String orgName = toOrganizationName(repoFullName);
+            if (!shards.ownsOrganization(orgName)) {
+                continue; // refreshed by the replica that owns the installation
+            }
+            if (!orgContexts.containsKey(orgName)) {
+                orgContexts.put(orgName, ctx.getOrgScopedQueryContext(orgName));
+            }
+            ScopedQueryContext qc = orgContexts.get(orgName);
+            if (qc == null) {
+                Log.warnf("[%s] No installation for %s; unable to refresh configuration", ME, orgName);
+                continue;
+            }
 
-                for (TaskCallback<FileUpdate> callback : fileWatcher.getValue()) {
-                    if (callback.taskGroupName().equals(taskGroup)) {
-                        Log.debugf("[%s] Refreshing %s", ME, callback);
-                        updateQueue.queue(callback.taskGroupName(), () -> callback.run(update));
-                    }
+            for (String filePath : entry.getValue()) {
+                for (TaskCallback<FileUpdate> callback : watchedFiles.callbacks(filePath, taskGroup)) {
+                    FileUpdate update = new FileUpdate(filePath, FileUpdateType.REFRESH,
+                            watchedFiles.installationId, repoFullName);
+                    Log.debugf("[%s] Refreshing %s", ME, callback);
+                    updateQueue.queue(callback.taskGroupName(), () -> callback.run(update));
                 }
             }
         }
@@ -147,7 +227,7 @@ public class FileWatcher {
         WatchedFiles watcher = repositoryFiles.get(repo.getFullName());
 
         // Only watch the main branch of repositories we are monitoring
-        if (watcher == null || !pushEvent.getRef().equals("refs/heads/main")) {
+        if (watcher == null || !WATCHED_REFS.contains(pushEvent.getRef())) {
             return;
         }
 
@@ -160,7 +240,10 @@ public class FileWatcher {
     static class WatchedFiles {
         final String repoFullName;
         final long installationId;
+        /** Callbacks by watched path (or pattern) */
         final Map<String, Set<TaskCallback<FileUpdate>>> filesByPath = new ConcurrentHashMap<>();
+        /** Index of watched patterns (keys of filesByPath) */
+        final PathPatternIndex patterns = new PathPatternIndex();
 
         public WatchedFiles(String repoFullName, long installationId) {
             this.repoFullName = repoFullName;
@@ -174,8 +257,47 @@ public class FileWatcher {
          * @param callback Callback to invoke if this file is changed
          */
         public void add(String filePath, TaskCallback<FileUpdate> callback) {
-            filesByPath.computeIfAbsent(filePath, k -> ConcurrentHashMap.newKeySet())
-                    .add(callback);
+            filesByPath.computeIfAbsent(filePath, k -> {
+                if (PathPatternIndex.isPattern(k)) {
+                    patterns.add(k);
+                }
+                return ConcurrentHashMap.newKeySet();
+            }).add(callback);
+        }
+
+        /**
+         * @param filePath Watched path or pattern
+         * @param taskGroup Task group name
+         * @return callbacks registered by the task group for the path (may be empty)
+         */
+        List<TaskCallback<FileUpdate>> callbacks(String filePath, String taskGroup) {
+            Set<TaskCallback<FileUpdate>> callbacks = filesByPath.get(filePath);
+            if (callbacks == null) {
+                return List.of();
+            }
+            return callbacks.stream()
+                    .filter(callback -> callback.taskGroupName().equals(taskGroup))
+                    .toList();
+        }
+
+        /**
+         * Remove callbacks for a task group from a watched path (or pattern).
+         * The path is no longer watched if no callbacks remain.
+         *
+         * @param filePath Watched path or pattern
+         * @param taskGroup Task group of callbacks to remove
+         */
+        void removeCallbacks(String filePath, String taskGroup) {
+            filesByPath.computeIfPresent(filePath, (k, callbacks) -> {
+                callbacks.removeIf(callback -> callback.taskGroupName().equals(taskGroup));
+                if (callbacks.isEmpty()) {
+                    if (PathPatternIndex.isPattern(k)) {
+                        patterns.remove(k);
+                    }
+                    return null;
+                }
+                return callbacks;
+            });
         }
 
         /**
@@ -186,45 +308,75 @@ public class FileWatcher {
          * @param periodicSync Queue for periodic events and updates
          */
         public void handlePush(FilePushEvent event, PeriodicUpdateQueue periodicSync) {
-            // Sort by timestamp ascending (oldest first)
-            var pushEvent = event.pushEvent();
-            var commits = new ArrayList<>(pushEvent.getCommits());
-            commits.sort(Comparator.comparing(commit -> commit.getTimestamp()));
-
-            for (var entry : filesByPath.entrySet()) {
-                Set<TaskCallback<FileUpdate>> callbacks = entry.getValue();
-                FileUpdateType updateType = commitsContain(commits, entry.getKey());
-                if (updateType != null) {
-                    FileUpdate update = new FileUpdate(entry.getKey(), updateType, event);
-                    for (var callback : callbacks) {
-                        // Found an interesting file in the push event, queue an update
-                        periodicSync.queue(callback.taskGroupName(),
-                                () -> callback.run(update));
+            Map<String, FileUpdateType> changes = changedPaths(event.pushEvent().getCommits());
+
+            // Exact paths: iterate over the smaller of changed and watched paths
+            if (changes.size() <= filesByPath.size()) {
+                for (var change : changes.entrySet()) {
+                    queueUpdates(filesByPath.get(change.getKey()), change.getKey(), change.getValue(),
+                            event, periodicSync);
+                }
+            } else {
+                for (var entry : filesByPath.entrySet()) {
+                    queueUpdates(entry.getValue(), entry.getKey(), changes.get(entry.getKey()),
+                            event, periodicSync);
+                }
+            }
+
+            // Patterns: one lookup per changed path
+            if (!patterns.isEmpty()) {
+                for (var change : changes.entrySet()) {
+                    for (String pattern : patterns.match(change.getKey())) {
+                        queueUpdates(filesByPath.get(pattern), change.getKey(), change.getValue(),
+                                event, periodicSync);
                     }
                 }
             }
         }
 
+        private void queueUpdates(Set<TaskCallback<FileUpdate>> callbacks, String filePath, FileUpdateType updateType,
+                FilePushEvent event, PeriodicUpdateQueue periodicSync) {
+            if (callbacks == null || updateType == null) {
+                return;
+            }
+            FileUpdate update = new FileUpdate(filePath, updateType, event);
+            for (var callback : callbacks) {
+                // Found an interesting file in the push event, queue an update
+                periodicSync.queue(callback.taskGroupName(),
+                        () -> callback.run(update));
+            }
+        }
+
         /**
-         * Event filter: check if the push event contains changes to the specified path
+         * Fold the commits of a push into the final change for each path.
+         * Commits are applied oldest first, so the last change to a path wins.
+         * Within a commit, added takes precedence over removed, and removed over modified.
          *
-         * @param pushEvent the push event
-         * @param path the path to check
-         * @return true if the push event contains changes to the path
+         * @param commits commits in the push event
+         * @return map of changed path to update type
          */
-        FileUpdateType commitsContain(List<PushCommit> commits, String path) {
-            FileUpdateType updateType = null;
-            for (var commit : commits) {
-                // Last one wins.
-                if (commit.getAdded().contains(path)) {
-                    updateType = FileUpdateType.ADDED;
-                } else if (commit.getRemoved().contains(path)) {
-                    updateType = FileUpdateType.REMOVED;
-                } else if (commit.getModified().contains(path)) {
-                    updateType = FileUpdateType.MODIFIED;
+        static Map<String, FileUpdateType> changedPaths(List<PushCommit> commits) {
+            List<PushCommit> sorted = commits;
+            if (!isSorted(commits)) {
+                sorted = new ArrayList<>(commits);
+                sorted.sort(Comparator.comparing(commit -> commit.getTimestamp()));
+            }
+            Map<String, FileUpdateType> changes = new HashMap<>();
+            for (var commit : sorted) {
+                commit.getModified().forEach(path -> changes.put(path, FileUpdateType.MODIFIED));
+                commit.getRemoved().forEach(path -> changes.put(path, FileUpdateType.REMOVED));
+                commit.getAdded().forEach(path -> changes.put(path, FileUpdateType.ADDED));
+            }
+            return changes;
+        }
+
+        private static boolean isSorted(List<PushCommit> commits) {
+            for (int i = 1; i < commits.size(); i++) {
+                if (commits.get(i - 1).getTimestamp().compareTo(commits.get(i).getTimestamp()) > 0) {
+                    return false;
                 }
             }
-            return updateType;
+            return true;
         }
 
         @Override
@@ -250,8 +402,9 @@ public class FileWatcher {
      * Hard-reset of the file watcher.
      * This is useful for testing.
      */
-    protected void reset() {
+    protected synchronized void reset() {
         repositoryFiles.clear();
+        filesByTaskGroup.clear();
     }
 
     void dumpWatcherState() {
@@ -277,18 +430,30 @@ public class FileWatcher {
         REFRESH
     }
 
+    record WatchedFile(String repoFullName, String filePath) {
+    }
+
+    /**
+     * Change to a watched file.
+     * <p>
+     * Updates wait in the update queue: they only describe the change.
+     * GitHub clients and repository handles are resolved when the update is processed,
+     * e.g. {@code new ScopedQueryContext(ctx, update.installationId(), update.repoFullName())}.
+     */
     public static record FileUpdate(
             String filePath,
             FileUpdateType updateType,
             long installationId,
-            GHRepository repository,
-            GitHub github) {
+            String repoFullName) {
 
         public FileUpdate(String filePath, FileUpdateType updateType, FilePushEvent pushEvent) {
-            this(filePath, updateType, pushEvent.installationId(), pushEvent.repository(), pushEvent.github());
+            this(filePath, updateType, pushEvent.installationId(), pushEvent.repository().getFullName());
         }
     }
 
+    /**
+     * Push event (with API handles) used on the delivery thread only.
+     */
     public static record FilePushEvent(
             GHEventPayload.Push pushEvent,
             long installationId,
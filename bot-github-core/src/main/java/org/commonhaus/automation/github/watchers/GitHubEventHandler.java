@@ -1,26 +1,36 @@
 package org.commonhaus.automation.github.watchers;
 
+import java.io.IOException;
+import java.io.StringReader;
+
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import org.commonhaus.automation.github.context.ActionType;
 import org.commonhaus.automation.github.context.EventType;
+import org.commonhaus.automation.github.context.WebhookDeduplicator;
 import org.commonhaus.automation.github.watchers.FileWatcher.FilePushEvent;
 import org.commonhaus.automation.github.watchers.MembershipWatcher.RepositoryEvent;
 import org.commonhaus.automation.github.watchers.MembershipWatcher.TeamEvent;
+import org.commonhaus.automation.trace.Tracing;
 import org.kohsuke.github.GHEventPayload;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
 
 import io.quarkiverse.githubapp.GitHubEvent;
-import io.quarkiverse.githubapp.event.Member;
-import io.quarkiverse.githubapp.event.Membership;
-import io.quarkiverse.githubapp.event.Push;
-import io.quarkiverse.githubapp.event.Team;
+import io.quarkiverse.githubapp.event.RawEvent;
+import io.quarkus.logging.Log;
 
 /**
  * GitHub App will transform this into a multiplexed bean for
  * event handling...
+ * <p>
+ * Raw events are checked by the {@link WebhookPrefilter} first:
+ * GitHub API payload objects are only created for deliveries that
+ * are relevant to a watcher. Redelivered and repeated events are skipped
+ * ({@link WebhookDeduplicator}).
+ * <p>
+ * Dispatch to a watcher runs in a span of the delivery trace ({@link Tracing#webhook}).
  */
 @ApplicationScoped
 public class GitHubEventHandler {
@@ -31,15 +41,23 @@ public class GitHubEventHandler {
     @Inject
     MembershipWatcher membershipWatcher;
 
+    @Inject
+    WebhookPrefilter prefilter;
+
     /**
      * Check for push to watched file
      *
      * @param event
      * @param github
-     * @param pushEvent
      */
-    public void handlePushEvent(GitHubEvent event, GitHub github,
-            @Push GHEventPayload.Push pushEvent) {
+    public void handlePushEvent(@RawEvent(event = "push") GitHubEvent event, GitHub github) {
+        if (!prefilter.accept(event) || WebhookDeduplicator.isDuplicate(FileWatcher.ME, event)) {
+            return;
+        }
+        GHEventPayload.Push pushEvent = parsePayload(event, github, GHEventPayload.Push.class);
+        if (pushEvent == null) {
+            return;
+        }
 
         GHRepository repo = pushEvent.getRepository();
         FilePushEvent fileEvent = new FileWatcher.FilePushEvent(
@@ -48,7 +66,8 @@ public class GitHubEventHandler {
                 repo,
                 pushEvent.getSender(),
                 github);
-        fileWatcher.handleEvent(fileEvent);
+        Tracing.inSpan(Tracing.webhook(event, FileWatcher.ME),
+                () -> WebhookDeduplicator.handle(FileWatcher.ME, event, () -> fileWatcher.handleEvent(fileEvent)));
     }
 
     /**
@@ -61,10 +80,15 @@ public class GitHubEventHandler {
      *
      * @param event
      * @param github
-     * @param payload
      */
-    public void updateTeamMembership(GitHubEvent event, GitHub github,
-            @Membership GHEventPayload.Membership payload) {
+    public void updateTeamMembership(@RawEvent(event = "membership") GitHubEvent event, GitHub github) {
+        if (!prefilter.accept(event) || WebhookDeduplicator.isDuplicate(MembershipWatcher.ME, event)) {
+            return;
+        }
+        GHEventPayload.Membership payload = parsePayload(event, github, GHEventPayload.Membership.class);
+        if (payload == null) {
+            return;
+        }
         long installationId = payload.getInstallation().getId();
 
         TeamEvent teamEvent = new TeamEvent(
@@ -75,7 +99,10 @@ public class GitHubEventHandler {
                 payload.getSender(),
                 ActionType.fromString(event.getAction()),
                 EventType.fromString(event.getEvent()));
-        membershipWatcher.handleTeamEvent(teamEvent);
+        Tracing.inSpan(Tracing.webhook(event, MembershipWatcher.ME), () -> {
+            WebhookDeduplicator.handle(MembershipWatcher.ME, event,
+                    () -> membershipWatcher.handleTeamEvent(teamEvent));
+        });
     }
 
     /**
@@ -86,10 +113,15 @@ public class GitHubEventHandler {
      *
      * @param event
      * @param github
-     * @param payload
      */
-    public void updateMember(GitHubEvent event, GitHub github,
-            @Member GHEventPayload.Member payload) {
+    public void updateMember(@RawEvent(event = "member") GitHubEvent event, GitHub github) {
+        if (!prefilter.accept(event) || WebhookDeduplicator.isDuplicate(MembershipWatcher.ME, event)) {
+            return;
+        }
+        GHEventPayload.Member payload = parsePayload(event, github, GHEventPayload.Member.class);
+        if (payload == null) {
+            return;
+        }
         long installationId = payload.getInstallation().getId();
 
         RepositoryEvent repositoryEvent = new RepositoryEvent(
@@ -100,7 +132,10 @@ public class GitHubEventHandler {
                 payload.getSender(),
                 ActionType.fromString(event.getAction()),
                 EventType.fromString(event.getEvent()));
-        membershipWatcher.handleCollaboratorEvent(repositoryEvent);
+        Tracing.inSpan(Tracing.webhook(event, MembershipWatcher.ME), () -> {
+            WebhookDeduplicator.handle(MembershipWatcher.ME, event,
+                    () -> membershipWatcher.handleCollaboratorEvent(repositoryEvent));
+        });
     }
 
     /**
@@ -114,10 +149,15 @@ public class GitHubEventHandler {
      *
      * @param event
      * @param github
-     * @param payload
      */
-    public void updateTeam(GitHubEvent event, GitHub github,
-            @Team GHEventPayload.Team payload) {
+    public void updateTeam(@RawEvent(event = "team") GitHubEvent event, GitHub github) {
+        if (!prefilter.accept(event) || WebhookDeduplicator.isDuplicate(MembershipWatcher.ME, event)) {
+            return;
+        }
+        GHEventPayload.Team payload = parsePayload(event, github, GHEventPayload.Team.class);
+        if (payload == null) {
+            return;
+        }
         long installationId = payload.getInstallation().getId();
 
         TeamEvent teamEvent = new TeamEvent(
@@ -128,6 +168,18 @@ public class GitHubEventHandler {
                 payload.getSender(),
                 ActionType.fromString(event.getAction()),
                 EventType.fromString(event.getEvent()));
-        membershipWatcher.handleTeamEvent(teamEvent);
+        Tracing.inSpan(Tracing.webhook(event, MembershipWatcher.ME), () -> {
+            WebhookDeduplicator.handle(MembershipWatcher.ME, event,
+                    () -> membershipWatcher.handleTeamEvent(teamEvent));
+        });
+    }
+
+    static <T extends GHEventPayload> T parsePayload(GitHubEvent event, GitHub github, Class<T> type) {
+        try {
+            return github.parseEventPayload(new StringReader(event.getPayload()), type);
+        } catch (IOException e) {
+            Log.errorf(e, "[%s] Unable to parse %s payload", event.getInstallationId(), event.getEventAction());
+            return null;
+        }
     }
 }
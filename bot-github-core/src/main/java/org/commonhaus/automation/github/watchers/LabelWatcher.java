@@ -9,10 +9,10 @@ import org.commonhaus.automation.github.context.ActionType;
 import org.commonhaus.automation.github.context.DataLabel;
 import org.commonhaus.automation.github.context.EventData;
 import org.commonhaus.automation.github.context.GitHubQueryContext;
-import org.kohsuke.github.GHEventPayload;
+import org.commonhaus.automation.github.context.WebhookDeduplicator;
 
 import io.quarkiverse.githubapp.GitHubEvent;
-import io.quarkiverse.githubapp.event.Label;
+import io.quarkiverse.githubapp.event.RawEvent;
 import io.quarkus.arc.properties.UnlessBuildProperty;
 import io.quarkus.logging.Log;
 
@@ -23,27 +23,33 @@ class LabelWatcher {
     @Inject
     Instance<ContextService> ctxInstance;
 
+    @Inject
+    WebhookPrefilter prefilter;
+
     /**
      * Called when there is event.
+     * Events for repositories without cached labels are dropped by the prefilter;
+     * redelivered events are skipped.
      *
      * @param event GitHubEvent (raw payload)
-     * @param github GitHub API (connection instance)
-     * @param graphQLClient GraphQL client
-     * @param labelPayload GitHub API parsed payload
      */
-    void onRepositoryLabelChange(GitHubEvent event, @Label GHEventPayload.Label labelPayload) {
-        if (labelPayload.getRepository() == null || ctxInstance.isUnsatisfied()) {
+    void onRepositoryLabelChange(@RawEvent(event = "label") GitHubEvent event) {
+        if (ctxInstance.isUnsatisfied() || !prefilter.accept(event)
+                || WebhookDeduplicator.isDuplicate("labelWatcher", event)) {
             return;
         }
 
-        final EventData initialData = new EventData(event, labelPayload);
-        DataLabel label = new DataLabel(labelPayload.getLabel());
-        String cacheId = labelPayload.getRepository().getNodeId();
+        final EventData initialData = new EventData(event, null);
+        DataLabel label = initialData.getPayload().label();
+        if (initialData.getRepository() == null || label == null) {
+            return;
+        }
+        String cacheId = initialData.getRepositoryId();
         ActionType actionType = ActionType.fromString(event.getAction());
 
         Log.debugf("[%s] LabelChanges: repository %s changed label %s", initialData.getLogId(), cacheId, label);
 
         GitHubQueryContext qc = new GitHubQueryContext(ctxInstance.get(), event.getInstallationId());
-        qc.modifyLabels(cacheId, label, actionType);
+        WebhookDeduplicator.handle("labelWatcher", event, () -> qc.modifyLabels(cacheId, label, actionType));
     }
 }
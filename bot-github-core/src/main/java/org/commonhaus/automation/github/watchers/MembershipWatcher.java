@@ -6,10 +6,10 @@ import static org.commonhaus.automation.github.context.GitHubTeamService.getFull
 import static org.commonhaus.automation.github.context.GitHubTeamService.refreshCollaborators;
 import static org.commonhaus.automation.github.context.GitHubTeamService.refreshTeam;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import jakarta.annotation.Priority;
@@ -31,11 +31,21 @@ import org.kohsuke.github.GitHub;
 
 import io.quarkus.logging.Log;
 
+/**
+ * Registry of membership watchers.
+ * <p>
+ * Webhook threads read the registry without locking: watched resources
+ * map to immutable sets of callbacks, which are replaced (copy-on-write)
+ * when watchers are added or removed. Changes are serialized.
+ */
 @ApplicationScoped
 public class MembershipWatcher {
     static final String ME = "membershipWatcher";
 
-    final Map<String, WatchedTeams> orgWatchers = new HashMap<>();
+    final Map<String, WatchedTeams> orgWatchers = new ConcurrentHashMap<>();
+
+    /** Reverse index: resources (org, resource name) watched by each task group */
+    final Map<String, Set<WatchedResource>> resourcesByTaskGroup = new ConcurrentHashMap<>();
 
     @Inject
     GitHubTeamService teamService;
@@ -50,13 +60,19 @@ public class MembershipWatcher {
      *
      * @param repoEvent
      */
-    protected void onRepositoryDiscovery(
+    protected synchronized void onRepositoryDiscovery(
             @Observes @Priority(value = RdePriority.WATCHER_DISCOVERY) RepositoryDiscoveryEvent repoEvent) {
         if (repoEvent.removed()) {
             if (repoEvent.installation()) {
                 // If an entire installation is removed, clean up all watchers for that installation
                 long installationId = repoEvent.installationId();
-                orgWatchers.entrySet().removeIf(entry -> entry.getValue().installationId == installationId);
+                for (WatchedTeams watcher : orgWatchers.values()) {
+                    if (watcher.installationId == installationId) {
+                        for (String resourceName : watcher.watchedResources.keySet()) {
+                            removeResource(watcher, resourceName);
+                        }
+                    }
+                }
                 Log.debugf("%s: cleared watchers for installation %d", ME, installationId);
             } else {
                 // Otherwise just remove watchers for the specific repository
@@ -64,7 +80,7 @@ public class MembershipWatcher {
                 String orgName = toOrganizationName(repoFullName);
                 WatchedTeams watcher = orgWatchers.get(orgName);
                 if (watcher != null) {
-                    watcher.watchedResources.remove(repoFullName);
+                    removeResource(watcher, repoFullName);
                 }
                 Log.debugf("%s: cleared watchers for repository %s", ME, repoFullName);
             }
@@ -78,7 +94,7 @@ public class MembershipWatcher {
      * @param callback Callback function to invoke when the team is updated
      * @see #watchMembers(String, long, String, String, Consumer)
      */
-    public void watchMembers(String taskGroupName, long installationId,
+    public synchronized void watchMembers(String taskGroupName, long installationId,
             MembershipUpdateType type, String resourceFullName, Consumer<MembershipUpdate> callback) {
         String orgName = toOrganizationName(resourceFullName);
 
@@ -90,6 +106,8 @@ public class MembershipWatcher {
 
         orgWatchers.computeIfAbsent(orgName, k -> new WatchedTeams(orgName, installationId))
                 .add(key, new TaskCallback<MembershipUpdate>(taskGroupName, callback));
+        resourcesByTaskGroup.computeIfAbsent(taskGroupName, k -> new LinkedHashSet<>())
+                .add(new WatchedResource(orgName, key));
     }
 
     /**
@@ -98,7 +116,7 @@ public class MembershipWatcher {
      * @param type Membership update type
      * @param resourceFullName Full team name (org/team) or repository name
      */
-    public void unwatch(MembershipUpdateType type, String resourceFullName) {
+    public synchronized void unwatch(MembershipUpdateType type, String resourceFullName) {
         String orgName = toOrganizationName(resourceFullName);
 
         // avoid conflicts within the org:
@@ -109,18 +127,53 @@ public class MembershipWatcher {
 
         WatchedTeams watcher = orgWatchers.get(orgName);
         if (watcher != null) {
-            watcher.watchedResources.remove(key);
+            removeResource(watcher, key);
         }
     }
 
-    public void unwatchAll(String taskGroup) {
-        for (var entry : orgWatchers.entrySet()) {
-            entry.getValue().watchedResources.values().removeIf(callbacks -> {
-                callbacks.removeIf(callback -> callback.taskGroupName().equals(taskGroup));
-                return callbacks.isEmpty();
-            });
+    /**
+     * Remove all watchers for a task group.
+     * Only resources watched by the task group are visited.
+     *
+     * @param taskGroup Name of the task group
+     */
+    public synchronized void unwatchAll(String taskGroup) {
+        Set<WatchedResource> resources = resourcesByTaskGroup.remove(taskGroup);
+        if (resources == null) {
+            return;
+        }
+        for (WatchedResource resource : resources) {
+            WatchedTeams watcher = orgWatchers.get(resource.orgName());
+            if (watcher != null) {
+                watcher.remove(resource.resourceName(), taskGroup);
+                if (watcher.watchedResources.isEmpty()) {
+                    orgWatchers.remove(resource.orgName(), watcher);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all callbacks for a resource (and drop them from the reverse index).
+     * Must be called while holding the lock.
+     */
+    private void removeResource(WatchedTeams watcher, String resourceName) {
+        Set<TaskCallback<MembershipUpdate>> callbacks = watcher.watchedResources.remove(resourceName);
+        if (callbacks != null) {
+            WatchedResource resource = new WatchedResource(watcher.orgName, resourceName);
+            for (var callback : callbacks) {
+                Set<WatchedResource> resources = resourcesByTaskGroup.get(callback.taskGroupName());
+                if (resources != null) {
+                    resources.remove(resource);
+                    if (resources.isEmpty()) {
+                        resourcesByTaskGroup.remove(callback.taskGroupName());
+                    }
+                }
+            }
+        }
+        if (watcher.watchedResources.isEmpty()) {
+            orgWatchers.remove(watcher.orgName, watcher);
         }
-        orgWatchers.values().removeIf(x -> x.watchedResources.isEmpty());
     }
 
     /**
@@ -190,10 +243,14 @@ public class MembershipWatcher {
         watcher.handleUpdate(repoFullName, update, periodicSync);
     }
 
+    record WatchedResource(String orgName, String resourceName) {
+    }
+
     static class WatchedTeams {
         final String orgName;
         final long installationId;
-        final Map<String, Set<TaskCallback<MembershipUpdate>>> watchedResources = new HashMap<>();
+        /** Immutable (snapshot) sets of callbacks by resource name: replaced on change */
+        final Map<String, Set<TaskCallback<MembershipUpdate>>> watchedResources = new ConcurrentHashMap<>();
 
         public WatchedTeams(String orgName, long installationId) {
             this.orgName = orgName;
@@ -205,8 +262,29 @@ public class MembershipWatcher {
          * @param update Update event callback
          */
         public void add(String resourceName, TaskCallback<MembershipUpdate> callback) {
-            watchedResources.computeIfAbsent(resourceName, k -> new HashSet<>())
-                    .add(callback);
+            watchedResources.compute(resourceName, (k, callbacks) -> {
+                if (callbacks == null) {
+                    return Set.of(callback);
+                }
+                if (callbacks.contains(callback)) {
+                    return callbacks;
+                }
+                Set<TaskCallback<MembershipUpdate>> updated = new LinkedHashSet<>(callbacks);
+                updated.add(callback);
+                return Set.copyOf(updated);
+            });
+        }
+
+        /**
+         * @param resourceName Org-relative name for teams; full name for repositories
+         * @param taskGroup Task group of the callback to remove
+         */
+        void remove(String resourceName, String taskGroup) {
+            watchedResources.computeIfPresent(resourceName, (k, callbacks) -> {
+                Set<TaskCallback<MembershipUpdate>> updated = new LinkedHashSet<>(callbacks);
+                updated.removeIf(callback -> callback.taskGroupName().equals(taskGroup));
+                return updated.isEmpty() ? null : Set.copyOf(updated);
+            });
         }
 
         /**
@@ -230,8 +308,9 @@ public class MembershipWatcher {
      * Hard-reset of the membership watcher.
      * This is useful for testing.
      */
-    protected void reset() {
+    protected synchronized void reset() {
         orgWatchers.clear();
+        resourcesByTaskGroup.clear();
     }
 
     public boolean isWatching(String orgName) {
@@ -259,30 +338,40 @@ public class MembershipWatcher {
         COLLABORATOR
     }
 
+    /**
+     * Change to a watched team or repository collaborators.
+     * <p>
+     * Updates wait in the update queue: they only describe the change.
+     * GitHub clients are resolved when the update is processed
+     * (see {@link org.commonhaus.automation.github.scopes.ScopedQueryContext#forUpdate}).
+     *
+     * @param type Team or collaborator change
+     * @param orgName Organization name
+     * @param installationId Installation ID
+     * @param resourceName Full team name (org/team) or repository full name
+     * @param senderLogin Login of the user that made the change (may be null)
+     * @param actionType Action
+     * @param eventType Webhook event type
+     */
     public static record MembershipUpdate(
             MembershipUpdateType type,
             String orgName,
-            MembershipEvent membershipEvent) {
-
-        public RepositoryEvent repositoryEvent() {
-            if (type == MembershipUpdateType.COLLABORATOR) {
-                return (RepositoryEvent) membershipEvent;
-            }
-            return null;
-        }
-
-        public TeamEvent teamEvent() {
-            if (type == MembershipUpdateType.TEAM) {
-                return (TeamEvent) membershipEvent;
-            }
-            return null;
-        }
+            long installationId,
+            String resourceName,
+            String senderLogin,
+            ActionType actionType,
+            EventType eventType) {
 
-        public long installationId() {
-            return membershipEvent.installationId();
+        public MembershipUpdate(MembershipUpdateType type, String orgName, MembershipEvent event) {
+            this(type, orgName, event.installationId(), event.resourceName(),
+                    event.sender() == null ? null : event.sender().getLogin(),
+                    event.actionType(), event.eventType());
         }
     }
 
+    /**
+     * Membership event (with API handles) used on the delivery thread only.
+     */
     public static interface MembershipEvent {
         GitHub github();
 
@@ -295,6 +384,11 @@ public class MembershipWatcher {
         ActionType actionType();
 
         EventType eventType();
+
+        /**
+         * @return Full team name (org/team) or repository full name
+         */
+        String resourceName();
     }
 
     public static record RepositoryEvent(
@@ -305,6 +399,11 @@ public class MembershipWatcher {
             GHUser sender,
             ActionType actionType,
             EventType eventType) implements MembershipEvent {
+
+        @Override
+        public String resourceName() {
+            return repository.getFullName();
+        }
     }
 
     public static record TeamEvent(
@@ -315,5 +414,10 @@ public class MembershipWatcher {
             GHUser sender,
             ActionType actionType,
             EventType eventType) implements MembershipEvent {
+
+        @Override
+        public String resourceName() {
+            return getFullTeamName(organization, team);
+        }
     }
 }
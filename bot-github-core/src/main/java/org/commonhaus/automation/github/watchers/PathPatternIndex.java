@@ -0,0 +1,173 @@
+package org.commonhaus.automation.github.watchers;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trie of watched path patterns, indexed by path segment.
+ * <p>
+ * Supported patterns:
+ * <ul>
+ * <li>{@code *} as a path segment matches any single segment: {@code projects/*&#47;project.yml}</li>
+ * <li>{@code *} (any characters) and {@code ?} (one character) within a segment
+ * match within that segment only: {@code *.yml}, {@code release-?.md}</li>
+ * <li>{@code **} as the last segment matches any path below: {@code config/**}</li>
+ * <li>a trailing {@code /} is the same as {@code /**}: {@code config/}</li>
+ * </ul>
+ * Finding the patterns that match a path is linear in the number of
+ * segments in the path (plus one branch per {@code *} segment in the index,
+ * and a segment comparison for each other wildcard segment).
+ * <p>
+ * Lookups are safe to run concurrently with changes.
+ */
+class PathPatternIndex {
+    static final String ANY = "*";
+    static final String ANY_BELOW = "**";
+    static final char ANY_CHARS = '*';
+    static final char ANY_CHAR = '?';
+
+    static class Node {
+        /** Children by literal segment (or {@code *}) */
+        final Map<String, Node> children = new ConcurrentHashMap<>();
+        /** Children by segment containing wildcards (other than {@code *}) */
+        final Map<String, Node> globs = new ConcurrentHashMap<>();
+        /** Patterns that end at this node */
+        final Set<String> patterns = ConcurrentHashMap.newKeySet();
+        /** Patterns that match everything below this node */
+        final Set<String> below = ConcurrentHashMap.newKeySet();
+
+        boolean isEmpty() {
+            return children.isEmpty() && globs.isEmpty() && patterns.isEmpty() && below.isEmpty();
+        }
+    }
+
+    final Node root = new Node();
+
+    /**
+     * @param path watched path
+     * @return true if the path should be treated as a pattern
+     */
+    static boolean isPattern(String path) {
+        return path.endsWith("/") || path.indexOf(ANY_CHARS) >= 0 || path.indexOf(ANY_CHAR) >= 0;
+    }
+
+    /**
+     * @return true if the segment must be compared with {@link #matches(String, String)}
+     */
+    static boolean isGlob(String segment) {
+        return !ANY.equals(segment) && isPattern(segment);
+    }
+
+    /**
+     * @param glob path segment with wildcards
+     * @param segment path segment
+     * @return true if the segment matches the glob
+     */
+    static boolean matches(String glob, String segment) {
+        int g = 0;
+        int s = 0;
+        int star = -1; // position of the last '*' in glob
+        int mark = 0; // position in segment matched by that '*'
+        while (s < segment.length()) {
+            if (g < glob.length() && (glob.charAt(g) == ANY_CHAR || glob.charAt(g) == segment.charAt(s))) {
+                g++;
+                s++;
+            } else if (g < glob.length() && glob.charAt(g) == ANY_CHARS) {
+                star = g++;
+                mark = s;
+            } else if (star >= 0) {
+                g = star + 1;
+                s = ++mark;
+            } else {
+                return false;
+            }
+        }
+        while (g < glob.length() && glob.charAt(g) == ANY_CHARS) {
+            g++;
+        }
+        return g == glob.length();
+    }
+
+    private static Map<String, Node> childrenFor(Node node, String segment) {
+        return isGlob(segment) ? node.globs : node.children;
+    }
+
+    synchronized void add(String pattern) {
+        String[] segments = segments(pattern);
+        Node node = root;
+        for (int i = 0; i < segments.length; i++) {
+            if (ANY_BELOW.equals(segments[i])) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' must be the last segment of " + pattern);
+                }
+                node.below.add(pattern);
+                return;
+            }
+            node = childrenFor(node, segments[i]).computeIfAbsent(segments[i], k -> new Node());
+        }
+        node.patterns.add(pattern);
+    }
+
+    synchronized void remove(String pattern) {
+        remove(root, segments(pattern), 0, pattern);
+    }
+
+    private void remove(Node node, String[] segments, int i, String pattern) {
+        if (i == segments.length) {
+            node.patterns.remove(pattern);
+        } else if (ANY_BELOW.equals(segments[i])) {
+            node.below.remove(pattern);
+        } else {
+            Map<String, Node> children = childrenFor(node, segments[i]);
+            Node child = children.get(segments[i]);
+            if (child != null) {
+                remove(child, segments, i + 1, pattern);
+                if (child.isEmpty()) {
+                    children.remove(segments[i]);
+                }
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return root.isEmpty();
+    }
+
+    /**
+     * @param path changed file path
+     * @return patterns matching the path (empty if none)
+     */
+    Set<String> match(String path) {
+        Set<String> result = new HashSet<>();
+        match(root, path.split("/"), 0, result);
+        return result;
+    }
+
+    private void match(Node node, String[] segments, int i, Set<String> result) {
+        if (i == segments.length) {
+            result.addAll(node.patterns);
+            return;
+        }
+        result.addAll(node.below);
+        Node child = node.children.get(segments[i]);
+        if (child != null) {
+            match(child, segments, i + 1, result);
+        }
+        Node any = node.children.get(ANY);
+        if (any != null) {
+            match(any, segments, i + 1, result);
+        }
+        for (Map.Entry<String, Node> glob : node.globs.entrySet()) {
+            if (matches(glob.getKey(), segments[i])) {
+                match(glob.getValue(), segments, i + 1, result);
+            }
+        }
+    }
+
+    private static String[] segments(String pattern) {
+        String normalized = pattern.endsWith("/") ? pattern + ANY_BELOW : pattern;
+        return normalized.split("/");
+    }
+}
@@ -0,0 +1,124 @@
+package org.commonhaus.automation.github.watchers;
+
+import static org.commonhaus.automation.github.context.GitHubQueryContext.toOrganizationName;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import org.commonhaus.automation.github.context.BaseQueryCache;
+import org.commonhaus.automation.github.context.GitHubTeamService;
+import org.commonhaus.automation.shard.InstallationShards;
+
+import io.quarkiverse.githubapp.GitHubEvent;
+import io.quarkus.logging.Log;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Cheap checks that decide whether a webhook delivery is relevant to a watcher
+ * before GitHub API payload objects are created for it.
+ * <p>
+ * Checks only use the delivery headers and the few payload fields that are
+ * needed (read from the payload already parsed for event routing):
+ * <ul>
+ * <li>push: watched repository (FileWatcher) and watched ref</li>
+ * <li>membership, team, member: watched organization (MembershipWatcher)</li>
+ * <li>label: labels for the repository are cached (LabelWatcher)</li>
+ * </ul>
+ * Deliveries for installations owned by another replica are dropped
+ * first ({@link InstallationShards#accept(GitHubEvent)}).
+ */
+@ApplicationScoped
+public class WebhookPrefilter {
+    static final String ME = "webhookPrefilter";
+
+    @Inject
+    FileWatcher fileWatcher;
+
+    @Inject
+    MembershipWatcher membershipWatcher;
+
+    @Inject
+    InstallationShards shards;
+
+    /**
+     * @param event webhook event
+     * @return true if the event should be processed further
+     */
+    public boolean accept(GitHubEvent event) {
+        if (!shards.accept(event)) {
+            return false;
+        }
+        boolean accept = switch (event.getEvent()) {
+            case "push" -> acceptPush(event);
+            case "label" -> acceptLabel(event);
+            case "membership", "team" -> acceptTeamEvent(event);
+            case "member" -> acceptMemberEvent(event);
+            default -> false;
+        };
+        if (!accept) {
+            Log.tracef("[%s] %s: skip %s %s", ME, event.getInstallationId(),
+                    event.getEventAction(), event.getRepository().orElse(""));
+        }
+        return accept;
+    }
+
+    /**
+     * Push to the watched ref of a repository with watched files
+     */
+    boolean acceptPush(GitHubEvent event) {
+        String repoFullName = event.getRepository().orElse(null);
+        if (repoFullName == null || !fileWatcher.isWatching(repoFullName)) {
+            return false;
+        }
+        String ref = event.getParsedPayload().getString("ref");
+        return ref != null && FileWatcher.WATCHED_REFS.contains(ref);
+    }
+
+    /**
+     * Label created, edited or deleted in a repository whose labels are cached.
+     * Label changes only update cached labels; there is nothing to do otherwise.
+     */
+    boolean acceptLabel(GitHubEvent event) {
+        String repoNodeId = stringFrom(event.getParsedPayload(), "repository", "node_id");
+        return repoNodeId != null && BaseQueryCache.LABELS.get(repoNodeId) != null;
+    }
+
+    /**
+     * Team or team membership change in a watched organization.
+     * <p>
+     * Cached team members are always invalidated: if the organization is not watched,
+     * the cache is reset here, and the event is dropped.
+     */
+    boolean acceptTeamEvent(GitHubEvent event) {
+        JsonObject payload = event.getParsedPayload();
+        String orgName = stringFrom(payload, "organization", "login");
+        if (orgName == null || membershipWatcher.isWatching(orgName)) {
+            return true;
+        }
+        String teamName = stringFrom(payload, "team", "name");
+        if (teamName != null) {
+            GitHubTeamService.refreshTeam(orgName + "/" + teamName.replace(orgName + "/", ""));
+        }
+        return false;
+    }
+
+    /**
+     * Collaborator change in a repository of a watched organization.
+     * <p>
+     * Cached collaborators are always invalidated: if the organization is not watched,
+     * the cache is reset here, and the event is dropped.
+     */
+    boolean acceptMemberEvent(GitHubEvent event) {
+        String repoFullName = event.getRepository().orElse(null);
+        if (repoFullName == null || membershipWatcher.isWatching(toOrganizationName(repoFullName))) {
+            return true;
+        }
+        GitHubTeamService.refreshCollaborators(repoFullName);
+        return false;
+    }
+
+    static String stringFrom(JsonObject payload, String object, String field) {
+        JsonObject value = payload == null ? null : payload.getJsonObject(object);
+        return value == null ? null : value.getString(field);
+    }
+}
@@ -0,0 +1,41 @@
+package org.commonhaus.automation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Computation of a missing cache value (QueryCache.computeIfAbsent).
+ */
+@Name("org.commonhaus.automation.CacheLoad")
+@Label("Cache Load")
+@Category({ "Commonhaus Automation", "Cache" })
+@Description("Computation of a value missing from a query cache")
+@StackTrace(false)
+@Threshold("1 ms")
+public class CacheLoadEvent extends Event {
+    @Label("Cache")
+    String cache;
+
+    @Label("Key")
+    String key;
+
+    public static CacheLoadEvent start(String cache, String key) {
+        CacheLoadEvent event = new CacheLoadEvent();
+        event.cache = cache;
+        event.key = key;
+        event.begin();
+        return event;
+    }
+
+    public void complete() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.commonhaus.automation.jfr;
+
+import org.commonhaus.automation.ApiUsage;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A GitHub REST (execGitHubSync) or GraphQL (execQuerySync) call.
+ * The event duration is the time spent waiting for the response.
+ */
+@Name("org.commonhaus.automation.GitHubApiCall")
+@Label("GitHub API Call")
+@Category({ "Commonhaus Automation", "GitHub" })
+@Description("REST or GraphQL request made through a query context")
+@StackTrace(false)
+public class GitHubApiEvent extends Event {
+    @Label("API")
+    @Description("REST or GRAPHQL")
+    String api;
+
+    @Label("Operation")
+    @Description("Calling component (class and method)")
+    String operation;
+
+    @Label("Installation")
+    String installation;
+
+    @Label("Status")
+    @Description("ok, errors (GraphQL), an HTTP status code, or an exception type")
+    String status;
+
+    public static GitHubApiEvent start(ApiUsage.Api api, String installation) {
+        GitHubApiEvent event = new GitHubApiEvent();
+        event.api = api.name();
+        event.installation = installation;
+        event.begin();
+        return event;
+    }
+
+    public void complete(String status) {
+        end();
+        if (shouldCommit()) {
+            // Only find the caller if the event is recorded
+            this.operation = ApiUsage.caller();
+            this.status = status;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.commonhaus.automation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An attempt to send an email from the mail outbox.
+ * The event duration is the time spent sending the message.
+ */
+@Name("org.commonhaus.automation.MailSend")
+@Label("Mail Send")
+@Category({ "Commonhaus Automation", "Mail" })
+@Description("Attempt to send an email message")
+@StackTrace(false)
+public class MailSendEvent extends Event {
+    @Label("Log Id")
+    String logId;
+
+    @Label("Recipients")
+    int recipients;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    public static MailSendEvent start(String logId, int recipients, int attempt) {
+        MailSendEvent event = new MailSendEvent();
+        event.logId = logId;
+        event.recipients = recipients;
+        event.attempt = attempt;
+        event.begin();
+        return event;
+    }
+
+    public void complete(boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.commonhaus.automation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Execution of a task from the PeriodicUpdateQueue.
+ * The event duration is the run time of the task.
+ */
+@Name("org.commonhaus.automation.QueueTask")
+@Label("Queue Task")
+@Category({ "Commonhaus Automation", "Queue" })
+@Description("Execution of a task from the periodic update queue")
+@StackTrace(false)
+public class QueueTaskEvent extends Event {
+    @Label("Task Name")
+    String taskName;
+
+    @Label("Task Type")
+    @Description("CHANGE, RECONCILE or BACKGROUND")
+    String taskType;
+
+    @Label("Wait Time")
+    @Description("Time spent in the queue before the task was run")
+    @Timespan(Timespan.MILLISECONDS)
+    long waitTime;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    /**
+     * Start timing a task.
+     *
+     * @param taskType Task type
+     * @param taskName Task name (group)
+     * @param waitMs Time the task spent in the queue (millis, measured with the queue's clock),
+     *        or 0 if not known
+     * @return started event
+     */
+    public static QueueTaskEvent start(String taskType, String taskName, long waitMs) {
+        QueueTaskEvent event = new QueueTaskEvent();
+        event.taskType = taskType;
+        event.taskName = taskName;
+        event.waitTime = Math.max(0, waitMs);
+        event.begin();
+        return event;
+    }
+
+    public void complete(boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.commonhaus.automation.mail;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Aggregates repeated errors.
+ * <p>
+ * Errors are fingerprinted by log id, title, the type and shape of the exception
+ * message (numbers, ids and quoted values removed), and recipients. The first occurrence of an error
+ * is sent immediately; repeats are counted until the next {@link #drain()},
+ * which returns the repeated errors for a summary.
+ */
+class ErrorDigest {
+    static final int MAX_ENTRIES = 500;
+
+    static final Pattern QUOTED = Pattern.compile("'[^']*'|\"[^\"]*\"");
+    static final Pattern HEX = Pattern.compile("\\b(?:0x)?[0-9a-fA-F]*\\d[0-9a-fA-F]*\\b");
+    static final Pattern DIGITS = Pattern.compile("\\d+");
+    static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Record an error.
+     *
+     * Known errors are always counted. When {@value #MAX_ENTRIES} errors are
+     * already tracked, new errors are sent without being tracked.
+     *
+     * @return true if this is the first occurrence (since the last drain)
+     *         and the error should be sent now
+     */
+    boolean record(String logId, String title, Throwable t, String[] addresses) {
+        String key = fingerprint(logId, title, t, addresses);
+        Entry known = entries.get(key);
+        if (known != null) {
+            known.repeat();
+            return false;
+        }
+        if (entries.size() >= MAX_ENTRIES) {
+            return true;
+        }
+        Entry previous = entries.putIfAbsent(key, new Entry(logId, title,
+                t == null ? null : t.getClass().getName(),
+                t == null ? null : shape(t.getMessage()),
+                addresses, Instant.now()));
+        if (previous == null) {
+            return true;
+        }
+        previous.repeat();
+        return false;
+    }
+
+    /**
+     * Remove all recorded errors.
+     *
+     * @return errors that were repeated since the last drain
+     */
+    List<Entry> drain() {
+        List<Entry> repeated = new ArrayList<>();
+        for (var key : List.copyOf(entries.keySet())) {
+            Entry entry = entries.remove(key);
+            if (entry != null && entry.repeats() > 0) {
+                repeated.add(entry);
+            }
+        }
+        return repeated;
+    }
+
+    static String fingerprint(String logId, String title, Throwable t, String[] addresses) {
+        StringBuilder sb = new StringBuilder()
+                .append(logId).append('|')
+                .append(addressKey(addresses)).append('|')
+                .append(shape(title));
+        // Include the cause chain: the root cause distinguishes otherwise identical wrappers
+        for (Throwable cause = t; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            sb.append('|').append(cause.getClass().getName())
+                    .append(':').append(shape(cause.getMessage()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return sorted, comma-separated recipient addresses
+     */
+    static String addressKey(String[] addresses) {
+        return addresses == null ? "" : String.join(",", Arrays.stream(addresses).sorted().toList());
+    }
+
+    /**
+     * Reduce a message to its shape: quoted values, numbers and hex ids are replaced.
+     */
+    static String shape(String message) {
+        if (message == null) {
+            return "";
+        }
+        String result = QUOTED.matcher(message).replaceAll("'?'");
+        result = HEX.matcher(result).replaceAll("#");
+        result = DIGITS.matcher(result).replaceAll("#");
+        return WHITESPACE.matcher(result).replaceAll(" ").trim();
+    }
+
+    static class Entry {
+        final String logId;
+        final String title;
+        final String exceptionType;
+        final String message;
+        final String[] addresses;
+        final Instant first;
+        final AtomicInteger repeats = new AtomicInteger();
+        volatile Instant last;
+
+        Entry(String logId, String title, String exceptionType, String message, String[] addresses, Instant first) {
+            this.logId = logId;
+            this.title = title;
+            this.exceptionType = exceptionType;
+            this.message = message;
+            this.addresses = addresses;
+            this.first = first;
+            this.last = first;
+        }
+
+        void repeat() {
+            repeats.incrementAndGet();
+            last = Instant.now();
+        }
+
+        int repeats() {
+            return repeats.get();
+        }
+
+        String addressKey() {
+            return ErrorDigest.addressKey(addresses);
+        }
+    }
+}
@@ -2,6 +2,10 @@ package org.commonhaus.automation.mail;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import jakarta.enterprise.context.ApplicationScoped;
@@ -14,6 +18,8 @@ import io.quarkus.arc.Arc;
 import io.quarkus.logging.Log;
 import io.quarkus.mailer.MailTemplate.MailTemplateInstance;
 import io.quarkus.qute.CheckedTemplate;
+import io.quarkus.runtime.LaunchMode;
+import io.quarkus.scheduler.Scheduled;
 import io.vertx.mutiny.core.eventbus.EventBus;
 
 /**
@@ -24,6 +30,11 @@ import io.vertx.mutiny.core.eventbus.EventBus;
  * <p>
  * Uses programmatic lookups for BotConfig and EventBus to allow it to be
  * used as a fallback in the event that the ContextSerivce is not available.
+ * <p>
+ * Repeated errors are not sent individually: the first occurrence of an error
+ * is sent immediately, and repeats are counted and sent as a periodic digest
+ * ({@code automation.error-digest.interval}, 15 minutes by default).
+ * @see ErrorDigest
  */
 @ApplicationScoped
 public class LogMailer {
@@ -45,6 +56,8 @@ public class LogMailer {
 
     private final EventBus bus;
     private final String[] errorAddress;
+    private final ErrorDigest digest = new ErrorDigest();
+    private final boolean useDigest = LaunchMode.current() != LaunchMode.TEST;
 
     public LogMailer() {
         this.bus = Arc.container().instance(EventBus.class).get();
@@ -135,12 +148,50 @@ public class LogMailer {
                 t.printStackTrace();
             }
         }
-        MailEvent event = createErrorMailEvent(logId, title, body, t, addresses);
+        String[] recipients = addresses == null ? botErrorEmailAddress() : addresses;
+        if (recipients.length == 0) {
+            return;
+        }
+        if (useDigest && !digest.record(logId, title, t, recipients)) {
+            Log.debugf("[%s] %s: repeated error (added to digest)", logId, title);
+            return;
+        }
+        MailEvent event = createErrorMailEvent(logId, title, body, t, recipients);
         if (event.hasAddresses()) {
             bus.send(MailEvent.ADDRESS, event);
         }
     }
 
+    /**
+     * Send a summary of repeated errors (one email per set of recipients)
+     */
+    @Scheduled(every = "${automation.error-digest.interval:15m}", delayed = "${automation.error-digest.interval:15m}")
+    void sendErrorDigest() {
+        List<ErrorDigest.Entry> repeated = digest.drain();
+        if (repeated.isEmpty()) {
+            return;
+        }
+        Map<String, List<ErrorDigest.Entry>> byRecipients = new LinkedHashMap<>();
+        for (ErrorDigest.Entry entry : repeated) {
+            byRecipients.computeIfAbsent(entry.addressKey(), k -> new ArrayList<>()).add(entry);
+        }
+        for (List<ErrorDigest.Entry> entries : byRecipients.values()) {
+            int total = entries.stream().mapToInt(ErrorDigest.Entry::repeats).sum();
+            StringBuilder body = new StringBuilder();
+            body.append("These errors were repeated after the first occurrence was reported:\n\n");
+            body.append("| Repeats | Log id | Error | Exception | First | Last |\n");
+            body.append("|---|---|---|---|---|---|\n");
+            for (ErrorDigest.Entry entry : entries) {
+                body.append("| %d | %s | %s | %s | %s | %s |\n".formatted(
+                        entry.repeats(), entry.logId, entry.title,
+                        entry.exceptionType == null ? "" : entry.exceptionType + ": " + entry.message,
+                        entry.first, entry.last));
+            }
+            sendEmail("error-digest", "🔁 %d repeated errors".formatted(total),
+                    body.toString(), entries.get(0).addresses);
+        }
+    }
+
     /**
      * Create a MailEvent for an error.
      *
@@ -4,11 +4,16 @@ import java.util.List;
 import java.util.Optional;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 
+import org.commonhaus.automation.mail.MailOutbox.OutboxMessage;
+import org.commonhaus.automation.trace.Span;
+import org.commonhaus.automation.trace.Tracing;
 import org.eclipse.microprofile.config.ConfigProvider;
 
 import io.quarkus.logging.Log;
-import io.quarkus.mailer.MailTemplate.MailTemplateInstance;
+import io.quarkus.qute.TemplateInstance;
+import io.quarkus.qute.Variant;
 import io.quarkus.vertx.ConsumeEvent;
 import io.vertx.mutiny.core.eventbus.Message;
 
@@ -16,38 +21,67 @@ import io.vertx.mutiny.core.eventbus.Message;
 class MailConsumer {
     static Optional<String> replyAddress = null;
 
+    @Inject
+    MailOutbox outbox;
+
     /**
-     * Add the reply-to address to the mail template instance.
+     * Find the reply-to address for sent mail
      *
-     * @param mailTemplateInstance the mail template instance
+     * @return the reply-to address or null
      */
-    static void addReplyTo(MailTemplateInstance mailTemplateInstance) {
+    static String replyTo() {
         if (replyAddress == null) {
             // This is not thread-sensitive: it's okay if multiple threads set the value.
             replyAddress = ConfigProvider.getConfig().getOptionalValue("automation.error-email-address", String.class);
         }
-        if (replyAddress.isPresent()) {
-            mailTemplateInstance.replyTo(replyAddress.get());
-        }
+        return replyAddress.orElse(null);
     }
 
-    @ConsumeEvent(MailEvent.ADDRESS)
+    /**
+     * Render the message and add it to the outbox.
+     * Rendering and persisting the message may block: this does not run on the event loop.
+     */
+    @ConsumeEvent(value = MailEvent.ADDRESS, blocking = true)
     public void consume(Message<MailEvent> msg) {
         MailEvent mailEvent = msg.body();
+        Span span = Tracing.start("mail render", mailEvent.trace);
+        try {
+            outbox.enqueue(render(mailEvent));
+        } catch (Exception e) {
+            span.error(e);
+            Log.errorf(e, "[%s] EmailAction.apply: Failed to render email to %s; %s",
+                    mailEvent.logId,
+                    List.of(mailEvent.addresses),
+                    mailEvent.subject);
+        } finally {
+            span.close();
+        }
+    }
 
-        addReplyTo(mailEvent.mailTemplateInstance);
-        mailEvent.mailTemplateInstance
-                .to(mailEvent.addresses)
-                .subject(mailEvent.subject)
-                .send()
-                .subscribe().with(
-                        success -> Log.infof("%s EmailAction.apply: Email sent to %s; %s",
-                                mailEvent.logId,
-                                List.of(mailEvent.addresses),
-                                mailEvent.subject),
-                        failure -> Log.errorf(failure, "[%s] EmailAction.apply: Failed to send email to %s",
-                                mailEvent.logId,
-                                List.of(mailEvent.addresses),
-                                mailEvent.subject));
+    /**
+     * Render text and html variants of the template (if present)
+     */
+    static OutboxMessage render(MailEvent mailEvent) {
+        TemplateInstance template = mailEvent.mailTemplateInstance.templateInstance();
+        String text = null;
+        String html = null;
+        if (template.getAttribute(TemplateInstance.VARIANTS) instanceof List<?> variants) {
+            for (Object o : variants) {
+                if (o instanceof Variant variant) {
+                    if (Variant.TEXT_HTML.equals(variant.getContentType())) {
+                        template.setAttribute(TemplateInstance.SELECTED_VARIANT, variant);
+                        html = template.render();
+                    } else if (Variant.TEXT_PLAIN.equals(variant.getContentType())) {
+                        template.setAttribute(TemplateInstance.SELECTED_VARIANT, variant);
+                        text = template.render();
+                    }
+                }
+            }
+        }
+        if (text == null && html == null) {
+            text = template.render();
+        }
+        return OutboxMessage.create(mailEvent.logId, mailEvent.subject,
+                List.of(mailEvent.addresses), replyTo(), text, html);
     }
 }
@@ -1,5 +1,8 @@
 package org.commonhaus.automation.mail;
 
+import org.commonhaus.automation.trace.TraceContext;
+import org.commonhaus.automation.trace.Tracing;
+
 import io.quarkus.mailer.MailTemplate.MailTemplateInstance;
 
 public class MailEvent {
@@ -8,6 +11,8 @@ public class MailEvent {
     final MailTemplateInstance mailTemplateInstance;
     final String subject;
     final String[] addresses;
+    /** Trace context of the sender (the event bus does not propagate it) */
+    final TraceContext trace = Tracing.current();
 
     public MailEvent(String logId, MailTemplateInstance mailTemplateInstance, String subject, String[] addresses) {
         this.logId = logId;
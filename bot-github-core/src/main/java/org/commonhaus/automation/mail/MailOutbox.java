@@ -0,0 +1,372 @@
+package org.commonhaus.automation.mail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.commonhaus.automation.ContextService;
+import org.commonhaus.automation.config.BotConfig;
+import org.commonhaus.automation.jfr.MailSendEvent;
+import org.commonhaus.automation.trace.Span;
+import org.commonhaus.automation.trace.TraceContext;
+import org.commonhaus.automation.trace.Tracing;
+
+import io.quarkus.logging.Log;
+import io.quarkus.mailer.Mail;
+import io.quarkus.mailer.Mailer;
+import io.quarkus.runtime.LaunchMode;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.quarkus.scheduler.Scheduled;
+
+/**
+ * Bounded outbox for rendered email messages.
+ * <p>
+ * Messages are queued by {@link MailConsumer} and sent by a dedicated thread
+ * using the blocking {@link Mailer}, so a slow or unavailable SMTP server never
+ * blocks the event loop. SMTP connections are pooled and reused by the mailer
+ * (see {@code quarkus.mailer.keep-alive} and {@code quarkus.mailer.max-pool-size}).
+ * <p>
+ * Messages that fail are retried with exponential backoff, up to
+ * {@code automation.mail.max-attempts}. When the outbox is full, the oldest
+ * message is dropped.
+ * <p>
+ * If {@code automation.queue.state-directory} is set, pending messages are written
+ * to the {@code mail-outbox} directory within it, and are reloaded on startup.
+ */
+@Singleton
+public class MailOutbox {
+    static final String ME = "📬 outbox";
+    static final String DIRECTORY = "mail-outbox";
+    static final Duration INITIAL_BACKOFF = Duration.ofSeconds(30);
+    static final Duration MAX_BACKOFF = Duration.ofMinutes(30);
+
+    @Inject
+    BotConfig botConfig;
+
+    @Inject
+    Mailer mailer;
+
+    // Insertion order: the first entry is the oldest message
+    private final Map<String, OutboxMessage> pending = new LinkedHashMap<>();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private ScheduledExecutorService executor;
+    private Path directory;
+    private int capacity = 500;
+    private int batchSize = 20;
+    private int maxAttempts = 8;
+
+    void startup(@Observes StartupEvent startup) {
+        String stateDirectory = LaunchMode.current() == LaunchMode.TEST
+                ? null
+                : botConfig.queue().stateDirectory().orElse(null);
+        configure(stateDirectory == null ? null : Path.of(stateDirectory, DIRECTORY),
+                botConfig.mail().capacity(),
+                botConfig.mail().batchSize(),
+                botConfig.mail().maxAttempts());
+
+        long period = botConfig.mail().period().toMillis();
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "mail-outbox");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::drain, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    void shutdown(@Observes ShutdownEvent shutdown) {
+        if (executor != null) {
+            executor.shutdown();
+        }
+        synchronized (pending) {
+            if (!pending.isEmpty()) {
+                Log.infof("[%s] %d messages pending at shutdown%s", ME, pending.size(),
+                        directory == null ? " (not persisted)" : "");
+            }
+        }
+    }
+
+    /**
+     * Configure the outbox, and load persisted messages (if any).
+     *
+     * @param directory directory for persisted messages, or null to keep messages in memory
+     */
+    void configure(Path directory, int capacity, int batchSize, int maxAttempts) {
+        this.directory = directory;
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        if (directory != null) {
+            load();
+        }
+    }
+
+    /**
+     * Add a message to the outbox.
+     *
+     * @param message rendered message
+     */
+    public void enqueue(OutboxMessage message) {
+        OutboxMessage evicted = null;
+        synchronized (pending) {
+            // Persist before the message is visible to drain: a message sent (and deleted)
+            // before it was written would be sent again after a restart
+            write(message);
+            pending.put(message.id(), message);
+            if (pending.size() > capacity) {
+                Iterator<OutboxMessage> i = pending.values().iterator();
+                evicted = i.next();
+                i.remove();
+            }
+        }
+        if (evicted != null) {
+            dropped.incrementAndGet();
+            delete(evicted);
+            Log.errorf("[%s] %s: outbox full (%d), dropped message to %s: %s", ME, evicted.logId(),
+                    capacity, evicted.to(), evicted.subject());
+        }
+    }
+
+    /**
+     * Send messages that are due.
+     */
+    void drain() {
+        try {
+            drain(System.currentTimeMillis());
+        } catch (Throwable t) {
+            // Never let an exception cancel the scheduled task
+            Log.errorf(t, "[%s] Error draining outbox", ME);
+        }
+    }
+
+    /**
+     * Send up to one batch of messages that are due at the specified time.
+     *
+     * @param now current time in milliseconds
+     * @return number of messages sent
+     */
+    int drain(long now) {
+        List<OutboxMessage> batch = new ArrayList<>();
+        synchronized (pending) {
+            for (OutboxMessage message : pending.values()) {
+                if (message.nextAttempt() <= now) {
+                    batch.add(message);
+                    if (batch.size() >= batchSize) {
+                        break;
+                    }
+                }
+            }
+        }
+        int count = 0;
+        for (OutboxMessage message : batch) {
+            MailSendEvent event = MailSendEvent.start(message.logId(), message.to().size(), message.attempts() + 1);
+            Span span = Tracing.start("mail send", TraceContext.parse(message.traceparent()))
+                    .attribute("recipients", message.to().size())
+                    .attribute("attempt", message.attempts() + 1);
+            try {
+                mailer.send(message.toMail());
+                event.complete(true);
+                remove(message);
+                sent.incrementAndGet();
+                count++;
+                Log.infof("%s EmailAction.apply: Email sent to %s; %s",
+                        message.logId(), message.to(), message.subject());
+            } catch (Exception e) {
+                event.complete(false);
+                span.error(e);
+                failed.incrementAndGet();
+                retry(message, now, e);
+            } finally {
+                span.close();
+            }
+        }
+        return count;
+    }
+
+    private void retry(OutboxMessage message, long now, Exception e) {
+        int attempts = message.attempts() + 1;
+        if (attempts >= maxAttempts) {
+            remove(message);
+            dropped.incrementAndGet();
+            // Don't report this by email: the mail server is the problem
+            Log.errorf(e, "[%s] %s: Failed to send email to %s after %d attempts; %s",
+                    ME, message.logId(), message.to(), attempts, message.subject());
+            return;
+        }
+        OutboxMessage next = message.retry(attempts, now + backoff(attempts).toMillis());
+        synchronized (pending) {
+            if (pending.replace(message.id(), message, next)) {
+                write(next);
+            }
+        }
+        Log.warnf("[%s] %s: Failed to send email to %s (attempt %d, retry in %s): %s",
+                ME, message.logId(), message.to(), attempts, backoff(attempts), e.toString());
+    }
+
+    /**
+     * @param attempts number of failed attempts
+     * @return delay before the next attempt
+     */
+    static Duration backoff(int attempts) {
+        Duration delay = INITIAL_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 16));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private void remove(OutboxMessage message) {
+        synchronized (pending) {
+            pending.remove(message.id());
+        }
+        delete(message);
+    }
+
+    public int depth() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    public OutboxStats stats() {
+        long now = System.currentTimeMillis();
+        int depth;
+        long oldest;
+        synchronized (pending) {
+            depth = pending.size();
+            oldest = pending.isEmpty() ? 0 : now - pending.values().iterator().next().created();
+        }
+        return new OutboxStats(depth, capacity, oldest, sent.get(), failed.get(), dropped.get());
+    }
+
+    @Scheduled(every = "1m", delayed = "1m")
+    void logBacklog() {
+        OutboxStats stats = stats();
+        if (stats.depth() > 0) {
+            Log.infof("[%s] %s", ME, stats);
+        }
+    }
+
+    private void load() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<OutboxMessage> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".yaml")).toList()) {
+                try {
+                    loaded.add(ContextService.yamlMapper.readValue(file.toFile(), OutboxMessage.class));
+                } catch (IOException e) {
+                    Log.warnf(e, "[%s] Could not read %s", ME, file);
+                }
+            }
+        } catch (IOException e) {
+            Log.warnf(e, "[%s] Could not read outbox directory %s", ME, directory);
+        }
+        loaded.sort(Comparator.comparingLong(OutboxMessage::created));
+        synchronized (pending) {
+            loaded.forEach(m -> pending.put(m.id(), m));
+        }
+        if (!loaded.isEmpty()) {
+            Log.infof("[%s] Loaded %d pending messages from %s", ME, loaded.size(), directory);
+        }
+    }
+
+    private void write(OutboxMessage message) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(message.id() + ".yaml"),
+                    ContextService.yamlMapper.writeValueAsString(message));
+        } catch (IOException e) {
+            Log.warnf(e, "[%s] Could not persist message %s", ME, message.id());
+        }
+    }
+
+    private void delete(OutboxMessage message) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(directory.resolve(message.id() + ".yaml"));
+        } catch (IOException e) {
+            Log.warnf(e, "[%s] Could not remove message %s", ME, message.id());
+        }
+    }
+
+    /**
+     * A rendered email message.
+     *
+     * @param created creation time (epoch millis)
+     * @param attempts number of failed attempts
+     * @param nextAttempt time of the next attempt (epoch millis)
+     * @param traceparent trace context of the code that sent the message (may be null)
+     */
+    @RegisterForReflection
+    public record OutboxMessage(
+            String id,
+            String logId,
+            String subject,
+            List<String> to,
+            String replyTo,
+            String text,
+            String html,
+            long created,
+            int attempts,
+            long nextAttempt,
+            String traceparent) {
+
+        public static OutboxMessage create(String logId, String subject, List<String> to,
+                String replyTo, String text, String html) {
+            long now = System.currentTimeMillis();
+            return new OutboxMessage(UUID.randomUUID().toString(), logId, subject, List.copyOf(to),
+                    replyTo, text, html, now, 0, now, Tracing.currentTraceparent());
+        }
+
+        OutboxMessage retry(int attempts, long nextAttempt) {
+            return new OutboxMessage(id, logId, subject, to, replyTo, text, html, created, attempts, nextAttempt,
+                    traceparent);
+        }
+
+        Mail toMail() {
+            Mail mail = new Mail()
+                    .setSubject(subject)
+                    .setTo(new ArrayList<>(to));
+            if (text != null) {
+                mail.setText(text);
+            }
+            if (html != null) {
+                mail.setHtml(html);
+            }
+            if (replyTo != null) {
+                mail.setReplyTo(replyTo);
+            }
+            return mail;
+        }
+    }
+
+    @RegisterForReflection
+    public record OutboxStats(int depth, int capacity, long oldestAgeMs,
+            long sent, long failed, long dropped) {
+    }
+}
@@ -1,16 +1,16 @@
 package org.commonhaus.automation.opencollective;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 
-import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
 
+import org.commonhaus.automation.CircuitBreaker;
 import org.commonhaus.automation.ContextService;
+import org.commonhaus.automation.GraphQLPager;
 import org.commonhaus.automation.GraphQLQueryContext;
 import org.commonhaus.automation.PackagedException;
 import org.commonhaus.automation.QueryCache;
@@ -49,6 +49,11 @@ public class OpenCollectiveQueryContext extends GraphQLQueryContext {
         return ME;
     }
 
+    @Override
+    protected CircuitBreaker getCircuitBreaker() {
+        return CircuitBreaker.forService("opencollective");
+    }
+
     @Override
     public DynamicGraphQLClient getGraphQLClient() {
         if (graphQLClient == null && config != null) {
@@ -79,45 +84,36 @@ public class OpenCollectiveQueryContext extends GraphQLQueryContext {
     public List<Account> getContributors() {
         Map<String, Object> variables = new HashMap<>();
         variables.put("slug", config.collectiveSlug().get());
+        variables.put("offset", 0);
 
-        int totalCount = 0;
-        int offset = 0;
-        int limit = 0;
-
-        List<Account> contributors = new ArrayList<>();
-        do {
-            variables.put("offset", offset);
-            Response response = execQuerySync(OpenCollectiveData.BACKERS_QUERY, variables);
-            if (hasErrors() || response == null) {
-                checkRemoveNotFound();
-                return null;
-            }
-            JsonObject account = OpenCollectiveFields.account.jsonObjectFrom(response.getData());
-            JsonObject members = OpenCollectiveFields.members.jsonObjectFrom(account);
-            if (offset == 0) {
-                totalCount = OpenCollectiveFields.totalCount.integerFrom(members);
-                if (totalCount == 0) {
-                    break;
-                }
-                limit = OpenCollectiveFields.limit.integerFrom(members);
-            }
-            JsonArray nodes = OpenCollectiveFields.nodes.jsonArrayFrom(members);
-            contributors.addAll(nodes.stream()
-                    .map(JsonObject.class::cast)
-                    .map(o -> {
-                        Account contributor = OpenCollectiveFields.account.accountFrom(o);
-                        return contributor;
-                    })
-                    .toList());
-
-            if (contributors.size() < totalCount) {
-                offset += limit;
-            }
-        } while (contributors.size() < totalCount);
+        List<Account> contributors = GraphQLPager.paged(this, OpenCollectiveData.BACKERS_QUERY, variables,
+                data -> OpenCollectiveFields.members.jsonObjectFrom(OpenCollectiveFields.account.jsonObjectFrom(data)),
+                OpenCollectiveQueryContext::nextOffset,
+                o -> OpenCollectiveFields.account.accountFrom(o))
+                .items(OpenCollectiveFields.nodes::jsonArrayFrom)
+                .toList();
+        if (hasErrors()) {
+            checkRemoveNotFound();
+            return null;
+        }
         contributors.removeIf(x -> x.id.equals(accountId));
         return contributors;
     }
 
+    /** Offset-based paging: members(limit, offset) with totalCount */
+    static Map<String, Object> nextOffset(JsonObject members, Map<String, Object> variables) {
+        Integer totalCount = OpenCollectiveFields.totalCount.integerFrom(members);
+        Integer offset = OpenCollectiveFields.offset.integerFrom(members);
+        Integer limit = OpenCollectiveFields.limit.integerFrom(members);
+        if (totalCount == null || offset == null || limit == null || limit == 0
+                || offset + limit >= totalCount) {
+            return null;
+        }
+        Map<String, Object> next = new HashMap<>(variables);
+        next.put("offset", offset + limit);
+        return next;
+    }
+
     /**
      * Construct the GraphQL client for OpenCollective.
      * If a personal token is not provided, it will connect anonymously.
@@ -0,0 +1,132 @@
+package org.commonhaus.automation.queue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.commonhaus.automation.config.BotConfig;
+import org.commonhaus.automation.config.BotConfig.BacklogConfig;
+import org.commonhaus.automation.mail.MailOutbox;
+import org.commonhaus.automation.queue.PeriodicUpdateQueue.QueueStats;
+import org.commonhaus.automation.queue.WebhookIngestQueue.IngestStats;
+
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Health signals derived from the work queues.
+ * <p>
+ * Thresholds ({@code automation.backlog}) apply to the update queue: its depth,
+ * and the age of its oldest task. Writes (e.g. member data) and reconciliations
+ * are persisted through this queue, which runs one task per period, so a deep
+ * or stale queue means that new work will wait.
+ * <ul>
+ * <li>{@link Level#UP}: below all thresholds</li>
+ * <li>{@link Level#DEGRADED}: past a shedding threshold; still ready, but
+ * non-critical requests should be rejected (see {@link #shouldShed()})</li>
+ * <li>{@link Level#DOWN}: past a readiness threshold</li>
+ * </ul>
+ * Webhook ingest and mail outbox backlogs are reported, but do not change the level.
+ */
+@Singleton
+public class BacklogMonitor {
+    static final String ME = "🧵 backlog";
+
+    public enum Level {
+        UP,
+        DEGRADED,
+        DOWN
+    }
+
+    @Inject
+    BotConfig botConfig;
+
+    @Inject
+    PeriodicUpdateQueue updateQueue;
+
+    @Inject
+    WebhookIngestQueue ingestQueue;
+
+    @Inject
+    MailOutbox mailOutbox;
+
+    private final AtomicReference<Level> lastLevel = new AtomicReference<>(Level.UP);
+
+    /**
+     * @return current backlog and health level
+     */
+    public Backlog check() {
+        BacklogConfig config = botConfig.backlog();
+        QueueStats updates = updateQueue.stats();
+        IngestStats ingest = ingestQueue.stats();
+
+        Level level = Level.UP;
+        String reason = null;
+        if (updates.depth() >= config.unreadyDepth()) {
+            level = Level.DOWN;
+            reason = "update queue depth %d >= %d".formatted(updates.depth(), config.unreadyDepth());
+        } else if (updates.oldestAgeMs() >= config.unreadyAge().toMillis()) {
+            level = Level.DOWN;
+            reason = "oldest update task %s >= %s".formatted(age(updates.oldestAgeMs()), config.unreadyAge());
+        } else if (updates.depth() >= config.shedDepth()) {
+            level = Level.DEGRADED;
+            reason = "update queue depth %d >= %d".formatted(updates.depth(), config.shedDepth());
+        } else if (updates.oldestAgeMs() >= config.shedAge().toMillis()) {
+            level = Level.DEGRADED;
+            reason = "oldest update task %s >= %s".formatted(age(updates.oldestAgeMs()), config.shedAge());
+        }
+
+        Level previous = lastLevel.getAndSet(level);
+        if (previous != level) {
+            if (level == Level.UP) {
+                Log.infof("[%s] %s -> %s", ME, previous, level);
+            } else {
+                Log.warnf("[%s] %s -> %s: %s", ME, previous, level, reason);
+            }
+        }
+        return new Backlog(level, reason,
+                updates.depth(), updates.oldestAgeMs(), updates.retries(),
+                ingest.depth(), ingest.oldestAgeMs(),
+                mailOutbox.depth());
+    }
+
+    /**
+     * @return true if load shedding is enabled, and the backlog is past a threshold
+     */
+    public boolean shouldShed() {
+        return botConfig.backlog().shedding() && check().level() != Level.UP;
+    }
+
+    /**
+     * @return delay clients should wait before retrying a rejected request
+     */
+    public Duration retryAfter() {
+        return botConfig.backlog().retryAfter();
+    }
+
+    private static Duration age(long ms) {
+        return Duration.ofSeconds(ms / 1000);
+    }
+
+    /**
+     * Backlog signals.
+     *
+     * @param level health level
+     * @param reason threshold that was crossed (null when {@link Level#UP})
+     * @param depth number of pending update tasks
+     * @param oldestAgeMs age of the oldest pending update task
+     * @param retries number of update tasks waiting to be retried
+     */
+    @RegisterForReflection
+    public record Backlog(Level level, String reason,
+            int depth, long oldestAgeMs, int retries,
+            int ingestDepth, long ingestOldestAgeMs,
+            int outboxDepth) {
+
+        public boolean isReady() {
+            return level != Level.DOWN;
+        }
+    }
+}
@@ -1,39 +1,63 @@
 package org.commonhaus.automation.queue;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import org.commonhaus.automation.ApiUsage;
+import org.commonhaus.automation.CircuitBreaker;
 import org.commonhaus.automation.config.BotConfig;
+import org.commonhaus.automation.jfr.QueueTaskEvent;
 import org.commonhaus.automation.mail.LogMailer;
+import org.commonhaus.automation.trace.Span;
+import org.commonhaus.automation.trace.TraceContext;
+import org.commonhaus.automation.trace.Tracing;
 
 import io.quarkus.logging.Log;
 import io.quarkus.runtime.LaunchMode;
 import io.quarkus.runtime.ShutdownEvent;
 import io.quarkus.runtime.StartupEvent;
-import io.quarkus.scheduler.Scheduled;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 
 /**
  * A simple queue to space out / slow down the queries we make to the GitHub API.
  * <p>
  * This queue can be used to interleave events received from the GitHub API with
  * periodic/scheduled queries.
+ * <p>
+ * Time is read from a {@link Clock}, and tasks are run by a {@link QueueScheduler},
+ * so the queue can also be driven in virtual time (see {@code QueueSimulator}
+ * in the benchmarks module).
+ * <p>
+ * The trace context of the caller is captured when a task is queued
+ * (or a retry is scheduled): the task runs in a child span.
+ * <p>
+ * A task that fails because a service circuit is open ({@link CircuitBreaker}) is
+ * deferred, and queued again (with its original type) once the circuit has closed.
  */
 @Singleton
 public class PeriodicUpdateQueue {
     public static final String CONFIG = "config";
 
+    /** How often retry tasks are checked, and requeued when ready */
+    public static final Duration RETRY_PERIOD = Duration.ofSeconds(30);
+
     public static final Runnable NOOP = () -> {
     };
 
@@ -68,43 +92,68 @@ public class PeriodicUpdateQueue {
     // out / slow down the queries we make to the GitHub API.
 
     private final BlockingQueue<Task> taskQueue = new LinkedBlockingQueue<>();
-    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    private Clock clock = Clock.systemUTC();
+    private QueueScheduler scheduler;
+    private List<Duration> retryDelays = List.of();
 
     /** Retry tasks: tasks that failed due to network or authentication issues that should be retried */
     private final Map<String, RetryTask> retryTasks = new ConcurrentHashMap<>();
 
+    /** Tasks rejected by an open circuit, waiting for the circuit to close */
+    private final Queue<DeferredTask> deferredTasks = new ConcurrentLinkedQueue<>();
+
     /** Background tasks: low priority; choose after main tasks quiesce */
     private final Map<String, Runnable> backgroundTasks = new ConcurrentHashMap<>();
 
     /** Pending reconcile tasks (by group) */
     private final Map<String, AtomicInteger> reconcileCounters = new ConcurrentHashMap<>();
 
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalWaitMs = new AtomicLong();
+    private final AtomicLong maxWaitMs = new AtomicLong();
+
     void startup(@Observes StartupEvent startup) {
         Log.debugf("🧵 Starting PeriodicUpdateQueue");
+        configure(Clock.systemUTC(), botConfig.queue().retryDelays());
+        start(QueueScheduler.singleThread(), botConfig.queue().initialDelay(), botConfig.queue().period());
+    }
 
-        long initialDelay = botConfig.queue().initialDelay().toMillis();
-        long period = botConfig.queue().period().toMillis();
+    void shutdown(@Observes ShutdownEvent shutdown) {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
 
-        // Don't flood. Plod along for interactions with GH API
-        executor.scheduleAtFixedRate(this::runTask,
-                initialDelay,
-                period,
-                TimeUnit.MILLISECONDS);
+    /**
+     * @param clock Clock used for task timestamps and retry times
+     * @param retryDelays Delay before each retry; the last delay applies to all further retries
+     */
+    void configure(Clock clock, List<Duration> retryDelays) {
+        this.clock = clock;
+        this.retryDelays = List.copyOf(retryDelays);
     }
 
-    void shutdown(@Observes ShutdownEvent shutdown) {
-        executor.shutdown();
+    /**
+     * Start running tasks (one every period), and checking retries.
+     */
+    void start(QueueScheduler scheduler, Duration initialDelay, Duration period) {
+        this.scheduler = scheduler;
+        // Don't flood. Plod along for interactions with GH API
+        scheduler.scheduleAtFixedRate(this::runTask, initialDelay, period);
+        scheduler.scheduleAtFixedRate(this::processRetries, RETRY_PERIOD, RETRY_PERIOD);
     }
 
     public void queue(String name, Runnable task) {
         Log.debugf("🧵 ❇️ CHANGE task %s", name);
-        taskQueue.add(new Task(TaskType.CHANGE, name, task));
+        taskQueue.add(new Task(TaskType.CHANGE, name, task, clock.millis(), Tracing.current()));
     }
 
     public void queueReconciliation(String name, Runnable task) {
         Log.debugf("🧵 ❇️ RECONCILE task %s", name);
         reconcileCounters.computeIfAbsent(name, k -> new AtomicInteger()).incrementAndGet();
-        taskQueue.add(new Task(TaskType.RECONCILE, name, task));
+        taskQueue.add(new Task(TaskType.RECONCILE, name, task, clock.millis(), Tracing.current()));
     }
 
     public void queueBackground(String name, Runnable task) {
@@ -123,7 +172,8 @@ public class PeriodicUpdateQueue {
      */
     public void scheduleReconciliationRetry(String name, Consumer<Integer> retryRunnable, int retryCount) {
         Log.debugf("🧵 ❇️ SCHEDULE task %s", name);
-        retryTasks.putIfAbsent(name, new RetryTask(name, retryRunnable, retryCount));
+        long nextRetryTime = clock.millis() + retryDelay(retryCount).toMillis();
+        retryTasks.putIfAbsent(name, new RetryTask(name, retryRunnable, retryCount, nextRetryTime, Tracing.current()));
     }
 
     private void runTask() {
@@ -138,6 +188,8 @@ public class PeriodicUpdateQueue {
     }
 
     private void run(Task task) {
+        QueueTaskEvent event = null;
+        Span span = Span.NOOP;
         try {
             boolean tryNext;
             do {
@@ -161,13 +213,37 @@ public class PeriodicUpdateQueue {
             // Execute the task
             Log.debugf("🧵 ➡️ %s %s task; %s tasks and %s background tasks remaining", task.type(), task.name(),
                     taskQueue.size(), backgroundTasks.size());
-            task.task().run();
+            long waitMs = clock.millis() - task.queuedAt();
+            totalWaitMs.addAndGet(waitMs);
+            maxWaitMs.accumulateAndGet(waitMs, Math::max);
+            span = Tracing.start("queue %s %s".formatted(task.type(), task.name()), task.trace())
+                    .attribute("waitMs", waitMs)
+                    .attribute("retry", task.task() instanceof RetryTask retry ? retry.retryCount : null);
+            event = QueueTaskEvent.start(task.type().name(), task.name(), waitMs);
+            ApiUsage.runInGroup(task.name(), task.task());
+            event.complete(true);
+            completed.incrementAndGet();
             Log.debugf("🧵 ⬅️ %s %s task; %s tasks and %s background tasks remaining", task.type(), task.name(),
                     taskQueue.size(), backgroundTasks.size());
         } catch (Throwable e) {
-            logMailer.logAndSendEmail("queue",
-                    "🧵 Error running %s %s task".formatted(task.type(), task.name()),
-                    e, logMailer.botErrorEmailAddress());
+            if (event != null) {
+                event.complete(false);
+            }
+            span.error(e);
+            String circuit = CircuitBreaker.openCircuit(e);
+            if (circuit != null) {
+                // A service is down: retry later rather than report an error for every task
+                Log.infof("🧵 🔌 %s %s task: %s; deferred until the circuit closes",
+                        task.type(), task.name(), e.getMessage());
+                deferredTasks.add(new DeferredTask(task, circuit));
+            } else {
+                failed.incrementAndGet();
+                logMailer.logAndSendEmail("queue",
+                        "🧵 Error running %s %s task".formatted(task.type(), task.name()),
+                        e, logMailer.botErrorEmailAddress());
+            }
+        } finally {
+            span.close();
         }
     }
 
@@ -181,43 +257,125 @@ public class PeriodicUpdateQueue {
             String taskName = entry.getKey();
             Runnable bgTask = entry.getValue();
             Log.debugf("🧵 BACKGROUND [begin] %s task", taskName);
+            QueueTaskEvent event = QueueTaskEvent.start("BACKGROUND", taskName, 0);
+            Span span = Tracing.start("queue BACKGROUND " + taskName, null);
             try {
-                bgTask.run();
+                ApiUsage.runInGroup(taskName, bgTask);
+                event.complete(true);
+                completed.incrementAndGet();
             } catch (Throwable e) {
+                event.complete(false);
+                span.error(e);
+                failed.incrementAndGet();
                 logMailer.logAndSendEmail("queue",
                         "🧵 Error running BACKGROUND %s task".formatted(taskName),
                         e, logMailer.botErrorEmailAddress());
+            } finally {
+                span.close();
             }
             Log.debugf("🧵 BACKGROUND [end] %s task", taskName);
         }
     }
 
     /**
-     * Requeue retriable tasks
+     * Requeue retriable tasks, and tasks deferred by an open circuit (every {@link #RETRY_PERIOD})
      */
-    @Scheduled(every = "30s")
     public void processRetries() {
+        long now = clock.millis();
+        processDeferred(now);
         // Use an iterator to safely remove while iterating
         Iterator<Map.Entry<String, RetryTask>> iterator = retryTasks.entrySet().iterator();
         while (iterator.hasNext()) {
             RetryTask retryTask = iterator.next().getValue();
-            if (retryTask.isReady()) {
+            if (retryTask.isReady(now)) {
                 iterator.remove();
                 Log.debugf("🧵 RETRY %s", retryTask.name);
-                taskQueue.add(new Task(TaskType.RECONCILE, retryTask.name, retryTask));
+                taskQueue.add(new Task(TaskType.RECONCILE, retryTask.name, retryTask, now, retryTask.trace));
+            }
+        }
+    }
+
+    /**
+     * Requeue deferred tasks with their original type: all tasks for a circuit
+     * once it has closed, or one task (to probe the service) while it is half-open.
+     */
+    private void processDeferred(long now) {
+        Set<String> probing = new HashSet<>();
+        Iterator<DeferredTask> iterator = deferredTasks.iterator();
+        while (iterator.hasNext()) {
+            DeferredTask deferred = iterator.next();
+            CircuitBreaker.State state = CircuitBreaker.forService(deferred.circuit()).state();
+            if (state == CircuitBreaker.State.CLOSED
+                    || (state == CircuitBreaker.State.HALF_OPEN && probing.add(deferred.circuit()))) {
+                iterator.remove();
+                Task task = deferred.task();
+                Log.debugf("🧵 🔌 %s %s task: %s is %s; requeue", task.type(), task.name(),
+                        deferred.circuit(), state);
+                if (task.type() == TaskType.RECONCILE) {
+                    reconcileCounters.computeIfAbsent(task.name(), k -> new AtomicInteger()).incrementAndGet();
+                }
+                taskQueue.add(new Task(task.type(), task.name(), task.task(), now, task.trace()));
             }
         }
     }
 
     public boolean isEmpty() {
-        return taskQueue.isEmpty() && retryTasks.isEmpty();
+        return taskQueue.isEmpty() && retryTasks.isEmpty() && deferredTasks.isEmpty();
+    }
+
+    /**
+     * @return current backlog and counters
+     */
+    public QueueStats stats() {
+        Task head = taskQueue.peek();
+        long oldest = head == null ? 0 : clock.millis() - head.queuedAt();
+        return new QueueStats(taskQueue.size(), oldest, retryTasks.size(), deferredTasks.size(),
+                backgroundTasks.size(), completed.get(), failed.get(), totalWaitMs.get(), maxWaitMs.get());
     }
 
     public String toString() {
         return "PeriodicUpdateQueue(%s :: %s)".formatted(taskQueue.size(), retryTasks.size());
     }
 
-    public record Task(TaskType type, String name, Runnable task) {
+    /**
+     * Backlog and counters.
+     * {@code deferred} counts tasks waiting for an open circuit to close.
+     * {@code totalWaitMs} and {@code maxWaitMs} measure the time (non-background)
+     * tasks spent in the queue before they were started.
+     */
+    @RegisterForReflection
+    public record QueueStats(int depth, long oldestAgeMs, int retries, int deferred, int background,
+            long completed, long failed, long totalWaitMs, long maxWaitMs) {
+    }
+
+    /**
+     * @param trace trace context of the caller that queued the task (may be null)
+     */
+    public record Task(TaskType type, String name, Runnable task, long queuedAt, TraceContext trace) {
+    }
+
+    /**
+     * @param circuit name of the circuit that rejected the task
+     */
+    record DeferredTask(Task task, String circuit) {
+    }
+
+    /**
+     * GitHub client only retries twice with 100ms delays.
+     * Our strategy should start after those quick retries would have failed
+     * (by default: 5 seconds, 30 seconds, 2 minutes, 10 minutes, then every 30 minutes).
+     *
+     * @param retryCount Previous retry count (0 for initial attempt)
+     * @return delay before the next attempt
+     */
+    Duration retryDelay(int retryCount) {
+        if (LaunchMode.TEST == LaunchMode.current()) {
+            return Duration.ofMillis(5); // tiny delay for tests
+        }
+        if (retryDelays.isEmpty()) {
+            return RETRY_PERIOD;
+        }
+        return retryDelays.get(Math.min(retryCount, retryDelays.size() - 1));
     }
 
     /**
@@ -233,34 +391,19 @@ public class PeriodicUpdateQueue {
         final Consumer<Integer> task;
         final int retryCount;
         final long nextRetryTime;
+        final TraceContext trace;
 
-        private RetryTask(String taskGroup, Consumer<Integer> retryRunnable, int retryCount) {
+        private RetryTask(String taskGroup, Consumer<Integer> retryRunnable, int retryCount, long nextRetryTime,
+                TraceContext trace) {
             this.name = taskGroup;
             this.task = retryRunnable;
             this.retryCount = retryCount + 1;
-
-            // GitHub client only retries twice with 100ms delays
-            // Our strategy should start after those quick retries would have failed
-            // First retry: 5 seconds
-            // Second retry: 30 seconds
-            // Third retry: 2 minutes
-            // Fourth retry: 10 minutes
-            // Fifth+ retry: 30 minutes
-            long delayMs = LaunchMode.TEST == LaunchMode.current()
-                    ? 5 // tiny delay for tests
-                    : switch (retryCount) {
-                        case 0 -> 5_000; // 5 seconds
-                        case 1 -> 30_000; // 30 seconds
-                        case 2 -> 120_000; // 2 minutes
-                        case 3 -> 600_000; // 10 minutes
-                        default -> 1_800_000; // 30 minutes
-                    };
-
-            this.nextRetryTime = System.currentTimeMillis() + delayMs;
+            this.nextRetryTime = nextRetryTime;
+            this.trace = trace;
         }
 
-        private boolean isReady() {
-            return System.currentTimeMillis() >= nextRetryTime;
+        private boolean isReady(long now) {
+            return now >= nextRetryTime;
         }
 
         @Override
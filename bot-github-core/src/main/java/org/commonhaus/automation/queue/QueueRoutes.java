@@ -0,0 +1,101 @@
+package org.commonhaus.automation.queue;
+
+import java.util.Map;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.commonhaus.automation.CircuitBreaker;
+import org.commonhaus.automation.CircuitBreaker.State;
+import org.commonhaus.automation.config.LocalRouteOnly;
+import org.commonhaus.automation.mail.MailOutbox;
+import org.commonhaus.automation.mail.MailOutbox.OutboxStats;
+import org.commonhaus.automation.queue.BacklogMonitor.Backlog;
+import org.commonhaus.automation.queue.PeriodicUpdateQueue.QueueStats;
+import org.commonhaus.automation.queue.WebhookIngestQueue.IngestStats;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.quarkus.vertx.web.Route;
+import io.quarkus.vertx.web.Route.HttpMethod;
+import io.quarkus.vertx.web.RoutingExchange;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Backlog and counters for the work queues (webhook ingest, periodic updates, mail outbox).
+ * <p>
+ * Polled by the load test harness (see {@code benchmarks/README.md}).
+ * <p>
+ * {@code /ready} is a readiness check: it returns 503 (with Retry-After)
+ * when the update queue is past a readiness threshold (see {@link BacklogMonitor}).
+ * {@code /queueStats} also lists open circuits (see {@link CircuitBreaker}).
+ */
+@Singleton
+public class QueueRoutes implements LocalRouteOnly {
+
+    @Inject
+    WebhookIngestQueue ingestQueue;
+
+    @Inject
+    PeriodicUpdateQueue updateQueue;
+
+    @Inject
+    MailOutbox mailOutbox;
+
+    @Inject
+    BacklogMonitor backlogMonitor;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Route(path = "/queueStats", order = 99, produces = "application/json", methods = { HttpMethod.GET })
+    public void reportQueueStats(RoutingContext routingContext, RoutingExchange routingExchange) {
+        if (!isDirectConnection(routingExchange)) {
+            rejectNonLocalAccess(routingExchange);
+            return;
+        }
+        try {
+            QueueReport report = new QueueReport(System.currentTimeMillis(),
+                    ingestQueue.stats(), updateQueue.stats(), mailOutbox.stats(),
+                    CircuitBreaker.openCircuits());
+            routingExchange.ok().end(objectMapper.writeValueAsString(report));
+        } catch (JsonProcessingException e) {
+            Log.error("Unable to serialize queue stats", e);
+            routingExchange.serverError().end();
+        }
+    }
+
+    @Route(path = "/ready", order = 99, produces = "application/json", methods = { HttpMethod.GET })
+    public void reportReadiness(RoutingContext routingContext, RoutingExchange routingExchange) {
+        if (!isDirectConnection(routingExchange)) {
+            rejectNonLocalAccess(routingExchange);
+            return;
+        }
+        try {
+            Backlog backlog = backlogMonitor.check();
+            String body = objectMapper.writeValueAsString(backlog);
+            if (backlog.isReady()) {
+                routingExchange.ok().end(body);
+            } else {
+                routingExchange.response()
+                        .setStatusCode(503)
+                        .putHeader("Retry-After", String.valueOf(backlogMonitor.retryAfter().toSeconds()))
+                        .end(body);
+            }
+        } catch (JsonProcessingException e) {
+            Log.error("Unable to serialize backlog", e);
+            routingExchange.serverError().end();
+        }
+    }
+
+    /**
+     * @param circuits state of circuit breakers that are not closed
+     */
+    @RegisterForReflection
+    public record QueueReport(long timestamp, IngestStats ingest, QueueStats updates, OutboxStats outbox,
+            Map<String, State> circuits) {
+    }
+}
@@ -0,0 +1,48 @@
+package org.commonhaus.automation.queue;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the periodic work of the {@link PeriodicUpdateQueue}.
+ * <p>
+ * The default runs all work on a single thread, in real time.
+ * Other implementations can run the queue in virtual time.
+ */
+public interface QueueScheduler {
+
+    /**
+     * Run a task periodically. Runs never overlap: if a run takes longer
+     * than the period, the next one starts late.
+     *
+     * @param task Work to perform
+     * @param initialDelay Delay before the first run
+     * @param period Time between the start of successive runs
+     */
+    void scheduleAtFixedRate(Runnable task, Duration initialDelay, Duration period);
+
+    /**
+     * Stop running tasks
+     */
+    void shutdown();
+
+    /**
+     * @return scheduler that runs all tasks on one thread
+     */
+    static QueueScheduler singleThread() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        return new QueueScheduler() {
+            @Override
+            public void scheduleAtFixedRate(Runnable task, Duration initialDelay, Duration period) {
+                executor.scheduleAtFixedRate(task, initialDelay.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void shutdown() {
+                executor.shutdown();
+            }
+        };
+    }
+}
@@ -7,6 +7,9 @@ import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 
 import org.commonhaus.automation.github.discovery.BootstrapDiscoveryEvent;
+import org.commonhaus.automation.shard.InstallationShards;
+
+import io.quarkus.logging.Log;
 
 public abstract class ScheduledService {
     protected volatile String lastRun = "never";
@@ -14,8 +17,30 @@ public abstract class ScheduledService {
     @Inject
     protected TaskStateService taskState;
 
+    @Inject
+    protected InstallationShards shards;
+
     protected abstract String me();
 
+    /**
+     * Scheduled work for an organization runs on the replica that owns
+     * its installation (see {@link InstallationShards}).
+     * <p>
+     * Services that work on a single organization (haus-manager works on
+     * the home organization; haus-keeper on the data store) run all of
+     * their scheduled jobs on one replica when sharding is enabled.
+     *
+     * @param orgOrFullName Organization name, or repository full name
+     * @return true if this replica should run scheduled work for the organization
+     */
+    protected boolean ownsScheduledWork(String orgOrFullName) {
+        if (shards.ownsOrganization(orgOrFullName)) {
+            return true;
+        }
+        Log.infof("[%s] ⏰ skip: %s is handled by another replica", me(), orgOrFullName);
+        return false;
+    }
+
     protected void recordRun() {
         lastRun = taskState.recordRun(me()).toString();
     }
@@ -0,0 +1,297 @@
+package org.commonhaus.automation.queue;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.commonhaus.automation.ApiUsage;
+import org.commonhaus.automation.config.BotConfig;
+import org.commonhaus.automation.config.BotConfig.IngestConfig;
+import org.commonhaus.automation.config.BotConfig.OverflowPolicy;
+import org.commonhaus.automation.mail.LogMailer;
+import org.commonhaus.automation.trace.Span;
+import org.commonhaus.automation.trace.TraceContext;
+import org.commonhaus.automation.trace.Tracing;
+
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.quarkus.scheduler.Scheduled;
+
+/**
+ * Bounded hand-off between webhook delivery and event processing.
+ * <p>
+ * Webhook handlers read what they need from the delivery (payload, config file),
+ * and submit the remaining work here, so the delivery can be acknowledged
+ * without waiting on GitHub API queries.
+ * <p>
+ * Work is spread across a fixed number of lanes (single threads with a bounded queue).
+ * Work for the same key (repository) always uses the same lane, so events for
+ * a repository are processed in the order they were received.
+ * When a lane is full, the configured {@link OverflowPolicy} applies; no policy
+ * runs an event ahead of events already queued for the same key:
+ * <ul>
+ * <li>{@code BLOCK}: the delivery thread waits for room in the lane, and the event
+ * is dropped (and counted) if none is available in time.</li>
+ * <li>{@code DROP_NEWEST}: the event is dropped.</li>
+ * <li>{@code DROP_OLDEST}: the oldest queued event for the same key is dropped.
+ * If there is none, the new event is dropped: a busy repository
+ * can't evict events for other repositories.</li>
+ * </ul>
+ * <p>
+ * Work runs in a child span of the span that submitted it (the webhook handler).
+ */
+@Singleton
+public class WebhookIngestQueue {
+    /** Task group for API usage made while processing webhook events */
+    public static final String TASK_GROUP = "webhook";
+
+    @Inject
+    BotConfig botConfig;
+
+    @Inject
+    LogMailer logMailer;
+
+    private volatile ThreadPoolExecutor[] lanes = new ThreadPoolExecutor[0];
+    private int capacity;
+    private OverflowPolicy overflow = OverflowPolicy.BLOCK;
+    private Duration blockTimeout = Duration.ZERO;
+
+    final AtomicLong accepted = new AtomicLong();
+    final AtomicLong completed = new AtomicLong();
+    final AtomicLong dropped = new AtomicLong();
+    final AtomicLong blocked = new AtomicLong();
+    final AtomicLong totalWaitMs = new AtomicLong();
+    final AtomicLong maxWaitMs = new AtomicLong();
+    final AtomicInteger highWater = new AtomicInteger();
+
+    void startup(@Observes StartupEvent startup) {
+        IngestConfig config = botConfig.ingest();
+        configure(config.lanes(), config.capacity(), config.overflow(), config.blockTimeout());
+    }
+
+    void shutdown(@Observes ShutdownEvent shutdown) {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    void configure(int laneCount, int capacity, OverflowPolicy overflow, Duration blockTimeout) {
+        Log.debugf("🧵 Starting WebhookIngestQueue: %s lanes, capacity %s, %s", laneCount, capacity, overflow);
+        this.capacity = capacity;
+        this.overflow = overflow;
+        this.blockTimeout = blockTimeout;
+
+        ThreadPoolExecutor[] newLanes = new ThreadPoolExecutor[Math.max(0, laneCount)];
+        for (int i = 0; i < newLanes.length; i++) {
+            String threadName = "webhook-lane-" + i;
+            newLanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, capacity)),
+                    r -> {
+                        Thread t = new Thread(r, threadName);
+                        t.setDaemon(true);
+                        return t;
+                    },
+                    new Overflow());
+            // Blocked submissions add to the queue directly: the lane thread must be running
+            newLanes[i].prestartAllCoreThreads();
+        }
+        this.lanes = newLanes;
+    }
+
+    /**
+     * Submit work for a received event.
+     * <p>
+     * If no lanes are configured, the work runs immediately on the calling thread
+     * (and errors propagate to the caller).
+     *
+     * @param key Ordering key (e.g. repository full name); work with the same key runs in order
+     * @param name Task name (for logging)
+     * @param task Work to perform
+     */
+    public void submit(String key, String name, Runnable task) {
+        ThreadPoolExecutor[] current = lanes;
+        accepted.incrementAndGet();
+        if (current.length == 0) {
+            ApiUsage.runInGroup(TASK_GROUP, task);
+            completed.incrementAndGet();
+            return;
+        }
+        ThreadPoolExecutor lane = current[Math.floorMod(String.valueOf(key).hashCode(), current.length)];
+        lane.execute(new IngestTask(key, name, task, System.currentTimeMillis(), Tracing.current()));
+        highWater.accumulateAndGet(lane.getQueue().size(), Math::max);
+    }
+
+    /**
+     * @return current backlog and counters
+     */
+    public IngestStats stats() {
+        ThreadPoolExecutor[] current = lanes;
+        int depth = 0;
+        long oldest = 0;
+        long now = System.currentTimeMillis();
+        for (ThreadPoolExecutor lane : current) {
+            depth += lane.getQueue().size();
+            if (lane.getQueue().peek() instanceof IngestTask head) {
+                oldest = Math.max(oldest, now - head.queuedAt);
+            }
+        }
+        return new IngestStats(current.length, capacity, overflow, depth, oldest,
+                highWater.get(), accepted.get(), completed.get(), dropped.get(), blocked.get(),
+                totalWaitMs.get(), maxWaitMs.get());
+    }
+
+    public boolean isEmpty() {
+        for (ThreadPoolExecutor lane : lanes) {
+            if (!lane.getQueue().isEmpty() || lane.getActiveCount() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Log the backlog (if any)
+     */
+    @Scheduled(every = "1m")
+    void logBacklog() {
+        IngestStats stats = stats();
+        if (stats.depth() > 0 || stats.dropped() > 0) {
+            Log.infof("🧵 %s", stats);
+        }
+    }
+
+    public String toString() {
+        return "WebhookIngestQueue(%s)".formatted(stats());
+    }
+
+    private void run(IngestTask task) {
+        long waitMs = System.currentTimeMillis() - task.queuedAt;
+        totalWaitMs.addAndGet(waitMs);
+        maxWaitMs.accumulateAndGet(waitMs, Math::max);
+        Span span = Tracing.start("ingest " + task.name, task.trace)
+                .attribute("waitMs", waitMs);
+        try {
+            ApiUsage.runInGroup(TASK_GROUP, task.task);
+        } catch (Throwable e) {
+            span.error(e);
+            logMailer.logAndSendEmail("ingest",
+                    "🧵 Error processing %s event".formatted(task.name),
+                    e, logMailer.botErrorEmailAddress());
+        } finally {
+            span.close();
+            completed.incrementAndGet();
+        }
+    }
+
+    class Overflow implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                drop(r, "shutdown");
+                return;
+            }
+            switch (overflow) {
+                case BLOCK -> block(r, executor);
+                case DROP_NEWEST -> drop(r, "lane full");
+                case DROP_OLDEST -> {
+                    Runnable oldest = oldestForKey(r, executor);
+                    if (oldest == null) {
+                        drop(r, "lane full");
+                    } else {
+                        drop(oldest, "lane full");
+                        executor.execute(r);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Wait for room in the lane: the event is queued behind events
+         * already waiting (for the same key).
+         */
+        private void block(Runnable r, ThreadPoolExecutor executor) {
+            blocked.incrementAndGet();
+            try {
+                if (executor.getQueue().offer(r, blockTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                drop(r, "lane full for " + blockTimeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                drop(r, "interrupted");
+            }
+        }
+
+        /**
+         * @return the oldest queued event with the same key (removed from the lane),
+         *         or null if there is none
+         */
+        private Runnable oldestForKey(Runnable r, ThreadPoolExecutor executor) {
+            if (r instanceof IngestTask task) {
+                for (Runnable queued : executor.getQueue()) {
+                    if (queued instanceof IngestTask other
+                            && Objects.equals(task.key, other.key)
+                            && executor.getQueue().remove(queued)) {
+                        return queued;
+                    }
+                }
+            }
+            return null;
+        }
+
+        private void drop(Runnable r, String reason) {
+            dropped.incrementAndGet();
+            Log.warnf("🧵 ❎ Dropping %s (%s)", r, reason);
+        }
+    }
+
+    class IngestTask implements Runnable {
+        final String key;
+        final String name;
+        final Runnable task;
+        final long queuedAt;
+        final TraceContext trace;
+
+        IngestTask(String key, String name, Runnable task, long queuedAt, TraceContext trace) {
+            this.key = key;
+            this.name = name;
+            this.task = task;
+            this.queuedAt = queuedAt;
+            this.trace = trace;
+        }
+
+        @Override
+        public void run() {
+            WebhookIngestQueue.this.run(this);
+        }
+
+        @Override
+        public String toString() {
+            return "IngestTask(%s)".formatted(name);
+        }
+    }
+
+    /**
+     * Backlog and counters.
+     * {@code blocked} counts events that waited for room in a full lane.
+     * {@code totalWaitMs} and {@code maxWaitMs} measure the time tasks spent
+     * in a lane before they were started.
+     */
+    @RegisterForReflection
+    public record IngestStats(int lanes, int capacity, OverflowPolicy overflow,
+            int depth, long oldestAgeMs, int highWater,
+            long accepted, long completed, long dropped, long blocked,
+            long totalWaitMs, long maxWaitMs) {
+    }
+}
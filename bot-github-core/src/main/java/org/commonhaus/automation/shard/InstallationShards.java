@@ -0,0 +1,317 @@
+package org.commonhaus.automation.shard;
+
+import static org.commonhaus.automation.github.context.GitHubQueryContext.toOrganizationName;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.commonhaus.automation.config.BotConfig;
+import org.commonhaus.automation.config.BotConfig.ShardConfig;
+import org.commonhaus.automation.github.context.WebhookDeduplicator;
+import org.commonhaus.automation.github.scopes.ScopedInstallationMap;
+import org.commonhaus.automation.shard.ShardMembership.Member;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.quarkiverse.githubapp.GitHubEvent;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.LaunchMode;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Divide GitHub installations between replicas ({@code automation.shard}).
+ * <p>
+ * Replicas that share a membership directory place themselves on a
+ * {@link ShardRing}; each installation is owned by one replica.
+ * Every replica discovers all installations (so any replica can serve
+ * API requests), but only the owner of an installation:
+ * <ul>
+ * <li>handles its webhook deliveries ({@link #accept(GitHubEvent)}).
+ * Deliveries received by another replica are forwarded to the owner
+ * (if the owner has a URL), or ignored. Installation changes are sent
+ * to all replicas ({@link #broadcast(GitHubEvent)}).</li>
+ * <li>runs scheduled and bootstrap work for it ({@link #owns(long)},
+ * {@link #ownsOrganization(String)}).</li>
+ * </ul>
+ * Scheduled jobs that work on one organization (e.g. every haus-manager job,
+ * which works on the home organization) run only on the replica that owns
+ * that organization's installation.
+ * When sharding is disabled, this replica owns everything.
+ * Ownership is re-evaluated on every heartbeat: when a replica joins
+ * or leaves, only its installations move.
+ */
+@Singleton
+public class InstallationShards {
+    static final String ME = ShardMembership.ME;
+
+    /** Payload attribute added to forwarded deliveries: the owner handles them as-is */
+    static final String FORWARDED_BY = "automation_forwarded_by";
+
+    @Inject
+    BotConfig botConfig;
+
+    @Inject
+    ScopedInstallationMap installationMap;
+
+    @ConfigProperty(name = "quarkus.github-app.webhook-secret")
+    Optional<String> webhookSecret;
+
+    @ConfigProperty(name = "quarkus.github-app.webhook-url-path", defaultValue = "/")
+    String webhookPath;
+
+    private String replica;
+    private String url;
+    private ShardMembership membership;
+    private volatile ShardRing ring;
+    private volatile Map<String, Member> members = Map.of();
+    private HttpClient httpClient;
+
+    void startup(@Observes StartupEvent startup) {
+        ShardConfig config = botConfig.shard();
+        if (!config.enabled() || LaunchMode.current() == LaunchMode.TEST) {
+            return;
+        }
+        String directory = config.directory()
+                .or(() -> botConfig.queue().stateDirectory().map(d -> Path.of(d, "shards").toString()))
+                .orElse(null);
+        if (directory == null) {
+            Log.warnf("[%s] Sharding requires automation.shard.directory or automation.queue.state-directory; "
+                    + "this replica will handle all installations", ME);
+            return;
+        }
+        configure(config.replica().orElseGet(InstallationShards::hostName),
+                config.url().orElse(null),
+                new ShardMembership(Path.of(directory)));
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Log.infof("[%s] Replica %s (membership in %s)", ME, replica, directory);
+        heartbeat();
+    }
+
+    void configure(String replica, String url, ShardMembership membership) {
+        this.replica = replica;
+        this.url = url;
+        this.membership = membership;
+    }
+
+    void shutdown(@Observes ShutdownEvent shutdown) {
+        if (membership != null) {
+            membership.leave(replica);
+        }
+    }
+
+    /**
+     * Refresh this replica's membership, and recompute the ring.
+     */
+    @Scheduled(every = "${automation.shard.heartbeat:30s}", delayed = "${automation.shard.heartbeat:30s}")
+    void heartbeat() {
+        if (membership == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            membership.heartbeat(new Member(replica, url, now));
+        } catch (IOException e) {
+            Log.warnf("[%s] Unable to update membership of %s: %s", ME, replica, e);
+        }
+        refresh(membership.members(now, botConfig.shard().expiry()));
+    }
+
+    void refresh(List<Member> live) {
+        Map<String, Member> current = live.stream()
+                .collect(Collectors.toMap(Member::replica, Function.identity(), (a, b) -> a));
+        // This replica is alive, even if its own heartbeat could not be written or read
+        current.putIfAbsent(replica, new Member(replica, url, System.currentTimeMillis()));
+        if (ring == null || !current.keySet().equals(members.keySet())) {
+            ring = new ShardRing(current.keySet());
+            Log.infof("[%s] %s: replicas %s", ME, replica, ring.members());
+        }
+        members = Map.copyOf(current);
+    }
+
+    /**
+     * @return true if installations are divided between replicas
+     */
+    public boolean isEnabled() {
+        return ring != null;
+    }
+
+    /**
+     * @return name of this replica (null if sharding is disabled)
+     */
+    public String replica() {
+        return replica;
+    }
+
+    /**
+     * @param installationId GitHub installation id
+     * @return true if this replica should do work for the installation
+     */
+    public boolean owns(long installationId) {
+        ShardRing current = ring;
+        return current == null || replica.equals(current.owner(installationId));
+    }
+
+    /**
+     * @return true if this replica should run work that is not tied to an installation
+     *         (the first replica, by name)
+     */
+    public boolean isLeader() {
+        ShardRing current = ring;
+        return current == null || replica.equals(current.members().get(0));
+    }
+
+    /**
+     * @param orgOrFullName Organization name, or repository full name
+     * @return true if this replica should do work for the organization's installation
+     */
+    public boolean ownsOrganization(String orgOrFullName) {
+        ShardRing current = ring;
+        if (current == null || orgOrFullName == null) {
+            return true;
+        }
+        Optional<Long> installationId = installationMap.getInstallationId(orgOrFullName);
+        String owner = installationId.isPresent()
+                ? current.owner(installationId.get())
+                : current.owner("organization:" + toOrganizationName(orgOrFullName));
+        return replica.equals(owner);
+    }
+
+    /**
+     * Check if this replica should handle a webhook delivery.
+     * <p>
+     * A delivery for an installation owned by another replica is forwarded to
+     * that replica once (several handlers may see the same delivery),
+     * or ignored if the owner has no URL.
+     *
+     * @param event webhook event
+     * @return true if the event should be handled by this replica
+     */
+    public boolean accept(GitHubEvent event) {
+        Long installationId = event.getInstallationId();
+        ShardRing current = ring;
+        if (current == null || installationId == null) {
+            return true;
+        }
+        String owner = current.owner(installationId);
+        if (replica.equals(owner) || isForwarded(event)) {
+            return true;
+        }
+        if (!WebhookDeduplicator.isRedelivery(ME, event)) {
+            forward(ME, event, members.get(owner));
+        }
+        return false;
+    }
+
+    /**
+     * Send an installation change to all other replicas: every replica
+     * discovers all installations. Forwarded deliveries are not sent again.
+     *
+     * @param event installation or installation_repositories webhook event
+     */
+    public void broadcast(GitHubEvent event) {
+        if (ring == null || isForwarded(event) || WebhookDeduplicator.isRedelivery(ME + "-broadcast", event)) {
+            return;
+        }
+        for (Member member : members.values()) {
+            if (!replica.equals(member.replica())) {
+                forward(ME + "-broadcast", event, member);
+            }
+        }
+    }
+
+    static boolean isForwarded(GitHubEvent event) {
+        JsonObject payload = event.getParsedPayload();
+        return payload != null && payload.getValue(FORWARDED_BY) != null;
+    }
+
+    /**
+     * Send a delivery to another replica. If it can't be delivered,
+     * the delivery is forgotten so that a redelivery is forwarded again.
+     *
+     * @param consumer De-duplication consumer that recorded the delivery
+     */
+    void forward(String consumer, GitHubEvent event, Member owner) {
+        if (owner == null || owner.url() == null || httpClient == null) {
+            Log.debugf("[%s] %s: ignore %s for installation %s (owned by %s)", ME, replica,
+                    event.getEventAction(), event.getInstallationId(), owner == null ? "?" : owner.replica());
+            return;
+        }
+        String body = event.getParsedPayload().copy()
+                .put(FORWARDED_BY, replica)
+                .encode();
+        String target = owner.url().replaceAll("/+$", "") + (webhookPath.startsWith("/") ? "" : "/") + webhookPath;
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(target))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .header("X-GitHub-Event", event.getEvent())
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        // Redelivered or synthetic events may not have a delivery id
+        if (event.getDeliveryId() != null) {
+            request.header("X-GitHub-Delivery", event.getDeliveryId());
+        }
+        if (webhookSecret.isPresent()) {
+            request.header("X-Hub-Signature-256", sign(webhookSecret.get(), body));
+        }
+        Log.debugf("[%s] %s: forward %s for installation %s to %s", ME, replica,
+                event.getEventAction(), event.getInstallationId(), owner.replica());
+        httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, e) -> {
+                    if (e != null || response.statusCode() >= 300) {
+                        WebhookDeduplicator.forget(consumer, event);
+                        Log.warnf("[%s] %s: unable to forward delivery %s to %s: %s", ME, replica,
+                                event.getDeliveryId(), owner.replica(), e == null ? response.statusCode() : e);
+                    }
+                });
+    }
+
+    /**
+     * Sign a payload as GitHub does: the owner verifies forwarded deliveries
+     * with the shared webhook secret.
+     */
+    static String sign(String secret, String body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return "sha256=" + HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign forwarded delivery", e);
+        }
+    }
+
+    static String hostName() {
+        String hostName = System.getenv("HOSTNAME");
+        if (hostName != null && !hostName.isBlank()) {
+            return hostName;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            return "replica-" + ProcessHandle.current().pid();
+        }
+    }
+}
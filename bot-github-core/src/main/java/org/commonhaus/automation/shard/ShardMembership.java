@@ -0,0 +1,106 @@
+package org.commonhaus.automation.shard;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.commonhaus.automation.ContextService;
+
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Replica membership, kept in a directory shared by all replicas.
+ * <p>
+ * Each replica owns one file ({@code <replica>.member.yaml}) that it rewrites
+ * on every heartbeat, and removes when it shuts down. Files are replaced
+ * atomically, so readers never see a partial write, and no lock is needed.
+ * A replica whose heartbeat is older than the expiry has left
+ * (e.g. it was stopped without shutting down).
+ */
+public class ShardMembership {
+    static final String ME = "🧩 shard";
+    static final String SUFFIX = ".member.yaml";
+
+    /**
+     * @param replica Name of the replica
+     * @param url Base URL used to forward webhook deliveries to the replica (may be null)
+     * @param heartbeat Time of the last heartbeat (epoch milliseconds)
+     */
+    @RegisterForReflection
+    public record Member(String replica, String url, long heartbeat) {
+    }
+
+    private final Path directory;
+
+    public ShardMembership(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Create or refresh the membership file of a replica
+     */
+    public void heartbeat(Member member) throws IOException {
+        Files.createDirectories(directory);
+        Path file = memberFile(member.replica());
+        Path tmp = Files.createTempFile(directory, ".member", ".tmp");
+        try {
+            Files.writeString(tmp, ContextService.yamlMapper.writeValueAsString(member));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * @param now Current time (epoch milliseconds)
+     * @param expiry Time after which a replica without a heartbeat has left
+     * @return live replicas
+     */
+    public List<Member> members(long now, Duration expiry) {
+        List<Member> members = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return members;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    Member member = ContextService.yamlMapper.readValue(file.toFile(), Member.class);
+                    if (now - member.heartbeat() <= expiry.toMillis()) {
+                        members.add(member);
+                    }
+                } catch (IOException e) {
+                    // removed or replaced while reading; picked up by the next heartbeat
+                    Log.debugf("[%s] Unable to read %s: %s", ME, file, e);
+                }
+            }
+        } catch (IOException e) {
+            Log.warnf("[%s] Unable to list replicas in %s: %s", ME, directory, e);
+        }
+        return members;
+    }
+
+    /**
+     * Remove the membership file of a replica
+     */
+    public void leave(String replica) {
+        try {
+            Files.deleteIfExists(memberFile(replica));
+        } catch (IOException e) {
+            Log.warnf("[%s] Unable to remove %s from %s: %s", ME, replica, directory, e);
+        }
+    }
+
+    Path memberFile(String replica) {
+        return directory.resolve(replica.replaceAll("[^A-Za-z0-9._-]", "_") + SUFFIX);
+    }
+}
@@ -0,0 +1,83 @@
+package org.commonhaus.automation.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring of replicas.
+ * <p>
+ * Each replica is placed on the ring {@value #VIRTUAL_NODES} times;
+ * a key (e.g. an installation) is owned by the first replica found
+ * clockwise from the hash of the key. When a replica joins or leaves,
+ * only the keys of that replica move.
+ */
+public class ShardRing {
+    static final int VIRTUAL_NODES = 100;
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final List<String> members;
+
+    /**
+     * @param members Names of the replicas (must not be empty)
+     */
+    public ShardRing(Collection<String> members) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("A shard ring needs at least one member");
+        }
+        this.members = members.stream().sorted().distinct().toList();
+        for (String member : this.members) {
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                ring.put(hash(member + "#" + i), member);
+            }
+        }
+    }
+
+    /**
+     * @return names of the replicas, sorted
+     */
+    public List<String> members() {
+        return members;
+    }
+
+    /**
+     * @param installationId GitHub installation id
+     * @return name of the replica that owns the installation
+     */
+    public String owner(long installationId) {
+        return owner("installation:" + installationId);
+    }
+
+    /**
+     * @param key Key to place on the ring
+     * @return name of the replica that owns the key
+     */
+    public String owner(String key) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry == null ? ring.firstEntry().getValue() : entry.getValue();
+    }
+
+    /**
+     * 64-bit FNV-1a, with a final mix to spread similar keys
+     * (e.g. consecutive installation ids) around the ring.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "ShardRing" + members;
+    }
+}
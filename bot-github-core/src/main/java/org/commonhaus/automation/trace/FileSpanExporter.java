@@ -0,0 +1,66 @@
+package org.commonhaus.automation.trace;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.commonhaus.automation.trace.Span.SpanData;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkus.logging.Log;
+
+/**
+ * Appends spans to a file, one JSON object per line.
+ */
+public class FileSpanExporter implements SpanExporter {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Path file;
+    private BufferedWriter writer;
+
+    public FileSpanExporter(Path file) throws IOException {
+        this.file = file;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void export(SpanData span) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(mapper.writeValueAsString(span));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            Log.warnf(e, "Unable to write span to %s; disabling file exporter", file);
+            close();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            Log.debugf(e, "Unable to close %s", file);
+        }
+        writer = null;
+    }
+
+    @Override
+    public String toString() {
+        return "FileSpanExporter(%s)".formatted(file);
+    }
+}
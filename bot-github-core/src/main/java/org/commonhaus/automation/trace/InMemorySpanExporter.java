@@ -0,0 +1,106 @@
+package org.commonhaus.automation.trace;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.commonhaus.automation.trace.Span.SpanData;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Keeps the most recent spans in memory.
+ * When the exporter is full, the oldest span is discarded.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+    private final Deque<SpanData> spans = new ArrayDeque<>();
+    private final int capacity;
+
+    public InMemorySpanExporter(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    @Override
+    public void export(SpanData span) {
+        synchronized (spans) {
+            spans.addLast(span);
+            if (spans.size() > capacity) {
+                spans.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * @return all retained spans, in the order they finished
+     */
+    public List<SpanData> spans() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    /**
+     * @param traceId trace id
+     * @return retained spans of the trace, ordered by start time
+     */
+    public List<SpanData> trace(String traceId) {
+        return spans().stream()
+                .filter(s -> s.traceId().equals(traceId))
+                .sorted(Comparator.comparingLong(SpanData::start))
+                .toList();
+    }
+
+    /**
+     * @return retained traces, most recently started first
+     */
+    public List<TraceSummary> traces() {
+        Map<String, List<SpanData>> byTrace = new LinkedHashMap<>();
+        for (SpanData span : spans()) {
+            byTrace.computeIfAbsent(span.traceId(), k -> new ArrayList<>()).add(span);
+        }
+        return byTrace.entrySet().stream()
+                .map(e -> TraceSummary.of(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingLong(TraceSummary::start).reversed())
+                .toList();
+    }
+
+    public void clear() {
+        synchronized (spans) {
+            spans.clear();
+        }
+    }
+
+    /**
+     * Summary of the retained spans of one trace.
+     *
+     * @param name name of the earliest span
+     * @param start start time of the earliest span (epoch microseconds)
+     * @param durationMicros time from the first start to the last end (microseconds)
+     * @param errors number of spans with an error status
+     */
+    @RegisterForReflection
+    public record TraceSummary(String traceId, String name, long start, long durationMicros,
+            int spans, int errors) {
+
+        static TraceSummary of(String traceId, List<SpanData> spans) {
+            SpanData first = spans.get(0);
+            long end = 0;
+            int errors = 0;
+            for (SpanData span : spans) {
+                if (span.start() < first.start()) {
+                    first = span;
+                }
+                end = Math.max(end, span.start() + span.durationMicros());
+                if (span.isError()) {
+                    errors++;
+                }
+            }
+            return new TraceSummary(traceId, first.name(), first.start(), end - first.start(),
+                    spans.size(), errors);
+        }
+    }
+}
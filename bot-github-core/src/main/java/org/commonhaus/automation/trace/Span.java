@@ -0,0 +1,142 @@
+package org.commonhaus.automation.trace;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * A unit of work within a trace.
+ * <p>
+ * A span is the current span of the thread that started it until it is closed
+ * (use {@link Tracing#inSpan(Span, Runnable)} or try-with-resources). Spans started while it is current are its children.
+ * Closed spans are sent to the {@link SpanExporter}.
+ * <p>
+ * When tracing is disabled, {@link Tracing} returns {@link #NOOP}.
+ */
+public class Span implements AutoCloseable {
+    public static final String OK = "ok";
+
+    /** Epoch time (microseconds) at nanoTime 0: start times are monotonic, with microsecond precision */
+    private static final long EPOCH_MICROS_OFFSET = System.currentTimeMillis() * 1000 - System.nanoTime() / 1000;
+
+    /** Span returned when tracing is disabled: records nothing */
+    public static final Span NOOP = new Span(null, null, null, null) {
+        @Override
+        public Span attribute(String key, Object value) {
+            return this;
+        }
+
+        @Override
+        public Span status(String status) {
+            return this;
+        }
+
+        @Override
+        public Span error(Throwable e) {
+            return this;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    final String name;
+    final TraceContext context;
+    final String parentId;
+    final Span previous;
+    final long startEpochMicros;
+    final long startNanos;
+    final String thread;
+    final Map<String, Object> attributes = new LinkedHashMap<>();
+    String status = OK;
+    private boolean closed;
+
+    Span(String name, TraceContext context, String parentId, Span previous) {
+        this.name = name;
+        this.context = context;
+        this.parentId = parentId;
+        this.previous = previous;
+        this.startNanos = System.nanoTime();
+        this.startEpochMicros = EPOCH_MICROS_OFFSET + startNanos / 1000;
+        this.thread = Thread.currentThread().getName();
+    }
+
+    /**
+     * @return true if this span will be exported
+     *         (use to skip work done only to add attributes)
+     */
+    public boolean isRecording() {
+        return this != NOOP;
+    }
+
+    /**
+     * @return context of this span (null for {@link #NOOP})
+     */
+    public TraceContext context() {
+        return context;
+    }
+
+    public Span attribute(String key, Object value) {
+        if (value != null) {
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    /**
+     * @param status outcome: {@value #OK}, an HTTP status code, an exception type, etc.
+     */
+    public Span status(String status) {
+        this.status = status;
+        return this;
+    }
+
+    /**
+     * Mark the span as failed
+     */
+    public Span error(Throwable e) {
+        this.status = e.getClass().getSimpleName();
+        return attribute("error", e.getMessage());
+    }
+
+    /**
+     * End the span: restores the previous span of this thread, and exports this one.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        Tracing.end(this, (System.nanoTime() - startNanos) / 1000);
+    }
+
+    SpanData toData(long durationMicros) {
+        return new SpanData(context.traceId(), context.spanId(), parentId, name,
+                startEpochMicros, durationMicros, status, thread, Map.copyOf(attributes));
+    }
+
+    @Override
+    public String toString() {
+        return "Span(%s %s)".formatted(name, context == null ? "-" : context.traceparent());
+    }
+
+    /**
+     * A finished span.
+     *
+     * @param parentId span id of the parent span (null for the first span of a trace)
+     * @param start start time (epoch microseconds)
+     * @param durationMicros duration (microseconds)
+     */
+    @RegisterForReflection
+    public record SpanData(String traceId, String spanId, String parentId, String name,
+            long start, long durationMicros, String status, String thread,
+            Map<String, Object> attributes) {
+
+        public boolean isError() {
+            return !OK.equals(status);
+        }
+    }
+}
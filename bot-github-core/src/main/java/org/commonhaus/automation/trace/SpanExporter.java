@@ -0,0 +1,24 @@
+package org.commonhaus.automation.trace;
+
+import org.commonhaus.automation.trace.Span.SpanData;
+
+/**
+ * Receives finished spans.
+ * <p>
+ * Spans are exported on the thread that closes them: implementations
+ * should be thread-safe, and should not block.
+ */
+public interface SpanExporter {
+
+    /** Exporter that discards spans: tracing is disabled */
+    SpanExporter NONE = span -> {
+    };
+
+    void export(SpanData span);
+
+    /**
+     * Release resources (e.g. flush and close files)
+     */
+    default void close() {
+    }
+}
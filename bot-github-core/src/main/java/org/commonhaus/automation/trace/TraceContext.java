@@ -0,0 +1,91 @@
+package org.commonhaus.automation.trace;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Identifies a span within a trace, using W3C trace context ids:
+ * a 32 character (hex) trace id, and a 16 character (hex) span id.
+ *
+ * @param traceId id shared by all spans of the trace
+ * @param spanId id of the span
+ */
+public record TraceContext(String traceId, String spanId) {
+    private static final HexFormat HEX = HexFormat.of();
+
+    /**
+     * @return context for the first span of a new trace
+     */
+    public static TraceContext root() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new TraceContext(
+                HEX.toHexDigits(random.nextLong()) + HEX.toHexDigits(random.nextLong()),
+                newSpanId());
+    }
+
+    /**
+     * Spans for a webhook delivery share a trace id derived from the delivery id
+     * (a UUID), so work started by different observers of the same delivery
+     * can be found together.
+     *
+     * @param deliveryId value of the {@code X-GitHub-Delivery} header
+     * @return context for a new span in the delivery trace
+     */
+    public static TraceContext forDelivery(String deliveryId) {
+        if (deliveryId == null || deliveryId.isBlank()) {
+            return root();
+        }
+        String hex = deliveryId.replace("-", "").toLowerCase();
+        if (hex.length() != 32 || !isHex(hex)) {
+            hex = HEX.toHexDigits((long) deliveryId.hashCode()) + HEX.toHexDigits((long) deliveryId.length());
+        }
+        return new TraceContext(hex, newSpanId());
+    }
+
+    /**
+     * @return context for a new span that is a child of this one
+     */
+    public TraceContext child() {
+        return new TraceContext(traceId, newSpanId());
+    }
+
+    /**
+     * @return value of a W3C {@code traceparent} header for this context
+     */
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    /**
+     * @param traceparent value of a W3C {@code traceparent} header
+     * @return trace context, or null if the value is missing or malformed
+     */
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null) {
+            return null;
+        }
+        String[] parts = traceparent.split("-");
+        if (parts.length != 4 || parts[1].length() != 32 || parts[2].length() != 16
+                || !isHex(parts[1]) || !isHex(parts[2])) {
+            return null;
+        }
+        return new TraceContext(parts[1], parts[2]);
+    }
+
+    static String newSpanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return HEX.toHexDigits(id);
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
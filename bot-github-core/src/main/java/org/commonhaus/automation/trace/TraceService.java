@@ -0,0 +1,88 @@
+package org.commonhaus.automation.trace;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import org.commonhaus.automation.config.BotConfig;
+import org.commonhaus.automation.config.LocalRouteOnly;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.vertx.web.Route;
+import io.quarkus.vertx.web.Route.HttpMethod;
+import io.quarkus.vertx.web.RoutingExchange;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Installs the configured span exporter (see {@code automation.trace}).
+ * <p>
+ * With the memory exporter, recent traces are available (locally) from {@code /traces};
+ * {@code /traces?trace=<id>} returns the spans of one trace.
+ */
+@Singleton
+public class TraceService implements LocalRouteOnly {
+    static final int MAX_TRACES = 100;
+
+    @Inject
+    BotConfig botConfig;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    void startup(@Observes StartupEvent startup) {
+        BotConfig.TraceConfig config = botConfig.trace();
+        switch (config.exporter()) {
+            case NONE -> Tracing.setExporter(SpanExporter.NONE);
+            case MEMORY -> Tracing.setExporter(new InMemorySpanExporter(config.capacity()));
+            case FILE -> {
+                try {
+                    Tracing.setExporter(new FileSpanExporter(Path.of(config.file())));
+                } catch (IOException e) {
+                    Log.errorf(e, "Unable to open trace file %s; tracing is disabled", config.file());
+                }
+            }
+        }
+        if (Tracing.isEnabled()) {
+            Log.infof("Tracing enabled: %s", Tracing.getExporter());
+        }
+    }
+
+    void shutdown(@Observes ShutdownEvent shutdown) {
+        Tracing.setExporter(SpanExporter.NONE);
+    }
+
+    @Route(path = "/traces", order = 99, produces = "application/json", methods = { HttpMethod.GET })
+    public void reportTraces(RoutingContext routingContext, RoutingExchange routingExchange) {
+        if (!isDirectConnection(routingExchange)) {
+            rejectNonLocalAccess(routingExchange);
+            return;
+        }
+        if (!(Tracing.getExporter() instanceof InMemorySpanExporter memory)) {
+            routingExchange.notFound().end("{\"error\": \"automation.trace.exporter is not memory\"}");
+            return;
+        }
+        String traceId = routingExchange.getParam("trace").orElse(null);
+        try {
+            Object result;
+            if (traceId == null) {
+                List<InMemorySpanExporter.TraceSummary> traces = memory.traces();
+                result = traces.subList(0, Math.min(MAX_TRACES, traces.size()));
+            } else {
+                result = memory.trace(traceId);
+            }
+            routingExchange.ok().end(objectMapper.writeValueAsString(result));
+        } catch (JsonProcessingException e) {
+            Log.error("Unable to serialize traces", e);
+            routingExchange.serverError().end();
+        }
+    }
+}
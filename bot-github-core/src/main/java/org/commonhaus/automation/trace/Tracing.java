@@ -0,0 +1,140 @@
+package org.commonhaus.automation.trace;
+
+import io.quarkiverse.githubapp.GitHubEvent;
+import io.quarkus.logging.Log;
+
+/**
+ * Trace spans for the work that follows a webhook delivery:
+ * webhook handler, queued tasks (and their retries), GitHub API calls, and email.
+ * <p>
+ * The current span is kept per thread. Work that is handed off to another thread
+ * captures {@link #current()} when it is queued, and starts a child span of that
+ * context when it runs (see {@code PeriodicUpdateQueue}, {@code WebhookIngestQueue},
+ * and {@code MailOutbox}).
+ * <p>
+ * Tracing is disabled (spans are not created) until an exporter is set;
+ * see {@code automation.trace.exporter}.
+ */
+public class Tracing {
+    private static final ThreadLocal<Span> currentSpan = new ThreadLocal<>();
+    private static volatile SpanExporter exporter = SpanExporter.NONE;
+
+    private Tracing() {
+    }
+
+    public static boolean isEnabled() {
+        return exporter != SpanExporter.NONE;
+    }
+
+    /**
+     * @return context of the current span on this thread, or null
+     */
+    public static TraceContext current() {
+        Span span = currentSpan.get();
+        return span == null ? null : span.context;
+    }
+
+    /**
+     * @return {@code traceparent} value for the current span on this thread, or null
+     */
+    public static String currentTraceparent() {
+        TraceContext context = current();
+        return context == null ? null : context.traceparent();
+    }
+
+    /**
+     * Start a child of the current span (or the first span of a new trace).
+     *
+     * @param name span name
+     * @return new span (close it when the work is done)
+     */
+    public static Span start(String name) {
+        return start(name, current());
+    }
+
+    /**
+     * Start a child of the specified context (or the first span of a new trace).
+     *
+     * @param name span name
+     * @param parent context of the parent span (may be null)
+     * @return new span (close it when the work is done)
+     */
+    public static Span start(String name, TraceContext parent) {
+        if (!isEnabled()) {
+            return Span.NOOP;
+        }
+        return open(name,
+                parent == null ? TraceContext.root() : parent.child(),
+                parent == null ? null : parent.spanId());
+    }
+
+    /**
+     * Start a span for a webhook handler. The span belongs to the trace
+     * of the delivery (see {@link TraceContext#forDelivery(String)}).
+     *
+     * @param event GitHub event
+     * @param handler name of the handler
+     * @return new span (close it when the work is done)
+     */
+    public static Span webhook(GitHubEvent event, String handler) {
+        if (!isEnabled()) {
+            return Span.NOOP;
+        }
+        return open("webhook " + event.getEventAction(), TraceContext.forDelivery(event.getDeliveryId()), null)
+                .attribute("handler", handler)
+                .attribute("delivery", event.getDeliveryId())
+                .attribute("repository", event.getRepository().orElse(null))
+                .attribute("installation", event.getInstallationId())
+                .attribute("replayed", event.isReplayed() ? true : null);
+    }
+
+    /**
+     * Run work within a span, and close the span when the work is done.
+     *
+     * @param span span from {@link #start(String)} or {@link #webhook(GitHubEvent, String)}
+     * @param work work to trace
+     */
+    public static void inSpan(Span span, Runnable work) {
+        try (span) {
+            work.run();
+        }
+    }
+
+    private static Span open(String name, TraceContext context, String parentId) {
+        Span span = new Span(name, context, parentId, currentSpan.get());
+        currentSpan.set(span);
+        return span;
+    }
+
+    static void end(Span span, long durationMicros) {
+        if (currentSpan.get() == span) {
+            if (span.previous == null) {
+                currentSpan.remove();
+            } else {
+                currentSpan.set(span.previous);
+            }
+        }
+        try {
+            exporter.export(span.toData(durationMicros));
+        } catch (RuntimeException e) {
+            Log.debugf(e, "Unable to export %s", span);
+        }
+    }
+
+    /**
+     * Replace the exporter. The previous exporter is closed.
+     *
+     * @param spanExporter exporter, or {@link SpanExporter#NONE} to disable tracing
+     */
+    public static void setExporter(SpanExporter spanExporter) {
+        SpanExporter previous = exporter;
+        exporter = spanExporter == null ? SpanExporter.NONE : spanExporter;
+        if (previous != exporter) {
+            previous.close();
+        }
+    }
+
+    public static SpanExporter getExporter() {
+        return exporter;
+    }
+}
@@ -0,0 +1,83 @@
+package org.commonhaus.automation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import jakarta.json.Json;
+
+import org.commonhaus.automation.ApiUsage.Api;
+import org.commonhaus.automation.ApiUsage.UsageKey;
+import org.commonhaus.automation.ApiUsage.UsageSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.client.Response;
+
+public class ApiUsageTest {
+
+    @AfterEach
+    void cleanup() {
+        ApiUsage.reset();
+    }
+
+    @Test
+    void testTaskGroupAndCaller() {
+        assertThat(ApiUsage.currentTaskGroup()).isEqualTo(ApiUsage.NO_GROUP);
+        String[] seen = new String[2];
+        ApiUsage.runInGroup("outer", () -> {
+            ApiUsage.runInGroup("inner", () -> seen[0] = ApiUsage.currentTaskGroup());
+            seen[1] = ApiUsage.caller();
+        });
+        assertThat(seen[0]).isEqualTo("inner");
+        assertThat(seen[1]).isEqualTo("ApiUsageTest.testTaskGroupAndCaller");
+        assertThat(ApiUsage.currentTaskGroup()).isEqualTo(ApiUsage.NO_GROUP);
+
+        assertThat(ApiUsage.methodName("lambda$syncMembers$3")).isEqualTo("syncMembers");
+        assertThat(ApiUsage.methodName("syncMembers")).isEqualTo("syncMembers");
+    }
+
+    @Test
+    void testGraphQLCost() {
+        Response response = mock(Response.class);
+        when(response.getData()).thenReturn(Json.createObjectBuilder()
+                .add("rateLimit", Json.createObjectBuilder().add("cost", 3))
+                .build());
+        when(response.getTransportMeta()).thenReturn(Map.of("Content-Length", List.of("512")));
+
+        assertThat(ApiUsage.graphQLCost(response)).isEqualTo(3);
+        assertThat(ApiUsage.responseBytes(response)).isEqualTo(512);
+        assertThat(ApiUsage.graphQLCost(null)).isEqualTo(1);
+        assertThat(ApiUsage.responseBytes(null)).isZero();
+    }
+
+    @Test
+    void testRollingReport() {
+        long now = 10 * ApiUsage.BUCKET_MS;
+        UsageKey votes = new UsageKey("votes", "VoteProcessor.countVotes", Api.GRAPHQL);
+        UsageKey teams = new UsageKey("teams", "GitHubTeamService.syncMembers", Api.REST);
+
+        ApiUsage.record(now - 7 * ApiUsage.BUCKET_MS, "1", votes, 1_000_000, 50, 10, false);
+        ApiUsage.record(now - ApiUsage.BUCKET_MS, "1", votes, 2_000_000, 5, 10, false);
+        ApiUsage.record(now, "1", votes, 4_000_000, 5, 10, true);
+        ApiUsage.record(now, "1", teams, 1_000_000, 0, 0, false);
+        ApiUsage.record(now, "2", teams, 1_000_000, 0, 0, false);
+
+        Map<String, List<UsageSummary>> report = ApiUsage.report(now);
+        assertThat(report).containsOnlyKeys("1", "2");
+
+        // oldest bucket has rolled out of the window
+        UsageSummary first = report.get("1").get(0);
+        assertThat(first.component()).isEqualTo("VoteProcessor.countVotes");
+        assertThat(first.calls()).isEqualTo(2);
+        assertThat(first.errors()).isEqualTo(1);
+        assertThat(first.cost()).isEqualTo(10);
+        assertThat(first.bytes()).isEqualTo(20);
+        assertThat(first.totalLatencyMs()).isEqualTo(6);
+        assertThat(first.maxLatencyMs()).isEqualTo(4);
+        assertThat(report.get("1").get(1).taskGroup()).isEqualTo("teams");
+    }
+}
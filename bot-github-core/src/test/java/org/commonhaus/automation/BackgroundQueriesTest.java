@@ -0,0 +1,25 @@
+package org.commonhaus.automation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class BackgroundQueriesTest {
+
+    @Test
+    void testRestart() throws Exception {
+        BackgroundQueries queries = new BackgroundQueries();
+
+        queries.shutdown(null);
+        assertThat(BackgroundQueries.trySubmit(() -> "stopped")).isNull();
+
+        // dev and test restarts reuse the JVM
+        queries.startup(null);
+        Future<String> result = BackgroundQueries.trySubmit(() -> "started");
+        assertThat(result).isNotNull();
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("started");
+    }
+}
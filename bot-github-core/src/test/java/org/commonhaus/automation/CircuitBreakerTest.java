@@ -0,0 +1,88 @@
+package org.commonhaus.automation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+
+import org.commonhaus.automation.CircuitBreaker.CircuitOpenException;
+import org.commonhaus.automation.CircuitBreaker.State;
+import org.commonhaus.automation.github.context.TestHttpException;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonParseException;
+
+public class CircuitBreakerTest {
+    long now = 0;
+    CircuitBreaker breaker = new CircuitBreaker("test", 3, Duration.ofSeconds(30), () -> now);
+
+    @Test
+    void testOpenAfterConsecutiveFailures() {
+        fail();
+        fail();
+        breaker.call(() -> "ok");
+        fail();
+        fail();
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+        fail();
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.allowRequest()).isFalse();
+        assertThatThrownBy(() -> breaker.call(() -> "ok"))
+                .isInstanceOf(CircuitOpenException.class);
+    }
+
+    @Test
+    void testHalfOpenProbe() {
+        for (int i = 0; i < 3; i++) {
+            fail();
+        }
+        now += Duration.ofSeconds(30).toNanos();
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+
+        // One probe at a time
+        assertThat(breaker.allowRequest()).isTrue();
+        assertThat(breaker.allowRequest()).isFalse();
+
+        // Failed probe: open again
+        breaker.recordOutage("still down");
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+
+        now += Duration.ofSeconds(30).toNanos();
+        assertThat(breaker.call(() -> "ok")).isEqualTo("ok");
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void testOutage() {
+        assertThat(CircuitBreaker.isOutage(new SocketTimeoutException())).isTrue();
+        assertThat(CircuitBreaker.isOutage(new RuntimeException(new SocketException("Connection reset")))).isTrue();
+        assertThat(CircuitBreaker.isOutage(new ConnectException("Connection refused"))).isTrue();
+        // A response that can't be read comes from a healthy service
+        assertThat(CircuitBreaker.isOutage(new JsonParseException(null, "unexpected token"))).isFalse();
+        assertThat(CircuitBreaker.isOutage(new IOException("unexpected content"))).isFalse();
+        assertThat(CircuitBreaker.isOutage(new TestHttpException(502, "bad gateway"))).isTrue();
+        assertThat(CircuitBreaker.isOutage(new TestHttpException(404, "not found"))).isFalse();
+        assertThat(CircuitBreaker.isOutage(new IllegalStateException())).isFalse();
+
+        // Client errors show that the service is up
+        for (int i = 0; i < 5; i++) {
+            breaker.recordFailure(new TestHttpException(422, "invalid"));
+        }
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+
+        assertThat(CircuitBreaker.isCircuitOpen(new RuntimeException(new CircuitOpenException(breaker)))).isTrue();
+        assertThat(CircuitBreaker.isCircuitOpen(new IOException())).isFalse();
+    }
+
+    void fail() {
+        assertThatThrownBy(() -> breaker.call(() -> {
+            throw new UncheckedIOException(new SocketTimeoutException("timeout"));
+        })).isInstanceOf(UncheckedIOException.class);
+    }
+}
@@ -0,0 +1,188 @@
+package org.commonhaus.automation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+
+import org.commonhaus.automation.ApiUsage.UsageSummary;
+import org.commonhaus.automation.github.context.JsonAttribute;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.smallrye.graphql.client.Response;
+import io.smallrye.graphql.client.dynamic.api.DynamicGraphQLClient;
+
+public class GraphQLPagerTest {
+    static final String QUERY = "query($after: String) { things(first: 2, after: $after) { nodes { id } } }";
+
+    DynamicGraphQLClient client;
+    TestQueryContext qc;
+
+    @BeforeEach
+    void setup() throws Exception {
+        client = mock(DynamicGraphQLClient.class);
+        qc = new TestQueryContext(mock(ContextService.class), client);
+
+        // three pages: cursor null -> c1 -> c2
+        when(client.executeSync(anyString(), anyMap())).thenAnswer(invocation -> {
+            Map<String, Object> variables = invocation.getArgument(1);
+            Object after = variables.get("after");
+            if (after == null) {
+                return page(List.of("a", "b"), "c1");
+            } else if (after.equals("c1")) {
+                return page(List.of("c", "d"), "c2");
+            }
+            return page(List.of("e"), null);
+        });
+    }
+
+    @Test
+    void testAllPages() throws Exception {
+        List<String> ids = pager().toList();
+
+        assertThat(ids).containsExactly("a", "b", "c", "d", "e");
+        assertThat(qc.hasErrors()).isFalse();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(client, timeout(500).times(3)).executeSync(anyString(), captor.capture());
+        assertThat(captor.getAllValues())
+                .extracting(m -> m.get("after"))
+                .containsExactlyInAnyOrder(null, "c1", "c2");
+    }
+
+    @Test
+    void testStopEarly() throws Exception {
+        List<String> ids = new ArrayList<>();
+        boolean complete = pager().prefetch(false).forEachWhile(id -> {
+            ids.add(id);
+            return !id.equals("b");
+        });
+
+        assertThat(complete).isFalse();
+        assertThat(ids).containsExactly("a", "b");
+        verify(client, timeout(500).times(1)).executeSync(anyString(), anyMap());
+    }
+
+    @Test
+    void testCancelledPrefetchIsRecorded() throws Exception {
+        ApiUsage.reset();
+        CountDownLatch sent = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(client.executeSync(anyString(), anyMap())).thenAnswer(invocation -> {
+            Map<String, Object> variables = invocation.getArgument(1);
+            if (variables.get("after") == null) {
+                return page(List.of("a", "b"), "c1");
+            }
+            sent.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return page(List.of("c", "d"), "c2");
+        });
+
+        // Stop once the prefetch has been sent: a prefetch that has not
+        // started when the pager is closed is cancelled instead
+        boolean complete = pager().forEachWhile(id -> {
+            try {
+                assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        });
+        assertThat(complete).isFalse();
+        release.countDown();
+
+        // The abandoned request completes in the background, and is still recorded
+        long deadline = System.currentTimeMillis() + 5000;
+        while (graphQLCalls() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(graphQLCalls()).isEqualTo(2);
+        assertThat(ApiUsage.report().get("TestQueryContext"))
+                .extracting(UsageSummary::component)
+                .containsOnly("GraphQLPagerTest.testCancelledPrefetchIsRecorded");
+    }
+
+    @Test
+    void testStream() throws Exception {
+        try (var stream = pager().stream()) {
+            assertThat(stream.filter(id -> id.compareTo("c") > 0).findFirst()).hasValue("d");
+        }
+    }
+
+    @Test
+    void testErrorStopsPaging() throws Exception {
+        when(client.executeSync(anyString(), anyMap())).thenThrow(new IllegalStateException("boom"));
+
+        List<String> ids = pager().toList();
+        assertThat(ids).isEmpty();
+        assertThat(qc.hasErrors()).isTrue();
+    }
+
+    static long graphQLCalls() {
+        List<UsageSummary> usage = ApiUsage.report().get("TestQueryContext");
+        return usage == null ? 0 : usage.stream().mapToLong(UsageSummary::calls).sum();
+    }
+
+    GraphQLPager<String> pager() {
+        return GraphQLPager.cursor(qc, QUERY, new HashMap<>(),
+                data -> data.getJsonObject("things"),
+                node -> JsonAttribute.id.stringFrom(node));
+    }
+
+    static Response page(List<String> ids, String endCursor) {
+        JsonArrayBuilder nodes = Json.createArrayBuilder();
+        ids.forEach(id -> nodes.add(Json.createObjectBuilder().add("id", id)));
+        var pageInfo = Json.createObjectBuilder().add("hasNextPage", endCursor != null);
+        if (endCursor != null) {
+            pageInfo.add("endCursor", endCursor);
+        }
+        JsonObject data = Json.createObjectBuilder()
+                .add("things", Json.createObjectBuilder()
+                        .add("nodes", nodes)
+                        .add("pageInfo", pageInfo))
+                .build();
+        Response response = mock(Response.class);
+        when(response.getData()).thenReturn(data);
+        return response;
+    }
+
+    static class TestQueryContext extends GraphQLQueryContext {
+        final DynamicGraphQLClient client;
+
+        TestQueryContext(ContextService ctx, DynamicGraphQLClient client) {
+            super(ctx);
+            this.client = client;
+        }
+
+        @Override
+        public String getLogId() {
+            return "test";
+        }
+
+        @Override
+        public DynamicGraphQLClient getGraphQLClient() {
+            return client;
+        }
+
+        @Override
+        protected void cleanupAuthenticationError() {
+        }
+    }
+}
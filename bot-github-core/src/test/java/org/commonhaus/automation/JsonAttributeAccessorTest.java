@@ -0,0 +1,56 @@
+package org.commonhaus.automation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import org.commonhaus.automation.github.context.JsonAttribute;
+import org.junit.jupiter.api.Test;
+
+public class JsonAttributeAccessorTest {
+
+    @Test
+    void testAlternateName() {
+        // starredAt reads "starred_at" (REST), then "starredAt" (GraphQL)
+        JsonObject rest = Json.createObjectBuilder().add("starred_at", "2024-03-01T10:15:30Z").build();
+        JsonObject graphql = Json.createObjectBuilder().add("starredAt", "2024-03-01T10:15:30Z").build();
+        JsonObject nullRest = Json.createObjectBuilder()
+                .addNull("starred_at")
+                .add("starredAt", "2024-03-01T10:15:30Z")
+                .build();
+
+        Instant expected = Instant.parse("2024-03-01T10:15:30Z");
+        assertThat(JsonAttribute.starredAt.instantFrom(rest)).isEqualTo(expected);
+        assertThat(JsonAttribute.starredAt.instantFrom(graphql)).isEqualTo(expected);
+        assertThat(JsonAttribute.starredAt.stringFrom(nullRest)).isEqualTo("2024-03-01T10:15:30Z");
+        assertThat(JsonAttribute.starredAt.instantFrom(Json.createObjectBuilder().build())).isNull();
+    }
+
+    @Test
+    void testTypedValues() {
+        JsonObject object = Json.createObjectBuilder()
+                .add("closed", true)
+                .add("name", 42)
+                .addNull("body")
+                .build();
+
+        assertThat(JsonAttribute.closed.booleanFromOrFalse(object)).isTrue();
+        assertThat(JsonAttribute.merged.booleanFromOrDefault(object, true)).isTrue();
+        assertThat(JsonAttribute.name.stringFrom(object)).isNull(); // not a string
+        assertThat(JsonAttribute.body.stringFrom(object)).isNull();
+        assertThat(JsonAttribute.body.valueFrom(object)).isEqualTo(JsonValue.NULL);
+    }
+
+    @Test
+    void testParseInstant() {
+        Instant expected = Instant.parse("2024-03-01T10:15:30Z");
+        assertThat(JsonAttributeAccessor.parseInstant("2024-03-01T10:15:30Z")).isEqualTo(expected);
+        assertThat(JsonAttributeAccessor.parseInstant("2024-03-01T11:15:30+01:00")).isEqualTo(expected);
+        assertThat(JsonAttributeAccessor.parseInstant("2024/03/01 10:15:30 +0000")).isEqualTo(expected);
+        assertThat(JsonAttributeAccessor.parseInstant(null)).isNull();
+    }
+}
@@ -0,0 +1,69 @@
+package org.commonhaus.automation.github.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.json.Json;
+
+import org.commonhaus.automation.ApiUsage;
+import org.commonhaus.automation.ApiUsage.UsageSummary;
+import org.commonhaus.automation.ContextService;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.graphql.client.Response;
+import io.smallrye.graphql.client.dynamic.api.DynamicGraphQLClient;
+
+public class ApiUsageAttributionTest {
+    static final long INSTALLATION_ID = 4039;
+
+    @Test
+    void testDataHelperIsNotTheCaller() throws Exception {
+        Response response = mock(Response.class);
+        when(response.getData()).thenReturn(Json.createObjectBuilder()
+                .add("node", Json.createObjectBuilder()
+                        .add("reactions", Json.createObjectBuilder()
+                                .add("nodes", Json.createArrayBuilder())
+                                .add("pageInfo", Json.createObjectBuilder().add("hasNextPage", false))))
+                .build());
+        DynamicGraphQLClient client = mock(DynamicGraphQLClient.class);
+        when(client.executeSync(anyString(), anyMap())).thenReturn(response);
+
+        GitHubQueryContext qc = new GitHubQueryContext(mock(ContextService.class), INSTALLATION_ID);
+        qc.graphQLClient = client;
+
+        // DataReaction makes the call on behalf of this method
+        assertThat(DataReaction.queryReactions(qc, "I_item")).isEmpty();
+
+        List<UsageSummary> usage = ApiUsage.report().get(String.valueOf(INSTALLATION_ID));
+        assertThat(usage)
+                .extracting(UsageSummary::component)
+                .containsOnly("ApiUsageAttributionTest.testDataHelperIsNotTheCaller");
+    }
+
+    @Test
+    void testAuthRetryRecordedOnce() {
+        long installationId = INSTALLATION_ID + 1;
+        GitHubQueryContext qc = new GitHubQueryContext(mock(ContextService.class), installationId);
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = qc.execGitHubSync((gh, dryRun) -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new TestHttpException(401, "expired token");
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts).hasValue(2);
+        List<UsageSummary> usage = ApiUsage.report().get(String.valueOf(installationId));
+        assertThat(usage).hasSize(1);
+        assertThat(usage.get(0).calls()).isEqualTo(1);
+        assertThat(usage.get(0).errors()).isZero();
+    }
+}
@@ -0,0 +1,100 @@
+package org.commonhaus.automation.github.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.commonhaus.automation.github.context.BaseQueryCache.LABELS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class DeferredLabelMutationsTest {
+    static final String NODE_ID = "D_deferred";
+
+    static final DataLabel OPEN = new DataLabel.Builder().id("L_open").name("vote/open").build();
+    static final DataLabel DONE = new DataLabel.Builder().id("L_done").name("vote/done").build();
+    static final DataLabel QUORUM = new DataLabel.Builder().id("L_quorum").name("vote/quorum").build();
+
+    @AfterEach
+    void cleanup() {
+        LABELS.invalidate(NODE_ID);
+    }
+
+    @Test
+    void testLastChangeWins() {
+        DeferredLabelMutations deferred = new DeferredLabelMutations();
+        deferred.add(NODE_ID, List.of(OPEN, DONE));
+        deferred.remove(NODE_ID, List.of(OPEN));
+
+        var pending = deferred.pending.get(NODE_ID);
+        assertThat(pending.add).containsOnlyKeys(DONE.id);
+        assertThat(pending.remove).containsOnlyKeys(OPEN.id);
+
+        deferred.add(NODE_ID, List.of(OPEN));
+        assertThat(pending.add).containsOnlyKeys(DONE.id, OPEN.id);
+        assertThat(pending.remove).isEmpty();
+    }
+
+    @Test
+    void testDropNoOps() {
+        LABELS.put(NODE_ID, new HashSet<>(Set.of(OPEN, QUORUM)));
+
+        DeferredLabelMutations deferred = new DeferredLabelMutations();
+        deferred.add(NODE_ID, List.of(QUORUM)); // already present
+        deferred.remove(NODE_ID, List.of(OPEN));
+        deferred.add(NODE_ID, List.of(DONE));
+
+        assertThat(deferred.projectedLabels(NODE_ID)).containsExactlyInAnyOrder(QUORUM, DONE);
+
+        deferred.dropNoOps();
+        var pending = deferred.pending.get(NODE_ID);
+        assertThat(pending.add).containsOnlyKeys(DONE.id);
+        assertThat(pending.remove).containsOnlyKeys(OPEN.id);
+
+        // everything already applied: nothing left to send
+        LABELS.put(NODE_ID, new HashSet<>(Set.of(QUORUM, DONE)));
+        deferred.dropNoOps();
+        assertThat(deferred.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testUnknownState() {
+        DeferredLabelMutations deferred = new DeferredLabelMutations();
+        deferred.add(NODE_ID, List.of(QUORUM));
+        deferred.remove(NODE_ID, List.of(OPEN));
+
+        // Nothing cached: changes are kept, projected state is unknown
+        deferred.dropNoOps();
+        assertThat(deferred.isEmpty()).isFalse();
+        assertThat(deferred.projectedLabels(NODE_ID)).isNull();
+        // Returned to callers: labels known to be present
+        assertThat(deferred.pendingLabels(NODE_ID)).containsExactly(QUORUM);
+    }
+
+    @Test
+    void testSkipAfterErrors() {
+        LABELS.put(NODE_ID, new HashSet<>(Set.of(OPEN)));
+
+        DeferredLabelMutations deferred = new DeferredLabelMutations();
+        deferred.remove(NODE_ID, List.of(OPEN));
+        deferred.add(NODE_ID, List.of(DONE));
+
+        GitHubQueryContext qc = mock(GitHubQueryContext.class);
+        when(qc.hasErrors()).thenReturn(true);
+        when(qc.getLogId()).thenReturn("test");
+
+        deferred.flush(qc);
+        verify(qc, never()).execQuerySync(anyString(), any());
+        assertThat(deferred.isEmpty()).isTrue();
+        Set<DataLabel> cached = LABELS.get(NODE_ID);
+        assertThat(cached).containsExactly(OPEN);
+    }
+}
@@ -1,6 +1,7 @@
 package org.commonhaus.automation.github.context;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -114,6 +115,11 @@ public class TestBotConfig implements BotConfig {
                 return Duration.ofMillis(1);
             }
 
+            @Override
+            public List<Duration> retryDelays() {
+                return List.of(Duration.ofMillis(5));
+            }
+
             @Override
             public Optional<String> stateDirectory() {
                 return Optional.empty();
@@ -126,6 +132,166 @@ public class TestBotConfig implements BotConfig {
         };
     }
 
+    @Override
+    public BacklogConfig backlog() {
+        return new BacklogConfig() {
+            @Override
+            public boolean shedding() {
+                return true;
+            }
+
+            @Override
+            public int shedDepth() {
+                return 200;
+            }
+
+            @Override
+            public Duration shedAge() {
+                return Duration.ofMinutes(5);
+            }
+
+            @Override
+            public int unreadyDepth() {
+                return 1000;
+            }
+
+            @Override
+            public Duration unreadyAge() {
+                return Duration.ofMinutes(30);
+            }
+
+            @Override
+            public Duration retryAfter() {
+                return Duration.ofSeconds(60);
+            }
+        };
+    }
+
+    @Override
+    public IngestConfig ingest() {
+        return new IngestConfig() {
+            @Override
+            public int lanes() {
+                return 0; // process on the delivery thread
+            }
+
+            @Override
+            public int capacity() {
+                return 100;
+            }
+
+            @Override
+            public OverflowPolicy overflow() {
+                return OverflowPolicy.BLOCK;
+            }
+
+            @Override
+            public Duration blockTimeout() {
+                return Duration.ofSeconds(5);
+            }
+        };
+    }
+
+    @Override
+    public MailConfig mail() {
+        return new MailConfig() {
+            @Override
+            public int capacity() {
+                return 500;
+            }
+
+            @Override
+            public int batchSize() {
+                return 20;
+            }
+
+            @Override
+            public Duration period() {
+                return Duration.ofMillis(1);
+            }
+
+            @Override
+            public int maxAttempts() {
+                return 2;
+            }
+        };
+    }
+
+    @Override
+    public TraceConfig trace() {
+        return new TraceConfig() {
+            @Override
+            public TraceExporter exporter() {
+                return TraceExporter.NONE;
+            }
+
+            @Override
+            public String file() {
+                return "traces.jsonl";
+            }
+
+            @Override
+            public int capacity() {
+                return 2000;
+            }
+        };
+    }
+
+    @Override
+    public ShardConfig shard() {
+        return new ShardConfig() {
+            @Override
+            public boolean enabled() {
+                return false;
+            }
+
+            @Override
+            public Optional<String> replica() {
+                return Optional.empty();
+            }
+
+            @Override
+            public Optional<String> directory() {
+                return Optional.empty();
+            }
+
+            @Override
+            public Optional<String> url() {
+                return Optional.empty();
+            }
+
+            @Override
+            public Duration heartbeat() {
+                return Duration.ofSeconds(30);
+            }
+
+            @Override
+            public Duration expiry() {
+                return Duration.ofMinutes(2);
+            }
+        };
+    }
+
+    @Override
+    public GitHubHttpConfig githubHttp() {
+        return new GitHubHttpConfig() {
+            @Override
+            public boolean shared() {
+                return true;
+            }
+
+            @Override
+            public boolean http2() {
+                return true;
+            }
+
+            @Override
+            public Duration connectTimeout() {
+                return Duration.ofSeconds(10);
+            }
+        };
+    }
+
     @Override
     public Optional<OpenCollectiveConfig> openCollective() {
         boolean isOcConfigEnabled = OC_CONFIG_ENABLED.get();
@@ -0,0 +1,92 @@
+package org.commonhaus.automation.github.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.githubapp.GitHubEvent;
+import io.vertx.core.json.JsonObject;
+
+public class WebhookDeduplicatorTest {
+
+    @AfterEach
+    void cleanup() {
+        BaseQueryCache.WEBHOOK_DELIVERIES.invalidateAll();
+        BaseQueryCache.WEBHOOK_CHANGES.invalidateAll();
+    }
+
+    @Test
+    void testRedelivery() {
+        GitHubEvent event = event("d-1", "label", "created", new JsonObject());
+
+        assertThat(WebhookDeduplicator.isDuplicate("a", event)).isFalse();
+        assertThat(WebhookDeduplicator.isDuplicate("a", event)).isTrue();
+        // each consumer sees the delivery once
+        assertThat(WebhookDeduplicator.isDuplicate("b", event)).isFalse();
+
+        // no semantic key for label events: a new delivery is processed
+        assertThat(WebhookDeduplicator.isDuplicate("a", event("d-2", "label", "created", new JsonObject()))).isFalse();
+    }
+
+    @Test
+    void testRepeatedChange() {
+        assertThat(WebhookDeduplicator.isDuplicate("w", membership("d-1", "added", "alice"))).isFalse();
+        assertThat(WebhookDeduplicator.isDuplicate("w", membership("d-2", "added", "alice"))).isTrue();
+        assertThat(WebhookDeduplicator.isDuplicate("w", membership("d-3", "added", "bob"))).isFalse();
+
+        // reverting changes are never duplicates
+        assertThat(WebhookDeduplicator.isDuplicate("w", membership("d-4", "removed", "alice"))).isFalse();
+        assertThat(WebhookDeduplicator.isDuplicate("w", membership("d-5", "added", "alice"))).isFalse();
+    }
+
+    @Test
+    void testRedeliveryAfterFailure() {
+        GitHubEvent event = membership("d-1", "added", "alice");
+
+        assertThat(WebhookDeduplicator.isDuplicate("w", event)).isFalse();
+        assertThatThrownBy(() -> WebhookDeduplicator.handle("w", event, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // failed deliveries are forgotten: the redelivery is processed
+        assertThat(WebhookDeduplicator.isDuplicate("w", event)).isFalse();
+        WebhookDeduplicator.handle("w", event, () -> {
+        });
+        assertThat(WebhookDeduplicator.isDuplicate("w", event)).isTrue();
+    }
+
+    @Test
+    void testSemanticKey() {
+        assertThat(WebhookDeduplicator.semanticKey(membership("d-1", "added", "alice")))
+                .isEqualTo("membership:test-org/team/alice");
+        assertThat(WebhookDeduplicator.semanticKey(event("d-2", "push", null,
+                new JsonObject().put("after", "abc")))).isEqualTo("push:test-org/repo/abc");
+        assertThat(WebhookDeduplicator.semanticKey(event("d-3", "push", null, new JsonObject()))).isNull();
+        assertThat(WebhookDeduplicator.semanticKey(event("d-4", "team", "edited", new JsonObject()
+                .put("organization", new JsonObject().put("login", "test-org"))))).isNull();
+    }
+
+    static GitHubEvent membership(String deliveryId, String action, String login) {
+        return event(deliveryId, "membership", action, new JsonObject()
+                .put("organization", new JsonObject().put("login", "test-org"))
+                .put("team", new JsonObject().put("slug", "team"))
+                .put("member", new JsonObject().put("login", login)));
+    }
+
+    static GitHubEvent event(String deliveryId, String eventType, String action, JsonObject payload) {
+        GitHubEvent event = mock(GitHubEvent.class);
+        when(event.getDeliveryId()).thenReturn(deliveryId);
+        when(event.getEvent()).thenReturn(eventType);
+        when(event.getAction()).thenReturn(action);
+        when(event.getEventAction()).thenReturn(action == null ? eventType : eventType + "." + action);
+        when(event.getRepository()).thenReturn(Optional.of("test-org/repo"));
+        when(event.getParsedPayload()).thenReturn(payload);
+        return event;
+    }
+}
@@ -0,0 +1,90 @@
+package org.commonhaus.automation.github.context;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.githubapp.GitHubEvent;
+
+public class WebhookPayloadTest {
+    static final String DELIVERY_ID = "test-delivery";
+    static final String PAYLOAD = """
+            {
+                "action": "labeled",
+                "installation": { "id": 12345 },
+                "repository": { "id": 3, "node_id": "R_3", "full_name": "org/repo", "name": "repo" },
+                "label": { "id": 1, "node_id": "L_1", "name": "notice" },
+                "issue": { "id": 2, "node_id": "I_2", "number": 7, "title": "Title", "body": "Body" }
+            }
+            """;
+
+    @AfterEach
+    void cleanup() {
+        BaseQueryCache.WEBHOOK_PAYLOAD.invalidate(DELIVERY_ID);
+    }
+
+    @Test
+    void testSharedByDelivery() {
+        WebhookPayload first = WebhookPayload.of(event(DELIVERY_ID, PAYLOAD));
+        WebhookPayload second = WebhookPayload.of(event(DELIVERY_ID, PAYLOAD));
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.json()).isSameAs(first.json());
+        assertThat(second.label()).isSameAs(first.label());
+        assertThat(first.label().name).isEqualTo("notice");
+        assertThat(first.installationId()).isEqualTo(12345L);
+
+        DataCommonItem issue = first.commonItem(JsonAttribute.issue);
+        assertThat(issue.number).isEqualTo(7);
+        assertThat(second.commonItem(JsonAttribute.issue)).isSameAs(issue);
+        assertThat(first.commonItem(JsonAttribute.pullRequest)).isNull();
+    }
+
+    @Test
+    void testDifferentPayload() {
+        WebhookPayload first = WebhookPayload.of(event(DELIVERY_ID, PAYLOAD));
+        WebhookPayload other = WebhookPayload.of(event(DELIVERY_ID, "{}"));
+        WebhookPayload noDelivery = WebhookPayload.of(event(null, PAYLOAD));
+
+        assertThat(other).isNotSameAs(first);
+        assertThat(other.label()).isNull();
+        assertThat(noDelivery).isNotSameAs(first);
+        assertThat(noDelivery.label().name).isEqualTo("notice");
+    }
+
+    @Test
+    void testGitHubObjectsNotShared() {
+        WebhookPayload payload = WebhookPayload.of(event(DELIVERY_ID, PAYLOAD));
+
+        // mutable GH* objects belong to the caller
+        assertThat(payload.repository()).isNotSameAs(payload.repository());
+        assertThat(payload.repository().getFullName()).isEqualTo("org/repo");
+        assertThat(payload.installation()).isNotSameAs(payload.installation());
+    }
+
+    @Test
+    void testEventDataReadsLazily() {
+        GitHubEvent event = event(DELIVERY_ID, PAYLOAD);
+        when(event.getEvent()).thenReturn("issues");
+        when(event.getAction()).thenReturn("labeled");
+
+        EventData first = new EventData(event, null);
+        EventData second = new EventData(event, null);
+        assertThat(first.getPayload().decoded).isEmpty();
+
+        assertThat(first.getNumber()).isEqualTo(7);
+        assertThat(first.getLogId()).isEqualTo("12345:issues.labeled:org/repo#7");
+        assertThat(second.getRepository()).isNotSameAs(first.getRepository());
+        assertThat(second.getTitle()).isEqualTo("Title");
+    }
+
+    static GitHubEvent event(String deliveryId, String payload) {
+        GitHubEvent event = mock(GitHubEvent.class);
+        when(event.getDeliveryId()).thenReturn(deliveryId);
+        when(event.getPayload()).thenReturn(payload);
+        return event;
+    }
+}
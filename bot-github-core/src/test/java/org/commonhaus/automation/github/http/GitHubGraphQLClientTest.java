@@ -0,0 +1,77 @@
+package org.commonhaus.automation.github.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.smallrye.graphql.client.Response;
+
+public class GitHubGraphQLClientTest {
+
+    HttpServer server;
+    List<String> authorization = new CopyOnWriteArrayList<>();
+    List<String> bodies = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/graphql", exchange -> {
+            authorization.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            byte[] response = "{\"data\":{\"viewer\":{\"login\":\"bot\"}}}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void testTokenPerRequest() throws Exception {
+        AtomicInteger token = new AtomicInteger();
+        LongAdder requests = new LongAdder();
+        GitHubGraphQLClient client = new GitHubGraphQLClient(HttpClient.newHttpClient(),
+                URI.create("http://localhost:" + server.getAddress().getPort() + "/graphql"),
+                () -> "token-" + token.incrementAndGet(), requests);
+
+        Response response = client.executeSync("query($login: String!) { viewer { login } }",
+                Map.of("login", "bot"));
+        assertThat(response.getData().getJsonObject("viewer").getString("login")).isEqualTo("bot");
+
+        client.executeAsync("query { viewer { login } }").await().indefinitely();
+
+        assertThat(authorization).containsExactly("Bearer token-1", "Bearer token-2");
+        assertThat(bodies.get(0)).contains("\"variables\":{\"login\":\"bot\"}");
+        assertThat(requests.sum()).isEqualTo(2);
+    }
+
+    @Test
+    void testReuse() {
+        assertThat(GitHubHttp.reuse(0, 0)).isZero();
+        assertThat(GitHubHttp.reuse(1, 4)).isEqualTo(0.75);
+        assertThat(GitHubHttp.reuse(3, 2)).isZero();
+    }
+}
@@ -0,0 +1,114 @@
+package org.commonhaus.automation.github.scopes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.commonhaus.automation.BackgroundQueries;
+import org.commonhaus.automation.github.context.GitHubQueryContext;
+import org.junit.jupiter.api.Test;
+
+public class QueryFanOutTest {
+
+    @Test
+    void testResultsInOrder() {
+        GitHubQueryContext failing = context(1);
+        List<String> results = QueryFanOut.each(List.of("a", "b", "skip", "fail", "c"),
+                item -> switch (item) {
+                    case "skip" -> null;
+                    case "fail" -> failing;
+                    default -> context(1);
+                },
+                (qc, item) -> {
+                    if (item.equals("fail")) {
+                        throw new IllegalStateException("boom");
+                    }
+                    sleep(20 - item.charAt(0) % 10);
+                    return item.toUpperCase();
+                });
+        assertThat(results).containsExactly("A", "B", null, null, "C");
+        verify(failing).addException(any(IllegalStateException.class));
+    }
+
+    @Test
+    void testConcurrencyLimit() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+        List<Integer> items = IntStream.range(0, 12).boxed().toList();
+        GitHubQueryContext qc = context(2);
+
+        List<Integer> results = QueryFanOut.each(items, item -> qc, (ctx, item) -> {
+            max.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(20);
+            running.decrementAndGet();
+            return item * 2;
+        });
+
+        assertThat(results).containsExactlyElementsOf(items.stream().map(i -> i * 2).toList());
+        assertThat(max.get()).isBetween(2, QueryFanOut.MAX_CONCURRENCY);
+        verify(qc, never()).addException(any());
+    }
+
+    @Test
+    void testNestedRunsInline() {
+        GitHubQueryContext qc = context(3);
+        List<List<String>> results = QueryFanOut.each(List.of(1, 2, 3, 4, 5), item -> qc,
+                (ctx, item) -> {
+                    Thread outer = Thread.currentThread();
+                    return QueryFanOut.each(List.of("x", "y"), x -> qc,
+                            (inner, x) -> Thread.currentThread() == outer ? x + item : "other thread");
+                });
+        assertThat(results).hasSize(5);
+        assertThat(results.get(4)).containsExactly("x5", "y5");
+    }
+
+    @Test
+    void testRunsInlineWhenThreadsAreBusy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Boolean>> busy = new ArrayList<>();
+        try {
+            Future<Boolean> f;
+            while ((f = BackgroundQueries.trySubmit(() -> release.await(5, TimeUnit.SECONDS))) != null) {
+                busy.add(f);
+            }
+            assertThat(busy).hasSize(BackgroundQueries.MAX_THREADS);
+
+            Thread caller = Thread.currentThread();
+            GitHubQueryContext qc = context(4);
+            List<Boolean> results = QueryFanOut.each(List.of(1, 2, 3), item -> qc,
+                    (ctx, item) -> Thread.currentThread() == caller);
+            assertThat(results).containsExactly(true, true, true);
+        } finally {
+            release.countDown();
+        }
+        for (Future<Boolean> f : busy) {
+            f.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    static GitHubQueryContext context(long installationId) {
+        GitHubQueryContext qc = mock(GitHubQueryContext.class);
+        when(qc.getInstallationId()).thenReturn(installationId);
+        when(qc.getLogId()).thenReturn("test-" + installationId);
+        return qc;
+    }
+
+    static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
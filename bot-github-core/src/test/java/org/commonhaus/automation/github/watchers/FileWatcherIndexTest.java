@@ -0,0 +1,91 @@
+package org.commonhaus.automation.github.watchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.commonhaus.automation.ContextService;
+import org.commonhaus.automation.github.scopes.ScopedQueryContext;
+import org.commonhaus.automation.github.watchers.FileWatcher.FileUpdate;
+import org.commonhaus.automation.github.watchers.FileWatcher.WatchedFile;
+import org.commonhaus.automation.queue.PeriodicUpdateQueue;
+import org.commonhaus.automation.shard.InstallationShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FileWatcherIndexTest {
+
+    FileWatcher fileWatcher;
+    List<FileUpdate> updates = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        fileWatcher = new FileWatcher();
+        fileWatcher.shards = new InstallationShards();
+        fileWatcher.updateQueue = mock(PeriodicUpdateQueue.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable> getArgument(1).run();
+            return null;
+        }).when(fileWatcher.updateQueue).queue(anyString(), any(Runnable.class));
+
+        fileWatcher.watchFile("project", 1, "test-org/repo", "a.yml", updates::add);
+        fileWatcher.watchFile("project", 1, "test-org/repo", "b.yml", updates::add);
+        fileWatcher.watchFile("project", 1, "test-org/other", "c.yml", updates::add);
+        fileWatcher.watchFile("other", 1, "test-org/repo", "a.yml", x -> {
+        });
+    }
+
+    @Test
+    void testGroupedRefresh() {
+        ContextService ctx = mock(ContextService.class);
+        ScopedQueryContext qc = mock(ScopedQueryContext.class);
+        when(ctx.getOrgScopedQueryContext("test-org")).thenReturn(qc);
+
+        fileWatcher.refresh(ctx, "project");
+
+        assertThat(updates).extracting(FileUpdate::filePath)
+                .containsExactlyInAnyOrder("a.yml", "b.yml", "c.yml");
+        verify(ctx, times(1)).getOrgScopedQueryContext("test-org");
+        verify(qc, never()).getRepository(anyString());
+    }
+
+    @Test
+    void testCallbacksForTaskGroup() {
+        FileWatcher.WatchedFiles watchedFiles = fileWatcher.repositoryFiles.get("test-org/repo");
+        assertThat(watchedFiles.callbacks("a.yml", "project"))
+                .extracting(TaskCallback::taskGroupName)
+                .containsExactly("project");
+        assertThat(watchedFiles.callbacks("b.yml", "other")).isEmpty();
+        assertThat(watchedFiles.callbacks("missing.yml", "project")).isEmpty();
+    }
+
+    @Test
+    void testUnwatchAll() {
+        fileWatcher.unwatchAll("project");
+
+        assertThat(fileWatcher.repositoryFiles).containsOnlyKeys("test-org/repo");
+        assertThat(fileWatcher.repositoryFiles.get("test-org/repo").filesByPath).containsOnlyKeys("a.yml");
+        assertThat(fileWatcher.filesByTaskGroup).containsOnlyKeys("other");
+
+        fileWatcher.unwatchFile("other", "test-org/repo", "a.yml");
+        assertThat(fileWatcher.repositoryFiles).isEmpty();
+        assertThat(fileWatcher.filesByTaskGroup).isEmpty();
+    }
+
+    @Test
+    void testIndex() {
+        assertThat(fileWatcher.filesByTaskGroup.get("project")).containsExactlyInAnyOrder(
+                new WatchedFile("test-org/repo", "a.yml"),
+                new WatchedFile("test-org/repo", "b.yml"),
+                new WatchedFile("test-org/other", "c.yml"));
+    }
+}
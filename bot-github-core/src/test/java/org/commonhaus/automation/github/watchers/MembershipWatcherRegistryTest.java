@@ -0,0 +1,55 @@
+package org.commonhaus.automation.github.watchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Set;
+
+import org.commonhaus.automation.github.watchers.MembershipWatcher.MembershipUpdate;
+import org.commonhaus.automation.github.watchers.MembershipWatcher.MembershipUpdateType;
+import org.commonhaus.automation.github.watchers.MembershipWatcher.WatchedResource;
+import org.junit.jupiter.api.Test;
+
+public class MembershipWatcherRegistryTest {
+
+    @Test
+    void testSnapshots() {
+        MembershipWatcher watcher = new MembershipWatcher();
+        watcher.watchMembers("groupA", 1, MembershipUpdateType.TEAM, "test-org/team", x -> {
+        });
+
+        Set<TaskCallback<MembershipUpdate>> snapshot = watcher.orgWatchers.get("test-org").watchedResources.get("team");
+        assertThat(snapshot).hasSize(1);
+        assertThatThrownBy(() -> snapshot.clear()).isInstanceOf(UnsupportedOperationException.class);
+
+        // adding a callback replaces the set: earlier readers keep their snapshot
+        watcher.watchMembers("groupB", 1, MembershipUpdateType.TEAM, "test-org/team", x -> {
+        });
+        assertThat(snapshot).hasSize(1);
+        assertThat(watcher.orgWatchers.get("test-org").watchedResources.get("team")).hasSize(2);
+    }
+
+    @Test
+    void testUnwatchAllUsesReverseIndex() {
+        MembershipWatcher watcher = new MembershipWatcher();
+        watcher.watchMembers("groupA", 1, MembershipUpdateType.TEAM, "test-org/team", x -> {
+        });
+        watcher.watchMembers("groupA", 1, MembershipUpdateType.COLLABORATOR, "test-org/repo", x -> {
+        });
+        watcher.watchMembers("groupB", 2, MembershipUpdateType.TEAM, "other-org/team", x -> {
+        });
+
+        assertThat(watcher.resourcesByTaskGroup.get("groupA")).containsExactlyInAnyOrder(
+                new WatchedResource("test-org", "team"),
+                new WatchedResource("test-org", "test-org/repo"));
+
+        watcher.unwatchAll("groupA");
+        assertThat(watcher.isWatching("test-org")).isFalse();
+        assertThat(watcher.isWatching("other-org")).isTrue();
+        assertThat(watcher.resourcesByTaskGroup).containsOnlyKeys("groupB");
+
+        watcher.unwatch(MembershipUpdateType.TEAM, "other-org/team");
+        assertThat(watcher.orgWatchers).isEmpty();
+        assertThat(watcher.resourcesByTaskGroup).isEmpty();
+    }
+}
@@ -0,0 +1,92 @@
+package org.commonhaus.automation.github.watchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import org.commonhaus.automation.github.watchers.FileWatcher.FileUpdateType;
+import org.commonhaus.automation.github.watchers.FileWatcher.WatchedFiles;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GHEventPayload.Push.PushCommit;
+
+public class PathPatternIndexTest {
+
+    @Test
+    void testMatch() {
+        PathPatternIndex index = new PathPatternIndex();
+        index.add("config/");
+        index.add("projects/*/project.yml");
+        index.add("docs/**");
+
+        assertThat(index.match("config/a.yml")).containsExactly("config/");
+        assertThat(index.match("config/nested/b.yml")).containsExactly("config/");
+        assertThat(index.match("projects/one/project.yml")).containsExactly("projects/*/project.yml");
+        assertThat(index.match("projects/one/other.yml")).isEmpty();
+        assertThat(index.match("docs/index.md")).containsExactly("docs/**");
+        assertThat(index.match("README.md")).isEmpty();
+
+        index.remove("config/");
+        assertThat(index.match("config/a.yml")).isEmpty();
+        index.remove("projects/*/project.yml");
+        index.remove("docs/**");
+        assertThat(index.isEmpty()).isTrue();
+
+        assertThatThrownBy(() -> index.add("a/**/b")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testWildcardWithinSegment() {
+        assertThat(PathPatternIndex.isPattern("foo*bar")).isTrue();
+        assertThat(PathPatternIndex.isPattern("release-?.md")).isTrue();
+        assertThat(PathPatternIndex.isPattern("README.md")).isFalse();
+
+        PathPatternIndex index = new PathPatternIndex();
+        index.add("foo*bar");
+        index.add("docs/release-?.md");
+        index.add("config/*.yml");
+
+        assertThat(index.match("foobar")).containsExactly("foo*bar");
+        assertThat(index.match("foo-x-bar")).containsExactly("foo*bar");
+        assertThat(index.match("foo-x-baz")).isEmpty();
+        assertThat(index.match("foo/bar")).isEmpty();
+        assertThat(index.match("docs/release-1.md")).containsExactly("docs/release-?.md");
+        assertThat(index.match("docs/release-10.md")).isEmpty();
+        assertThat(index.match("config/a.yml")).containsExactly("config/*.yml");
+        assertThat(index.match("config/a.yaml")).isEmpty();
+        assertThat(index.match("config/nested/a.yml")).isEmpty();
+
+        index.remove("foo*bar");
+        index.remove("docs/release-?.md");
+        index.remove("config/*.yml");
+        assertThat(index.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testChangedPaths() {
+        // out of order: sorted by timestamp before folding
+        List<PushCommit> commits = List.of(
+                commit("2024-01-01T10:02:00Z", List.of(), List.of("b.yml"), List.of("a.yml")),
+                commit("2024-01-01T10:00:00Z", List.of("a.yml", "b.yml"), List.of(), List.of()),
+                commit("2024-01-01T10:01:00Z", List.of(), List.of(), List.of("a.yml", "c.yml")));
+
+        assertThat(WatchedFiles.changedPaths(commits))
+                .containsEntry("a.yml", FileUpdateType.MODIFIED)
+                .containsEntry("b.yml", FileUpdateType.REMOVED)
+                .containsEntry("c.yml", FileUpdateType.MODIFIED)
+                .hasSize(3);
+    }
+
+    static PushCommit commit(String timestamp, List<String> added, List<String> removed, List<String> modified) {
+        PushCommit commit = mock(PushCommit.class);
+        when(commit.getTimestamp()).thenReturn(Date.from(Instant.parse(timestamp)));
+        when(commit.getAdded()).thenReturn(added);
+        when(commit.getRemoved()).thenReturn(removed);
+        when(commit.getModified()).thenReturn(modified);
+        return commit;
+    }
+}
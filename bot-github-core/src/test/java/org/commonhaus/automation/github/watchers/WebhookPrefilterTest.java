@@ -0,0 +1,101 @@
+package org.commonhaus.automation.github.watchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import java.util.Set;
+
+import org.commonhaus.automation.github.context.BaseQueryCache;
+import org.commonhaus.automation.github.context.DataLabel;
+import org.commonhaus.automation.shard.InstallationShards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.githubapp.GitHubEvent;
+import io.vertx.core.json.JsonObject;
+
+public class WebhookPrefilterTest {
+    static final String REPO_ID = "R_prefilter";
+
+    WebhookPrefilter prefilter;
+
+    @BeforeEach
+    void setup() {
+        prefilter = new WebhookPrefilter();
+        prefilter.fileWatcher = mock(FileWatcher.class);
+        prefilter.membershipWatcher = mock(MembershipWatcher.class);
+        prefilter.shards = mock(InstallationShards.class);
+        when(prefilter.shards.accept(any())).thenReturn(true);
+        when(prefilter.fileWatcher.isWatching("test-org/watched")).thenReturn(true);
+        when(prefilter.membershipWatcher.isWatching("test-org")).thenReturn(true);
+    }
+
+    @AfterEach
+    void cleanup() {
+        BaseQueryCache.LABELS.invalidate(REPO_ID);
+        BaseQueryCache.TEAM_MEMBERS.invalidate("other-org/team");
+    }
+
+    @Test
+    void testPush() {
+        assertThat(prefilter.accept(event("push", "test-org/watched",
+                new JsonObject().put("ref", "refs/heads/main")))).isTrue();
+        assertThat(prefilter.accept(event("push", "test-org/watched",
+                new JsonObject().put("ref", "refs/heads/feature")))).isFalse();
+        assertThat(prefilter.accept(event("push", "test-org/other",
+                new JsonObject().put("ref", "refs/heads/main")))).isFalse();
+    }
+
+    @Test
+    void testLabel() {
+        JsonObject payload = new JsonObject().put("repository", new JsonObject().put("node_id", REPO_ID));
+        assertThat(prefilter.accept(event("label", "test-org/other", payload))).isFalse();
+
+        BaseQueryCache.LABELS.put(REPO_ID, Set.of(new DataLabel.Builder().id("L_1").name("bug").build()));
+        assertThat(prefilter.accept(event("label", "test-org/other", payload))).isTrue();
+    }
+
+    @Test
+    void testTeam() {
+        assertThat(prefilter.accept(event("membership", null, new JsonObject()
+                .put("organization", new JsonObject().put("login", "test-org"))
+                .put("team", new JsonObject().put("name", "team"))))).isTrue();
+
+        // unwatched org: cached team members are still invalidated
+        BaseQueryCache.TEAM_MEMBERS.put("other-org/team", Set.of());
+        assertThat(prefilter.accept(event("team", null, new JsonObject()
+                .put("organization", new JsonObject().put("login", "other-org"))
+                .put("team", new JsonObject().put("name", "team"))))).isFalse();
+        assertThat((Object) BaseQueryCache.TEAM_MEMBERS.get("other-org/team")).isNull();
+
+        assertThat(prefilter.accept(event("member", "test-org/repo", new JsonObject()))).isTrue();
+        assertThat(prefilter.accept(event("member", "other-org/repo", new JsonObject()))).isFalse();
+        assertThat(prefilter.accept(event("issues", "test-org/repo", new JsonObject()))).isFalse();
+    }
+
+    @Test
+    void testOtherShard() {
+        GitHubEvent event = event("push", "test-org/watched",
+                new JsonObject().put("ref", "refs/heads/main"));
+        when(prefilter.shards.accept(event)).thenReturn(false);
+
+        assertThat(prefilter.accept(event)).isFalse();
+        verify(prefilter.shards).accept(event);
+        verifyNoInteractions(prefilter.fileWatcher);
+    }
+
+    static GitHubEvent event(String eventType, String repoFullName, JsonObject payload) {
+        GitHubEvent event = mock(GitHubEvent.class);
+        when(event.getEvent()).thenReturn(eventType);
+        when(event.getEventAction()).thenReturn(eventType);
+        when(event.getRepository()).thenReturn(Optional.ofNullable(repoFullName));
+        when(event.getParsedPayload()).thenReturn(payload);
+        return event;
+    }
+}
@@ -0,0 +1,54 @@
+package org.commonhaus.automation.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.commonhaus.automation.ApiUsage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class AutomationEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testEvents() throws Exception {
+        Path file = tempDir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(QueueTaskEvent.class);
+            recording.enable(GitHubApiEvent.class);
+            recording.start();
+
+            QueueTaskEvent task = QueueTaskEvent.start("CHANGE", "votes", 50);
+            GitHubApiEvent.start(ApiUsage.Api.REST, "42").complete("404");
+            task.complete(true);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent task = find(events, "org.commonhaus.automation.QueueTask");
+        assertThat(task.getString("taskName")).isEqualTo("votes");
+        assertThat(task.getDuration("waitTime").toMillis()).isGreaterThanOrEqualTo(50);
+        assertThat(task.getBoolean("succeeded")).isTrue();
+
+        RecordedEvent call = find(events, "org.commonhaus.automation.GitHubApiCall");
+        assertThat(call.getString("operation")).isEqualTo("AutomationEventsTest.testEvents");
+        assertThat(call.getString("installation")).isEqualTo("42");
+        assertThat(call.getString("status")).isEqualTo("404");
+    }
+
+    RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .findFirst().orElseThrow();
+    }
+}
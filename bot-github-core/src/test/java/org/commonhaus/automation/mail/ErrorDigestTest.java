@@ -0,0 +1,76 @@
+package org.commonhaus.automation.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ErrorDigestTest {
+    static final String[] ADDRESSES = new String[] { "errors@example.com" };
+
+    @Test
+    void testFingerprintShape() {
+        String a = ErrorDigest.fingerprint("queue", "Error running task-42",
+                new IOException("HTTP 502 for 'org/repo' request 9f3a1c"), ADDRESSES);
+        String b = ErrorDigest.fingerprint("queue", "Error running task-7",
+                new IOException("HTTP 503 for 'org/other' request 77b0ee"), ADDRESSES);
+        String c = ErrorDigest.fingerprint("queue", "Error running task-7",
+                new IllegalStateException("HTTP 503 for 'org/other' request 77b0ee"), ADDRESSES);
+
+        assertThat(a).isEqualTo(b);
+        assertThat(a).isNotEqualTo(c);
+        assertThat(ErrorDigest.fingerprint("queue", "title", new RuntimeException("x", new IOException("a")), ADDRESSES))
+                .isNotEqualTo(ErrorDigest.fingerprint("queue", "title", new RuntimeException("x"), ADDRESSES));
+    }
+
+    @Test
+    void testFingerprintRecipients() {
+        IOException e = new IOException("timeout 30s");
+        assertThat(ErrorDigest.fingerprint("queue", "title", e, new String[] { "b@example.com", "a@example.com" }))
+                .isEqualTo(ErrorDigest.fingerprint("queue", "title", e, new String[] { "a@example.com", "b@example.com" }))
+                .isNotEqualTo(ErrorDigest.fingerprint("queue", "title", e, ADDRESSES));
+
+        // the same error for other recipients is sent to them too
+        ErrorDigest digest = new ErrorDigest();
+        assertThat(digest.record("queue", "Error 1", e, ADDRESSES)).isTrue();
+        assertThat(digest.record("queue", "Error 1", e, new String[] { "project@example.com" })).isTrue();
+    }
+
+    @Test
+    void testDigest() {
+        ErrorDigest digest = new ErrorDigest();
+
+        assertThat(digest.record("queue", "Error 1", new IOException("timeout 30s"), ADDRESSES)).isTrue();
+        assertThat(digest.record("queue", "Error 2", new IOException("timeout 60s"), ADDRESSES)).isFalse();
+        assertThat(digest.record("queue", "Error 3", new IOException("timeout 90s"), ADDRESSES)).isFalse();
+        assertThat(digest.record("other", "Error 1", new IOException("timeout 30s"), ADDRESSES)).isTrue();
+
+        List<ErrorDigest.Entry> repeated = digest.drain();
+        assertThat(repeated).hasSize(1);
+        assertThat(repeated.get(0).logId).isEqualTo("queue");
+        assertThat(repeated.get(0).repeats()).isEqualTo(2);
+
+        // after the digest, the next occurrence is sent immediately again
+        assertThat(digest.entries).isEmpty();
+        assertThat(digest.record("queue", "Error 4", new IOException("timeout 5s"), ADDRESSES)).isTrue();
+    }
+
+    @Test
+    void testFull() {
+        ErrorDigest digest = new ErrorDigest();
+        assertThat(digest.record("queue", "Known", new IllegalStateException("known"), ADDRESSES)).isTrue();
+        for (int i = 1; i < ErrorDigest.MAX_ENTRIES; i++) {
+            digest.record("queue-" + i, "Error", null, ADDRESSES);
+        }
+        assertThat(digest.entries).hasSize(ErrorDigest.MAX_ENTRIES);
+
+        // known errors are still counted; new errors are sent (untracked)
+        assertThat(digest.record("queue", "Known", new IllegalStateException("known"), ADDRESSES)).isFalse();
+        assertThat(digest.record("new", "Error", null, ADDRESSES)).isTrue();
+        assertThat(digest.record("new", "Error", null, ADDRESSES)).isTrue();
+        assertThat(digest.entries).hasSize(ErrorDigest.MAX_ENTRIES);
+        assertThat(digest.drain()).extracting(e -> e.logId).containsExactly("queue");
+    }
+}
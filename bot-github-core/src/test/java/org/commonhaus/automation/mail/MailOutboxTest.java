@@ -0,0 +1,118 @@
+package org.commonhaus.automation.mail;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.commonhaus.automation.mail.MailOutbox.OutboxMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.quarkus.mailer.Mail;
+import io.quarkus.mailer.Mailer;
+
+public class MailOutboxTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testBackoff() {
+        assertThat(MailOutbox.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(MailOutbox.backoff(2)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(MailOutbox.backoff(3)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(MailOutbox.backoff(20)).isEqualTo(MailOutbox.MAX_BACKOFF);
+    }
+
+    @Test
+    void testRetryAndBatch() {
+        MailOutbox outbox = outbox(null, 10, 2, 3);
+        doThrow(new IllegalStateException("smtp down")).when(outbox.mailer).send(any(Mail[].class));
+
+        outbox.enqueue(message("a"));
+        long now = System.currentTimeMillis();
+        assertThat(outbox.drain(now)).isZero();
+        assertThat(outbox.depth()).isEqualTo(1);
+        assertThat(outbox.stats().failed()).isEqualTo(1);
+
+        // not due yet
+        assertThat(outbox.drain(now + 1000)).isZero();
+        assertThat(outbox.stats().failed()).isEqualTo(1);
+
+        doNothing().when(outbox.mailer).send(any(Mail[].class));
+        outbox.enqueue(message("b"));
+        outbox.enqueue(message("c"));
+        outbox.enqueue(message("d"));
+
+        // batch of 2: the first attempt is still backing off
+        assertThat(outbox.drain(now + 1000)).isEqualTo(2);
+        assertThat(outbox.depth()).isEqualTo(2);
+        assertThat(outbox.drain(now + MailOutbox.INITIAL_BACKOFF.toMillis())).isEqualTo(2);
+        assertThat(outbox.depth()).isZero();
+        assertThat(outbox.stats().sent()).isEqualTo(4);
+    }
+
+    @Test
+    void testGiveUp() {
+        MailOutbox outbox = outbox(null, 10, 5, 2);
+        doThrow(new IllegalStateException("smtp down")).when(outbox.mailer).send(any(Mail[].class));
+
+        outbox.enqueue(message("a"));
+        long now = System.currentTimeMillis();
+        outbox.drain(now);
+        outbox.drain(now + MailOutbox.MAX_BACKOFF.toMillis());
+
+        assertThat(outbox.depth()).isZero();
+        assertThat(outbox.stats().dropped()).isEqualTo(1);
+        verify(outbox.mailer, times(2)).send(any(Mail[].class));
+    }
+
+    @Test
+    void testCapacity() {
+        MailOutbox outbox = outbox(tempDir, 2, 5, 3);
+        OutboxMessage a = message("a");
+        outbox.enqueue(a);
+        outbox.enqueue(message("b"));
+        outbox.enqueue(message("c"));
+
+        assertThat(outbox.depth()).isEqualTo(2);
+        assertThat(outbox.stats().dropped()).isEqualTo(1);
+        assertThat(tempDir.resolve(a.id() + ".yaml")).doesNotExist();
+    }
+
+    @Test
+    void testPersistence() throws Exception {
+        MailOutbox outbox = outbox(tempDir, 10, 5, 3);
+        outbox.enqueue(message("a"));
+        outbox.enqueue(message("b"));
+        assertThat(Files.list(tempDir)).hasSize(2);
+
+        // reload after restart
+        MailOutbox restarted = outbox(tempDir, 10, 5, 3);
+        assertThat(restarted.depth()).isEqualTo(2);
+
+        assertThat(restarted.drain(System.currentTimeMillis())).isEqualTo(2);
+        assertThat(Files.list(tempDir)).isEmpty();
+    }
+
+    MailOutbox outbox(Path directory, int capacity, int batchSize, int maxAttempts) {
+        MailOutbox outbox = new MailOutbox();
+        outbox.mailer = mock(Mailer.class);
+        outbox.configure(directory, capacity, batchSize, maxAttempts);
+        return outbox;
+    }
+
+    static OutboxMessage message(String subject) {
+        return OutboxMessage.create("test", subject, List.of("test@example.com"),
+                null, "text " + subject, null);
+    }
+}
@@ -0,0 +1,95 @@
+package org.commonhaus.automation.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.commonhaus.automation.config.BotConfig;
+import org.commonhaus.automation.config.BotConfig.BacklogConfig;
+import org.commonhaus.automation.mail.MailOutbox;
+import org.commonhaus.automation.queue.BacklogMonitor.Backlog;
+import org.commonhaus.automation.queue.BacklogMonitor.Level;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BacklogMonitorTest {
+    static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    BacklogMonitor monitor = new BacklogMonitor();
+    BacklogConfig config = mock(BacklogConfig.class);
+    PeriodicUpdateQueue updateQueue = new PeriodicUpdateQueue();
+
+    @BeforeEach
+    void setup() {
+        when(config.shedding()).thenReturn(true);
+        when(config.shedDepth()).thenReturn(3);
+        when(config.shedAge()).thenReturn(Duration.ofMinutes(5));
+        when(config.unreadyDepth()).thenReturn(5);
+        when(config.unreadyAge()).thenReturn(Duration.ofMinutes(30));
+        when(config.retryAfter()).thenReturn(Duration.ofSeconds(60));
+
+        monitor.botConfig = mock(BotConfig.class);
+        when(monitor.botConfig.backlog()).thenReturn(config);
+        monitor.updateQueue = updateQueue;
+        monitor.ingestQueue = new WebhookIngestQueue();
+        monitor.mailOutbox = new MailOutbox();
+
+        setTime(NOW);
+    }
+
+    @Test
+    void testDepth() {
+        assertThat(monitor.check().level()).isEqualTo(Level.UP);
+        assertThat(monitor.shouldShed()).isFalse();
+
+        queueTasks(3);
+        Backlog backlog = monitor.check();
+        assertThat(backlog.level()).isEqualTo(Level.DEGRADED);
+        assertThat(backlog.isReady()).isTrue();
+        assertThat(backlog.depth()).isEqualTo(3);
+        assertThat(monitor.shouldShed()).isTrue();
+
+        queueTasks(2);
+        backlog = monitor.check();
+        assertThat(backlog.level()).isEqualTo(Level.DOWN);
+        assertThat(backlog.isReady()).isFalse();
+        assertThat(backlog.reason()).contains("depth 5");
+    }
+
+    @Test
+    void testAge() {
+        queueTasks(1);
+        assertThat(monitor.check().level()).isEqualTo(Level.UP);
+
+        setTime(NOW.plus(Duration.ofMinutes(6)));
+        assertThat(monitor.check().level()).isEqualTo(Level.DEGRADED);
+        assertThat(monitor.check().oldestAgeMs()).isEqualTo(Duration.ofMinutes(6).toMillis());
+
+        setTime(NOW.plus(Duration.ofMinutes(31)));
+        assertThat(monitor.check().level()).isEqualTo(Level.DOWN);
+    }
+
+    @Test
+    void testSheddingDisabled() {
+        when(config.shedding()).thenReturn(false);
+        queueTasks(3);
+        assertThat(monitor.check().level()).isEqualTo(Level.DEGRADED);
+        assertThat(monitor.shouldShed()).isFalse();
+    }
+
+    void queueTasks(int count) {
+        for (int i = 0; i < count; i++) {
+            updateQueue.queue("task" + i, PeriodicUpdateQueue.NOOP);
+        }
+    }
+
+    void setTime(Instant instant) {
+        updateQueue.configure(Clock.fixed(instant, ZoneOffset.UTC), List.of());
+    }
+}
@@ -0,0 +1,83 @@
+package org.commonhaus.automation.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.commonhaus.automation.CircuitBreaker;
+import org.commonhaus.automation.CircuitBreaker.CircuitOpenException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PeriodicUpdateQueueCircuitTest {
+
+    PeriodicUpdateQueue queue = new PeriodicUpdateQueue();
+    List<Runnable> scheduled = new ArrayList<>();
+    CircuitBreaker breaker;
+    List<String> ran = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        queue.configure(Clock.systemUTC(), List.of(Duration.ZERO));
+        queue.start(new QueueScheduler() {
+            @Override
+            public void scheduleAtFixedRate(Runnable task, Duration initialDelay, Duration period) {
+                scheduled.add(task);
+            }
+
+            @Override
+            public void shutdown() {
+            }
+        }, Duration.ZERO, Duration.ZERO);
+
+        breaker = CircuitBreaker.forService("test:" + System.nanoTime());
+        for (int i = 0; i < CircuitBreaker.FAILURE_THRESHOLD; i++) {
+            breaker.recordOutage("HTTP 503");
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void testDeferredTasksAreKept() {
+        queue.queue("group", () -> call("change-1"));
+        queue.queue("group", () -> call("change-2"));
+        queue.queueReconciliation("group", () -> call("reconcile"));
+        // An application retry is already pending for the group
+        queue.scheduleReconciliationRetry("group", count -> ran.add("app-retry"), 0);
+
+        runTasks(3);
+        assertThat(ran).isEmpty();
+        assertThat(queue.stats().deferred()).isEqualTo(3);
+        assertThat(queue.stats().retries()).isEqualTo(1);
+
+        // Circuit is still open: only the application retry is requeued
+        queue.processRetries();
+        runTasks(1);
+        assertThat(ran).containsExactly("app-retry");
+        assertThat(queue.stats().deferred()).isEqualTo(3);
+        assertThat(queue.isEmpty()).isFalse();
+
+        // Once the circuit has closed, every deferred task runs again, in order
+        breaker.recordSuccess();
+        queue.processRetries();
+        runTasks(3);
+        assertThat(ran).containsExactly("app-retry", "change-1", "change-2", "reconcile");
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    void call(String name) {
+        if (breaker.state() != CircuitBreaker.State.CLOSED) {
+            throw new CircuitOpenException(breaker);
+        }
+        ran.add(name);
+    }
+
+    void runTasks(int count) {
+        for (int i = 0; i < count; i++) {
+            scheduled.get(0).run();
+        }
+    }
+}
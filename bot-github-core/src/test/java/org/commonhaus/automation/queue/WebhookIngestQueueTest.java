@@ -0,0 +1,157 @@
+package org.commonhaus.automation.queue;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import org.commonhaus.automation.config.BotConfig.OverflowPolicy;
+import org.commonhaus.automation.mail.LogMailer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class WebhookIngestQueueTest {
+
+    WebhookIngestQueue queue = new WebhookIngestQueue();
+    CountDownLatch blocker = new CountDownLatch(1);
+
+    @AfterEach
+    void cleanup() {
+        blocker.countDown();
+        queue.shutdown(null);
+    }
+
+    @Test
+    void testInline() {
+        queue.configure(0, 10, OverflowPolicy.BLOCK, Duration.ZERO);
+        List<String> seen = new CopyOnWriteArrayList<>();
+        queue.submit("org/repo", "a", () -> seen.add(Thread.currentThread().getName()));
+
+        assertThat(seen).containsExactly(Thread.currentThread().getName());
+        assertThat(queue.stats().completed()).isEqualTo(1);
+    }
+
+    @Test
+    void testOrderedPerKey() {
+        queue.logMailer = mock(LogMailer.class);
+        queue.configure(3, 100, OverflowPolicy.BLOCK, Duration.ZERO);
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int n = i;
+            queue.submit("org/repo", "task " + i, () -> seen.add(n));
+        }
+        // errors are contained to the task
+        queue.submit("org/repo", "fail", () -> {
+            throw new IllegalStateException("expected");
+        });
+
+        await().atMost(5, SECONDS).until(() -> queue.stats().completed() == 51);
+        assertThat(seen).isSorted().hasSize(50);
+    }
+
+    @Test
+    void testDropNewest() {
+        queue.configure(1, 2, OverflowPolicy.DROP_NEWEST, Duration.ZERO);
+        List<String> seen = new CopyOnWriteArrayList<>();
+        queue.submit("key", "block", this::block);
+        awaitRunning();
+        for (String name : List.of("a", "b", "c", "d")) {
+            queue.submit("key", name, () -> seen.add(name));
+        }
+        assertThat(queue.stats().depth()).isEqualTo(2);
+        assertThat(queue.stats().dropped()).isEqualTo(2);
+
+        blocker.countDown();
+        await().atMost(5, SECONDS).until(() -> seen.size() == 2);
+        assertThat(seen).containsExactly("a", "b");
+    }
+
+    @Test
+    void testDropOldest() {
+        queue.configure(1, 2, OverflowPolicy.DROP_OLDEST, Duration.ZERO);
+        List<String> seen = new CopyOnWriteArrayList<>();
+        queue.submit("key", "block", this::block);
+        awaitRunning();
+        for (String name : List.of("a", "b", "c", "d")) {
+            queue.submit("key", name, () -> seen.add(name));
+        }
+        assertThat(queue.stats().dropped()).isEqualTo(2);
+        assertThat(queue.stats().oldestAgeMs()).isGreaterThanOrEqualTo(0);
+
+        blocker.countDown();
+        await().atMost(5, SECONDS).until(() -> seen.size() == 2);
+        assertThat(seen).containsExactly("c", "d");
+    }
+
+    @Test
+    void testDropOldestSameKey() {
+        queue.configure(1, 2, OverflowPolicy.DROP_OLDEST, Duration.ZERO);
+        List<String> seen = new CopyOnWriteArrayList<>();
+        queue.submit("key", "block", this::block);
+        awaitRunning();
+        queue.submit("quiet", "a", () -> seen.add("a"));
+        queue.submit("noisy", "b", () -> seen.add("b"));
+        queue.submit("noisy", "c", () -> seen.add("c"));
+        // nothing queued for this key: the new event is dropped
+        queue.submit("other", "d", () -> seen.add("d"));
+        assertThat(queue.stats().dropped()).isEqualTo(2);
+
+        blocker.countDown();
+        await().atMost(5, SECONDS).until(() -> queue.isEmpty());
+        assertThat(seen).containsExactly("a", "c");
+    }
+
+    @Test
+    void testBlock() throws Exception {
+        queue.configure(1, 1, OverflowPolicy.BLOCK, Duration.ofSeconds(5));
+        List<String> seen = new CopyOnWriteArrayList<>();
+        queue.submit("key", "block", this::block);
+        awaitRunning();
+        queue.submit("key", "a", () -> seen.add("a"));
+
+        // The lane is full: the delivery thread waits until there is room
+        Thread delivery = new Thread(() -> queue.submit("key", "b", () -> seen.add("b")));
+        delivery.start();
+        await().atMost(5, SECONDS).until(() -> queue.stats().blocked() == 1);
+        assertThat(seen).isEmpty();
+
+        blocker.countDown();
+        delivery.join(5000);
+        await().atMost(5, SECONDS).until(() -> seen.size() == 2);
+        assertThat(seen).containsExactly("a", "b");
+        assertThat(queue.stats().dropped()).isZero();
+    }
+
+    @Test
+    void testBlockTimeout() {
+        queue.configure(1, 1, OverflowPolicy.BLOCK, Duration.ofMillis(50));
+        List<String> seen = new CopyOnWriteArrayList<>();
+        queue.submit("key", "block", this::block);
+        awaitRunning();
+        queue.submit("key", "a", () -> seen.add("a"));
+        queue.submit("key", "b", () -> seen.add("b"));
+        assertThat(queue.stats().blocked()).isEqualTo(1);
+        assertThat(queue.stats().dropped()).isEqualTo(1);
+
+        blocker.countDown();
+        await().atMost(5, SECONDS).until(() -> queue.isEmpty());
+        assertThat(seen).containsExactly("a");
+    }
+
+    private void block() {
+        try {
+            blocker.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void awaitRunning() {
+        await().atMost(5, SECONDS).until(() -> !queue.isEmpty() && queue.stats().depth() == 0);
+    }
+}
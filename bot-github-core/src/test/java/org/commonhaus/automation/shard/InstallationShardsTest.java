@@ -0,0 +1,110 @@
+package org.commonhaus.automation.shard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import org.commonhaus.automation.github.scopes.ScopedInstallationMap;
+import org.commonhaus.automation.shard.ShardMembership.Member;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.quarkiverse.githubapp.GitHubEvent;
+import io.vertx.core.json.JsonObject;
+
+public class InstallationShardsTest {
+
+    @TempDir
+    Path stateDir;
+
+    @Test
+    void testRing() {
+        ShardRing ring = new ShardRing(List.of("c", "a", "b"));
+        assertThat(ring.members()).containsExactly("a", "b", "c");
+
+        Map<String, Integer> counts = new HashMap<>();
+        Map<Long, String> owners = new HashMap<>();
+        LongStream.range(1000, 4000).forEach(id -> {
+            String owner = ring.owner(id);
+            owners.put(id, owner);
+            counts.merge(owner, 1, Integer::sum);
+        });
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(700, 1300));
+
+        // Only installations of the replica that left move
+        ShardRing smaller = new ShardRing(List.of("a", "b"));
+        owners.forEach((id, owner) -> {
+            if (!owner.equals("c")) {
+                assertThat(smaller.owner(id)).isEqualTo(owner);
+            }
+        });
+    }
+
+    @Test
+    void testMembership() throws Exception {
+        ShardMembership membership = new ShardMembership(stateDir.resolve("shards"));
+        membership.heartbeat(new Member("replica-a", "http://a:8080", 10_000));
+        membership.heartbeat(new Member("replica/b", null, 70_000));
+
+        assertThat(membership.members(100_000, Duration.ofMinutes(2)))
+                .extracting(Member::replica)
+                .containsExactlyInAnyOrder("replica-a", "replica/b");
+        // replica-a has not sent a heartbeat for 2 minutes
+        assertThat(membership.members(140_000, Duration.ofMinutes(2)))
+                .extracting(Member::replica)
+                .containsExactly("replica/b");
+
+        membership.leave("replica/b");
+        assertThat(membership.members(100_000, Duration.ofMinutes(2)))
+                .extracting(Member::replica)
+                .containsExactly("replica-a");
+    }
+
+    @Test
+    void testOwnership() {
+        InstallationShards shards = new InstallationShards();
+        shards.installationMap = new ScopedInstallationMap();
+        assertThat(shards.isEnabled()).isFalse();
+        assertThat(shards.owns(42)).isTrue();
+
+        shards.configure("a", null, new ShardMembership(stateDir));
+        shards.refresh(List.of(new Member("b", null, 0)));
+        assertThat(shards.isEnabled()).isTrue();
+        assertThat(shards.isLeader()).isTrue();
+
+        ShardRing ring = new ShardRing(List.of("a", "b"));
+        long owned = LongStream.range(1, 100).filter(id -> ring.owner(id).equals("a")).findFirst().orElseThrow();
+        long other = LongStream.range(1, 100).filter(id -> ring.owner(id).equals("b")).findFirst().orElseThrow();
+        assertThat(shards.owns(owned)).isTrue();
+        assertThat(shards.owns(other)).isFalse();
+
+        assertThat(shards.accept(event(owned, new JsonObject()))).isTrue();
+        assertThat(shards.accept(event(other, new JsonObject()))).isFalse();
+        // Forwarded by another replica: handled as-is
+        assertThat(shards.accept(event(other, new JsonObject().put(InstallationShards.FORWARDED_BY, "b")))).isTrue();
+    }
+
+    @Test
+    void testSignature() {
+        // Example from the GitHub webhook documentation
+        assertThat(InstallationShards.sign("It's a Secret to Everybody", "Hello, World!"))
+                .isEqualTo("sha256=757107ea0eb2509fc211221cce984b8a37570b6d7586c22c46f4379c8b043e17");
+    }
+
+    GitHubEvent event(long installationId, JsonObject payload) {
+        GitHubEvent event = mock(GitHubEvent.class);
+        when(event.getInstallationId()).thenReturn(installationId);
+        when(event.getDeliveryId()).thenReturn(UUID.randomUUID().toString());
+        when(event.getEvent()).thenReturn("issues");
+        when(event.getParsedPayload()).thenReturn(payload);
+        return event;
+    }
+}
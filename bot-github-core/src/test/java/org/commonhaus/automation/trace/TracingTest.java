@@ -0,0 +1,95 @@
+package org.commonhaus.automation.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.commonhaus.automation.trace.Span.SpanData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class TracingTest {
+
+    @AfterEach
+    void cleanup() {
+        Tracing.setExporter(SpanExporter.NONE);
+    }
+
+    @Test
+    void testDisabled() {
+        try (Span span = Tracing.start("outer")) {
+            assertThat(span).isSameAs(Span.NOOP);
+            assertThat(span.isRecording()).isFalse();
+            assertThat(Tracing.current()).isNull();
+        }
+    }
+
+    @Test
+    void testNestedSpans() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(10);
+        Tracing.setExporter(exporter);
+
+        TraceContext outer;
+        try (Span span = Tracing.start("outer")) {
+            outer = span.context();
+            try (Span inner = Tracing.start("inner")) {
+                inner.attribute("count", 2).status("404");
+                assertThat(Tracing.current()).isEqualTo(inner.context());
+            }
+            assertThat(Tracing.current()).isEqualTo(outer);
+        }
+        assertThat(Tracing.current()).isNull();
+
+        List<SpanData> spans = exporter.trace(outer.traceId());
+        assertThat(spans).extracting(SpanData::name).containsExactly("outer", "inner");
+        assertThat(spans.get(0).parentId()).isNull();
+        assertThat(spans.get(1).parentId()).isEqualTo(outer.spanId());
+        assertThat(spans.get(1).attributes()).containsEntry("count", 2);
+        assertThat(spans.get(1).isError()).isTrue();
+
+        assertThat(exporter.traces()).singleElement()
+                .satisfies(t -> {
+                    assertThat(t.name()).isEqualTo("outer");
+                    assertThat(t.spans()).isEqualTo(2);
+                    assertThat(t.errors()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void testExplicitParent() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(10);
+        Tracing.setExporter(exporter);
+
+        TraceContext parent = TraceContext.forDelivery("0e2a7a50-9a4b-11ee-8d2f-3a8c2c3e4f5a");
+        assertThat(parent.traceId()).isEqualTo("0e2a7a509a4b11ee8d2f3a8c2c3e4f5a");
+
+        // e.g. a queued task, run on another thread
+        try (Span span = Tracing.start("queue CHANGE task", parent)) {
+            assertThat(span.context().traceId()).isEqualTo(parent.traceId());
+        }
+        assertThat(exporter.spans()).singleElement()
+                .satisfies(s -> assertThat(s.parentId()).isEqualTo(parent.spanId()));
+    }
+
+    @Test
+    void testCapacity() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(2);
+        Tracing.setExporter(exporter);
+        for (int i = 0; i < 3; i++) {
+            Tracing.start("span" + i).close();
+        }
+        assertThat(exporter.spans()).extracting(SpanData::name).containsExactly("span1", "span2");
+    }
+
+    @Test
+    void testTraceparent() {
+        TraceContext context = TraceContext.root();
+        assertThat(context.traceId()).hasSize(32);
+        assertThat(context.spanId()).hasSize(16);
+        assertThat(TraceContext.parse(context.traceparent())).isEqualTo(context);
+
+        assertThat(TraceContext.parse(null)).isNull();
+        assertThat(TraceContext.parse("00-abc-def-01")).isNull();
+        assertThat(TraceContext.forDelivery("not-a-uuid").traceId()).hasSize(32);
+    }
+}
@@ -89,6 +89,9 @@ public class ProjectAliasManager extends ScheduledService {
     // Quartz cron expression: s m h dom mon dow year(optional)
     @Scheduled(cron = "${automation.hausKeeper.cron.projectAliases:0 47 4 */3 * ?}")
     public void scheduledRefresh() {
+        if (!ownsScheduledWork(ctx.getDataStore())) {
+            return;
+        }
         try {
             Log.infof("[%s] ⏰ Scheduled: begin refresh project aliases", ME);
             refreshProjectAliases(false);
@@ -151,13 +154,12 @@ public class ProjectAliasManager extends ScheduledService {
 
     protected void processFileUpdate(String taskGroup, FileUpdate fileUpdate) {
         if (fileUpdate.updateType() == FileUpdateType.REMOVED) {
-            String repoFullName = fileUpdate.repository().getFullName();
-            Log.debugf("[%s] processFileUpdate: %s deleted", taskGroup, repoFullName);
+            Log.debugf("[%s] processFileUpdate: %s deleted", taskGroup, fileUpdate.repoFullName());
             taskGroupToState.put(taskGroup, EMPTY);
             return;
         }
 
-        ScopedQueryContext qc = new ScopedQueryContext(ctx, fileUpdate.installationId(), fileUpdate.repository());
+        ScopedQueryContext qc = new ScopedQueryContext(ctx, fileUpdate.installationId(), fileUpdate.repoFullName());
         readProjectConfig(taskGroup, qc, true);
     }
 
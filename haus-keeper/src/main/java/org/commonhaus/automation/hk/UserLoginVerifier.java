@@ -61,6 +61,9 @@ public class UserLoginVerifier extends ScheduledService {
 
     @Scheduled(cron = "${automation.hausKeeper.cron.verifyLogins:0 15 3 * * ?}")
     public void scheduledLoginVerification() {
+        if (!ownsScheduledWork(ctx.getDataStore())) {
+            return;
+        }
         try {
             Log.infof("[%s] ⏰ Scheduled: begin login verification", ME);
             verifyAllUserLogins(false);
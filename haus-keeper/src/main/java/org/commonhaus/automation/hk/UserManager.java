@@ -18,7 +18,6 @@ import org.commonhaus.automation.hk.github.AppContextService;
 import org.commonhaus.automation.queue.PeriodicUpdateQueue;
 import org.kohsuke.github.GHContent;
 import org.kohsuke.github.GHRepository;
-import org.kohsuke.github.GitHub;
 
 import io.quarkus.logging.Log;
 
@@ -75,21 +74,19 @@ public class UserManager {
      * Called by for file update events.
      */
     protected void processFileUpdate(FileUpdate fileUpdate) {
-        GitHub github = fileUpdate.github();
-        GHRepository repo = fileUpdate.repository();
+        String repoFullName = fileUpdate.repoFullName();
 
         if (fileUpdate.updateType() == FileUpdateType.REMOVED) {
-            Log.debugf("%s/processFileUpdate: %s deleted", repo.getFullName());
+            Log.debugf("%s/processFileUpdate: %s deleted", ME, repoFullName);
             // Leave the watcher, in case the file is re-added later
             // currentConfig.set(Optional.empty());
-            if (repo.getFullName().equals(ctx.getDataStore())) {
+            if (repoFullName.equals(ctx.getDataStore())) {
                 hkConfig.clear();
             }
             return;
         }
 
-        ScopedQueryContext qc = new ScopedQueryContext(ctx, fileUpdate.installationId(), fileUpdate.repository())
-                .withExisting(github);
+        ScopedQueryContext qc = new ScopedQueryContext(ctx, fileUpdate.installationId(), repoFullName);
 
         processConfigUpdate(qc);
     }
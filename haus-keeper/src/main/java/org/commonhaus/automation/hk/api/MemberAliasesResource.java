@@ -80,6 +80,7 @@ public class MemberAliasesResource {
 
     @POST
     @KnownUser
+    @ShedUnderLoad
     @Produces("application/json")
     public Response updateAliases(Map<String, Set<String>> aliases) {
         try {
@@ -112,6 +112,7 @@ public class MemberResource {
 
     @POST
     @KnownUser
+    @ShedUnderLoad
     @Path("/commonhaus/status")
     @Produces("application/json")
     public Response updateUserStatus(@DefaultValue("false") @QueryParam("refresh") boolean refresh) {
@@ -0,0 +1,22 @@
+package org.commonhaus.automation.hk.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.interceptor.InterceptorBinding;
+
+/**
+ * Non-critical endpoint: rejected with 503 (and Retry-After)
+ * while the update queue is backed up.
+ * <p>
+ * Interactive paths (login, reading member data, attestations) should not use this.
+ *
+ * @see org.commonhaus.automation.queue.BacklogMonitor
+ */
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface ShedUnderLoad {
+}
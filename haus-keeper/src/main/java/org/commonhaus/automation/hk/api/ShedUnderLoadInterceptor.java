@@ -0,0 +1,33 @@
+package org.commonhaus.automation.hk.api;
+
+import java.io.Serializable;
+
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.ws.rs.core.Response;
+
+import org.commonhaus.automation.queue.BacklogMonitor;
+
+import io.quarkus.logging.Log;
+
+@Interceptor
+@ShedUnderLoad
+public class ShedUnderLoadInterceptor implements Serializable {
+
+    @Inject
+    BacklogMonitor backlogMonitor;
+
+    @AroundInvoke
+    public Object shedUnderLoad(InvocationContext ctx) throws Exception {
+        if (backlogMonitor.shouldShed()) {
+            Log.debugf("Shedding %s.%s: update queue is backed up",
+                    ctx.getMethod().getDeclaringClass().getSimpleName(), ctx.getMethod().getName());
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", backlogMonitor.retryAfter().toSeconds())
+                    .build();
+        }
+        return ctx.proceed();
+    }
+}
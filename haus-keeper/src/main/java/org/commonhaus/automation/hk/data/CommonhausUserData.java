@@ -10,6 +10,9 @@ import java.util.TreeSet;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
 public class CommonhausUserData {
     MemberStatus status = MemberStatus.UNKNOWN;
 
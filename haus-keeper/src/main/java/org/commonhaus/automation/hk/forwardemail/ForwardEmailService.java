@@ -5,6 +5,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import jakarta.inject.Inject;
@@ -12,6 +13,8 @@ import jakarta.inject.Singleton;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response.Status;
 
+import org.commonhaus.automation.CircuitBreaker;
+import org.commonhaus.automation.CircuitBreaker.CircuitOpenException;
 import org.commonhaus.automation.hk.AdminDataCache;
 import org.commonhaus.automation.hk.api.MemberSession;
 import org.commonhaus.automation.hk.config.UserManagementConfig;
@@ -25,6 +28,7 @@ import io.quarkus.logging.Log;
 
 @Singleton
 public class ForwardEmailService {
+    static final CircuitBreaker BREAKER = CircuitBreaker.forService("forwardemail");
 
     @RestClient
     ForwardEmailClient forwardEmailClient;
@@ -131,11 +135,13 @@ public class ForwardEmailService {
 
         // API CALL: will throw WebApplicationException if not found or error
         String targetEmail = alias.verified_recipients.iterator().next();
-        forwardEmailClient.generatePassword(
-                alias.domain.name,
-                alias.id,
-                new GeneratePassword(true, targetEmail));
-        return true;
+        return call(() -> {
+            forwardEmailClient.generatePassword(
+                    alias.domain.name,
+                    alias.id,
+                    new GeneratePassword(true, targetEmail));
+            return true;
+        });
     }
 
     /**
@@ -166,7 +172,7 @@ public class ForwardEmailService {
         Alias alias = AdminDataCache.ALIASES.get(lookup);
         if (alias == null) {
             // API CALL: will throw WebApplicationException if not found (404) or error
-            Set<Alias> aliases = forwardEmailClient.findAliasByName(aliasKey.domain(), aliasKey.name());
+            Set<Alias> aliases = call(() -> forwardEmailClient.findAliasByName(aliasKey.domain(), aliasKey.name()));
             // The name search is a fuzzy match, so we may get multiple results.
             aliases.removeIf(x -> x.name == null || !x.name.equals(aliasKey.name()));
             if (aliases.isEmpty()) {
@@ -209,7 +215,8 @@ public class ForwardEmailService {
             alias.is_enabled = true;
             alias.has_recipient_verification = true;
             // API CALL: will throw WebApplicationException or error
-            alias = forwardEmailClient.createAlias(aliasKey.domain(), alias);
+            Alias created = alias;
+            alias = call(() -> forwardEmailClient.createAlias(aliasKey.domain(), created));
         } else if (alias.isDirty(description, recipients)) {
             alias.has_recipient_verification = true;
             alias.description = description;
@@ -218,13 +225,32 @@ public class ForwardEmailService {
                 alias.verified_recipients.retainAll(recipients);
             }
             // API CALL: will throw WebApplicationException on error
-            alias = forwardEmailClient.updateAlias(aliasKey.domain(), alias.id, alias);
+            Alias updated = alias;
+            alias = call(() -> forwardEmailClient.updateAlias(aliasKey.domain(), updated.id, updated));
         }
         Log.debugf("Update alias %s", alias);
         AdminDataCache.ALIASES.put(aliasKey.toString(), alias);
         return alias;
     }
 
+    /**
+     * Call the ForwardEmail API through a circuit breaker: while the service
+     * is unavailable, calls fail fast with a 503 {@link WebApplicationException}.
+     */
+    private <R> R call(Supplier<R> call) {
+        return BREAKER.call(call,
+                breaker -> new WebApplicationException("ForwardEmail API unavailable",
+                        new CircuitOpenException(breaker), Status.SERVICE_UNAVAILABLE),
+                ForwardEmailService::isOutage);
+    }
+
+    static boolean isOutage(Throwable e) {
+        if (e instanceof WebApplicationException wae && wae.getResponse() != null) {
+            return CircuitBreaker.isOutage(wae.getResponse().getStatus());
+        }
+        return CircuitBreaker.isOutage(e);
+    }
+
     protected boolean emailDisabled() {
         UserManagementConfig userConfig = ctx.getConfig();
         return userConfig.emailDisabled();
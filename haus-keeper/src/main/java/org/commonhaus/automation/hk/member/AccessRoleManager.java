@@ -1,7 +1,7 @@
 package org.commonhaus.automation.hk.member;
 
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 
@@ -11,6 +11,7 @@ import jakarta.inject.Inject;
 
 import org.commonhaus.automation.github.context.GitHubQueryContext;
 import org.commonhaus.automation.github.context.GitHubTeamService;
+import org.commonhaus.automation.github.scopes.QueryFanOut;
 import org.commonhaus.automation.github.scopes.ScopedQueryContext;
 import org.commonhaus.automation.hk.ActiveHausKeeperConfig;
 import org.commonhaus.automation.hk.AdminDataCache;
@@ -106,18 +107,21 @@ public class AccessRoleManager {
             Map<String, String> collabRoles = userConfig.collaboratorRoles();
             Log.debugf("collaborators: %s", collabRoles);
 
-            for (Entry<String, String> entry : collabRoles.entrySet()) {
-                String repoName = entry.getKey();
-                String role = entry.getValue();
-
-                ScopedQueryContext qc = ctx.getScopedQueryContext(repoName);
-                if (qc == null) {
-                    Log.errorf("No context for %s", repoName);
-                } else {
-                    if (teamService.isCollaborator(qc, ghUser, repoName)) {
-                        roles.add(role);
-                        result = Boolean.TRUE;
-                    }
+            // Check all repositories concurrently
+            List<String> repoNames = List.copyOf(collabRoles.keySet());
+            List<Boolean> collaborator = QueryFanOut.each(repoNames,
+                    repoName -> {
+                        ScopedQueryContext qc = ctx.getScopedQueryContext(repoName);
+                        if (qc == null) {
+                            Log.errorf("No context for %s", repoName);
+                        }
+                        return qc;
+                    },
+                    (qc, repoName) -> teamService.isCollaborator(qc, ghUser, repoName));
+            for (int i = 0; i < repoNames.size(); i++) {
+                if (Boolean.TRUE.equals(collaborator.get(i))) {
+                    roles.add(collabRoles.get(repoNames.get(i)));
+                    result = Boolean.TRUE;
                 }
             }
         }
@@ -126,17 +130,21 @@ public class AccessRoleManager {
             Map<String, String> teamRoles = userConfig.teamRoles();
             Log.debugf("teamRoles: %s", teamRoles);
 
-            for (Entry<String, String> entry : teamRoles.entrySet()) {
-                String teamFullName = entry.getKey();
-                String role = entry.getValue();
-
-                String orgName = ScopedQueryContext.toOrganizationName(teamFullName);
-                ScopedQueryContext qc = ctx.getScopedQueryContext(orgName);
-
-                if (qc == null) {
-                    Log.errorf("No context for %s", orgName);
-                } else if (teamService.isTeamMember(qc, ghUser, teamFullName)) {
-                    roles.add(role);
+            // Check all teams concurrently
+            List<String> teamNames = List.copyOf(teamRoles.keySet());
+            List<Boolean> member = QueryFanOut.each(teamNames,
+                    teamFullName -> {
+                        String orgName = ScopedQueryContext.toOrganizationName(teamFullName);
+                        ScopedQueryContext qc = ctx.getScopedQueryContext(orgName);
+                        if (qc == null) {
+                            Log.errorf("No context for %s", orgName);
+                        }
+                        return qc;
+                    },
+                    (qc, teamFullName) -> teamService.isTeamMember(qc, ghUser, teamFullName));
+            for (int i = 0; i < teamNames.size(); i++) {
+                if (Boolean.TRUE.equals(member.get(i))) {
+                    roles.add(teamRoles.get(teamNames.get(i)));
                     result = Boolean.TRUE;
                 }
             }
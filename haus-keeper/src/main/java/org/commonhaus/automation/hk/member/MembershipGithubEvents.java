@@ -3,16 +3,18 @@ package org.commonhaus.automation.hk.member;
 import java.util.Collection;
 
 import jakarta.inject.Inject;
-import jakarta.json.JsonObject;
 
-import org.commonhaus.automation.JsonAttributeAccessor;
 import org.commonhaus.automation.github.context.ActionType;
 import org.commonhaus.automation.github.context.DataCommonComment;
 import org.commonhaus.automation.github.context.DataCommonItem;
 import org.commonhaus.automation.github.context.DataLabel;
 import org.commonhaus.automation.github.context.JsonAttribute;
+import org.commonhaus.automation.github.context.WebhookPayload;
 import org.commonhaus.automation.hk.github.AppContextService;
 import org.commonhaus.automation.hk.github.DatastoreQueryContext;
+import org.commonhaus.automation.queue.WebhookIngestQueue;
+import org.commonhaus.automation.shard.InstallationShards;
+import org.commonhaus.automation.trace.Tracing;
 import org.kohsuke.github.GHEventPayload;
 import org.kohsuke.github.GitHub;
 
@@ -30,6 +32,12 @@ public class MembershipGithubEvents {
     @Inject
     MemberApplicationProcess applicationProcess;
 
+    @Inject
+    WebhookIngestQueue ingestQueue;
+
+    @Inject
+    InstallationShards shards;
+
     /**
      * Called when an issue is labeled
      *
@@ -40,15 +48,18 @@ public class MembershipGithubEvents {
      */
     public void applicationIssueLabelAdded(GitHubEvent event, GitHub github, DynamicGraphQLClient graphQLClient,
             @Issue.Labeled GHEventPayload.Issue eventPayload) {
+        if (!shards.accept(event)) {
+            return;
+        }
         long installationId = eventPayload.getInstallation().getId();
         String repoFullName = eventPayload.getRepository().getFullName();
         Log.debugf("[%s] applicationIssueLabelAdded: %s",
                 installationId, repoFullName);
 
         ActionType actionType = ActionType.fromString(event.getAction());
-        JsonObject data = JsonAttributeAccessor.unpack(event.getPayload());
-        DataCommonItem issue = JsonAttribute.issue.commonItemFrom(data);
-        DataLabel label = JsonAttribute.label.labelFrom(data);
+        WebhookPayload payload = WebhookPayload.of(event);
+        DataCommonItem issue = payload.commonItem(JsonAttribute.issue);
+        DataLabel label = payload.label();
 
         // ignore if it isn't an issue in the datastore repository
         if (!repoFullName.equals(ctx.getDataStore())
@@ -56,21 +67,25 @@ public class MembershipGithubEvents {
             return;
         }
 
-        DatastoreQueryContext dqc = ctx.getDatastoreContext().withLogId("" + installationId);
-        Log.debugf("[%s] applicationIssueLabelAdded %s#%s - %s", dqc.getLogId(),
-                repoFullName, issue.number, actionType);
-
-        try {
-            dqc.getLabels(dqc.getRepositoryId()); // pre-fetch
-            if (!dqc.hasErrors()) {
-                applicationProcess.handleApplicationLabelAdded(dqc, eventPayload.getIssue(), issue, label);
-            }
-            if (dqc.hasErrors()) {
-                dqc.logAndSendContextErrors("Error with issue label event");
-            }
-        } catch (Throwable e) {
-            dqc.logAndSendEmail("Error with issue comment event", e);
-        }
+        Tracing.inSpan(Tracing.webhook(event, "MembershipGithubEvents"), () -> {
+            ingestQueue.submit(repoFullName, "applicationIssueLabelAdded #" + issue.number, () -> {
+                DatastoreQueryContext dqc = ctx.getDatastoreContext().withLogId("" + installationId);
+                Log.debugf("[%s] applicationIssueLabelAdded %s#%s - %s", dqc.getLogId(),
+                        repoFullName, issue.number, actionType);
+
+                try {
+                    dqc.getLabels(dqc.getRepositoryId()); // pre-fetch
+                    if (!dqc.hasErrors()) {
+                        applicationProcess.handleApplicationLabelAdded(dqc, eventPayload.getIssue(), issue, label);
+                    }
+                    if (dqc.hasErrors()) {
+                        dqc.logAndSendContextErrors("Error with issue label event");
+                    }
+                } catch (Throwable e) {
+                    dqc.logAndSendEmail("Error with issue comment event", e);
+                }
+            });
+        });
     }
 
     /**
@@ -83,13 +98,16 @@ public class MembershipGithubEvents {
      */
     public void updateApplicationComments(GitHubEvent event, GitHub github, DynamicGraphQLClient graphQLClient,
             @IssueComment GHEventPayload.IssueComment eventPayload) {
+        if (!shards.accept(event)) {
+            return;
+        }
         long installationId = eventPayload.getInstallation().getId();
         String repoFullName = eventPayload.getRepository().getFullName();
         Log.debugf("[%s] updateApplicationComments: %s",
                 installationId, repoFullName);
 
-        JsonObject data = JsonAttributeAccessor.unpack(event.getPayload());
-        DataCommonItem issue = JsonAttribute.issue.commonItemFrom(data);
+        WebhookPayload payload = WebhookPayload.of(event);
+        DataCommonItem issue = payload.commonItem(JsonAttribute.issue);
 
         // ignore if it isn't an issue in the datastore repository
         if (!repoFullName.equals(ctx.getDataStore())
@@ -97,25 +115,29 @@ public class MembershipGithubEvents {
             return;
         }
 
-        DatastoreQueryContext dqc = ctx.getDatastoreContext();
-        DataCommonComment comment = JsonAttribute.comment.commonCommentFrom(data);
-
-        Collection<DataLabel> labels = dqc.getLabels(issue.id);
-        boolean hasNew = labels.stream().anyMatch(l -> MemberApplicationProcess.isNew(l));
-        DataLabel finishLabel = labels.stream()
-                .filter(l -> MemberApplicationProcess.isComplete(l))
-                .findFirst().orElse(null);
-        try {
-            applicationProcess.handleApplicationComment(dqc, issue, comment);
-
-            // Handle missed label event
-            if (hasNew && finishLabel != null) {
-                dqc.getLabels(dqc.getRepositoryId()); // pre-fetch
-                applicationProcess.handleApplicationLabelAdded(dqc, eventPayload.getIssue(), issue, finishLabel);
-            }
-        } catch (Throwable e) {
-            dqc.logAndSendEmail("Error with issue comment event", e);
-        }
+        DataCommonComment comment = payload.commonComment();
+
+        Tracing.inSpan(Tracing.webhook(event, "MembershipGithubEvents"), () -> {
+            ingestQueue.submit(repoFullName, "updateApplicationComments #" + issue.number, () -> {
+                DatastoreQueryContext dqc = ctx.getDatastoreContext();
+                Collection<DataLabel> labels = dqc.getLabels(issue.id);
+                boolean hasNew = labels.stream().anyMatch(l -> MemberApplicationProcess.isNew(l));
+                DataLabel finishLabel = labels.stream()
+                        .filter(l -> MemberApplicationProcess.isComplete(l))
+                        .findFirst().orElse(null);
+                try {
+                    applicationProcess.handleApplicationComment(dqc, issue, comment);
+
+                    // Handle missed label event
+                    if (hasNew && finishLabel != null) {
+                        dqc.getLabels(dqc.getRepositoryId()); // pre-fetch
+                        applicationProcess.handleApplicationLabelAdded(dqc, eventPayload.getIssue(), issue, finishLabel);
+                    }
+                } catch (Throwable e) {
+                    dqc.logAndSendEmail("Error with issue comment event", e);
+                }
+            });
+        });
     }
 
 }
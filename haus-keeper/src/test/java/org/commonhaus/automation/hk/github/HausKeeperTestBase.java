@@ -403,6 +403,11 @@ public class HausKeeperTestBase extends ContextHelper {
                     return Duration.ofMillis(1);
                 }
 
+                @Override
+                public List<Duration> retryDelays() {
+                    return List.of(Duration.ofMillis(5));
+                }
+
                 @Override
                 public Optional<String> stateDirectory() {
                     return Optional.of(tempJournalPath);
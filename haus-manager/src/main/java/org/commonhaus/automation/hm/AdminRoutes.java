@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import org.commonhaus.automation.ApiUsage;
 import org.commonhaus.automation.config.LocalRouteOnly;
 import org.commonhaus.automation.github.stats.ProjectHealthCollector;
 import org.commonhaus.automation.hm.github.AppContextService;
@@ -242,6 +243,20 @@ public class AdminRoutes implements LocalRouteOnly {
         routingExchange.ok().end();
     }
 
+    @Route(path = "/apiUsage", order = 99, produces = "application/json", methods = { HttpMethod.GET })
+    public void reportApiUsage(RoutingContext routingContext, RoutingExchange routingExchange) {
+        if (!isDirectConnection(routingExchange)) {
+            rejectNonLocalAccess(routingExchange);
+            return;
+        }
+        try {
+            routingExchange.ok().end(objectMapper.writeValueAsString(ApiUsage.report()));
+        } catch (JsonProcessingException e) {
+            Log.error("Unable to serialize API usage report", e);
+            routingExchange.serverError().end();
+        }
+    }
+
     @Route(path = "/projectHealthReport", order = 99, produces = "text/html", methods = { HttpMethod.GET })
     public void triggerProjectHealthReport(RoutingContext routingContext, RoutingExchange routingExchange) {
         if (!isDirectConnection(routingExchange)) {
@@ -3,7 +3,9 @@ package org.commonhaus.automation.hm;
 import static org.commonhaus.automation.github.context.GitHubQueryContext.toOrganizationName;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import jakarta.enterprise.context.ApplicationScoped;
@@ -12,6 +14,7 @@ import jakarta.inject.Inject;
 
 import org.commonhaus.automation.config.RouteSupplier;
 import org.commonhaus.automation.github.context.GitHubTeamService;
+import org.commonhaus.automation.github.scopes.QueryFanOut;
 import org.commonhaus.automation.github.scopes.ScopedQueryContext;
 import org.commonhaus.automation.hm.config.LatestOrgConfig;
 import org.commonhaus.automation.hm.config.LatestProjectConfig;
@@ -61,6 +64,9 @@ public class CollaboratorMonitor extends ScheduledService {
     // Quartz cron expression: s m h dom mon dow year(optional)
     @Scheduled(cron = "${automation.hausManager.cron.collaborators:0 47 9 */3 * ?}")
     public void scheduledRefresh() {
+        if (!ownsScheduledWork(ctx.getOrganization())) {
+            return;
+        }
         Log.infof("[%s] ⏰ Scheduled: refresh collaborators", ME);
         refreshCollaborators(false);
     }
@@ -157,6 +163,7 @@ public class CollaboratorMonitor extends ScheduledService {
         }
 
         // Iterate through all configured projects
+        List<String> projectRepos = new ArrayList<>();
         for (var projectState : latestProjectConfig.getAllProjects()) {
             var projectConfig = projectState == ProjectManager.EMPTY
                     ? null
@@ -172,20 +179,27 @@ public class CollaboratorMonitor extends ScheduledService {
                 continue;
             }
 
-            var projectRepoFullName = projectState.repoFullName();
-            GHRepository projectRepo = qc.getRepository(projectRepoFullName);
+            projectRepos.add(projectState.repoFullName());
+        }
+
+        // Get collaborators from all project repositories (concurrently)
+        List<Set<String>> projectCollaborators = QueryFanOut.fork(qc, projectRepos, (repoQc, projectRepoFullName) -> {
+            GHRepository projectRepo = repoQc.getRepository(projectRepoFullName);
             if (projectRepo == null) {
                 Log.debugf("[%s] gatherProjectCollaborators: repository %s not found",
                         ME, projectRepoFullName);
                 throw new IllegalStateException("Invalid project repository: " + projectRepoFullName);
             }
-
-            // Get collaborators from this project repository
-            Set<String> projectCollaborators = teamService.getCollaboratorLogins(qc, projectRepo);
-            allCollaborators.addAll(projectCollaborators);
+            Set<String> collaborators = teamService.getCollaboratorLogins(repoQc, projectRepo);
             Log.debugf("[%s] gatherProjectCollaborators: found %d collaborators in %s",
-                    ME, projectCollaborators.size(), projectRepoFullName);
+                    ME, collaborators.size(), projectRepoFullName);
+            return collaborators;
+        });
+        if (qc.hasErrors()) {
+            // Do not synchronize a partial list
+            throw qc.bundleExceptions();
         }
+        projectCollaborators.forEach(allCollaborators::addAll);
 
         Log.infof("[%s] gatherProjectCollaborators: total unique collaborators: %d", ME, allCollaborators.size());
         return allCollaborators;
@@ -126,6 +126,9 @@ public class DomainMonitor extends BaseMonitor {
     // Quartz cron expression: s m h dom mon dow year(optional)
     @Scheduled(cron = "${automation.hausManager.cron.domain:27 25 13 ? * THU *}")
     public void scheduledRefresh() {
+        if (!ownsScheduledWork(ctx.getOrganization())) {
+            return;
+        }
         try {
             Log.infof("[%s] ⏰ Scheduled: refresh domains", ME);
             refreshDomains(false, null);
@@ -101,6 +101,9 @@ public class InstallMonitor extends BaseMonitor {
     // Run at 17:13:27, on every Wednesday, every month
     @Scheduled(cron = "${automation.hausManager.cron.install:27 13 17 ? * WED *}")
     public void scheduledRefresh() {
+        if (!ownsScheduledWork(ctx.getOrganization())) {
+            return;
+        }
         try {
             Log.infof("[%s] ⏰ Scheduled: refresh installation check", ME);
             checkInstallations(false);
@@ -32,10 +32,10 @@ import org.commonhaus.automation.hm.config.LatestOrgConfig;
 import org.commonhaus.automation.hm.config.OrganizationConfig;
 import org.kohsuke.github.GHContent;
 import org.kohsuke.github.GHRepository;
-import org.kohsuke.github.GitHub;
 
 import io.quarkus.logging.Log;
 import io.quarkus.runtime.StartupEvent;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import io.quarkus.scheduler.Scheduled;
 
 @ApplicationScoped
@@ -89,8 +89,8 @@ public class OrganizationManager extends GroupCoordinator implements LatestOrgCo
                 }
 
                 // Register watcher to monitor for org config changes
-                // GHRepository is backed by a cached connection that can expire
-                // use the GitHub object from the event to ensure a fresh connection
+                // File updates only describe the change: the repository is resolved
+                // with a current connection when the update is processed
                 fileWatcher.watchFile(ME,
                         installationId, repoFullName, OrganizationConfig.PATH,
                         (fileUpdate) -> processFileUpdate(fileUpdate));
@@ -106,6 +106,9 @@ public class OrganizationManager extends GroupCoordinator implements LatestOrgCo
      * Organization and project config have been detected
      */
     protected void bootstrapComplete(@Observes @Priority(value = RdePriority.APP_DISCOVERY) BootstrapDiscoveryEvent event) {
+        if (!ownsScheduledWork(ctx.getOrganization())) {
+            return;
+        }
         if (taskState.shouldRun(ME, Duration.ofHours(12))) {
             queueReconciliation();
         } else {
@@ -119,6 +122,9 @@ public class OrganizationManager extends GroupCoordinator implements LatestOrgCo
     // Quartz cron expression: s m h dom mon dow year(optional)
     @Scheduled(cron = "${automation.hausManager.cron.organization:0 47 2 */3 * ?}")
     public void scheduledRefresh() {
+        if (!ownsScheduledWork(ctx.getOrganization())) {
+            return;
+        }
         try {
             Log.infof("[%s] ⏰ Scheduled: begin refresh organization membership", ME);
             refreshOrganizationMembership(false);
@@ -190,11 +196,8 @@ public class OrganizationManager extends GroupCoordinator implements LatestOrgCo
     protected void processFileUpdate(FileUpdate fileUpdate) {
         recordRun();
 
-        GitHub github = fileUpdate.github();
-        GHRepository repo = fileUpdate.repository();
-
         if (fileUpdate.updateType() == FileUpdateType.REMOVED) {
-            Log.debugf("[%s] processFileUpdate: %s deleted", repo.getFullName());
+            Log.debugf("[%s] processFileUpdate: %s deleted", ME, fileUpdate.repoFullName());
             currentConfig.set(Optional.empty());
             // TODO: clean up associated resources.
             // Leave the watcher, in case the file is re-added later
@@ -202,8 +205,7 @@ public class OrganizationManager extends GroupCoordinator implements LatestOrgCo
             return;
         }
 
-        ScopedQueryContext qc = new ScopedQueryContext(ctx, fileUpdate.installationId(), repo)
-                .withExisting(github);
+        ScopedQueryContext qc = new ScopedQueryContext(ctx, fileUpdate.installationId(), fileUpdate.repoFullName());
         if (readOrgConfig(qc)) {
             queueReconciliation();
         } else if (qc.hasErrors()) {
@@ -326,6 +328,7 @@ public class OrganizationManager extends GroupCoordinator implements LatestOrgCo
         membershipEvents.unwatchAll(ME);
     }
 
+    @RegisterForReflection
     record OrganizationConfigState(
             long installationId,
             String repoFullName,
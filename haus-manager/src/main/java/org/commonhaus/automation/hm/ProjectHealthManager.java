@@ -16,6 +16,7 @@ import jakarta.inject.Inject;
 import org.commonhaus.automation.config.BotConfig;
 import org.commonhaus.automation.config.RepoSource;
 import org.commonhaus.automation.config.RouteSupplier;
+import org.commonhaus.automation.github.scopes.QueryFanOut;
 import org.commonhaus.automation.github.scopes.ScopedQueryContext;
 import org.commonhaus.automation.github.stats.ProjectHealthCollector;
 import org.commonhaus.automation.github.stats.ProjectHealthReport;
@@ -74,6 +75,9 @@ public class ProjectHealthManager extends GroupCoordinator implements ProjectCon
 
     @Scheduled(cron = "0 0 6 ? * SUN") // Sunday 6 AM
     public void weeklyHealthCollection() {
+        if (!ownsScheduledWork(ctx.getOrganization())) {
+            return;
+        }
         try {
             Log.infof("[%s] ⏰ Scheduled: begin collection of project health data", ME);
             // Safe anchor ensures we always get the Sunday of the completed week
@@ -241,29 +245,37 @@ public class ProjectHealthManager extends GroupCoordinator implements ProjectCon
         Log.debugf("[%s] Found %d repositories to track in %s (excluded %d)",
                 ME, trackedRepos.size(), orgName, allRepos.size() - trackedRepos.size());
 
-        // Synchronously collect health data for each tracked repository
-        for (var repo : trackedRepos) {
-            String fullName = repo.getFullName();
-            collectRepoHealth(batch, anchorDate, fullName, repoConfig);
+        // Collect health data for tracked repositories concurrently
+        List<ProjectHealthReport> reports = QueryFanOut.each(trackedRepos,
+                repo -> new ScopedQueryContext(ctx, batch.installationId(), repo),
+                (qc, repo) -> collectRepoHealth(qc, anchorDate, repoConfig));
+
+        // Add reports to the batch (batch handles dry run internally)
+        for (var report : reports) {
+            if (report != null) {
+                batch.addReport(report);
+                Log.debugf("[%s] Added health report for %s to batch", ME, report.fullName);
+            }
         }
     }
 
-    private void collectRepoHealth(ProjectHealthBatch batch, LocalDate anchorDate, String repoFullName,
+    private ProjectHealthReport collectRepoHealth(ScopedQueryContext qc, LocalDate anchorDate,
             RepositoryHealthConfig repoConfig) {
+        String repoFullName = qc.getRepository().getFullName();
         String expectedFrequency = repoConfig.getReleaseFrequency(repoFullName);
-
-        ScopedQueryContext qc = new ScopedQueryContext(ctx, batch.installationId(), repoFullName);
         Log.debugf("[%s] Collecting health data for %s (expected frequency: %s)", ME, repoFullName, expectedFrequency);
 
-        var report = projectHealthCollector.collect(qc, anchorDate, true, true);
+        ProjectHealthReport report = null;
+        try {
+            report = projectHealthCollector.collect(qc, anchorDate, true, true);
+        } catch (RuntimeException e) {
+            qc.addException(e);
+        }
         if (qc.hasErrors()) {
             qc.logAndSendContextErrors("[%s] Failed to collect health data for %s".formatted(ME, repoFullName));
-            return;
+            return null;
         }
-
-        // Add the report to the batch (batch handles dry run internally)
-        batch.addReport(report);
-        Log.debugf("[%s] Added health report for %s to batch", ME, repoFullName);
+        return report;
     }
 
     @Override
@@ -38,6 +38,7 @@ import org.kohsuke.github.GHRepository;
 
 import io.quarkus.logging.Log;
 import io.quarkus.runtime.StartupEvent;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 import io.quarkus.scheduler.Scheduled;
 
 @ApplicationScoped
@@ -85,6 +86,9 @@ public class ProjectManager extends GroupCoordinator implements LatestProjectCon
     // Quartz cron expression: s m h dom mon dow year(optional)
     @Scheduled(cron = "${automation.hausManager.cron.projects:0 47 4 */3 * ?}")
     public void scheduledRefresh() {
+        if (!ownsScheduledWork(ctx.getOrganization())) {
+            return;
+        }
         try {
             Log.infof("[%s] ⏰ Scheduled: begin refresh config", ME);
             refreshConfig(false);
@@ -176,6 +180,9 @@ public class ProjectManager extends GroupCoordinator implements LatestProjectCon
 
     /** All repositories have been discovered: Organization and project config have been detected */
     protected void bootstrapComplete(@Observes @Priority(value = RdePriority.APP_DISCOVERY) BootstrapDiscoveryEvent event) {
+        if (!ownsScheduledWork(ctx.getOrganization())) {
+            return;
+        }
         if (taskState.shouldRun(ME, Duration.ofHours(12))) {
             queueReconciliation();
         } else {
@@ -243,12 +250,11 @@ public class ProjectManager extends GroupCoordinator implements LatestProjectCon
      */
     protected void processFileUpdate(String taskGroup, FileUpdate fileUpdate) {
         if (fileUpdate.updateType() == FileUpdateType.REMOVED) {
-            String repoFullName = fileUpdate.repository().getFullName();
-            Log.debugf("[%s] processFileUpdate: %s %s deleted", ME, taskGroup, repoFullName);
+            Log.debugf("[%s] processFileUpdate: %s %s deleted", ME, taskGroup, fileUpdate.repoFullName());
             taskGroupToState.remove(taskGroup);
             return;
         }
-        ScopedQueryContext qc = new ScopedQueryContext(ctx, fileUpdate.installationId(), fileUpdate.repository());
+        ScopedQueryContext qc = new ScopedQueryContext(ctx, fileUpdate.installationId(), fileUpdate.repoFullName());
         readProjectConfig(taskGroup, qc);
         updateQueue.queueReconciliation(ME, () -> reconcile(taskGroup));
     }
@@ -473,6 +479,7 @@ public class ProjectManager extends GroupCoordinator implements LatestProjectCon
         taskGroupToState.clear();
     }
 
+    @RegisterForReflection
     public record ProjectConfigState(
             String taskGroup,
             Runnable refresh,
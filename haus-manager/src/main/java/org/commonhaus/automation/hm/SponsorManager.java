@@ -63,6 +63,9 @@ public class SponsorManager extends GroupCoordinator {
     // Quartz cron expression: s m h dom mon dow year(optional)
     @Scheduled(cron = "${automation.hausManager.cron.sponsor:0 47 1 */3 * ?}")
     public void scheduledRefresh() {
+        if (!ownsScheduledWork(ctx.getOrganization())) {
+            return;
+        }
         try {
             Log.infof("[%s] ⏰ Scheduled: refresh sponsors", ME);
             refreshSponsors(false);
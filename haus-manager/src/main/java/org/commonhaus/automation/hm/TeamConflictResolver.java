@@ -30,6 +30,7 @@ import io.quarkus.logging.Log;
 import io.quarkus.runtime.LaunchMode;
 import io.quarkus.runtime.ShutdownEvent;
 import io.quarkus.runtime.StartupEvent;
+import io.quarkus.runtime.annotations.RegisterForReflection;
 
 @Singleton
 public class TeamConflictResolver {
@@ -366,6 +367,7 @@ public class TeamConflictResolver {
         teamOwnership.clear();
     }
 
+    @RegisterForReflection
     static class TeamOwnership {
         final OwnershipType type;
         final OrganizationConfigState org;
@@ -3,7 +3,12 @@ package org.commonhaus.automation.hm.namecheap;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import jakarta.ws.rs.WebApplicationException;
+
+import org.commonhaus.automation.CircuitBreaker;
+import org.commonhaus.automation.CircuitBreaker.CircuitOpenException;
 import org.commonhaus.automation.hm.namecheap.models.DomainContacts;
 import org.commonhaus.automation.hm.namecheap.models.DomainListResponse;
 import org.commonhaus.automation.hm.namecheap.models.DomainRecord;
@@ -14,9 +19,13 @@ import io.quarkus.logging.Log;
 /**
  * Real implementation of NamecheapService that interacts with Namecheap API.
  * Instantiated by NamecheapServiceProducer when Namecheap is configured.
+ * <p>
+ * API calls go through a {@link CircuitBreaker}: while Namecheap is unavailable,
+ * calls fail fast with a {@link NamecheapException} (caused by a {@link CircuitOpenException}).
  */
 class NamecheapServiceImpl implements NamecheapService {
     static final String ME = "🌐-namecheap";
+    static final CircuitBreaker BREAKER = CircuitBreaker.forService("namecheap");
 
     private final NamecheapClient client;
     private final DomainContacts defaultContacts;
@@ -33,20 +42,20 @@ class NamecheapServiceImpl implements NamecheapService {
 
     @Override
     public Optional<DomainContacts> getContacts(String domainName) {
-        String currentXml = client.getContacts(domainName);
+        String currentXml = call(() -> client.getContacts(domainName));
         DomainContacts contacts = NamecheapResponseParser.parseGetContactsResponse(currentXml);
         return Optional.of(contacts);
     }
 
     @Override
     public boolean setContacts(String domainName, DomainContacts contacts) {
-        String currentXml = client.setContacts(domainName, contacts);
+        String currentXml = call(() -> client.setContacts(domainName, contacts));
         return NamecheapResponseParser.parseSetContactsResponse(currentXml);
     }
 
     @Override
     public Optional<String> getDomainInfo(String domainName) {
-        String result = client.getDomainInfo(domainName);
+        String result = call(() -> client.getDomainInfo(domainName));
         return Optional.of(result);
     }
 
@@ -57,7 +66,8 @@ class NamecheapServiceImpl implements NamecheapService {
         int pageSize = 100; // Use larger page size for efficiency
 
         do {
-            String xmlResponse = client.getDomainList(currentPage, pageSize);
+            int page = currentPage;
+            String xmlResponse = call(() -> client.getDomainList(page, pageSize));
             DomainListResponse response = NamecheapResponseParser.parseDomainListResponse(xmlResponse);
 
             allDomains.addAll(response.domains());
@@ -79,7 +89,7 @@ class NamecheapServiceImpl implements NamecheapService {
     @Override
     public boolean createDomain(String domainName, int years) {
         CreateDomainRequest request = new CreateDomainRequest(domainName, years, defaultContacts);
-        String response = client.createDomain(request);
+        String response = call(() -> client.createDomain(request));
         NamecheapResponseParser.validateResponse(response);
         Log.infof("[%s] Successfully created domain: %s for %d year(s)", ME, domainName, years);
         return true;
@@ -89,4 +99,17 @@ class NamecheapServiceImpl implements NamecheapService {
     public DomainContacts defaultContacts() {
         return defaultContacts;
     }
+
+    private <R> R call(Supplier<R> call) {
+        return BREAKER.call(call,
+                breaker -> new NamecheapException("Namecheap API unavailable", new CircuitOpenException(breaker)),
+                NamecheapServiceImpl::isOutage);
+    }
+
+    static boolean isOutage(Throwable e) {
+        if (e instanceof WebApplicationException wae && wae.getResponse() != null) {
+            return CircuitBreaker.isOutage(wae.getResponse().getStatus());
+        }
+        return CircuitBreaker.isOutage(e);
+    }
 }
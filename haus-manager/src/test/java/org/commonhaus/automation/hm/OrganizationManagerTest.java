@@ -125,7 +125,7 @@ public class OrganizationManagerTest extends HausManagerTestBase {
     void testConfigurationUpdated() throws IOException {
         organizationManager.processFileUpdate(new FileUpdate(
                 OrganizationConfig.PATH, FileUpdateType.MODIFIED,
-                hausMocks.installationId(), hausMocks.repository(), hausMocks.github()));
+                hausMocks.installationId(), hausMocks.repository().getFullName()));
 
         // Verify config was read
         waitForQueue();
@@ -112,7 +112,7 @@ public class ProjectManagerTest extends HausManagerTestBase {
 
         projectManager.processFileUpdate(taskGroup, new FileUpdate(
                 ProjectConfig.PATH, FileUpdateType.MODIFIED,
-                home_project_1.installationId(), home_project_1.repository(), home_project_1.github()));
+                home_project_1.installationId(), home_project_1.repository().getFullName()));
 
         waitForQueue();
 
@@ -3,10 +3,14 @@ package org.commonhaus.automation.hr;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import org.commonhaus.automation.ApiUsage;
 import org.commonhaus.automation.config.LocalRouteOnly;
 import org.commonhaus.automation.hr.voting.VoteProcessor;
 import org.commonhaus.automation.queue.PeriodicUpdateQueue;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.quarkus.logging.Log;
 import io.quarkus.vertx.web.Route;
 import io.quarkus.vertx.web.Route.HttpMethod;
@@ -22,6 +26,9 @@ public class AdminRoutes implements LocalRouteOnly {
     @Inject
     PeriodicUpdateQueue updateQueue;
 
+    @Inject
+    ObjectMapper objectMapper;
+
     @Route(path = "/votes", order = 99, produces = "text/html", methods = { HttpMethod.GET })
     public void triggerVoteCount(RoutingContext routingContext, RoutingExchange routingExchange) {
         if (!isDirectConnection(routingExchange)) {
@@ -34,4 +41,18 @@ public class AdminRoutes implements LocalRouteOnly {
         });
         routingExchange.ok();
     }
+
+    @Route(path = "/apiUsage", order = 99, produces = "application/json", methods = { HttpMethod.GET })
+    public void reportApiUsage(RoutingContext routingContext, RoutingExchange routingExchange) {
+        if (!isDirectConnection(routingExchange)) {
+            rejectNonLocalAccess(routingExchange);
+            return;
+        }
+        try {
+            routingExchange.ok().end(objectMapper.writeValueAsString(ApiUsage.report()));
+        } catch (JsonProcessingException e) {
+            Log.error("Unable to serialize API usage report", e);
+            routingExchange.serverError().end();
+        }
+    }
 }
@@ -11,7 +11,6 @@ import org.commonhaus.automation.github.context.DataLabel;
 import org.commonhaus.automation.github.context.EventData;
 import org.commonhaus.automation.github.context.EventType;
 import org.commonhaus.automation.github.context.GitHubQueryContext;
-import org.commonhaus.automation.github.context.JsonAttribute;
 import org.kohsuke.github.GHOrganization;
 import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GHUser;
@@ -94,7 +93,7 @@ public class EventQueryContext extends GitHubQueryContext {
 
     public String getStatus() {
         if (event.getActionType() == ActionType.labeled) {
-            return JsonAttribute.label.labelFrom(event.getJsonData()).name;
+            return event.getPayload().label().name;
         }
         return event.getActionType().name();
     }
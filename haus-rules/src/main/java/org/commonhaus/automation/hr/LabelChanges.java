@@ -6,6 +6,8 @@ import org.commonhaus.automation.github.context.DataDiscussion;
 import org.commonhaus.automation.github.context.DataLabel;
 import org.commonhaus.automation.github.context.EventData;
 import org.commonhaus.automation.github.context.EventPayload;
+import org.commonhaus.automation.shard.InstallationShards;
+import org.commonhaus.automation.trace.Tracing;
 import org.kohsuke.github.GHEventPayload;
 import org.kohsuke.github.GHIssue;
 import org.kohsuke.github.GHLabel;
@@ -27,6 +29,9 @@ public class LabelChanges {
     @Inject
     AppContextService ctx;
 
+    @Inject
+    InstallationShards shards;
+
     /**
      * Called when there is a discussion labeled/unlabeled event.
      *
@@ -37,6 +42,9 @@ public class LabelChanges {
      */
     void onDiscussionLabelChangeEvent(GitHubEvent event, GitHub github, DynamicGraphQLClient graphQLClient,
             @Discussion.Labeled @Discussion.Unlabeled GHEventPayload.Discussion discussionPayload) {
+        if (!shards.accept(event)) {
+            return;
+        }
 
         final EventData initialData = new EventData(event, discussionPayload);
         EventPayload.DiscussionPayload payload = initialData.getEventPayload();
@@ -57,7 +65,9 @@ public class LabelChanges {
                 .withExisting(graphQLClient)
                 .withExisting(github);
 
-        qc.modifyLabels(discussion.id, label, initialData.getActionType());
+        Tracing.inSpan(Tracing.webhook(event, "LabelChanges"),
+
+                () -> qc.modifyLabels(discussion.id, label, initialData.getActionType()));
     }
 
     /**
@@ -70,6 +80,9 @@ public class LabelChanges {
      */
     void onPullRequestLabelChangeEvent(GitHubEvent event, GitHub github, DynamicGraphQLClient graphQLClient,
             @PullRequest.Labeled @PullRequest.Unlabeled GHEventPayload.PullRequest parsedPayload) {
+        if (!shards.accept(event)) {
+            return;
+        }
 
         final EventData initialData = new EventData(event, parsedPayload);
         GHLabel label = parsedPayload.getLabel();
@@ -81,7 +94,9 @@ public class LabelChanges {
                 .withExisting(graphQLClient)
                 .withExisting(github);
 
-        qc.modifyLabels(issue.getNodeId(), new DataLabel(label), initialData.getActionType());
+        Tracing.inSpan(Tracing.webhook(event, "LabelChanges"),
+
+                () -> qc.modifyLabels(issue.getNodeId(), new DataLabel(label), initialData.getActionType()));
     }
 
     /**
@@ -94,6 +109,9 @@ public class LabelChanges {
      */
     void onIssueLabelChangeEvent(GitHubEvent event, GitHub github, DynamicGraphQLClient graphQLClient,
             @Issue.Labeled @Issue.Unlabeled GHEventPayload.Issue parsedPayload) {
+        if (!shards.accept(event)) {
+            return;
+        }
 
         final EventData initialData = new EventData(event, parsedPayload);
         GHLabel label = parsedPayload.getLabel();
@@ -105,6 +123,8 @@ public class LabelChanges {
                 .withExisting(graphQLClient)
                 .withExisting(github);
 
-        qc.modifyLabels(issue.getNodeId(), new DataLabel(label), initialData.getActionType());
+        Tracing.inSpan(Tracing.webhook(event, "LabelChanges"),
+
+                () -> qc.modifyLabels(issue.getNodeId(), new DataLabel(label), initialData.getActionType()));
     }
 }
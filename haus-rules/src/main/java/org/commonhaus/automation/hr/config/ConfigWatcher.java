@@ -78,13 +78,14 @@ public class ConfigWatcher {
         String repoFullName = repo.getFullName();
         long installationId = repoEvent.installationId();
 
-        readConfiguration(repoEvent.installationId(), repoEvent.repository(), null);
+        readConfiguration(new ScopedQueryContext(ctx, installationId, repo), repoFullName, null);
 
         if (action.repository() && action.added()) {
             fileEvents.watchFile(ME,
                     installationId, repoFullName, HausRulesConfig.PATH,
-                    (fileUpdate) -> readConfiguration(fileUpdate.installationId(), fileUpdate.repository(),
-                            fileUpdate.updateType()));
+                    (fileUpdate) -> readConfiguration(
+                            new ScopedQueryContext(ctx, fileUpdate.installationId(), fileUpdate.repoFullName()),
+                            fileUpdate.repoFullName(), fileUpdate.updateType()));
         }
     }
 
@@ -99,18 +100,31 @@ public class ConfigWatcher {
         }
     }
 
-    protected void readConfiguration(long installationId, GHRepository repo, FileUpdateType updateType) {
-        if (repo == null) {
-            Log.warnf("[%s] readConfiguration: repository not set in FileUpdate", ME);
+    /**
+     * Read (or remove) the configuration of a repository.
+     * Called by repositoryDiscovered, and on file events (including refresh).
+     *
+     * @param qc Query context for the repository
+     * @param repoFullName Repository full name
+     * @param updateType Type of file update, or null when a repository is discovered
+     */
+    protected void readConfiguration(ScopedQueryContext qc, String repoFullName, FileUpdateType updateType) {
+        if (updateType == FileUpdateType.REMOVED) {
+            Log.debugf("[%s] readConfiguration: %s config deleted", ME, repoFullName);
+            repoConfig.remove(repoFullName);
             return;
         }
-        if (updateType == FileUpdateType.REMOVED) {
-            Log.debugf("[%s] readConfiguration: %s config deleted", repo.getFullName());
-            repoConfig.remove(repo.getFullName());
+        GHRepository repo = qc.getRepository();
+        if (repo == null) {
+            if (qc.hasErrors()) {
+                qc.logAndSendContextErrors("[%s] readConfiguration: unable to find repository %s"
+                        .formatted(ME, repoFullName));
+            } else {
+                Log.warnf("[%s] readConfiguration: repository %s not found", ME, repoFullName);
+            }
             return;
         }
 
-        ScopedQueryContext qc = new ScopedQueryContext(ctx, installationId, repo);
         GHContent content = qc.readSourceFile(repo, HausRulesConfig.PATH);
         if (content == null || qc.hasErrors()) {
             Log.debugf("[%s] readHausRulesConfig: no %s in %s", ME, HausRulesConfig.PATH, repo.getFullName());
@@ -8,6 +8,9 @@ import org.commonhaus.automation.hr.config.HausRulesConfig.RepositoryConfig;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+@RegisterForReflection
 public class NoticeConfig extends RepositoryConfig {
     public static final NoticeConfig DISABLED = new NoticeConfig() {
         @Override
@@ -16,6 +16,9 @@ import org.commonhaus.automation.hr.config.HausRulesConfig;
 import org.commonhaus.automation.hr.config.NoticeConfig;
 import org.commonhaus.automation.hr.config.RuleConfig;
 import org.commonhaus.automation.hr.rules.Rule;
+import org.commonhaus.automation.queue.WebhookIngestQueue;
+import org.commonhaus.automation.shard.InstallationShards;
+import org.commonhaus.automation.trace.Tracing;
 import org.kohsuke.github.GHEventPayload;
 
 import io.quarkiverse.githubapp.ConfigFile;
@@ -35,6 +38,12 @@ public class NoticeGitHubEvents {
     @Inject
     ConfigWatcher configWatcher;
 
+    @Inject
+    WebhookIngestQueue ingestQueue;
+
+    @Inject
+    InstallationShards shards;
+
     /**
      * Called when there is a discussion event.
      *
@@ -136,9 +145,18 @@ public class NoticeGitHubEvents {
     }
 
     private void processNoticeEvent(NoticeConfig noticeConfig, RuleConfig ruleConfig, EventData eventData) {
-        if (noticeConfig.isDisabled() || ruleConfig == null) {
+        if (noticeConfig.isDisabled() || ruleConfig == null
+                || !shards.accept(eventData.getGitHubEvent())) {
             return;
         }
+        // Evaluate rules and apply actions off the delivery thread
+        Tracing.inSpan(Tracing.webhook(eventData.getGitHubEvent(), "NoticeGitHubEvents"), () -> {
+            ingestQueue.submit(eventData.getRepoFullName(), "notice " + eventData.getLogId(),
+                    () -> applyNoticeRules(noticeConfig, ruleConfig, eventData));
+        });
+    }
+
+    private void applyNoticeRules(NoticeConfig noticeConfig, RuleConfig ruleConfig, EventData eventData) {
         EventQueryContext qc = new EventQueryContext(ctx, eventData);
 
         Set<String> desiredActions = findMatchingActions(qc, ruleConfig.rules);
@@ -163,15 +181,21 @@ public class NoticeGitHubEvents {
         if (desiredActions.isEmpty()) {
             return;
         }
-        for (String actionName : desiredActions) {
-            Action action = actionsMap.get(actionName);
-            if (action == null) {
-                Log.warnf("[%s] %s: Action '%s' not found",
-                        qc.getLogId(),
-                        method, actionName);
-                continue;
+        // Label actions are merged and sent together once all actions have been applied
+        qc.deferLabelMutations();
+        try {
+            for (String actionName : desiredActions) {
+                Action action = actionsMap.get(actionName);
+                if (action == null) {
+                    Log.warnf("[%s] %s: Action '%s' not found",
+                            qc.getLogId(),
+                            method, actionName);
+                    continue;
+                }
+                action.apply(qc);
             }
-            action.apply(qc);
+        } finally {
+            qc.flushLabelMutations();
         }
     }
 }
@@ -139,6 +139,27 @@ public class VoteInformation {
         this.revise = revise;
     }
 
+    /**
+     * Vote information with a resolved team and vote definition (no GitHub queries).
+     * Used to benchmark vote counting.
+     */
+    VoteInformation(VoteEvent event, DataCommonItem item, String group, Set<DataActor> teamList,
+            Map<String, DataActor> alternates, CountingMethod voteType, Threshold votingThreshold,
+            List<ReactionContent> approve, List<ReactionContent> ok, List<ReactionContent> revise) {
+        this.ctx = null;
+        this.qc = null;
+        this.event = event;
+        this.item = item;
+        this.group = group;
+        this.teamList = teamList;
+        this.alternates = alternates;
+        this.voteType = voteType;
+        this.votingThreshold = votingThreshold;
+        this.approve = approve;
+        this.ok = ok;
+        this.revise = revise;
+    }
+
     public List<DataPullRequestReview> getReviews() {
         if (!isPullRequest()) {
             return List.of();
@@ -110,7 +110,9 @@ public class VoteProcessor extends ScheduledService {
         } else {
             // update map.
             votingRepositories.put(repo.getFullName(), ghiId);
-            scheduleQueryRepository(ghiId, repo.getFullName());
+            if (shards.owns(ghiId)) {
+                scheduleQueryRepository(ghiId, repo.getFullName());
+            }
         }
     }
 
@@ -131,6 +133,9 @@ public class VoteProcessor extends ScheduledService {
             var e = i.next();
             String repoFullName = e.getKey();
             Long installationId = e.getValue();
+            if (!shards.owns(installationId)) {
+                continue; // counted by the replica that owns the installation
+            }
             VoteConfig voteConfig = ctx.getVoteConfig(repoFullName);
             if (voteConfig.isDisabled()) {
                 // Voting no longer enabled. Remove it
@@ -219,13 +224,19 @@ public class VoteProcessor extends ScheduledService {
 
             updateBotComment(qc, votingConfig, event, item, commentBody);
 
-            if (tally.hasQuorum) {
-                qc.addLabel(item.id, VOTE_QUORUM);
-            }
-            if (tally.isDone) {
-                // remove the open label first so we don't process votes again
-                qc.removeLabels(item.id, List.of(VOTE_OPEN));
-                qc.addLabel(item.id, VOTE_DONE);
+            // Merge label changes into a single mutation
+            qc.deferLabelMutations();
+            try {
+                if (tally.hasQuorum) {
+                    qc.addLabel(item.id, VOTE_QUORUM);
+                }
+                if (tally.isDone) {
+                    // remove the open label first so we don't process votes again
+                    qc.removeLabels(item.id, List.of(VOTE_OPEN));
+                    qc.addLabel(item.id, VOTE_DONE);
+                }
+            } finally {
+                qc.flushLabelMutations();
             }
 
             if (qc.hasErrors()) {
@@ -6,13 +6,14 @@ import org.commonhaus.automation.github.context.DataCommonComment;
 import org.commonhaus.automation.github.context.EventData;
 import org.commonhaus.automation.github.context.EventType;
 import org.commonhaus.automation.github.context.GitHubTeamService;
-import org.commonhaus.automation.github.context.JsonAttribute;
 import org.commonhaus.automation.hr.AppContextService;
 import org.commonhaus.automation.hr.EventQueryContext;
 import org.commonhaus.automation.hr.config.ConfigWatcher;
 import org.commonhaus.automation.hr.config.HausRulesConfig;
 import org.commonhaus.automation.hr.config.VoteConfig;
 import org.commonhaus.automation.queue.PeriodicUpdateQueue;
+import org.commonhaus.automation.shard.InstallationShards;
+import org.commonhaus.automation.trace.Tracing;
 import org.kohsuke.github.GHEventPayload;
 
 import io.quarkiverse.githubapp.ConfigFile;
@@ -41,6 +42,9 @@ public class VotingGitHubEvents {
     @Inject
     VoteProcessor voteProcessor;
 
+    @Inject
+    InstallationShards shards;
+
     /**
      * Called when there is a discussion event.
      *
@@ -126,6 +130,9 @@ public class VotingGitHubEvents {
     }
 
     private void processVoteEvent(HausRulesConfig repoConfigFile, EventData eventData) {
+        if (!shards.accept(eventData.getGitHubEvent())) {
+            return;
+        }
         VoteConfig votingConfig = configWatcher.updateVoteConfig(
                 eventData.getRepoFullName(),
                 repoConfigFile);
@@ -138,23 +145,25 @@ public class VotingGitHubEvents {
             return;
         }
 
-        if (eventData.getEventType() == EventType.discussion_comment || eventData.getEventType() == EventType.issue_comment) {
-            EventQueryContext qc = new EventQueryContext(ctx, eventData);
-            DataCommonComment comment = JsonAttribute.comment.commonCommentFrom(eventData.getJsonData());
-            if (qc.isBot(comment.author.login)) {
-                // skip bot comment events
-                return;
-            }
-            if (voteProcessor.isManualVoteResult(qc, votingConfig, comment)) {
-                // Make a note if this item (discussion, etc) has a manual vote result
-                // so we can look for all manual vote results later if the item is not also closed.
-                VoteQueryCache.MANUAL_RESULT_COMMENT_ID.put(eventData.getNodeId(), comment.id);
+        Tracing.inSpan(Tracing.webhook(eventData.getGitHubEvent(), "VotingGitHubEvents"), () -> {
+            if (eventData.getEventType() == EventType.discussion_comment || eventData.getEventType() == EventType.issue_comment) {
+                EventQueryContext qc = new EventQueryContext(ctx, eventData);
+                DataCommonComment comment = eventData.getPayload().commonComment();
+                if (qc.isBot(comment.author.login)) {
+                    // skip bot comment events
+                    return;
+                }
+                if (voteProcessor.isManualVoteResult(qc, votingConfig, comment)) {
+                    // Make a note if this item (discussion, etc) has a manual vote result
+                    // so we can look for all manual vote results later if the item is not also closed.
+                    VoteQueryCache.MANUAL_RESULT_COMMENT_ID.put(eventData.getNodeId(), comment.id);
+                }
             }
-        }
 
-        VoteEvent voteEvent = voteProcessor.createVoteEvent(eventData);
-        periodicUpdate.queue(voteEvent.getTaskGroup(), () -> {
-            voteProcessor.reconcileVoteEvent(voteEvent);
+            VoteEvent voteEvent = voteProcessor.createVoteEvent(eventData);
+            periodicUpdate.queue(voteEvent.getTaskGroup(), () -> {
+                voteProcessor.reconcileVoteEvent(voteEvent);
+            });
         });
     }
 }